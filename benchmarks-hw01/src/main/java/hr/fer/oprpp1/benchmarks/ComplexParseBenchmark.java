@@ -0,0 +1,140 @@
+package hr.fer.oprpp1.benchmarks;
+
+import hr.fer.oprpp1.hw01.ComplexArray;
+import hr.fer.oprpp1.hw01.ComplexNumber;
+import hr.fer.oprpp1.hw01.ComplexNumberParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of parsing complex numbers using the regular expressions of {@link ComplexNumber#parse(String)}
+ * to the hand-written {@link ComplexNumberParser}, both on separate strings and on regions of a single
+ * {@link ByteBuffer} containing a CSV column.
+ *
+ * @author Borna Cafuk
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexParseBenchmark {
+    /**
+     * The number of complex numbers parsed by each invocation.
+     */
+    @Param({"1000", "100000"})
+    public int count;
+
+    /**
+     * The numbers to parse, as separate strings.
+     */
+    private String[] strings;
+    /**
+     * The numbers to parse, one per line, as US-ASCII bytes.
+     */
+    private ByteBuffer csv;
+    /**
+     * The start of each number in {@link #csv}.
+     */
+    private int[] starts;
+    /**
+     * The end of each number in {@link #csv}.
+     */
+    private int[] ends;
+    /**
+     * The parser reused by the benchmarks.
+     */
+    private ComplexNumberParser parser;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        strings = new String[count];
+        starts = new int[count];
+        ends = new int[count];
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            strings[i] = randomComplex(random);
+
+            starts[i] = sb.length();
+            sb.append(strings[i]);
+            ends[i] = sb.length();
+            sb.append('\n');
+        }
+
+        csv = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.US_ASCII));
+        parser = new ComplexNumberParser();
+    }
+
+    /**
+     * Generates a random complex number in one of the forms accepted by {@link ComplexNumber#parse(String)}.
+     *
+     * @param random the source of randomness
+     * @return a string representing a complex number
+     */
+    private static String randomComplex(Random random) {
+        String real = String.format(Locale.ROOT, "%.4f", (random.nextDouble() - 0.5) * 2000);
+        String imaginary = String.format(Locale.ROOT, "%.3f", random.nextDouble() * 100);
+
+        return switch (random.nextInt(4)) {
+            case 0 -> real;
+            case 1 -> imaginary + "i";
+            case 2 -> real + "-" + imaginary + "i";
+            default -> real + "+" + imaginary + "i";
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public double regexParse() {
+        double sum = 0;
+        for (int i = 0; i < 1000; i++) {
+            ComplexNumber z = ComplexNumber.parse(strings[i % count]);
+            sum += z.getReal() + z.getImaginary();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public double streamingParseString() {
+        double sum = 0;
+        for (int i = 0; i < 1000; i++) {
+            parser.parse(strings[i % count]);
+            sum += parser.getReal() + parser.getImaginary();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public double streamingParseBuffer() {
+        double sum = 0;
+        for (int i = 0; i < 1000; i++) {
+            int index = i % count;
+            parser.parse(csv, starts[index], ends[index]);
+            sum += parser.getReal() + parser.getImaginary();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public ComplexArray regexParseColumn() {
+        ComplexArray array = new ComplexArray(count);
+        for (int i = 0; i < count; i++)
+            array.set(i, ComplexNumber.parse(strings[i]));
+        return array;
+    }
+
+    @Benchmark
+    public ComplexArray streamingParseColumn() {
+        return ComplexArray.parseColumn(csv, 0, false);
+    }
+}
@@ -0,0 +1,37 @@
+package hr.fer.oprpp1.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes the results as JSON, so that they can be compared between runs.
+ * <p>
+ * The arguments are the same as for JMH's own main class, e.g. a regular expression selecting the benchmarks
+ * or {@code -p size=1000} to restrict the parameters. Unless {@code -rf} or {@code -rff} is given,
+ * the results are written in JSON format to {@value #DEFAULT_RESULT_FILE}.
+ *
+ * @author Borna Cafuk
+ */
+public class BenchmarkMain {
+    /**
+     * The file the results are written to if no other file is given.
+     */
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+
+        if (!commandLineOptions.getResultFormat().hasValue())
+            options.resultFormat(ResultFormatType.JSON);
+        if (!commandLineOptions.getResult().hasValue())
+            options.result(DEFAULT_RESULT_FILE);
+
+        new Runner(options.build()).run();
+    }
+}
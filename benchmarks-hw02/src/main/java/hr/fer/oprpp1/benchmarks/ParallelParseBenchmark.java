@@ -0,0 +1,90 @@
+package hr.fer.oprpp1.benchmarks;
+
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+import hr.fer.oprpp1.custom.scripting.parser.ParallelSmartScriptParser;
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a large generated SmartScript document sequentially using {@link SmartScriptParser}
+ * to parsing it using {@link ParallelSmartScriptParser} on pools with different numbers of threads.
+ *
+ * @author Borna Cafuk
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelParseBenchmark {
+    /**
+     * The approximate number of characters in the document.
+     */
+    @Param({"1000000", "20000000"})
+    public int size;
+
+    /**
+     * The number of threads in the pool used by the parallel parser.
+     */
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    /**
+     * The document to parse.
+     */
+    private String input;
+    /**
+     * The pool used by the parallel parser.
+     */
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(size + 1000);
+
+        while (sb.length() < size)
+            appendBlock(sb, random);
+
+        input = sb.toString();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Appends a block of generated text and tags, similar to a generated template.
+     *
+     * @param sb     the builder to append to
+     * @param random the source of randomness
+     */
+    private static void appendBlock(StringBuilder sb, Random random) {
+        sb.append("<tr><td>Row ").append(random.nextInt(100_000)).append(" \\{$ not a tag</td>\n");
+
+        if (random.nextBoolean()) {
+            sb.append("{$ FOR i 1 ").append(1 + random.nextInt(10)).append(" $}\n");
+            sb.append("  <td>{$= i \"0.00\" @decfmt $}</td><td>{$= \"cell\" i $}</td>\n");
+            sb.append("{$ END $}\n");
+        } else {
+            sb.append("<td>{$= ").append(random.nextDouble()).append(" 2 * @sin \"0.000\" @decfmt $}</td>\n");
+        }
+    }
+
+    @Benchmark
+    public DocumentNode sequentialParse() {
+        return new SmartScriptParser(input).getDocumentNode();
+    }
+
+    @Benchmark
+    public DocumentNode parallelParse() {
+        return new ParallelSmartScriptParser(input, pool).getDocumentNode();
+    }
+}
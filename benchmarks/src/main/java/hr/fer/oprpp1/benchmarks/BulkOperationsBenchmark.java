@@ -0,0 +1,113 @@
+package hr.fer.oprpp1.benchmarks;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.Collection;
+import hr.fer.oprpp1.custom.collections.LinkedListIndexedCollection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bulk operations of {@link ArrayIndexedCollection} with doing the same work one element at a time,
+ * the way {@link Collection#addAll(Collection)} does it by default.
+ *
+ * @author Borna Cafuk
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkOperationsBenchmark {
+    /**
+     * The number of elements in the source collection.
+     * <p>
+     * The element-by-element insertion and removal at the front are quadratic, so this is kept at 100000 or less.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    /**
+     * The number of elements already in the target collection when inserting at the front.
+     */
+    @Param({"1000"})
+    public int targetSize;
+
+    /**
+     * An array-backed source collection.
+     */
+    private ArrayIndexedCollection<Integer> arraySource;
+    /**
+     * A linked source collection, for which the array can't be copied directly.
+     */
+    private LinkedListIndexedCollection<Integer> linkedSource;
+    /**
+     * The initial contents of the target collection when inserting at the front.
+     */
+    private ArrayIndexedCollection<Integer> target;
+
+    @Setup
+    public void setUp() {
+        arraySource = new ArrayIndexedCollection<>();
+        for (int i = 0; i < size; i++)
+            arraySource.add(i);
+
+        linkedSource = new LinkedListIndexedCollection<>(arraySource);
+
+        target = new ArrayIndexedCollection<>();
+        for (int i = 0; i < targetSize; i++)
+            target.add(-i);
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> addAllElementByElement() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        arraySource.forEach(collection::add);
+        return collection;
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> addAllFromArray() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        collection.addAll(arraySource);
+        return collection;
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> addAllFromLinkedList() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        collection.addAll(linkedSource);
+        return collection;
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> insertAtFrontElementByElement() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>(target);
+        int[] position = {0};
+        arraySource.forEach(value -> collection.insert(value, position[0]++));
+        return collection;
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> insertAllAtFront() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>(target);
+        collection.insertAll(arraySource, 0);
+        return collection;
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> removeRangeElementByElement() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>(arraySource);
+        for (int i = 0; i < size / 2; i++)
+            collection.remove(0);
+        return collection;
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> removeRange() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>(arraySource);
+        collection.removeRange(0, size / 2);
+        return collection;
+    }
+}
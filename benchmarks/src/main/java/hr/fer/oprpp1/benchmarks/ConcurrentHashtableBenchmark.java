@@ -0,0 +1,144 @@
+package hr.fer.oprpp1.benchmarks;
+
+import hr.fer.oprpp1.custom.collections.ConcurrentSimpleHashtable;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of {@link ConcurrentSimpleHashtable} to a {@link SimpleHashtable} guarded by a single lock,
+ * with several threads doing a mix of lookups and updates on a shared table.
+ * <p>
+ * JMH cannot take the number of threads from a parameter, so there is a separate benchmark method
+ * for each number of threads.
+ *
+ * @author Borna Cafuk
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentHashtableBenchmark {
+    /**
+     * The number of distinct keys used by the threads.
+     */
+    @Param({"1000", "100000"})
+    public int keyCount;
+
+    /**
+     * The percentage of operations which are updates rather than lookups.
+     */
+    @Param({"10", "50"})
+    public int updatePercentage;
+
+    /**
+     * The keys, which are also used as their values.
+     */
+    private Integer[] keys;
+    /**
+     * The hashtable guarded by {@link #lock}.
+     */
+    private SimpleHashtable<Integer, Integer> lockedHashtable;
+    /**
+     * The lock guarding {@link #lockedHashtable}.
+     */
+    private Object lock;
+    /**
+     * The concurrent hashtable.
+     */
+    private ConcurrentSimpleHashtable<Integer, Integer> concurrentHashtable;
+
+    @Setup
+    public void setUp() {
+        keys = new Integer[keyCount];
+        lockedHashtable = new SimpleHashtable<>();
+        lock = new Object();
+        concurrentHashtable = new ConcurrentSimpleHashtable<>();
+
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = i;
+            lockedHashtable.put(keys[i], keys[i]);
+            concurrentHashtable.put(keys[i], keys[i]);
+        }
+    }
+
+    /**
+     * Does a single random lookup or update on the hashtable guarded by a lock.
+     *
+     * @return the value which was read or replaced
+     */
+    private Integer locked() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = keys[random.nextInt(keys.length)];
+        boolean update = random.nextInt(100) < updatePercentage;
+
+        synchronized (lock) {
+            return update ? lockedHashtable.put(key, key) : lockedHashtable.get(key);
+        }
+    }
+
+    /**
+     * Does a single random lookup or update on the concurrent hashtable.
+     *
+     * @return the value which was read or replaced
+     */
+    private Integer concurrent() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = keys[random.nextInt(keys.length)];
+        boolean update = random.nextInt(100) < updatePercentage;
+
+        return update ? concurrentHashtable.put(key, key) : concurrentHashtable.get(key);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer locked1Thread() {
+        return locked();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer locked2Threads() {
+        return locked();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer locked4Threads() {
+        return locked();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer locked8Threads() {
+        return locked();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer concurrent1Thread() {
+        return concurrent();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer concurrent2Threads() {
+        return concurrent();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer concurrent4Threads() {
+        return concurrent();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer concurrent8Threads() {
+        return concurrent();
+    }
+}
@@ -0,0 +1,282 @@
+package hr.fer.oprpp1.benchmarks;
+
+import hr.fer.oprpp1.custom.collections.Codec;
+import hr.fer.oprpp1.custom.collections.Dictionary;
+import hr.fer.oprpp1.custom.collections.OffHeapHashtable;
+import hr.fer.oprpp1.custom.collections.OpenAddressingHashtable;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filling and looking up entries in {@link SimpleHashtable}, {@link OpenAddressingHashtable},
+ * {@link OffHeapHashtable} and {@link Dictionary}, with {@link HashMap} as a baseline.
+ * <p>
+ * Filling a table starting from the default capacity includes all of its resizes;
+ * filling a presized table measures insertion alone.
+ * <p>
+ * Each lookup benchmark uses a state which builds only the table it measures, so that the large sizes
+ * don't keep every kind of table in memory at once.
+ *
+ * @author Borna Cafuk
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HashtableBenchmark {
+    /**
+     * The keys inserted into the tables.
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        /**
+         * The number of entries in each table.
+         */
+        @Param({"10", "1000", "100000", "10000000"})
+        public int size;
+
+        /**
+         * The keys of the entries, which are also used as their values.
+         */
+        String[] keys;
+
+        @Setup
+        public void setUp() {
+            keys = new String[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = "key" + i;
+                // Strings cache their hash codes, which is how they are usually used as keys
+                keys[i].hashCode();
+            }
+
+            prepare();
+        }
+
+        /**
+         * Called at the end of {@link #setUp()}, once the keys have been created.
+         */
+        void prepare() {
+        }
+    }
+
+    /**
+     * A table prefilled with {@link #size} entries, along with the keys to look up in it.
+     */
+    public abstract static class Table extends Keys {
+        /**
+         * Keys which are not in the table, but are equal to the ones in {@link #keys} up to a suffix.
+         */
+        String[] missingKeys;
+        /**
+         * The index of the next key to look up, cycled through all keys.
+         */
+        private int nextKey;
+
+        @Override
+        void prepare() {
+            missingKeys = new String[size];
+            for (int i = 0; i < size; i++) {
+                missingKeys[i] = "key" + i + "!";
+                missingKeys[i].hashCode();
+            }
+
+            fill();
+        }
+
+        /**
+         * Creates the table and inserts all {@link #keys} into it.
+         */
+        abstract void fill();
+
+        /**
+         * Returns the index of the next key to look up.
+         *
+         * @return the index
+         */
+        int nextIndex() {
+            int index = nextKey;
+            nextKey = index + 1 == size ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SimpleHashtableState extends Table {
+        /**
+         * The prefilled table.
+         */
+        SimpleHashtable<String, String> table;
+
+        @Override
+        void fill() {
+            table = new SimpleHashtable<>();
+            for (String key : keys)
+                table.put(key, key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OpenAddressingHashtableState extends Table {
+        /**
+         * The prefilled table.
+         */
+        OpenAddressingHashtable<String, String> table;
+
+        @Override
+        void fill() {
+            table = new OpenAddressingHashtable<>();
+            for (String key : keys)
+                table.put(key, key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OffHeapHashtableState extends Table {
+        /**
+         * The prefilled table.
+         */
+        OffHeapHashtable<String, String> table;
+
+        @Override
+        void fill() {
+            table = new OffHeapHashtable<>(Codec.STRING, Codec.STRING);
+            for (String key : keys)
+                table.put(key, key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DictionaryState extends Table {
+        /**
+         * The prefilled table.
+         */
+        Dictionary<String, String> table;
+
+        @Override
+        void fill() {
+            table = new Dictionary<>();
+            for (String key : keys)
+                table.put(key, key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class JdkHashMapState extends Table {
+        /**
+         * The prefilled table.
+         */
+        HashMap<String, String> table;
+
+        @Override
+        void fill() {
+            table = new HashMap<>();
+            for (String key : keys)
+                table.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public SimpleHashtable<String, String> simpleHashtablePutWithResize(Keys state) {
+        SimpleHashtable<String, String> table = new SimpleHashtable<>();
+        for (String key : state.keys)
+            table.put(key, key);
+        return table;
+    }
+
+    @Benchmark
+    public SimpleHashtable<String, String> simpleHashtablePutWithIncrementalResize(Keys state) {
+        SimpleHashtable<String, String> table = new SimpleHashtable<>(16, true);
+        for (String key : state.keys)
+            table.put(key, key);
+        return table;
+    }
+
+    @Benchmark
+    public SimpleHashtable<String, String> simpleHashtablePutPresized(Keys state) {
+        SimpleHashtable<String, String> table = new SimpleHashtable<>(2 * state.size);
+        for (String key : state.keys)
+            table.put(key, key);
+        return table;
+    }
+
+    @Benchmark
+    public OpenAddressingHashtable<String, String> openAddressingHashtablePutWithResize(Keys state) {
+        OpenAddressingHashtable<String, String> table = new OpenAddressingHashtable<>();
+        for (String key : state.keys)
+            table.put(key, key);
+        return table;
+    }
+
+    @Benchmark
+    public OffHeapHashtable<String, String> offHeapHashtablePutWithResize(Keys state) {
+        OffHeapHashtable<String, String> table = new OffHeapHashtable<>(Codec.STRING, Codec.STRING);
+        for (String key : state.keys)
+            table.put(key, key);
+        return table;
+    }
+
+    @Benchmark
+    public HashMap<String, String> jdkHashMapPutWithResize(Keys state) {
+        HashMap<String, String> table = new HashMap<>();
+        for (String key : state.keys)
+            table.put(key, key);
+        return table;
+    }
+
+    @Benchmark
+    public HashMap<String, String> jdkHashMapPutPresized(Keys state) {
+        HashMap<String, String> table = new HashMap<>(2 * state.size);
+        for (String key : state.keys)
+            table.put(key, key);
+        return table;
+    }
+
+    @Benchmark
+    public String simpleHashtableGet(SimpleHashtableState state) {
+        return state.table.get(state.keys[state.nextIndex()]);
+    }
+
+    @Benchmark
+    public String simpleHashtableGetMissing(SimpleHashtableState state) {
+        return state.table.get(state.missingKeys[state.nextIndex()]);
+    }
+
+    @Benchmark
+    public String openAddressingHashtableGet(OpenAddressingHashtableState state) {
+        return state.table.get(state.keys[state.nextIndex()]);
+    }
+
+    @Benchmark
+    public String openAddressingHashtableGetMissing(OpenAddressingHashtableState state) {
+        return state.table.get(state.missingKeys[state.nextIndex()]);
+    }
+
+    @Benchmark
+    public String offHeapHashtableGet(OffHeapHashtableState state) {
+        return state.table.get(state.keys[state.nextIndex()]);
+    }
+
+    @Benchmark
+    public String offHeapHashtableGetMissing(OffHeapHashtableState state) {
+        return state.table.get(state.missingKeys[state.nextIndex()]);
+    }
+
+    @Benchmark
+    public String dictionaryGet(DictionaryState state) {
+        return state.table.get(state.keys[state.nextIndex()]);
+    }
+
+    @Benchmark
+    public String jdkHashMapGet(JdkHashMapState state) {
+        return state.table.get(state.keys[state.nextIndex()]);
+    }
+
+    @Benchmark
+    public String jdkHashMapGetMissing(JdkHashMapState state) {
+        return state.table.get(state.missingKeys[state.nextIndex()]);
+    }
+}
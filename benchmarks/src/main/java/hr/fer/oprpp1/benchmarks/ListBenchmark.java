@@ -0,0 +1,237 @@
+package hr.fer.oprpp1.benchmarks;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.ElementsGetter;
+import hr.fer.oprpp1.custom.collections.LinkedListIndexedCollection;
+import hr.fer.oprpp1.custom.collections.UnrolledLinkedListIndexedCollection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the basic operations of {@link ArrayIndexedCollection}, {@link LinkedListIndexedCollection}
+ * and {@link UnrolledLinkedListIndexedCollection},
+ * with {@link ArrayList} and {@link LinkedList} as baselines.
+ * <p>
+ * Every operation which works on a single element does so in the middle of the collection,
+ * which is the worst case for the linked lists.
+ *
+ * @author Borna Cafuk
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ListBenchmark {
+    /**
+     * The number of elements in each collection.
+     */
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    /**
+     * The collections prefilled with {@link #size} elements.
+     */
+    private ArrayIndexedCollection<Integer> arrayIndexed;
+    private LinkedListIndexedCollection<Integer> linkedList;
+    private UnrolledLinkedListIndexedCollection<Integer> unrolledLinkedList;
+    private ArrayList<Integer> jdkArrayList;
+    private LinkedList<Integer> jdkLinkedList;
+
+    /**
+     * The index in the middle of the collections.
+     */
+    private int middle;
+    /**
+     * An object equal to the element in the middle of the collections.
+     */
+    private Integer middleValue;
+    /**
+     * The elements to add, so that boxing isn't measured.
+     */
+    private Integer[] values;
+
+    @Setup
+    public void setUp() {
+        values = new Integer[size];
+        for (int i = 0; i < size; i++)
+            values[i] = i;
+
+        arrayIndexed = new ArrayIndexedCollection<>();
+        linkedList = new LinkedListIndexedCollection<>();
+        unrolledLinkedList = new UnrolledLinkedListIndexedCollection<>();
+        jdkArrayList = new ArrayList<>();
+        jdkLinkedList = new LinkedList<>();
+
+        for (Integer value : values) {
+            arrayIndexed.add(value);
+            linkedList.add(value);
+            unrolledLinkedList.add(value);
+            jdkArrayList.add(value);
+            jdkLinkedList.add(value);
+        }
+
+        middle = size / 2;
+        middleValue = Integer.valueOf(middle);
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> arrayIndexedAdd() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        for (Integer value : values)
+            collection.add(value);
+        return collection;
+    }
+
+    @Benchmark
+    public LinkedListIndexedCollection<Integer> linkedListAdd() {
+        LinkedListIndexedCollection<Integer> collection = new LinkedListIndexedCollection<>();
+        for (Integer value : values)
+            collection.add(value);
+        return collection;
+    }
+
+    @Benchmark
+    public UnrolledLinkedListIndexedCollection<Integer> unrolledLinkedListAdd() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = new UnrolledLinkedListIndexedCollection<>();
+        for (Integer value : values)
+            collection.add(value);
+        return collection;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> jdkArrayListAdd() {
+        ArrayList<Integer> collection = new ArrayList<>();
+        for (Integer value : values)
+            collection.add(value);
+        return collection;
+    }
+
+    @Benchmark
+    public LinkedList<Integer> jdkLinkedListAdd() {
+        LinkedList<Integer> collection = new LinkedList<>();
+        for (Integer value : values)
+            collection.add(value);
+        return collection;
+    }
+
+    @Benchmark
+    public Integer arrayIndexedGet() {
+        return arrayIndexed.get(middle);
+    }
+
+    @Benchmark
+    public Integer linkedListGet() {
+        return linkedList.get(middle);
+    }
+
+    @Benchmark
+    public Integer unrolledLinkedListGet() {
+        return unrolledLinkedList.get(middle);
+    }
+
+    @Benchmark
+    public Integer jdkArrayListGet() {
+        return jdkArrayList.get(middle);
+    }
+
+    @Benchmark
+    public Integer jdkLinkedListGet() {
+        return jdkLinkedList.get(middle);
+    }
+
+    @Benchmark
+    public int arrayIndexedIndexOf() {
+        return arrayIndexed.indexOf(middleValue);
+    }
+
+    @Benchmark
+    public int linkedListIndexOf() {
+        return linkedList.indexOf(middleValue);
+    }
+
+    @Benchmark
+    public int unrolledLinkedListIndexOf() {
+        return unrolledLinkedList.indexOf(middleValue);
+    }
+
+    @Benchmark
+    public int jdkArrayListIndexOf() {
+        return jdkArrayList.indexOf(middleValue);
+    }
+
+    @Benchmark
+    public int jdkLinkedListIndexOf() {
+        return jdkLinkedList.indexOf(middleValue);
+    }
+
+    // The element is removed right after it is inserted, so that the size doesn't change between invocations
+
+    @Benchmark
+    public void arrayIndexedInsertAndRemove() {
+        arrayIndexed.insert(middleValue, middle);
+        arrayIndexed.remove(middle);
+    }
+
+    @Benchmark
+    public void linkedListInsertAndRemove() {
+        linkedList.insert(middleValue, middle);
+        linkedList.remove(middle);
+    }
+
+    @Benchmark
+    public void unrolledLinkedListInsertAndRemove() {
+        unrolledLinkedList.insert(middleValue, middle);
+        unrolledLinkedList.remove(middle);
+    }
+
+    @Benchmark
+    public void jdkArrayListInsertAndRemove() {
+        jdkArrayList.add(middle, middleValue);
+        jdkArrayList.remove(middle);
+    }
+
+    @Benchmark
+    public void jdkLinkedListInsertAndRemove() {
+        jdkLinkedList.add(middle, middleValue);
+        jdkLinkedList.remove(middle);
+    }
+
+    @Benchmark
+    public void arrayIndexedIterate(Blackhole blackhole) {
+        ElementsGetter<Integer> getter = arrayIndexed.createElementsGetter();
+        while (getter.hasNextElement())
+            blackhole.consume(getter.getNextElement());
+    }
+
+    @Benchmark
+    public void linkedListIterate(Blackhole blackhole) {
+        ElementsGetter<Integer> getter = linkedList.createElementsGetter();
+        while (getter.hasNextElement())
+            blackhole.consume(getter.getNextElement());
+    }
+
+    @Benchmark
+    public void unrolledLinkedListIterate(Blackhole blackhole) {
+        ElementsGetter<Integer> getter = unrolledLinkedList.createElementsGetter();
+        while (getter.hasNextElement())
+            blackhole.consume(getter.getNextElement());
+    }
+
+    @Benchmark
+    public void jdkArrayListIterate(Blackhole blackhole) {
+        for (Integer value : jdkArrayList)
+            blackhole.consume(value);
+    }
+
+    @Benchmark
+    public void jdkLinkedListIterate(Blackhole blackhole) {
+        for (Integer value : jdkLinkedList)
+            blackhole.consume(value);
+    }
+}
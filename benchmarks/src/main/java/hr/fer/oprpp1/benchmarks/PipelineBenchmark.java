@@ -0,0 +1,94 @@
+package hr.fer.oprpp1.benchmarks;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.Collection;
+import hr.fer.oprpp1.custom.collections.Pipeline;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares a filter-map-filter chain done with a fused {@link Pipeline} to the same chain done in several passes
+ * using {@link Collection#addAllSatisfying(Collection, hr.fer.oprpp1.custom.collections.Tester)}
+ * and {@link Collection#forEach(hr.fer.oprpp1.custom.collections.Processor)}, with intermediate collections,
+ * and to a JDK stream over the collection.
+ *
+ * @author Borna Cafuk
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PipelineBenchmark {
+    /**
+     * The number of elements in the source collection.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /**
+     * The source collection.
+     */
+    private ArrayIndexedCollection<Integer> source;
+
+    @Setup
+    public void setUp() {
+        source = new ArrayIndexedCollection<>(size);
+        for (int i = 0; i < size; i++)
+            source.add(i);
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> multiPass() {
+        ArrayIndexedCollection<Integer> even = new ArrayIndexedCollection<>();
+        even.addAllSatisfying(source, i -> i % 2 == 0);
+
+        ArrayIndexedCollection<Integer> mapped = new ArrayIndexedCollection<>(Math.max(even.size(), 1));
+        even.forEach(i -> mapped.add(i * 3 + 1));
+
+        ArrayIndexedCollection<Integer> result = new ArrayIndexedCollection<>();
+        result.addAllSatisfying(mapped, i -> i % 5 != 0);
+        return result;
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> fusedPipeline() {
+        return Pipeline.from(source)
+                .filter(i -> i % 2 == 0)
+                .map(i -> i * 3 + 1)
+                .filter(i -> i % 5 != 0)
+                .collectInto(new ArrayIndexedCollection<>());
+    }
+
+    @Benchmark
+    public java.util.List<Integer> jdkStream() {
+        return source.stream()
+                .filter(i -> i % 2 == 0)
+                .map(i -> i * 3 + 1)
+                .filter(i -> i % 5 != 0)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> multiPassFirstTen() {
+        ArrayIndexedCollection<Integer> even = new ArrayIndexedCollection<>();
+        even.addAllSatisfying(source, i -> i % 2 == 0);
+
+        ArrayIndexedCollection<Integer> result = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 10 && i < even.size(); i++)
+            result.add(even.get(i) * 3 + 1);
+        return result;
+    }
+
+    @Benchmark
+    public ArrayIndexedCollection<Integer> fusedPipelineFirstTen() {
+        return Pipeline.from(source)
+                .filter(i -> i % 2 == 0)
+                .map(i -> i * 3 + 1)
+                .limit(10)
+                .collectInto(new ArrayIndexedCollection<>());
+    }
+}
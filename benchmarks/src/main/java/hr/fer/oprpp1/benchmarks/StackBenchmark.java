@@ -0,0 +1,113 @@
+package hr.fer.oprpp1.benchmarks;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.DoubleDeque;
+import hr.fer.oprpp1.custom.collections.ObjectDeque;
+import hr.fer.oprpp1.custom.collections.ObjectStack;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares pushing and popping on {@link ObjectDeque} and {@link DoubleDeque} with the way {@link ObjectStack}
+ * used to do it through an {@link ArrayIndexedCollection}, with {@link ArrayDeque} as a baseline.
+ * <p>
+ * Each invocation pushes {@link #depth} elements and then pops them all, like the nesting of tags in a document
+ * or of branches in an L-system.
+ *
+ * @author Borna Cafuk
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackBenchmark {
+    /**
+     * The number of elements pushed before they are popped.
+     */
+    @Param({"8", "1000", "100000"})
+    public int depth;
+
+    /**
+     * The elements to push, so that boxing isn't measured.
+     */
+    private Integer[] values;
+
+    /**
+     * The stacks, which are reused between invocations and are empty at the start of each.
+     */
+    private ArrayIndexedCollection<Integer> arrayIndexed;
+    private ObjectStack<Integer> objectStack;
+    private ObjectDeque<Integer> objectDeque;
+    private DoubleDeque doubleDeque;
+    private ArrayDeque<Integer> jdkArrayDeque;
+
+    @Setup
+    public void setUp() {
+        values = new Integer[depth];
+        for (int i = 0; i < depth; i++)
+            values[i] = i;
+
+        arrayIndexed = new ArrayIndexedCollection<>();
+        objectStack = new ObjectStack<>();
+        objectDeque = new ObjectDeque<>();
+        doubleDeque = new DoubleDeque();
+        jdkArrayDeque = new ArrayDeque<>();
+    }
+
+    /**
+     * Pushes and pops the elements the way {@link ObjectStack} did before it was backed by an {@link ObjectDeque}.
+     *
+     * @param blackhole the blackhole consuming the popped elements
+     */
+    @Benchmark
+    public void arrayIndexedCollectionWrapper(Blackhole blackhole) {
+        for (Integer value : values)
+            arrayIndexed.add(value);
+
+        while (!arrayIndexed.isEmpty()) {
+            blackhole.consume(arrayIndexed.get(arrayIndexed.size() - 1));
+            arrayIndexed.remove(arrayIndexed.size() - 1);
+        }
+    }
+
+    @Benchmark
+    public void objectStack(Blackhole blackhole) {
+        for (Integer value : values)
+            objectStack.push(value);
+
+        while (!objectStack.isEmpty())
+            blackhole.consume(objectStack.pop());
+    }
+
+    @Benchmark
+    public void objectDeque(Blackhole blackhole) {
+        for (Integer value : values)
+            objectDeque.push(value);
+
+        while (!objectDeque.isEmpty())
+            blackhole.consume(objectDeque.pop());
+    }
+
+    @Benchmark
+    public void doubleDeque(Blackhole blackhole) {
+        for (int i = 0; i < depth; i++)
+            doubleDeque.push(i);
+
+        while (!doubleDeque.isEmpty())
+            blackhole.consume(doubleDeque.pop());
+    }
+
+    @Benchmark
+    public void jdkArrayDeque(Blackhole blackhole) {
+        for (Integer value : values)
+            jdkArrayDeque.push(value);
+
+        while (!jdkArrayDeque.isEmpty())
+            blackhole.consume(jdkArrayDeque.pop());
+    }
+}
@@ -130,7 +130,7 @@ public class LinkedListIndexedCollection extends Collection {
             throw new IndexOutOfBoundsException("Valid indices are 0 to " + (size - 1) + ", but " + index + " was passed.");
 
         ListNode currentNode;
-        if (index <= size / 2) {
+        if (index > size / 2) {
             currentNode = last;
             for (int currentIndex = size - 1; currentIndex > index; currentIndex--)
                 currentNode = currentNode.previous;
@@ -0,0 +1,83 @@
+package hr.fer.oprpp1.hw01;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A view of the bytes of a {@link ByteBuffer} as a sequence of characters, one character per byte.
+ * <p>
+ * The bytes are read through a duplicate of the buffer using absolute indices, so the buffer's position and limit
+ * are never changed, and the view always spans the whole capacity of the buffer. Bytes are decoded as ISO-8859-1, which maps
+ * US-ASCII text to the same characters.
+ *
+ * @author Borna Cafuk
+ */
+final class AsciiCharSequence implements CharSequence {
+    /**
+     * The buffer which is viewed.
+     */
+    private final ByteBuffer source;
+    /**
+     * A duplicate of the viewed buffer whose limit is its capacity, used to read the characters.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructs a view of a buffer.
+     *
+     * @param buffer the buffer to view
+     * @throws NullPointerException if {@code buffer} is {@code null}
+     */
+    AsciiCharSequence(ByteBuffer buffer) {
+        this.source = Objects.requireNonNull(buffer, "The buffer must not be null.");
+        this.buffer = buffer.duplicate().clear();
+    }
+
+    /**
+     * Checks whether this is a view of the given buffer.
+     *
+     * @param buffer the buffer to check
+     * @return {@code true} if this sequence views {@code buffer}, {@code false} otherwise
+     */
+    boolean views(ByteBuffer buffer) {
+        return source == buffer;
+    }
+
+    @Override
+    public int length() {
+        return buffer.capacity();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString(start, end);
+    }
+
+    /**
+     * Decodes a part of the buffer into a new string.
+     *
+     * @param start the index of the first byte
+     * @param end   the index after the last byte
+     * @return a new string
+     */
+    String toString(int start, int end) {
+        Objects.checkFromToIndex(start, end, buffer.capacity());
+
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = buffer.get(start + i);
+
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return toString(0, buffer.capacity());
+    }
+}
@@ -0,0 +1,770 @@
+package hr.fer.oprpp1.hw01;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A fixed-length array of complex numbers, stored as two parallel arrays of real and imaginary parts.
+ * <p>
+ * The batch operations work on whole arrays at once and don't create any {@link ComplexNumber} objects.
+ * Each of them is written as a simple counted loop over primitive arrays, which the JIT compiler can unroll and
+ * vectorise. The operations produce the same results as the corresponding methods of {@link ComplexNumber}.
+ * <p>
+ * Every batch operation has a variant which writes its results to a given destination array,
+ * which may be one of the operands, so repeated operations don't need to allocate anything.
+ *
+ * @author Borna Cafuk
+ */
+public class ComplexArray {
+    /**
+     * The real parts of the numbers.
+     */
+    private final double[] re;
+    /**
+     * The imaginary parts of the numbers.
+     */
+    private final double[] im;
+
+    /**
+     * Constructs an array of the given length, filled with zeroes.
+     *
+     * @param length the number of complex numbers in the array
+     * @throws IllegalArgumentException if {@code length} is negative
+     */
+    public ComplexArray(int length) {
+        if (length < 0)
+            throw new IllegalArgumentException("The length must not be negative, but " + length + " was given.");
+
+        this.re = new double[length];
+        this.im = new double[length];
+    }
+
+    /**
+     * Constructs an array from copies of the given real and imaginary parts.
+     *
+     * @param re the real parts of the numbers
+     * @param im the imaginary parts of the numbers
+     * @throws NullPointerException     if either of the arrays is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    public ComplexArray(double[] re, double[] im) {
+        Objects.requireNonNull(re, "The real parts must not be null.");
+        Objects.requireNonNull(im, "The imaginary parts must not be null.");
+        if (re.length != im.length)
+            throw new IllegalArgumentException("The real and imaginary parts must be of the same length, but "
+                    + re.length + " and " + im.length + " were given.");
+
+        this.re = re.clone();
+        this.im = im.clone();
+    }
+
+    /**
+     * Constructs an array containing the given complex numbers.
+     *
+     * @param numbers the numbers to store
+     * @return a new array
+     * @throws NullPointerException if {@code numbers} or any of its elements is {@code null}
+     */
+    public static ComplexArray of(ComplexNumber... numbers) {
+        Objects.requireNonNull(numbers, "The numbers must not be null.");
+
+        ComplexArray array = new ComplexArray(numbers.length);
+        for (int i = 0; i < numbers.length; i++)
+            array.set(i, Objects.requireNonNull(numbers[i], "The numbers must not contain null."));
+
+        return array;
+    }
+
+    /**
+     * Parses a column of a CSV file into an array of complex numbers.
+     * <p>
+     * The values are parsed according to the same rules as {@link ComplexNumber#parse(String)},
+     * after removing any whitespace around them. Fields are separated by commas; quoting is not supported.
+     * Empty lines are skipped.
+     * <p>
+     * The values are parsed in place within each line by a {@link ComplexNumberParser} and written directly into
+     * the resulting arrays, so no substrings or complex numbers are created for them.
+     *
+     * @param reader     the reader from which to read the CSV file
+     * @param column     the zero-based index of the column to parse
+     * @param skipHeader whether the first line is a header which should be skipped
+     * @return a new array containing the parsed values, in the order in which they appear
+     * @throws NullPointerException      if {@code reader} is {@code null}
+     * @throws IndexOutOfBoundsException if {@code column} is negative
+     * @throws NumberFormatException     if a line does not have the column, or its value is not a valid complex number
+     * @throws IOException               if reading fails
+     */
+    public static ComplexArray parseColumn(BufferedReader reader, int column, boolean skipHeader) throws IOException {
+        Objects.requireNonNull(reader, "The reader must not be null.");
+        ColumnParser parser = createColumnParser(column);
+
+        if (skipHeader)
+            reader.readLine();
+
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (line.isBlank())
+                continue;
+
+            parser.parseField(line, 0, line.length());
+        }
+
+        return parser.toArray();
+    }
+
+    /**
+     * Parses a column of a CSV file stored in a buffer as US-ASCII text, such as a memory-mapped file.
+     * <p>
+     * The lines between the buffer's position and limit are parsed in the same way as by
+     * {@link #parseColumn(BufferedReader, int, boolean)}. Lines may end with either {@code "\n"} or {@code "\r\n"}.
+     * The bytes are read directly from the buffer, so no strings are created for the lines or the values.
+     * The buffer's position and limit remain unchanged.
+     *
+     * @param buffer     the buffer containing the CSV file
+     * @param column     the zero-based index of the column to parse
+     * @param skipHeader whether the first line is a header which should be skipped
+     * @return a new array containing the parsed values, in the order in which they appear
+     * @throws NullPointerException      if {@code buffer} is {@code null}
+     * @throws IndexOutOfBoundsException if {@code column} is negative
+     * @throws NumberFormatException     if a line does not have the column, or its value is not a valid complex number
+     */
+    public static ComplexArray parseColumn(ByteBuffer buffer, int column, boolean skipHeader) {
+        Objects.requireNonNull(buffer, "The buffer must not be null.");
+        ColumnParser parser = createColumnParser(column);
+        AsciiCharSequence text = new AsciiCharSequence(buffer);
+
+        boolean skip = skipHeader;
+        int limit = buffer.limit();
+
+        for (int lineStart = buffer.position(); lineStart < limit; ) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n')
+                lineEnd++;
+
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r')
+                lineEnd--;
+
+            if (skip)
+                skip = false;
+            else if (!isBlank(text, lineStart, lineEnd))
+                parser.parseField(text, lineStart, lineEnd);
+
+            lineStart = next;
+        }
+
+        return parser.toArray();
+    }
+
+    /**
+     * Creates a column parser after checking the column index.
+     *
+     * @param column the zero-based index of the column to parse
+     * @return a new column parser
+     * @throws IndexOutOfBoundsException if {@code column} is negative
+     */
+    private static ColumnParser createColumnParser(int column) {
+        if (column < 0)
+            throw new IndexOutOfBoundsException("The column index must not be negative, but " + column + " was given.");
+
+        return new ColumnParser(column);
+    }
+
+    /**
+     * Checks whether a region of a text contains only whitespace.
+     *
+     * @param text  the text to check
+     * @param start the start of the region
+     * @param end   the end of the region
+     * @return {@code true} if the region is empty or contains only whitespace, {@code false} otherwise
+     */
+    private static boolean isBlank(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++)
+            if (!Character.isWhitespace(text.charAt(i)))
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Returns the number of complex numbers in the array.
+     *
+     * @return the length of the array
+     */
+    public int length() {
+        return re.length;
+    }
+
+    /**
+     * Gets the real part of the number at the given index.
+     *
+     * @param index the index of the number
+     * @return the real part
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public double getReal(int index) {
+        return re[Objects.checkIndex(index, re.length)];
+    }
+
+    /**
+     * Gets the imaginary part of the number at the given index.
+     *
+     * @param index the index of the number
+     * @return the imaginary part
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public double getImaginary(int index) {
+        return im[Objects.checkIndex(index, im.length)];
+    }
+
+    /**
+     * Gets the number at the given index as a new {@link ComplexNumber}.
+     *
+     * @param index the index of the number
+     * @return a new complex number
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public ComplexNumber get(int index) {
+        Objects.checkIndex(index, re.length);
+        return new ComplexNumber(re[index], im[index]);
+    }
+
+    /**
+     * Sets the number at the given index.
+     *
+     * @param index     the index of the number
+     * @param real      the new real part
+     * @param imaginary the new imaginary part
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void set(int index, double real, double imaginary) {
+        Objects.checkIndex(index, re.length);
+        re[index] = real;
+        im[index] = imaginary;
+    }
+
+    /**
+     * Sets the number at the given index.
+     *
+     * @param index the index of the number
+     * @param z     the new value
+     * @throws NullPointerException      if {@code z} is {@code null}
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void set(int index, ComplexNumber z) {
+        Objects.requireNonNull(z, "The number must not be null.");
+        set(index, z.getReal(), z.getImaginary());
+    }
+
+    /**
+     * Returns a copy of the real parts of the numbers.
+     *
+     * @return a new array of real parts
+     */
+    public double[] getRealParts() {
+        return re.clone();
+    }
+
+    /**
+     * Returns a copy of the imaginary parts of the numbers.
+     *
+     * @return a new array of imaginary parts
+     */
+    public double[] getImaginaryParts() {
+        return im.clone();
+    }
+
+    /**
+     * Returns the numbers in the array as new {@link ComplexNumber} objects.
+     *
+     * @return a new array of complex numbers
+     */
+    public ComplexNumber[] toComplexNumbers() {
+        ComplexNumber[] numbers = new ComplexNumber[re.length];
+        for (int i = 0; i < numbers.length; i++)
+            numbers[i] = new ComplexNumber(re[i], im[i]);
+
+        return numbers;
+    }
+
+    /**
+     * Adds the numbers of another array to the numbers of this array, element by element.
+     * Both of the operands remain unchanged.
+     *
+     * @param other the addends
+     * @return a new array of sums
+     * @throws NullPointerException     if {@code other} is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    public ComplexArray add(ComplexArray other) {
+        return add(other, new ComplexArray(re.length));
+    }
+
+    /**
+     * Adds the numbers of another array to the numbers of this array, element by element,
+     * and stores the sums in the destination array, which may be one of the operands.
+     *
+     * @param other       the addends
+     * @param destination the array in which to store the sums
+     * @return {@code destination}
+     * @throws NullPointerException     if {@code other} or {@code destination} is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    public ComplexArray add(ComplexArray other, ComplexArray destination) {
+        checkOperands(other, destination);
+
+        double[] re = this.re, im = this.im, otherRe = other.re, otherIm = other.im;
+        double[] destRe = destination.re, destIm = destination.im;
+        for (int i = 0; i < re.length; i++) {
+            destRe[i] = re[i] + otherRe[i];
+            destIm[i] = im[i] + otherIm[i];
+        }
+
+        return destination;
+    }
+
+    /**
+     * Subtracts the numbers of another array from the numbers of this array, element by element.
+     * Both of the operands remain unchanged.
+     *
+     * @param other the subtrahends
+     * @return a new array of differences
+     * @throws NullPointerException     if {@code other} is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    public ComplexArray sub(ComplexArray other) {
+        return sub(other, new ComplexArray(re.length));
+    }
+
+    /**
+     * Subtracts the numbers of another array from the numbers of this array, element by element,
+     * and stores the differences in the destination array, which may be one of the operands.
+     *
+     * @param other       the subtrahends
+     * @param destination the array in which to store the differences
+     * @return {@code destination}
+     * @throws NullPointerException     if {@code other} or {@code destination} is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    public ComplexArray sub(ComplexArray other, ComplexArray destination) {
+        checkOperands(other, destination);
+
+        double[] re = this.re, im = this.im, otherRe = other.re, otherIm = other.im;
+        double[] destRe = destination.re, destIm = destination.im;
+        for (int i = 0; i < re.length; i++) {
+            destRe[i] = re[i] - otherRe[i];
+            destIm[i] = im[i] - otherIm[i];
+        }
+
+        return destination;
+    }
+
+    /**
+     * Multiplies the numbers of this array by the numbers of another array, element by element.
+     * Both of the operands remain unchanged.
+     *
+     * @param other the multipliers
+     * @return a new array of products
+     * @throws NullPointerException     if {@code other} is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    public ComplexArray mul(ComplexArray other) {
+        return mul(other, new ComplexArray(re.length));
+    }
+
+    /**
+     * Multiplies the numbers of this array by the numbers of another array, element by element,
+     * and stores the products in the destination array, which may be one of the operands.
+     *
+     * @param other       the multipliers
+     * @param destination the array in which to store the products
+     * @return {@code destination}
+     * @throws NullPointerException     if {@code other} or {@code destination} is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    public ComplexArray mul(ComplexArray other, ComplexArray destination) {
+        checkOperands(other, destination);
+
+        double[] re = this.re, im = this.im, otherRe = other.re, otherIm = other.im;
+        double[] destRe = destination.re, destIm = destination.im;
+        for (int i = 0; i < re.length; i++) {
+            double a = re[i], b = im[i], c = otherRe[i], d = otherIm[i];
+            destRe[i] = a * c - b * d;
+            destIm[i] = a * d + b * c;
+        }
+
+        return destination;
+    }
+
+    /**
+     * Divides the numbers of this array by the numbers of another array, element by element.
+     * Both of the operands remain unchanged.
+     *
+     * @param other the divisors
+     * @return a new array of quotients
+     * @throws NullPointerException     if {@code other} is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    public ComplexArray div(ComplexArray other) {
+        return div(other, new ComplexArray(re.length));
+    }
+
+    /**
+     * Divides the numbers of this array by the numbers of another array, element by element,
+     * and stores the quotients in the destination array, which may be one of the operands.
+     *
+     * @param other       the divisors
+     * @param destination the array in which to store the quotients
+     * @return {@code destination}
+     * @throws NullPointerException     if {@code other} or {@code destination} is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    public ComplexArray div(ComplexArray other, ComplexArray destination) {
+        checkOperands(other, destination);
+
+        double[] re = this.re, im = this.im, otherRe = other.re, otherIm = other.im;
+        double[] destRe = destination.re, destIm = destination.im;
+        for (int i = 0; i < re.length; i++) {
+            double a = re[i], b = im[i], c = otherRe[i], d = otherIm[i];
+
+            // Multiplication by the reciprocal, like ComplexNumber.div
+            double denominator = c * c + d * d;
+            double reciprocalRe = c / denominator;
+            double reciprocalIm = -d / denominator;
+
+            destRe[i] = a * reciprocalRe - b * reciprocalIm;
+            destIm[i] = a * reciprocalIm + b * reciprocalRe;
+        }
+
+        return destination;
+    }
+
+    /**
+     * Raises each number of this array to a power. The array remains unchanged.
+     *
+     * @param n the exponent, must be >=&nbsp;0
+     * @return a new array of powers
+     * @throws IllegalArgumentException if {@code n} is negative
+     */
+    public ComplexArray power(int n) {
+        return power(n, new ComplexArray(re.length));
+    }
+
+    /**
+     * Raises each number of this array to a power and stores the results in the destination array,
+     * which may be this array.
+     *
+     * @param n           the exponent, must be >=&nbsp;0
+     * @param destination the array in which to store the powers
+     * @return {@code destination}
+     * @throws NullPointerException     if {@code destination} is {@code null}
+     * @throws IllegalArgumentException if {@code n} is negative or the arrays are not of the same length
+     */
+    public ComplexArray power(int n, ComplexArray destination) {
+        if (n < 0)
+            throw new IllegalArgumentException("The exponent cannot be negative, but " + n + " was given.");
+        checkDestination(destination);
+
+        double[] re = this.re, im = this.im;
+        double[] destRe = destination.re, destIm = destination.im;
+        for (int i = 0; i < re.length; i++) {
+            double magnitude = Math.pow(Math.hypot(re[i], im[i]), n);
+            double angle = n * angle(re[i], im[i]);
+
+            destRe[i] = magnitude * Math.cos(angle);
+            destIm[i] = magnitude * Math.sin(angle);
+        }
+
+        return destination;
+    }
+
+    /**
+     * Calculates the <i>n</i><sup>th</sup> roots of each number of this array. The array remains unchanged.
+     * <p>
+     * The <i>k</i><sup>th</sup> array of the result contains the <i>k</i><sup>th</sup> root of each number,
+     * in the same order in which {@link ComplexNumber#root(int)} returns them.
+     *
+     * @param n the degree of the root, must be >&nbsp;0
+     * @return an array of {@code n} new arrays of roots
+     * @throws IllegalArgumentException if {@code n} is 0 or negative
+     */
+    public ComplexArray[] root(int n) {
+        if (n <= 0)
+            throw new IllegalArgumentException("The exponent must be positive, but " + n + " was given.");
+
+        ComplexArray[] roots = new ComplexArray[n];
+        for (int k = 0; k < n; k++)
+            roots[k] = new ComplexArray(re.length);
+
+        double[] re = this.re, im = this.im;
+        for (int i = 0; i < re.length; i++) {
+            double magnitude = Math.pow(Math.hypot(re[i], im[i]), 1.0 / n);
+            double baseAngle = angle(re[i], im[i]) / n;
+
+            for (int k = 0; k < n; k++) {
+                double angle = baseAngle + 2 * k * Math.PI / n;
+                roots[k].re[i] = magnitude * Math.cos(angle);
+                roots[k].im[i] = magnitude * Math.sin(angle);
+            }
+        }
+
+        return roots;
+    }
+
+    /**
+     * Calculates the magnitude of each number of this array.
+     *
+     * @return a new array of magnitudes
+     * @see ComplexNumber#getMagnitude()
+     */
+    public double[] magnitudes() {
+        return magnitudes(new double[re.length]);
+    }
+
+    /**
+     * Calculates the magnitude of each number of this array and stores them in the destination array.
+     *
+     * @param destination the array in which to store the magnitudes
+     * @return {@code destination}
+     * @throws NullPointerException     if {@code destination} is {@code null}
+     * @throws IllegalArgumentException if {@code destination} is not of the same length as this array
+     * @see ComplexNumber#getMagnitude()
+     */
+    public double[] magnitudes(double[] destination) {
+        checkDestination(destination);
+
+        double[] re = this.re, im = this.im;
+        for (int i = 0; i < re.length; i++)
+            destination[i] = Math.hypot(re[i], im[i]);
+
+        return destination;
+    }
+
+    /**
+     * Calculates the angle of each number of this array, in radians and between 0 and 2 pi.
+     *
+     * @return a new array of angles
+     * @see ComplexNumber#getAngle()
+     */
+    public double[] angles() {
+        return angles(new double[re.length]);
+    }
+
+    /**
+     * Calculates the angle of each number of this array, in radians and between 0 and 2 pi,
+     * and stores them in the destination array.
+     *
+     * @param destination the array in which to store the angles
+     * @return {@code destination}
+     * @throws NullPointerException     if {@code destination} is {@code null}
+     * @throws IllegalArgumentException if {@code destination} is not of the same length as this array
+     * @see ComplexNumber#getAngle()
+     */
+    public double[] angles(double[] destination) {
+        checkDestination(destination);
+
+        double[] re = this.re, im = this.im;
+        for (int i = 0; i < re.length; i++)
+            destination[i] = angle(re[i], im[i]);
+
+        return destination;
+    }
+
+    /**
+     * Calculates the angle of a complex number in the same way as {@link ComplexNumber#getAngle()}.
+     *
+     * @param real      the real part of the number
+     * @param imaginary the imaginary part of the number
+     * @return the angle in radians, between 0 and 2 pi
+     */
+    private static double angle(double real, double imaginary) {
+        double angle = Math.atan2(imaginary, real);
+
+        // Math.atan2 returns an angle between -pi and pi
+        if (angle < 0)
+            angle += 2 * Math.PI;
+
+        return angle;
+    }
+
+    /**
+     * Checks that the operand and the destination of a binary operation are of the same length as this array.
+     *
+     * @param other       the other operand
+     * @param destination the destination array
+     * @throws NullPointerException     if either of the arrays is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    private void checkOperands(ComplexArray other, ComplexArray destination) {
+        Objects.requireNonNull(other, "The other operand must not be null.");
+        if (other.re.length != re.length)
+            throw new IllegalArgumentException("The operands must be of the same length, but "
+                    + re.length + " and " + other.re.length + " were given.");
+
+        checkDestination(destination);
+    }
+
+    /**
+     * Checks that the destination of an operation is of the same length as this array.
+     *
+     * @param destination the destination array
+     * @throws NullPointerException     if {@code destination} is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    private void checkDestination(ComplexArray destination) {
+        Objects.requireNonNull(destination, "The destination must not be null.");
+        checkDestinationLength(destination.re.length);
+    }
+
+    /**
+     * Checks that the destination of an operation is of the same length as this array.
+     *
+     * @param destination the destination array
+     * @throws NullPointerException     if {@code destination} is {@code null}
+     * @throws IllegalArgumentException if the arrays are not of the same length
+     */
+    private void checkDestination(double[] destination) {
+        Objects.requireNonNull(destination, "The destination must not be null.");
+        checkDestinationLength(destination.length);
+    }
+
+    /**
+     * Checks that the destination of an operation is of the same length as this array.
+     *
+     * @param length the length of the destination
+     * @throws IllegalArgumentException if the length differs from the length of this array
+     */
+    private void checkDestinationLength(int length) {
+        if (length != re.length)
+            throw new IllegalArgumentException("The destination must be of length " + re.length
+                    + ", but its length is " + length + ".");
+    }
+
+    /**
+     * Returns the Cartesian notations of the numbers as a string, in the same format as {@link Arrays#toString}.
+     *
+     * @return the string representation of the array
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+
+        for (int i = 0; i < re.length; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(new ComplexNumber(re[i], im[i]));
+        }
+
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Parses fields of CSV lines into growing arrays of real and imaginary parts, reusing the same
+     * {@link ComplexNumberParser} for each field.
+     */
+    private static class ColumnParser {
+        /**
+         * The initial capacity of the arrays.
+         */
+        private static final int INITIAL_CAPACITY = 16;
+
+        /**
+         * The parser used for each field.
+         */
+        private final ComplexNumberParser parser = new ComplexNumberParser();
+        /**
+         * The zero-based index of the column to parse.
+         */
+        private final int column;
+
+        /**
+         * The real parts parsed so far.
+         */
+        private double[] re = new double[INITIAL_CAPACITY];
+        /**
+         * The imaginary parts parsed so far.
+         */
+        private double[] im = new double[INITIAL_CAPACITY];
+        /**
+         * The number of values parsed so far.
+         */
+        private int size = 0;
+
+        /**
+         * Constructs a parser for the given column.
+         *
+         * @param column the zero-based index of the column to parse
+         */
+        ColumnParser(int column) {
+            this.column = column;
+        }
+
+        /**
+         * Parses the field of a line and appends its value.
+         *
+         * @param text      the text containing the line
+         * @param lineStart the index of the line's first character
+         * @param lineEnd   the index after the line's last character, excluding the line terminator
+         * @throws NumberFormatException if the line does not have the field, or its value is not a valid complex number
+         */
+        void parseField(CharSequence text, int lineStart, int lineEnd) {
+            int start = lineStart;
+            for (int i = 0; i < column; i++) {
+                start = indexOfComma(text, start, lineEnd) + 1;
+                if (start == 0)
+                    throw new NumberFormatException(
+                            "The line has no column " + column + ": " + text.subSequence(lineStart, lineEnd));
+            }
+
+            int end = indexOfComma(text, start, lineEnd);
+            if (end < 0)
+                end = lineEnd;
+
+            while (start < end && Character.isWhitespace(text.charAt(start)))
+                start++;
+            while (end > start && Character.isWhitespace(text.charAt(end - 1)))
+                end--;
+
+            parser.parse(text, start, end);
+
+            if (size == re.length) {
+                re = Arrays.copyOf(re, 2 * size);
+                im = Arrays.copyOf(im, 2 * size);
+            }
+
+            re[size] = parser.getReal();
+            im[size] = parser.getImaginary();
+            size++;
+        }
+
+        /**
+         * Finds the first comma in a region of a text.
+         *
+         * @param text  the text to search
+         * @param start the index at which to start searching
+         * @param end   the index at which to stop searching
+         * @return the index of the first comma, or -1 if the region contains no commas
+         */
+        private static int indexOfComma(CharSequence text, int start, int end) {
+            for (int i = start; i < end; i++)
+                if (text.charAt(i) == ',')
+                    return i;
+
+            return -1;
+        }
+
+        /**
+         * Returns the parsed values as an array of complex numbers.
+         *
+         * @return a new array containing the parsed values
+         */
+        ComplexArray toArray() {
+            ComplexArray array = new ComplexArray(size);
+            System.arraycopy(re, 0, array.re, 0, size);
+            System.arraycopy(im, 0, array.im, 0, size);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package hr.fer.oprpp1.hw01;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A reusable parser of complex numbers which reads the number's parts directly into primitive fields.
+ * <p>
+ * It accepts exactly the same strings as {@link ComplexNumber#parse(String)} and produces the same values,
+ * but it scans the characters by hand instead of using regular expressions, so parsing a region of a larger
+ * {@link CharSequence} or {@link ByteBuffer} creates no substrings, matchers or complex numbers.
+ * <p>
+ * Decimal numbers with at most 15 significant digits and at most 22 digits after the decimal point are converted
+ * by dividing the integer formed from their digits by a power of ten. Both of those are exactly representable as
+ * doubles, so the single rounded division gives the same result as {@link Double#parseDouble(String)}.
+ * Longer numbers are passed on to {@link Double#parseDouble(String)}, which does allocate.
+ * <p>
+ * After a successful call to one of the {@code parse} methods, the parsed number's parts can be read using
+ * {@link #getReal()} and {@link #getImaginary()}. The parser is not thread-safe.
+ *
+ * @author Borna Cafuk
+ */
+public final class ComplexNumberParser {
+    /**
+     * The largest number of significant digits which is always converted exactly.
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+    /**
+     * The powers of ten which are exactly representable as doubles.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * The real part of the last parsed number.
+     */
+    private double real;
+    /**
+     * The imaginary part of the last parsed number.
+     */
+    private double imaginary;
+    /**
+     * The value of the last unsigned decimal number read by {@link #readUnsigned(CharSequence, int, int)}.
+     */
+    private double number;
+    /**
+     * The view of the last buffer given to {@link #parse(ByteBuffer, int, int)}, kept so it can be reused.
+     */
+    private AsciiCharSequence bytes;
+
+    /**
+     * Parses a complex number.
+     *
+     * @param s the string to parse
+     * @throws NullPointerException  if {@code s} is {@code null}
+     * @throws NumberFormatException if {@code s} is not a valid complex number
+     */
+    public void parse(CharSequence s) {
+        Objects.requireNonNull(s, "Cannot parse null.");
+        parse(s, 0, s.length());
+    }
+
+    /**
+     * Parses a complex number from a region of a character sequence.
+     *
+     * @param s     the sequence containing the number
+     * @param start the index of the number's first character
+     * @param end   the index after the number's last character
+     * @throws NullPointerException      if {@code s} is {@code null}
+     * @throws IndexOutOfBoundsException if the region is out of bounds
+     * @throws NumberFormatException     if the region is not a valid complex number
+     */
+    public void parse(CharSequence s, int start, int end) {
+        Objects.requireNonNull(s, "Cannot parse null.");
+        Objects.checkFromToIndex(start, end, s.length());
+
+        if (!tryParse(s, start, end))
+            throw new NumberFormatException("String cannot be parsed to a complex number: " + s.subSequence(start, end));
+    }
+
+    /**
+     * Parses a complex number from a region of a buffer containing US-ASCII text.
+     * <p>
+     * The region is given using absolute indices, and the buffer's position and limit remain unchanged.
+     *
+     * @param buffer the buffer containing the number
+     * @param start  the index of the number's first byte
+     * @param end    the index after the number's last byte
+     * @throws NullPointerException      if {@code buffer} is {@code null}
+     * @throws IndexOutOfBoundsException if the region is out of bounds
+     * @throws NumberFormatException     if the region is not a valid complex number
+     */
+    public void parse(ByteBuffer buffer, int start, int end) {
+        Objects.requireNonNull(buffer, "Cannot parse null.");
+
+        if (bytes == null || !bytes.views(buffer))
+            bytes = new AsciiCharSequence(buffer);
+
+        parse(bytes, start, end);
+    }
+
+    /**
+     * Gets the real part of the last parsed number.
+     *
+     * @return the real part
+     */
+    public double getReal() {
+        return real;
+    }
+
+    /**
+     * Gets the imaginary part of the last parsed number.
+     *
+     * @return the imaginary part
+     */
+    public double getImaginary() {
+        return imaginary;
+    }
+
+    /**
+     * Returns the last parsed number as a new {@link ComplexNumber}.
+     *
+     * @return a new complex number
+     */
+    public ComplexNumber toComplexNumber() {
+        return new ComplexNumber(real, imaginary);
+    }
+
+    /**
+     * Parses a region of a sequence, storing the parts if it is a valid complex number.
+     *
+     * @param s     the sequence containing the number
+     * @param start the index of the number's first character
+     * @param end   the index after the number's last character
+     * @return {@code true} if the region is a valid complex number, {@code false} otherwise
+     */
+    private boolean tryParse(CharSequence s, int start, int end) {
+        int i = start;
+
+        boolean negative = false;
+        if (i < end && isSign(s.charAt(i)))
+            negative = s.charAt(i++) == '-';
+
+        // A lone imaginary unit, such as "i" or "-i"
+        if (i < end && s.charAt(i) == 'i') {
+            if (i + 1 != end)
+                return false;
+
+            store(0, negative ? -1 : 1);
+            return true;
+        }
+
+        i = readUnsigned(s, i, end);
+        if (i < 0)
+            return false;
+
+        double first = negative ? -number : number;
+
+        // A purely real number
+        if (i == end) {
+            store(first, 0);
+            return true;
+        }
+
+        char c = s.charAt(i);
+
+        // A purely imaginary number
+        if (c == 'i') {
+            if (i + 1 != end)
+                return false;
+
+            store(0, first);
+            return true;
+        }
+
+        if (!isSign(c))
+            return false;
+
+        boolean negativeImaginary = c == '-';
+        i++;
+
+        double magnitude = 1;
+        if (i < end && s.charAt(i) != 'i') {
+            i = readUnsigned(s, i, end);
+            if (i < 0)
+                return false;
+
+            magnitude = number;
+        }
+
+        if (i != end - 1 || s.charAt(i) != 'i')
+            return false;
+
+        store(first, negativeImaginary ? -magnitude : magnitude);
+        return true;
+    }
+
+    /**
+     * Reads an unsigned decimal number of the form <code>digits[.digits]</code> into {@link #number}.
+     *
+     * @param s     the sequence containing the number
+     * @param start the index of the number's first character
+     * @param end   the index after which no more characters may be read
+     * @return the index after the number's last character, or -1 if there is no valid number at {@code start}
+     */
+    private int readUnsigned(CharSequence s, int start, int end) {
+        long mantissa = 0;
+        int significantDigits = 0;
+        int fractionDigits = 0;
+
+        int i = start;
+        while (i < end && isDigit(s.charAt(i))) {
+            mantissa = accumulate(mantissa, s.charAt(i++));
+            if (mantissa != 0)
+                significantDigits++;
+        }
+
+        if (i == start)
+            return -1;
+
+        if (i < end && s.charAt(i) == '.') {
+            int fractionStart = ++i;
+            while (i < end && isDigit(s.charAt(i))) {
+                mantissa = accumulate(mantissa, s.charAt(i++));
+                if (mantissa != 0)
+                    significantDigits++;
+            }
+
+            fractionDigits = i - fractionStart;
+            if (fractionDigits == 0)
+                return -1;
+        }
+
+        if (significantDigits <= MAX_EXACT_DIGITS && fractionDigits < POWERS_OF_TEN.length)
+            number = mantissa / POWERS_OF_TEN[fractionDigits];
+        else
+            number = Double.parseDouble(s.subSequence(start, i).toString());
+
+        return i;
+    }
+
+    /**
+     * Appends a digit to an integer, ignoring overflow, which only happens for numbers that aren't converted exactly.
+     *
+     * @param mantissa the integer formed from the digits so far
+     * @param digit    the next digit
+     * @return the integer formed from the digits including {@code digit}
+     */
+    private static long accumulate(long mantissa, char digit) {
+        return mantissa * 10 + (digit - '0');
+    }
+
+    /**
+     * Stores the parts of a successfully parsed number.
+     *
+     * @param real      the real part
+     * @param imaginary the imaginary part
+     */
+    private void store(double real, double imaginary) {
+        this.real = real;
+        this.imaginary = imaginary;
+    }
+
+    /**
+     * Checks whether a character is an ASCII digit, which is what {@code \d} matches in {@link ComplexNumber}'s
+     * patterns.
+     *
+     * @param c the character to check
+     * @return {@code true} if the character is between '0' and '9', {@code false} otherwise
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Checks whether a character is a plus or a minus sign.
+     *
+     * @param c the character to check
+     * @return {@code true} if the character is '+' or '-', {@code false} otherwise
+     */
+    private static boolean isSign(char c) {
+        return c == '+' || c == '-';
+    }
+}
@@ -0,0 +1,223 @@
+package hr.fer.oprpp1.hw01;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static hr.fer.oprpp1.hw01.ComplexNumberTest.DOUBLE_EPSILON;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComplexArrayTest {
+    private static final ComplexNumber[] FIRST = {
+            new ComplexNumber(0, 0),
+            new ComplexNumber(1, 0),
+            new ComplexNumber(0, -1),
+            new ComplexNumber(3.5, -2),
+            new ComplexNumber(-4, 7.25),
+            new ComplexNumber(-1e3, -1e-3),
+    };
+    private static final ComplexNumber[] SECOND = {
+            new ComplexNumber(1, 1),
+            new ComplexNumber(-2, 0.5),
+            new ComplexNumber(0, 3),
+            new ComplexNumber(2, 2),
+            new ComplexNumber(-0.5, -6),
+            new ComplexNumber(7, 0),
+    };
+
+    @Test
+    public void constructorsAndAccessors() {
+        ComplexArray zeros = new ComplexArray(3);
+        assertEquals(3, zeros.length());
+        assertEquals(0, zeros.getReal(2));
+        assertEquals(0, zeros.getImaginary(2));
+
+        double[] re = {1, 2};
+        double[] im = {3, 4};
+        ComplexArray array = new ComplexArray(re, im);
+        re[0] = 100;
+        assertEquals(1, array.getReal(0));
+        assertEquals(4, array.getImaginary(1));
+
+        array.set(1, new ComplexNumber(-5, 6));
+        assertArrayEquals(new double[]{1, -5}, array.getRealParts());
+        assertArrayEquals(new double[]{3, 6}, array.getImaginaryParts());
+        assertEquals("[1.0+3.0i, -5.0+6.0i]", array.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> new ComplexArray(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ComplexArray(new double[1], new double[2]));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(2));
+        assertThrows(NullPointerException.class, () -> ComplexArray.of((ComplexNumber) null));
+    }
+
+    @Test
+    public void binaryOperationsMatchComplexNumber() {
+        ComplexArray first = ComplexArray.of(FIRST);
+        ComplexArray second = ComplexArray.of(SECOND);
+
+        ComplexArray sum = first.add(second);
+        ComplexArray difference = first.sub(second);
+        ComplexArray product = first.mul(second);
+        ComplexArray quotient = first.div(second);
+
+        for (int i = 0; i < FIRST.length; i++) {
+            assertComplexEquals(FIRST[i].add(SECOND[i]), sum, i);
+            assertComplexEquals(FIRST[i].sub(SECOND[i]), difference, i);
+            assertComplexEquals(FIRST[i].mul(SECOND[i]), product, i);
+            assertComplexEquals(FIRST[i].div(SECOND[i]), quotient, i);
+        }
+
+        // The operands remain unchanged
+        for (int i = 0; i < FIRST.length; i++)
+            assertComplexEquals(FIRST[i], first, i);
+    }
+
+    @Test
+    public void operationsIntoOperand() {
+        ComplexArray first = ComplexArray.of(FIRST);
+        ComplexArray second = ComplexArray.of(SECOND);
+
+        assertSame(first, first.mul(second, first));
+        assertSame(second, first.div(second, second));
+
+        for (int i = 0; i < FIRST.length; i++) {
+            ComplexNumber product = FIRST[i].mul(SECOND[i]);
+            assertComplexEquals(product, first, i);
+            assertComplexEquals(product.div(SECOND[i]), second, i);
+        }
+    }
+
+    @Test
+    public void powerMatchesComplexNumber() {
+        ComplexArray array = ComplexArray.of(FIRST);
+
+        for (int n = 0; n <= 4; n++) {
+            ComplexArray powers = array.power(n);
+            for (int i = 0; i < FIRST.length; i++)
+                assertComplexEquals(FIRST[i].power(n), powers, i);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> array.power(-1));
+    }
+
+    @Test
+    public void rootMatchesComplexNumber() {
+        ComplexArray array = ComplexArray.of(FIRST);
+
+        for (int n = 1; n <= 4; n++) {
+            ComplexArray[] roots = array.root(n);
+            assertEquals(n, roots.length);
+
+            for (int i = 0; i < FIRST.length; i++) {
+                ComplexNumber[] expected = FIRST[i].root(n);
+                for (int k = 0; k < n; k++)
+                    assertComplexEquals(expected[k], roots[k], i);
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> array.root(0));
+    }
+
+    @Test
+    public void magnitudesAndAngles() {
+        ComplexArray array = ComplexArray.of(FIRST);
+        double[] magnitudes = array.magnitudes();
+        double[] angles = array.angles(new double[FIRST.length]);
+
+        for (int i = 0; i < FIRST.length; i++) {
+            assertEquals(FIRST[i].getMagnitude(), magnitudes[i], DOUBLE_EPSILON);
+            assertEquals(FIRST[i].getAngle(), angles[i], DOUBLE_EPSILON);
+        }
+    }
+
+    @Test
+    public void mismatchedLengths() {
+        ComplexArray array = new ComplexArray(3);
+
+        assertThrows(IllegalArgumentException.class, () -> array.add(new ComplexArray(2)));
+        assertThrows(IllegalArgumentException.class, () -> array.mul(array, new ComplexArray(4)));
+        assertThrows(IllegalArgumentException.class, () -> array.magnitudes(new double[2]));
+        assertThrows(NullPointerException.class, () -> array.sub(null));
+    }
+
+    @Test
+    public void parseColumnMatchesParse() throws IOException {
+        ComplexArray strings;
+        try (BufferedReader reader = resource("/validComplexStrings.csv")) {
+            strings = ComplexArray.parseColumn(reader, 0, true);
+        }
+
+        ComplexArray reals;
+        ComplexArray imaginaries;
+        try (BufferedReader reader = resource("/validComplexStrings.csv")) {
+            reals = ComplexArray.parseColumn(reader, 1, true);
+        }
+        try (BufferedReader reader = resource("/validComplexStrings.csv")) {
+            imaginaries = ComplexArray.parseColumn(reader, 2, true);
+        }
+
+        assertEquals(39, strings.length());
+        for (int i = 0; i < strings.length(); i++) {
+            assertEquals(reals.getReal(i), strings.getReal(i), DOUBLE_EPSILON);
+            assertEquals(imaginaries.getReal(i), strings.getImaginary(i), DOUBLE_EPSILON);
+        }
+    }
+
+    @Test
+    public void parseColumnFromByteBuffer() throws IOException {
+        byte[] bytes;
+        try (var stream = ComplexArrayTest.class.getResourceAsStream("/validComplexStrings.csv")) {
+            bytes = stream.readAllBytes();
+        }
+
+        ComplexArray expected;
+        try (BufferedReader reader = resource("/validComplexStrings.csv")) {
+            expected = ComplexArray.parseColumn(reader, 0, true);
+        }
+
+        ComplexArray parsed = ComplexArray.parseColumn(ByteBuffer.wrap(bytes), 0, true);
+        assertArrayEquals(expected.getRealParts(), parsed.getRealParts());
+        assertArrayEquals(expected.getImaginaryParts(), parsed.getImaginaryParts());
+
+        ByteBuffer buffer = ByteBuffer.wrap("skip\r\nheader, 1+i\r\n\r\nx, -2.5i \r\ny,3".getBytes(StandardCharsets.US_ASCII));
+        buffer.position(6);
+        ComplexArray crlf = ComplexArray.parseColumn(buffer, 1, true);
+        assertEquals("[-2.5i, 3.0]", crlf.toString());
+        assertEquals(6, buffer.position());
+    }
+
+    @Test
+    public void parseColumnInvalid() {
+        assertThrows(NumberFormatException.class,
+                () -> ComplexArray.parseColumn(new BufferedReader(new StringReader("1, 2\n3, 4i\n5")), 1, false));
+        assertThrows(NumberFormatException.class,
+                () -> ComplexArray.parseColumn(new BufferedReader(new StringReader("1\n5.")), 0, false));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> ComplexArray.parseColumn(new BufferedReader(new StringReader("")), -1, false));
+
+        try (BufferedReader reader = resource("/invalidComplexStrings.csv")) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String invalid = line;
+                assertThrows(NumberFormatException.class,
+                        () -> ComplexArray.parseColumn(new BufferedReader(new StringReader(invalid)), 0, false));
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private static BufferedReader resource(String name) {
+        return new BufferedReader(new InputStreamReader(
+                ComplexArrayTest.class.getResourceAsStream(name), StandardCharsets.UTF_8));
+    }
+
+    private static void assertComplexEquals(ComplexNumber expected, ComplexArray actual, int index) {
+        assertEquals(expected.getReal(), actual.getReal(index), DOUBLE_EPSILON);
+        assertEquals(expected.getImaginary(), actual.getImaginary(index), DOUBLE_EPSILON);
+    }
+}
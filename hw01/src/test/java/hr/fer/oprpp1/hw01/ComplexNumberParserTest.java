@@ -0,0 +1,138 @@
+package hr.fer.oprpp1.hw01;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+import org.junit.jupiter.params.provider.EmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComplexNumberParserTest {
+    @ParameterizedTest
+    @CsvFileSource(resources = "/validComplexStrings.csv", numLinesToSkip = 1)
+    public void parseValidMatchesParse(String string) {
+        ComplexNumber expected = ComplexNumber.parse(string);
+
+        ComplexNumberParser parser = new ComplexNumberParser();
+        parser.parse(string);
+
+        assertEquals(expected.getReal(), parser.getReal());
+        assertEquals(expected.getImaginary(), parser.getImaginary());
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/invalidComplexStrings.csv")
+    public void parseInvalid(String string) {
+        ComplexNumberParser parser = new ComplexNumberParser();
+        assertThrows(NumberFormatException.class, () -> parser.parse(string));
+    }
+
+    @ParameterizedTest
+    @EmptySource
+    @ValueSource(strings = {"+", "-", "+-i", "ii", "1ii", "1+2", "1+2.i", "1.2.3", "1e5", "\u0661", " 1"})
+    public void parseInvalidEdgeCases(String string) {
+        assertThrows(NumberFormatException.class, () -> ComplexNumber.parse(string));
+
+        ComplexNumberParser parser = new ComplexNumberParser();
+        assertThrows(NumberFormatException.class, () -> parser.parse(string));
+    }
+
+    @Test
+    public void parseNull() {
+        ComplexNumberParser parser = new ComplexNumberParser();
+        assertThrows(NullPointerException.class, () -> parser.parse((CharSequence) null));
+        assertThrows(NullPointerException.class, () -> parser.parse((ByteBuffer) null, 0, 0));
+    }
+
+    @Test
+    public void numbersMatchParseDouble() {
+        Random random = new Random(42);
+        ComplexNumberParser parser = new ComplexNumberParser();
+
+        for (int i = 0; i < 100_000; i++) {
+            String real = randomDecimal(random);
+            String imaginary = randomDecimal(random);
+
+            parser.parse(real + "-" + imaginary + "i");
+            assertEquals(Double.parseDouble(real), parser.getReal(), real);
+            assertEquals(-Double.parseDouble(imaginary), parser.getImaginary(), imaginary);
+        }
+    }
+
+    @Test
+    public void longNumbers() {
+        ComplexNumberParser parser = new ComplexNumberParser();
+
+        parser.parse("3.14159265358979323846264338327950288-0.0000000000000000000000000001i");
+        assertEquals(Math.PI, parser.getReal());
+        assertEquals(-1e-28, parser.getImaginary());
+
+        parser.parse("123456789012345678901234567890");
+        assertEquals(123456789012345678901234567890.0, parser.getReal());
+    }
+
+    @Test
+    public void parseRegion() {
+        String text = "x,17-2.5i,+i,y";
+        ComplexNumberParser parser = new ComplexNumberParser();
+
+        parser.parse(text, 2, 9);
+        assertEquals(17, parser.getReal());
+        assertEquals(-2.5, parser.getImaginary());
+
+        parser.parse(text, 10, 12);
+        assertEquals(0, parser.getReal());
+        assertEquals(1, parser.getImaginary());
+
+        assertThrows(NumberFormatException.class, () -> parser.parse(text, 2, 10));
+        assertThrows(IndexOutOfBoundsException.class, () -> parser.parse(text, 10, 15));
+    }
+
+    @Test
+    public void parseByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap("-0.5+3i;2.25;-i".getBytes(StandardCharsets.US_ASCII));
+        buffer.position(3).limit(8);
+        ComplexNumberParser parser = new ComplexNumberParser();
+
+        parser.parse(buffer, 0, 7);
+        assertEquals(-0.5, parser.getReal());
+        assertEquals(3, parser.getImaginary());
+
+        parser.parse(buffer, 8, 12);
+        assertEquals(2.25, parser.toComplexNumber().getReal());
+        assertEquals(0, parser.toComplexNumber().getImaginary());
+
+        parser.parse(buffer, 13, 15);
+        assertEquals(-1, parser.getImaginary());
+
+        assertEquals(3, buffer.position());
+        assertEquals(8, buffer.limit());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(8).put("1.5+\u00e9i".getBytes(StandardCharsets.ISO_8859_1));
+        assertThrows(NumberFormatException.class, () -> parser.parse(direct, 0, 6));
+        parser.parse(direct, 0, 3);
+        assertEquals(1.5, parser.getReal());
+    }
+
+    private static String randomDecimal(Random random) {
+        StringBuilder sb = new StringBuilder();
+
+        int integerDigits = 1 + random.nextInt(12);
+        for (int i = 0; i < integerDigits; i++)
+            sb.append((char) ('0' + random.nextInt(10)));
+
+        if (random.nextBoolean()) {
+            sb.append('.');
+            int fractionDigits = 1 + random.nextInt(12);
+            for (int i = 0; i < fractionDigits; i++)
+                sb.append((char) ('0' + random.nextInt(10)));
+        }
+
+        return sb.toString();
+    }
+}
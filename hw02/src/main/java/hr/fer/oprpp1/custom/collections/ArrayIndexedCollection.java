@@ -4,6 +4,8 @@ import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * An array-backed collection with constant-time lookup.
@@ -221,6 +223,19 @@ public class ArrayIndexedCollection implements List {
         return new ArrayIndexedElementsGetter(this);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The spliterator splits the range of indices in half, so it is well suited to parallel streams.
+     * It is {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED}, {@link Spliterator#ORDERED}
+     * and {@link Spliterator#NONNULL}. It throws a {@link ConcurrentModificationException}
+     * if the collection is modified in a way which would invalidate an {@link ArrayIndexedElementsGetter}.
+     */
+    @Override
+    public Spliterator<Object> spliterator() {
+        return new ArrayIndexedSpliterator(this, 0, size, modificationCount);
+    }
+
     /**
      * An implementation of {@link ElementsGetter} for this class.
      */
@@ -269,4 +284,94 @@ public class ArrayIndexedCollection implements List {
             return collection.elements[currentIndex++];
         }
     }
+
+    /**
+     * An implementation of {@link Spliterator} for this class.
+     */
+    private static class ArrayIndexedSpliterator implements Spliterator<Object> {
+        /**
+         * The collection whose elements will be returned by this spliterator.
+         */
+        private final ArrayIndexedCollection collection;
+        /**
+         * The index of the first element which has not yet been returned.
+         */
+        private int index;
+        /**
+         * The index after the last element covered by this spliterator.
+         */
+        private final int fence;
+        /**
+         * The {@link #modificationCount} at the moment of the creation of the original spliterator.
+         * <p>
+         * This is used to monitor for concurrent modifications.
+         */
+        private final long expectedModificationCount;
+
+        /**
+         * Constructs a new {@link ArrayIndexedSpliterator} covering a range of indices.
+         *
+         * @param collection                the collection whose elements will be returned by this spliterator
+         * @param index                     the first index covered by this spliterator
+         * @param fence                     the index after the last one covered by this spliterator
+         * @param expectedModificationCount the expected modification count of the collection
+         */
+        private ArrayIndexedSpliterator(ArrayIndexedCollection collection, int index, int fence, long expectedModificationCount) {
+            this.collection = collection;
+            this.index = index;
+            this.fence = fence;
+            this.expectedModificationCount = expectedModificationCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Object> action) {
+            Objects.requireNonNull(action, "The action must not be null.");
+
+            if (collection.modificationCount != expectedModificationCount)
+                throw new ConcurrentModificationException("The collection has been modified since the Spliterator has been constructed.");
+
+            if (index >= fence)
+                return false;
+
+            action.accept(collection.elements[index++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Object> action) {
+            Objects.requireNonNull(action, "The action must not be null.");
+
+            if (collection.modificationCount != expectedModificationCount)
+                throw new ConcurrentModificationException("The collection has been modified since the Spliterator has been constructed.");
+
+            Object[] elements = collection.elements;
+            for (; index < fence; index++)
+                action.accept(elements[index]);
+
+            if (collection.modificationCount != expectedModificationCount)
+                throw new ConcurrentModificationException("The collection has been modified since the Spliterator has been constructed.");
+        }
+
+        @Override
+        public Spliterator<Object> trySplit() {
+            int middle = (index + fence) >>> 1;
+
+            if (middle <= index)
+                return null;
+
+            Spliterator<Object> prefix = new ArrayIndexedSpliterator(collection, index, middle, expectedModificationCount);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
 }
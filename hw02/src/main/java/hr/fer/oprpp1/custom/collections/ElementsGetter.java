@@ -1,6 +1,7 @@
 package hr.fer.oprpp1.custom.collections;
 
 import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 
 /**
  * Implementations of this interface are used to get the elements of a {@link Collection}.
@@ -36,4 +37,26 @@ public interface ElementsGetter {
         while (hasNextElement())
             p.process(getNextElement());
     }
+
+    /**
+     * Returns an {@link Iterator} which returns the remaining elements of this {@link ElementsGetter}.
+     * <p>
+     * The iterator shares its state with this {@link ElementsGetter},
+     * so advancing one of them also advances the other. It does not support removal.
+     *
+     * @return an iterator view of this {@link ElementsGetter}
+     */
+    default Iterator<Object> asIterator() {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return hasNextElement();
+            }
+
+            @Override
+            public Object next() {
+                return getNextElement();
+            }
+        };
+    }
 }
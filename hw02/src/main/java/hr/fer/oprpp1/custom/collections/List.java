@@ -1,5 +1,8 @@
 package hr.fer.oprpp1.custom.collections;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 /**
  * A collection whose elements have assigned indexes.
  *
@@ -50,4 +53,14 @@ public interface List extends Collection {
      * @throws IndexOutOfBoundsException if the index is less than 0 or if it is beyond the end of the list
      */
     void remove(int index);
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The spliterator is {@link Spliterator#ORDERED}, with elements in order of increasing index.
+     */
+    @Override
+    default Spliterator<Object> spliterator() {
+        return Spliterators.spliterator(createElementsGetter().asIterator(), size(), Spliterator.ORDERED);
+    }
 }
@@ -1,38 +1,55 @@
 package hr.fer.oprpp1.custom.collections;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * A last in, first out stack for objects.
  * <p>
+ * The elements are kept directly in an array with the top of the stack at its end,
+ * so pushing and popping don't shift elements or go through a collection's bounds checks.
+ * <p>
  * The stack is not allowed to contain {@code null}.
  *
  * @author Borna Cafuk
  */
 public class ObjectStack {
     /**
-     * The internal indexed collection that contains the stack elements.
+     * The capacity of the internal array of a new stack.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * By how much the capacity is multiplied when an element is to be pushed onto an already full array.
      */
-    private ArrayIndexedCollection collection;
+    private static final int GROWTH_FACTOR = 2;
+
+    /**
+     * The internal array that contains the stack elements. Unused indices are set to {@code null}.
+     */
+    private Object[] elements;
+    /**
+     * The number of elements on the stack.
+     */
+    private int size;
 
     /**
      * Constructs a new empty stack.
      */
-    public ObjectStack() {collection = new ArrayIndexedCollection();}
+    public ObjectStack() {elements = new Object[INITIAL_CAPACITY];}
 
     /**
      * Returns whether the stack is empty.
      *
      * @return {@code true} if the stack is empty, {@code false} otherwise
      */
-    public boolean isEmpty() {return collection.isEmpty();}
+    public boolean isEmpty() {return size == 0;}
 
     /**
      * Returns the size of the stack.
      *
      * @return the number of objects currently stored on the stack
      */
-    public int size() {return collection.size();}
+    public int size() {return size;}
 
     /**
      * Pushes an object onto the top of the stack.
@@ -43,21 +60,25 @@ public class ObjectStack {
     public void push(Object value) {
         Objects.requireNonNull(value, "null cannot be pushed onto the stack.");
 
-        collection.add(value);
+        if (size == elements.length)
+            elements = Arrays.copyOf(elements, elements.length * GROWTH_FACTOR);
+
+        elements[size++] = value;
     }
 
     /**
      * Removes the object at the top of the stack and removes it.
      *
      * @return the object that was removed from the stack
+     * @throws EmptyStackException if the stack is empty
      * @see ObjectStack#peek()
      */
     public Object pop() {
-        if (isEmpty())
+        if (size == 0)
             throw new EmptyStackException();
 
-        Object value = peek();
-        collection.remove(collection.size() - 1);
+        Object value = elements[--size];
+        elements[size] = null;
         return value;
     }
 
@@ -65,12 +86,21 @@ public class ObjectStack {
      * Gets the object at the top of the stack, but does not remove it.
      *
      * @return the object at the top of the stack
+     * @throws EmptyStackException if the stack is empty
      * @see ObjectStack#pop()
      */
-    public Object peek() {return collection.get(collection.size() - 1);}
+    public Object peek() {
+        if (size == 0)
+            throw new EmptyStackException();
+
+        return elements[size - 1];
+    }
 
     /**
      * Removes all elements from the stack.
      */
-    public void clear() {collection.clear();}
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
 }
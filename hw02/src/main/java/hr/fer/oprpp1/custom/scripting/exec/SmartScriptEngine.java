@@ -0,0 +1,789 @@
+package hr.fer.oprpp1.custom.scripting.exec;
+
+import hr.fer.oprpp1.custom.scripting.elems.*;
+import hr.fer.oprpp1.custom.scripting.nodes.*;
+
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Executes SmartScript documents.
+ * <p>
+ * The document is compiled once, when the engine is constructed, into a flat array of instructions.
+ * Executing the document runs those instructions on an operand stack, so the syntax tree is not walked again
+ * and no element is inspected more than once. Numbers are kept unboxed in primitive arrays, both on the stack
+ * and in the variables, and the stack is allocated once with the greatest depth any tag can reach.
+ * <p>
+ * The document is executed as follows:
+ * <ul>
+ * <li>The text of a {@link TextNode} is copied to the output.</li>
+ * <li>The elements of an {@link EchoNode} are evaluated in order: constants and variables are pushed onto the stack,
+ * operators pop two operands and push the result, and functions pop their arguments and push their results.
+ * At the end of the tag, everything left on the stack is written to the output, from the bottom to the top.</li>
+ * <li>A {@link ForLoopNode} sets its variable to the start expression and executes its children as long as the
+ * variable is not greater than the end expression (or not less than it, if the step is negative),
+ * adding the step (or 1, if it is omitted) to the variable after each iteration.</li>
+ * </ul>
+ * Integers stay integers when they are added, subtracted, multiplied or divided by other integers;
+ * otherwise the result is a double. Strings are converted to numbers when they are used as operands.
+ * <p>
+ * The supported functions are:
+ * <ul>
+ * <li>{@code @sin} &ndash; replaces a number with its sine, taking the number in degrees,</li>
+ * <li>{@code @decfmt} &ndash; pops a format and a number, and pushes the number formatted using
+ * {@link DecimalFormat},</li>
+ * <li>{@code @dup} &ndash; duplicates the top of the stack,</li>
+ * <li>{@code @swap} &ndash; swaps the two values at the top of the stack,</li>
+ * <li>{@code @paramGet} &ndash; pops a default value and a name, and pushes the parameter with that name,
+ * or the default value if there is no such parameter.</li>
+ * </ul>
+ * <p>
+ * The engine reuses its stack and variables between executions, so it is not thread-safe.
+ *
+ * @author Borna Cafuk
+ */
+public class SmartScriptEngine {
+    /**
+     * Writes the text constant with index {@code a} to the output.
+     */
+    private static final int TEXT = 0;
+    /**
+     * Pushes the constant with index {@code a}.
+     */
+    private static final int PUSH = 1;
+    /**
+     * Pushes the value of the variable with index {@code a}.
+     */
+    private static final int LOAD = 2;
+    /**
+     * Pops two values and pushes their sum.
+     */
+    private static final int ADD = 3;
+    /**
+     * Pops two values and pushes their difference.
+     */
+    private static final int SUB = 4;
+    /**
+     * Pops two values and pushes their product.
+     */
+    private static final int MUL = 5;
+    /**
+     * Pops two values and pushes their quotient.
+     */
+    private static final int DIV = 6;
+    /**
+     * Pops two values and pushes the first one raised to the power of the second one.
+     */
+    private static final int POW = 7;
+    /**
+     * Calls the function with index {@code a}.
+     */
+    private static final int CALL = 8;
+    /**
+     * Writes the contents of the stack to the output and empties it.
+     */
+    private static final int ECHO = 9;
+    /**
+     * Pops the step, the end and the start of the loop with index {@code b}, assigns the start to the variable with
+     * index {@code a} and jumps to the instruction after the matching {@link #LOOP_END} if the loop shouldn't run.
+     */
+    private static final int LOOP_BEGIN = 10;
+    /**
+     * Adds the step of the loop with index {@code b} to the variable with index {@code a}
+     * and jumps to the start of the loop's body if the loop should continue.
+     */
+    private static final int LOOP_END = 11;
+
+    /**
+     * The number of integers in each instruction: the opcode, its two operands and the target of its jump.
+     */
+    private static final int INSTRUCTION_SIZE = 4;
+
+    /**
+     * The index of {@code @sin}.
+     */
+    private static final int SIN = 0;
+    /**
+     * The index of {@code @decfmt}.
+     */
+    private static final int DECFMT = 1;
+    /**
+     * The index of {@code @dup}.
+     */
+    private static final int DUP = 2;
+    /**
+     * The index of {@code @swap}.
+     */
+    private static final int SWAP = 3;
+    /**
+     * The index of {@code @paramGet}.
+     */
+    private static final int PARAM_GET = 4;
+    /**
+     * The names of the functions, at their indices.
+     */
+    private static final String[] FUNCTION_NAMES = {"@sin", "@decfmt", "@dup", "@swap", "@paramGet"};
+    /**
+     * The number of values each function pops from the stack.
+     */
+    private static final int[] FUNCTION_ARGUMENTS = {1, 2, 1, 2, 2};
+    /**
+     * The number of values each function pushes onto the stack.
+     */
+    private static final int[] FUNCTION_RESULTS = {1, 1, 2, 2, 1};
+
+    /**
+     * The type of a variable which has not been assigned yet.
+     */
+    private static final byte NONE = 0;
+    /**
+     * The type of an integer value, which is stored in the number arrays.
+     */
+    private static final byte INTEGER = 1;
+    /**
+     * The type of a double value, which is stored in the number arrays.
+     */
+    private static final byte DOUBLE = 2;
+    /**
+     * The type of a string value, which is stored in the string arrays.
+     */
+    private static final byte STRING = 3;
+
+    /**
+     * The compiled instructions, {@link #INSTRUCTION_SIZE} integers per instruction.
+     */
+    private final int[] code;
+
+    /**
+     * The types of the constants.
+     */
+    private final byte[] constantTypes;
+    /**
+     * The values of the numeric constants.
+     */
+    private final double[] constantNumbers;
+    /**
+     * The values of the string and text constants.
+     */
+    private final String[] constantStrings;
+
+    /**
+     * The names of the variables, at their indices.
+     */
+    private final String[] variableNames;
+    /**
+     * The types of the variables' current values.
+     */
+    private final byte[] variableTypes;
+    /**
+     * The variables' current values.
+     */
+    private final double[] variableNumbers;
+
+    /**
+     * The end values of the loops, at their indices.
+     */
+    private final double[] loopEnds;
+    /**
+     * The steps of the loops, at their indices.
+     */
+    private final double[] loopSteps;
+
+    /**
+     * The types of the values on the stack.
+     */
+    private final byte[] stackTypes;
+    /**
+     * The numeric values on the stack.
+     */
+    private final double[] stackNumbers;
+    /**
+     * The string values on the stack.
+     */
+    private final String[] stackStrings;
+    /**
+     * The number of values on the stack.
+     */
+    private int stackSize;
+
+    /**
+     * The pattern of {@link #lastFormat}.
+     */
+    private String lastFormatPattern;
+    /**
+     * The format last used by {@code @decfmt}, kept because the same pattern is usually used over and over.
+     */
+    private DecimalFormat lastFormat;
+
+    /**
+     * Constructs an engine for a document and compiles the document.
+     *
+     * @param document the document to execute
+     * @throws NullPointerException        if {@code document} is {@code null}
+     * @throws SmartScriptEngineException if the document calls an unknown function or if an operator
+     *                                     or a function doesn't have enough operands
+     */
+    public SmartScriptEngine(DocumentNode document) {
+        Objects.requireNonNull(document, "The document must not be null.");
+
+        Compiler compiler = new Compiler();
+        compiler.compileChildren(document);
+
+        code = Arrays.copyOf(compiler.code, compiler.codeSize);
+
+        constantTypes = Arrays.copyOf(compiler.constantTypes, compiler.constantCount);
+        constantNumbers = Arrays.copyOf(compiler.constantNumbers, compiler.constantCount);
+        constantStrings = Arrays.copyOf(compiler.constantStrings, compiler.constantCount);
+
+        variableNames = new String[compiler.variables.size()];
+        compiler.variables.forEach((name, index) -> variableNames[index] = name);
+        variableTypes = new byte[variableNames.length];
+        variableNumbers = new double[variableNames.length];
+
+        loopEnds = new double[compiler.loopCount];
+        loopSteps = new double[compiler.loopCount];
+
+        stackTypes = new byte[compiler.maxDepth];
+        stackNumbers = new double[compiler.maxDepth];
+        stackStrings = new String[compiler.maxDepth];
+    }
+
+    /**
+     * Executes the document without any parameters and returns its output.
+     *
+     * @return the output of the document
+     * @throws SmartScriptEngineException if an error occurs during execution
+     */
+    public String render() {
+        return render(Map.of());
+    }
+
+    /**
+     * Executes the document with the given parameters and returns its output.
+     *
+     * @param parameters the parameters available to {@code @paramGet}
+     * @return the output of the document
+     * @throws NullPointerException        if {@code parameters} is {@code null}
+     * @throws SmartScriptEngineException if an error occurs during execution
+     */
+    public String render(Map<String, String> parameters) {
+        StringBuilder sb = new StringBuilder();
+        execute(parameters, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Executes the document with the given parameters, appending its output to a string builder.
+     *
+     * @param parameters the parameters available to {@code @paramGet}
+     * @param output     the string builder to which to append the output
+     * @throws NullPointerException        if {@code parameters} or {@code output} is {@code null}
+     * @throws SmartScriptEngineException if an error occurs during execution, such as using an unassigned
+     *                                     variable, using a string which is not a number as an operand,
+     *                                     or an integer division by zero
+     */
+    public void execute(Map<String, String> parameters, StringBuilder output) {
+        Objects.requireNonNull(parameters, "The parameters must not be null.");
+        Objects.requireNonNull(output, "The output must not be null.");
+
+        Arrays.fill(variableTypes, NONE);
+        stackSize = 0;
+
+        try {
+            run(parameters, output);
+        } finally {
+            Arrays.fill(stackStrings, null);
+        }
+    }
+
+    /**
+     * Runs the instructions.
+     *
+     * @param parameters the parameters available to {@code @paramGet}
+     * @param output     the string builder to which to append the output
+     * @throws SmartScriptEngineException if an error occurs during execution
+     */
+    private void run(Map<String, String> parameters, StringBuilder output) {
+        int[] code = this.code;
+        int pc = 0;
+
+        while (pc < code.length) {
+            int opcode = code[pc];
+            int a = code[pc + 1];
+            int b = code[pc + 2];
+            pc += INSTRUCTION_SIZE;
+
+            switch (opcode) {
+                case TEXT -> output.append(constantStrings[a]);
+                case PUSH -> push(constantTypes[a], constantNumbers[a], constantStrings[a]);
+                case LOAD -> {
+                    if (variableTypes[a] == NONE)
+                        throw new SmartScriptEngineException("The variable " + variableNames[a] + " has not been assigned.");
+
+                    push(variableTypes[a], variableNumbers[a], null);
+                }
+                case ADD, SUB, MUL, DIV, POW -> applyOperator(opcode);
+                case CALL -> callFunction(a, parameters);
+                case ECHO -> {
+                    for (int i = 0; i < stackSize; i++)
+                        appendValue(i, output);
+
+                    stackSize = 0;
+                }
+                case LOOP_BEGIN -> {
+                    int top = stackSize - 1;
+                    byte type = (byte) Math.max(toNumber(top - 2), Math.max(toNumber(top - 1), toNumber(top)));
+
+                    variableTypes[a] = type;
+                    variableNumbers[a] = stackNumbers[top - 2];
+                    loopEnds[b] = stackNumbers[top - 1];
+                    loopSteps[b] = stackNumbers[top];
+                    stackSize -= 3;
+
+                    if (!shouldLoop(a, b))
+                        pc = code[pc - 1];
+                }
+                case LOOP_END -> {
+                    variableNumbers[a] += loopSteps[b];
+                    if (variableTypes[a] == INTEGER)
+                        variableNumbers[a] = (int) variableNumbers[a];
+
+                    if (shouldLoop(a, b))
+                        pc = code[pc - 1];
+                }
+                default -> throw new IllegalStateException("Unknown opcode " + opcode);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a loop should execute its body again.
+     *
+     * @param variable the index of the loop's variable
+     * @param loop     the index of the loop
+     * @return {@code true} if the variable has not passed the loop's end value, {@code false} otherwise
+     */
+    private boolean shouldLoop(int variable, int loop) {
+        return loopSteps[loop] >= 0
+                ? variableNumbers[variable] <= loopEnds[loop]
+                : variableNumbers[variable] >= loopEnds[loop];
+    }
+
+    /**
+     * Pushes a value onto the stack.
+     * <p>
+     * The compiler guarantees that the stack is large enough.
+     *
+     * @param type   the type of the value
+     * @param number the value, if it is a number
+     * @param string the value, if it is a string
+     */
+    private void push(byte type, double number, String string) {
+        stackTypes[stackSize] = type;
+        stackNumbers[stackSize] = number;
+        stackStrings[stackSize] = string;
+        stackSize++;
+    }
+
+    /**
+     * Pops two operands and pushes the result of an operator.
+     *
+     * @param opcode the opcode of the operator
+     * @throws SmartScriptEngineException if an operand is not a number or if an integer is divided by zero
+     */
+    private void applyOperator(int opcode) {
+        int right = stackSize - 1;
+        int left = right - 1;
+
+        // Both operands must be converted, so the non-short-circuit & is used
+        boolean integers = toNumber(left) == INTEGER & toNumber(right) == INTEGER && opcode != POW;
+        double x = stackNumbers[left];
+        double y = stackNumbers[right];
+
+        double result;
+        if (integers) {
+            int i = (int) x;
+            int j = (int) y;
+
+            if (opcode == DIV && j == 0)
+                throw new SmartScriptEngineException("Integer division by zero.");
+
+            result = switch (opcode) {
+                case ADD -> i + j;
+                case SUB -> i - j;
+                case MUL -> i * j;
+                default -> i / j;
+            };
+        } else {
+            result = switch (opcode) {
+                case ADD -> x + y;
+                case SUB -> x - y;
+                case MUL -> x * y;
+                case DIV -> x / y;
+                default -> Math.pow(x, y);
+            };
+        }
+
+        stackSize--;
+        stackTypes[left] = integers ? INTEGER : DOUBLE;
+        stackNumbers[left] = result;
+        stackStrings[left] = null;
+    }
+
+    /**
+     * Pops a function's arguments and pushes its results.
+     *
+     * @param function   the index of the function
+     * @param parameters the parameters available to {@code @paramGet}
+     * @throws SmartScriptEngineException if an argument is not of a valid type
+     */
+    private void callFunction(int function, Map<String, String> parameters) {
+        int top = stackSize - 1;
+
+        switch (function) {
+            case SIN -> {
+                toNumber(top);
+                stackTypes[top] = DOUBLE;
+                stackNumbers[top] = Math.sin(Math.toRadians(stackNumbers[top]));
+            }
+            case DECFMT -> {
+                String pattern = valueToString(top);
+                toNumber(top - 1);
+
+                if (!pattern.equals(lastFormatPattern)) {
+                    try {
+                        lastFormat = new DecimalFormat(pattern);
+                    } catch (IllegalArgumentException e) {
+                        throw new SmartScriptEngineException("Invalid decimal format: " + pattern, e);
+                    }
+                    lastFormatPattern = pattern;
+                }
+
+                String formatted = lastFormat.format(stackNumbers[top - 1]);
+                stackSize--;
+                stackTypes[top - 1] = STRING;
+                stackStrings[top - 1] = formatted;
+            }
+            case DUP -> push(stackTypes[top], stackNumbers[top], stackStrings[top]);
+            case SWAP -> {
+                byte type = stackTypes[top];
+                double number = stackNumbers[top];
+                String string = stackStrings[top];
+
+                stackTypes[top] = stackTypes[top - 1];
+                stackNumbers[top] = stackNumbers[top - 1];
+                stackStrings[top] = stackStrings[top - 1];
+
+                stackTypes[top - 1] = type;
+                stackNumbers[top - 1] = number;
+                stackStrings[top - 1] = string;
+            }
+            case PARAM_GET -> {
+                String value = parameters.get(valueToString(top - 1));
+
+                if (value == null) {
+                    stackTypes[top - 1] = stackTypes[top];
+                    stackNumbers[top - 1] = stackNumbers[top];
+                    stackStrings[top - 1] = stackStrings[top];
+                } else {
+                    stackTypes[top - 1] = STRING;
+                    stackStrings[top - 1] = value;
+                }
+
+                stackSize--;
+            }
+            default -> throw new IllegalStateException("Unknown function " + function);
+        }
+    }
+
+    /**
+     * Converts the value at a position on the stack to a number, if it is a string.
+     *
+     * @param index the position on the stack
+     * @return the type of the converted value, {@link #INTEGER} or {@link #DOUBLE}
+     * @throws SmartScriptEngineException if the value is a string which doesn't represent a number
+     */
+    private byte toNumber(int index) {
+        if (stackTypes[index] != STRING)
+            return stackTypes[index];
+
+        String string = stackStrings[index];
+        try {
+            if (string.indexOf('.') < 0 && string.indexOf('E') < 0 && string.indexOf('e') < 0) {
+                stackNumbers[index] = Integer.parseInt(string);
+                stackTypes[index] = INTEGER;
+            } else {
+                stackNumbers[index] = Double.parseDouble(string);
+                stackTypes[index] = DOUBLE;
+            }
+        } catch (NumberFormatException e) {
+            throw new SmartScriptEngineException("The string \"" + string + "\" cannot be used as a number.", e);
+        }
+
+        stackStrings[index] = null;
+        return stackTypes[index];
+    }
+
+    /**
+     * Returns the value at a position on the stack as a string.
+     *
+     * @param index the position on the stack
+     * @return the value as a string
+     */
+    private String valueToString(int index) {
+        return switch (stackTypes[index]) {
+            case INTEGER -> Integer.toString((int) stackNumbers[index]);
+            case DOUBLE -> Double.toString(stackNumbers[index]);
+            default -> stackStrings[index];
+        };
+    }
+
+    /**
+     * Appends the value at a position on the stack to the output, without creating any intermediate strings.
+     *
+     * @param index  the position on the stack
+     * @param output the string builder to which to append the value
+     */
+    private void appendValue(int index, StringBuilder output) {
+        switch (stackTypes[index]) {
+            case INTEGER -> output.append((int) stackNumbers[index]);
+            case DOUBLE -> output.append(stackNumbers[index]);
+            default -> output.append(stackStrings[index]);
+        }
+    }
+
+    /**
+     * Compiles a syntax tree into instructions, constants and variables.
+     */
+    private static class Compiler {
+        /**
+         * The instructions compiled so far.
+         */
+        private int[] code = new int[16 * INSTRUCTION_SIZE];
+        /**
+         * The number of integers used in {@link #code}.
+         */
+        private int codeSize = 0;
+
+        /**
+         * The types of the constants.
+         */
+        private byte[] constantTypes = new byte[16];
+        /**
+         * The values of the numeric constants.
+         */
+        private double[] constantNumbers = new double[16];
+        /**
+         * The values of the string constants.
+         */
+        private String[] constantStrings = new String[16];
+        /**
+         * The number of constants.
+         */
+        private int constantCount = 0;
+
+        /**
+         * The indices of the variables, by their names.
+         */
+        private final Map<String, Integer> variables = new HashMap<>();
+        /**
+         * The number of loops.
+         */
+        private int loopCount = 0;
+
+        /**
+         * The depth of the stack at the current instruction.
+         */
+        private int depth = 0;
+        /**
+         * The greatest depth the stack reaches.
+         */
+        private int maxDepth = 0;
+
+        /**
+         * Compiles the children of a node.
+         *
+         * @param node the node whose children to compile
+         */
+        void compileChildren(Node node) {
+            for (int i = 0; i < node.numberOfChildren(); i++)
+                compileNode(node.getChild(i));
+        }
+
+        /**
+         * Compiles a node and its children.
+         *
+         * @param node the node to compile
+         * @throws SmartScriptEngineException if the node cannot be compiled
+         */
+        private void compileNode(Node node) {
+            if (node instanceof TextNode) {
+                emit(TEXT, addConstant(STRING, 0, ((TextNode) node).getText()), 0);
+            } else if (node instanceof EchoNode) {
+                for (Element element : ((EchoNode) node).getElements())
+                    compileElement(element);
+
+                emit(ECHO, 0, 0);
+                depth = 0;
+            } else if (node instanceof ForLoopNode) {
+                compileLoop((ForLoopNode) node);
+            } else {
+                throw new SmartScriptEngineException("Unsupported node type: " + node.getClass().getSimpleName());
+            }
+        }
+
+        /**
+         * Compiles a loop and its body.
+         *
+         * @param loop the loop to compile
+         */
+        private void compileLoop(ForLoopNode loop) {
+            compileElement(loop.getStartExpression());
+            compileElement(loop.getEndExpession());
+            if (loop.getStep() != null)
+                compileElement(loop.getStep());
+            else {
+                emit(PUSH, addConstant(INTEGER, 1, null), 0);
+                grow(1);
+            }
+
+            int variable = variableIndex(loop.getVariable().getName());
+            int index = loopCount++;
+
+            int begin = emit(LOOP_BEGIN, variable, index);
+            depth = 0;
+            int bodyStart = codeSize;
+
+            compileChildren(loop);
+
+            emit(LOOP_END, variable, index);
+            code[begin + 3] = codeSize;
+            code[codeSize - 1] = bodyStart;
+        }
+
+        /**
+         * Compiles an element of an echo tag or a loop.
+         *
+         * @param element the element to compile
+         * @throws SmartScriptEngineException if the element is an unknown function or if it doesn't have enough
+         *                                     operands
+         */
+        private void compileElement(Element element) {
+            if (element instanceof ElementConstantInteger) {
+                emit(PUSH, addConstant(INTEGER, ((ElementConstantInteger) element).getValue(), null), 0);
+                grow(1);
+            } else if (element instanceof ElementConstantDouble) {
+                emit(PUSH, addConstant(DOUBLE, ((ElementConstantDouble) element).getValue(), null), 0);
+                grow(1);
+            } else if (element instanceof ElementString) {
+                emit(PUSH, addConstant(STRING, 0, ((ElementString) element).getValue()), 0);
+                grow(1);
+            } else if (element instanceof ElementVariable) {
+                emit(LOAD, variableIndex(((ElementVariable) element).getName()), 0);
+                grow(1);
+            } else if (element instanceof ElementOperator) {
+                String symbol = ((ElementOperator) element).getSymbol();
+                int opcode = switch (symbol) {
+                    case "+" -> ADD;
+                    case "-" -> SUB;
+                    case "*" -> MUL;
+                    case "/" -> DIV;
+                    case "^" -> POW;
+                    default -> throw new SmartScriptEngineException("Unknown operator " + symbol);
+                };
+
+                requireOperands(2, symbol);
+                emit(opcode, 0, 0);
+                grow(-1);
+            } else if (element instanceof ElementFunction) {
+                String name = ((ElementFunction) element).getName();
+                int function = Arrays.asList(FUNCTION_NAMES).indexOf(name);
+                if (function < 0)
+                    throw new SmartScriptEngineException("Unknown function " + name);
+
+                requireOperands(FUNCTION_ARGUMENTS[function], name);
+                emit(CALL, function, 0);
+                grow(FUNCTION_RESULTS[function] - FUNCTION_ARGUMENTS[function]);
+            } else {
+                throw new SmartScriptEngineException("Unsupported element type: " + element.getClass().getSimpleName());
+            }
+        }
+
+        /**
+         * Checks that the stack holds enough operands for an operator or a function.
+         *
+         * @param count the number of operands needed
+         * @param name  the name of the operator or function
+         * @throws SmartScriptEngineException if there are not enough operands
+         */
+        private void requireOperands(int count, String name) {
+            if (depth < count)
+                throw new SmartScriptEngineException(name + " needs " + count + " operand(s), but only "
+                        + depth + " are available.");
+        }
+
+        /**
+         * Changes the depth of the stack, updating the greatest depth.
+         *
+         * @param change the number of values added to the stack, negative if values are removed
+         */
+        private void grow(int change) {
+            depth += change;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        /**
+         * Appends an instruction.
+         *
+         * @param opcode the instruction's opcode
+         * @param a      the instruction's first operand
+         * @param b      the instruction's second operand
+         * @return the index of the instruction in {@link #code}, used to set its jump target later
+         */
+        private int emit(int opcode, int a, int b) {
+            if (codeSize + INSTRUCTION_SIZE > code.length)
+                code = Arrays.copyOf(code, 2 * code.length);
+
+            int index = codeSize;
+            code[index] = opcode;
+            code[index + 1] = a;
+            code[index + 2] = b;
+            codeSize += INSTRUCTION_SIZE;
+            return index;
+        }
+
+        /**
+         * Appends a constant.
+         *
+         * @param type   the type of the constant
+         * @param number the value, if it is a number
+         * @param string the value, if it is a string
+         * @return the index of the constant
+         */
+        private int addConstant(byte type, double number, String string) {
+            if (constantCount == constantTypes.length) {
+                constantTypes = Arrays.copyOf(constantTypes, 2 * constantCount);
+                constantNumbers = Arrays.copyOf(constantNumbers, 2 * constantCount);
+                constantStrings = Arrays.copyOf(constantStrings, 2 * constantCount);
+            }
+
+            constantTypes[constantCount] = type;
+            constantNumbers[constantCount] = number;
+            constantStrings[constantCount] = string;
+            return constantCount++;
+        }
+
+        /**
+         * Gets the index of a variable, assigning a new one if the variable is seen for the first time.
+         *
+         * @param name the name of the variable
+         * @return the index of the variable
+         */
+        private int variableIndex(String name) {
+            return variables.computeIfAbsent(name, n -> variables.size());
+        }
+    }
+}
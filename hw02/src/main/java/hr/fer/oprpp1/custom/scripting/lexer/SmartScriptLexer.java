@@ -1,19 +1,56 @@
 package hr.fer.oprpp1.custom.scripting.lexer;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
 /**
  * Splits an input string into tokens according to the rules specified in the assignment document.
+ * <p>
+ * The input can be given either as a string, or as a {@link Readable} such as a {@link java.io.Reader}
+ * or a {@link CharBuffer}. A readable input is read incrementally into a window of a fixed size,
+ * so the memory used by the lexer doesn't depend on the size of the input, except for the values of the tokens.
+ * <p>
+ * When the whole input is given as a string, the values of text, identifier and string tokens without escape sequences
+ * refer to parts of the input, and are only copied if they are requested, while numbers are computed directly
+ * from their digits.
  *
  * @author Borna Cafuk
  */
 public class SmartScriptLexer {
     /**
-     * The input data.
+     * The default size of the window used for readable inputs.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 8192;
+    /**
+     * The smallest allowed window size, which is enough for the longest lookahead the lexer needs.
+     */
+    private static final int MIN_WINDOW_SIZE = 2;
+
+    /**
+     * The input data. If the input is read incrementally, this is the window into which it is read.
      */
     private char[] data;
+    /**
+     * The number of valid characters in {@link #data}.
+     */
+    private int limit;
+    /**
+     * The input from which more characters are read into the window,
+     * or {@code null} if the whole input is in {@link #data}.
+     */
+    private Readable input;
+    /**
+     * A buffer wrapping {@link #data}, used to read from {@link #input}.
+     */
+    private CharBuffer window;
+    /**
+     * The number of characters of the input which precede the first character in {@link #data}.
+     */
+    private int dataOffset = 0;
     /**
      * The current token, i.e. the last token returned by {@link #nextToken()}
      */
@@ -26,6 +63,30 @@ public class SmartScriptLexer {
      * The state of the lexer.
      */
     private SmartScriptLexerState state = SmartScriptLexerState.TEXT;
+    /**
+     * The index in {@link #data} of the first character of the value being lexed
+     * which has not yet been copied into {@link #valueBuilder}, or -1 if no value is being lexed.
+     */
+    private int valueStart = -1;
+    /**
+     * The parts of the value being lexed which could not be kept in {@link #data}, i.e. those preceding
+     * an escape sequence or read before the window was moved.
+     */
+    private final StringBuilder valueBuilder = new StringBuilder();
+
+    /**
+     * The largest number of significant digits for which a floating-point number can be computed exactly
+     * from its decimal mantissa.
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /**
+     * Powers of ten which are exactly representable as doubles.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
 
     /**
      * A set of characters which may be ecaped by a backslash while the lexer is in the {@link SmartScriptLexerState#TEXT} state.
@@ -57,6 +118,29 @@ public class SmartScriptLexer {
      */
     public SmartScriptLexer(String input) {
         this.data = Objects.requireNonNull(input, "The input must not be null.").toCharArray();
+        this.limit = data.length;
+    }
+
+    /**
+     * Constructs a new lexer which reads its input incrementally.
+     * <p>
+     * Only a window of the given size is kept in memory, and more characters are read into it as the previous ones
+     * are consumed. If the input needs to be closed, it is the caller's responsibility to close it.
+     *
+     * @param input      the input to tokenize
+     * @param windowSize the number of characters to keep in memory
+     * @throws NullPointerException     if {@code input} is {@code null}
+     * @throws IllegalArgumentException if {@code windowSize} is less than 2
+     */
+    public SmartScriptLexer(Readable input, int windowSize) {
+        if (windowSize < MIN_WINDOW_SIZE)
+            throw new IllegalArgumentException("The window size must be at least " + MIN_WINDOW_SIZE
+                    + ", but " + windowSize + " was given.");
+
+        this.input = Objects.requireNonNull(input, "The input must not be null.");
+        this.data = new char[windowSize];
+        this.window = CharBuffer.wrap(data);
+        this.limit = 0;
     }
 
     /**
@@ -69,6 +153,16 @@ public class SmartScriptLexer {
         this.state = Objects.requireNonNull(state, "The state must not be null.");
     }
 
+    /**
+     * Gets the position in the input just after the last token returned by {@link #nextToken()},
+     * which is where the next token will start, unless it is preceded by whitespace in a tag.
+     *
+     * @return the number of characters of the input consumed so far
+     */
+    public int getPosition() {
+        return dataOffset + currentIndex;
+    }
+
     /**
      * Gets the last token returned by {@link #nextToken()}.
      *
@@ -88,6 +182,7 @@ public class SmartScriptLexer {
      *
      * @return the token processed from the input
      * @throws SmartScriptLexerException if there is an error while getting the next token
+     * @throws UncheckedIOException      if reading the input fails
      */
     public SmartScriptToken nextToken() {
         if (token != null && token.getType() == SmartScriptTokenType.EOF)
@@ -109,36 +204,37 @@ public class SmartScriptLexer {
      * @throws SmartScriptLexerException if there is an error while getting the next token
      */
     private SmartScriptToken lexTextToken() {
-        if (currentIndex == data.length)
+        if (!isAvailable(1))
             return new SmartScriptToken(SmartScriptTokenType.EOF, null);
 
-        if (isStringAt(currentIndex, "{$")) {
+        if (isStringAhead("{$")) {
             currentIndex += 2;
             return new SmartScriptToken(SmartScriptTokenType.TAG_LEFT, null);
         }
 
-        StringBuilder sb = new StringBuilder();
+        startValue();
 
-        while (currentIndex != data.length && !isStringAt(currentIndex, "{$")) {
+        while (isAvailable(1) && !isStringAhead("{$")) {
             if (data[currentIndex] != '\\') {
-                sb.append(data[currentIndex++]);
+                currentIndex++;
                 continue;
             }
 
 
             //Escape sequence handling:
-            currentIndex++; // Skip the backslash
+            flushValue();
+            valueStart = ++currentIndex; // Skip the backslash, leaving it out of the value
 
-            if (currentIndex == data.length)
+            if (!isAvailable(1))
                 throw new SmartScriptLexerException("Invalid backslash at end of file, expected an escape sequence.");
 
             if (!TEXT_ESCAPABLE.contains(data[currentIndex]))
                 throw new SmartScriptLexerException("Invalid escape sequence: \\" + data[currentIndex]);
 
-            sb.append(data[currentIndex++]);
+            currentIndex++; // The escaped character is its own value, so it is kept in the value as it is
         }
 
-        return new SmartScriptToken(SmartScriptTokenType.BARE_STRING, sb.toString());
+        return finishValue(SmartScriptTokenType.BARE_STRING);
     }
 
 
@@ -150,13 +246,13 @@ public class SmartScriptLexer {
      * @throws SmartScriptLexerException if there is an error while getting the next token
      */
     private SmartScriptToken lexTagToken() {
-        while (currentIndex < data.length && Character.isWhitespace(data[currentIndex]))
+        while (isAvailable(1) && Character.isWhitespace(data[currentIndex]))
             currentIndex++;
 
-        if (currentIndex == data.length)
+        if (!isAvailable(1))
             return new SmartScriptToken(SmartScriptTokenType.EOF, null);
 
-        if (isStringAt(currentIndex, "$}")) {
+        if (isStringAhead("$}")) {
             currentIndex += 2;
             return new SmartScriptToken(SmartScriptTokenType.TAG_RIGHT, null);
         }
@@ -166,20 +262,17 @@ public class SmartScriptLexer {
             return new SmartScriptToken(SmartScriptTokenType.EQUALS, null);
         }
 
-        if (data[currentIndex] == '@') {
-            currentIndex++; // Skip the @
-            return new SmartScriptToken(SmartScriptTokenType.FUNCTION, "@" + consumeIdentifier());
-        }
+        if (data[currentIndex] == '@')
+            return lexIdentifier(SmartScriptTokenType.FUNCTION);
 
-        if (isIdentifierStart(data[currentIndex])) {
-            return new SmartScriptToken(SmartScriptTokenType.IDENTIFIER, consumeIdentifier());
-        }
+        if (isIdentifierStart(data[currentIndex]))
+            return lexIdentifier(SmartScriptTokenType.IDENTIFIER);
 
         if (TAG_OPERATORS.contains(data[currentIndex]))
             return new SmartScriptToken(SmartScriptTokenType.OPERATOR, data[currentIndex++]);
 
         if (data[currentIndex] == '-') {
-            if (currentIndex + 1 != data.length && Character.isDigit(data[currentIndex + 1]))
+            if (isAvailable(2) && Character.isDigit(data[currentIndex + 1]))
                 return lexNumber();
 
             currentIndex++; // Skip the -
@@ -190,30 +283,129 @@ public class SmartScriptLexer {
             return lexNumber();
 
         if (data[currentIndex] == '"')
-            return new SmartScriptToken(SmartScriptTokenType.STRING, consumeString());
+            return lexString();
 
         throw new SmartScriptLexerException("Unexpected character in input: " + data[currentIndex]);
     }
 
     /**
-     * Checks if the input contains the given string at a given index.
+     * Checks whether at least the given number of unhandled characters are available in {@link #data},
+     * reading more of the input into the window if needed.
+     * <p>
+     * Reading moves the unhandled characters to the start of the window, so this may change {@link #currentIndex}.
+     * The part of the value being lexed which was in the window is copied into {@link #valueBuilder} beforehand.
      *
-     * @param index    the index where the string is expected to begin
-     * @param expected the string expected at the given index
-     * @return {@code true} if the input contains the string at that position,
-     *         {@code false} otherwise or if the index is out of bounds
+     * @param count the number of characters needed, at most the size of the window
+     * @return {@code true} if the characters are available, {@code false} if the input ends before them
+     * @throws UncheckedIOException if reading the input fails
+     */
+    private boolean isAvailable(int count) {
+        if (limit - currentIndex >= count)
+            return true;
+
+        if (input == null)
+            return false;
+
+        if (valueStart >= 0)
+            flushValue();
+
+        // Move the unhandled characters to the start of the window
+        System.arraycopy(data, currentIndex, data, 0, limit - currentIndex);
+        limit -= currentIndex;
+        dataOffset += currentIndex;
+        currentIndex = 0;
+
+        if (valueStart >= 0)
+            valueStart = 0;
+
+        try {
+            while (limit < count) {
+                window.limit(data.length).position(limit);
+
+                int read = input.read(window);
+                if (read < 0) {
+                    input = null;
+                    return false;
+                }
+
+                limit += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading the input.", e);
+        }
+
+        return true;
+    }
+
+    /**
+     * Starts lexing a value which begins at the current position.
+     */
+    private void startValue() {
+        valueBuilder.setLength(0);
+        valueStart = currentIndex;
+    }
+
+    /**
+     * Copies the characters of the value being lexed which precede the current position into {@link #valueBuilder}.
+     */
+    private void flushValue() {
+        valueBuilder.append(data, valueStart, currentIndex - valueStart);
+        valueStart = currentIndex;
+    }
+
+    /**
+     * Finishes lexing a value which ends just before the current position and returns it as a string.
+     *
+     * @return the value
+     */
+    private String finishValue() {
+        String value;
+        if (valueBuilder.length() == 0) {
+            value = new String(data, valueStart, currentIndex - valueStart);
+        } else {
+            flushValue();
+            value = valueBuilder.toString();
+        }
+
+        valueStart = -1;
+        return value;
+    }
+
+    /**
+     * Finishes lexing a value which ends just before the current position and returns a token holding it.
+     * <p>
+     * If the whole input is in {@link #data} and the value is contiguous in it, the token refers to it without copying.
+     * Otherwise, the window may be overwritten later, so the value is copied immediately.
+     *
+     * @param type the type of the token
+     * @return the token holding the value
+     */
+    private SmartScriptToken finishValue(SmartScriptTokenType type) {
+        if (window != null || valueBuilder.length() != 0)
+            return new SmartScriptToken(type, finishValue());
+
+        SmartScriptToken token = new SmartScriptToken(type, data, valueStart, currentIndex - valueStart);
+        valueStart = -1;
+        return token;
+    }
+
+    /**
+     * Checks if the unhandled input starts with the given string.
+     *
+     * @param expected the string expected at the current position
+     * @return {@code true} if the input contains the string at the current position,
+     *         {@code false} otherwise or if the input ends before the end of the string
      * @throws NullPointerException if {@code expected} is {@code null}
      */
-    private boolean isStringAt(int index, String expected) {
+    private boolean isStringAhead(String expected) {
         Objects.requireNonNull(expected, "The expected string must not be null.");
 
-        for (int i = 0; i < expected.length(); i++) {
-            if (index + i < 0 || index + i >= data.length)
-                return false;
+        if (!isAvailable(expected.length()))
+            return false;
 
-            if (data[index + i] != expected.charAt(i))
+        for (int i = 0; i < expected.length(); i++)
+            if (data[currentIndex + i] != expected.charAt(i))
                 return false;
-        }
 
         return true;
     }
@@ -243,79 +435,113 @@ public class SmartScriptLexer {
     }
 
     /**
-     * Reads in an identifier from the input.
+     * Lexes an identifier, or a function name if the type is {@link SmartScriptTokenType#FUNCTION},
+     * in which case the identifier must be preceded by an at sign ({@code @}), which is included in the value.
      *
-     * @return the identifier string
+     * @param type the type of the token, either {@link SmartScriptTokenType#IDENTIFIER}
+     *             or {@link SmartScriptTokenType#FUNCTION}
+     * @return the identifier or function token
      * @throws SmartScriptLexerException if the input has been consumed entirely
      * @throws SmartScriptLexerException if next character in the input cannot start an identifier
      */
-    private String consumeIdentifier() {
-        if (currentIndex == data.length)
+    private SmartScriptToken lexIdentifier(SmartScriptTokenType type) {
+        startValue();
+
+        if (type == SmartScriptTokenType.FUNCTION)
+            currentIndex++; // Skip the @
+
+        if (!isAvailable(1))
             throw new SmartScriptLexerException("Tried reading an identifier at the end of the file.");
 
         if (!isIdentifierStart(data[currentIndex]))
             throw new SmartScriptLexerException("Tried reading an identifier, found " + data[currentIndex]);
 
-        StringBuilder sb = new StringBuilder();
-
-        while (currentIndex < data.length && isIdentifierPart(data[currentIndex]))
-            sb.append(data[currentIndex++]);
+        while (isAvailable(1) && isIdentifierPart(data[currentIndex]))
+            currentIndex++;
 
-        return sb.toString();
+        return finishValue(type);
     }
 
     /**
      * Reads in an integer or floating-point number from the input.
+     * <p>
+     * The value is accumulated from the digits as they are read. Only floating-point numbers which cannot be computed
+     * exactly that way are converted from their text using {@link Double#parseDouble(String)}.
      *
      * @return the number
      * @throws SmartScriptLexerException if the input has been consumed entirely
      * @throws SmartScriptLexerException if the number is incorrectly formatted
      */
     private SmartScriptToken lexNumber() {
-        StringBuilder sb = new StringBuilder();
-
-        if (currentIndex == data.length)
+        if (!isAvailable(1))
             throw new SmartScriptLexerException("Tried reading a number at the end of the file.");
 
-        if (data[currentIndex] == '-') {
+        startValue();
+
+        boolean negative = data[currentIndex] == '-';
+        if (negative)
             currentIndex++;
-            sb.append('-');
-        }
 
+        long mantissa = 0;
+        int significantDigits = 0;
+        int fractionDigits = 0;
         boolean periodFound = false;
-        while (currentIndex < data.length) {
-            if (data[currentIndex] == '.') {
+        boolean asciiDigits = true;
+
+        while (isAvailable(1)) {
+            char c = data[currentIndex];
+
+            if (c == '.') {
                 if (periodFound)
                     break;
                 periodFound = true;
-            } else if (!Character.isDigit(data[currentIndex])) {
+            } else if (!Character.isDigit(c)) {
                 break;
+            } else {
+                int digit = Character.digit(c, 10);
+                asciiDigits &= c <= '9';
+
+                if (periodFound)
+                    fractionDigits++;
+                if (significantDigits > 0 || digit != 0)
+                    significantDigits++;
+                if (significantDigits <= MAX_EXACT_DIGITS)
+                    mantissa = mantissa * 10 + digit;
             }
 
-            sb.append(data[currentIndex++]);
+            currentIndex++;
         }
 
-        try {
-            if (periodFound)
-                return new SmartScriptToken(SmartScriptTokenType.DOUBLE, Double.parseDouble(sb.toString()));
-            else
-                return new SmartScriptToken(SmartScriptTokenType.INTEGER, Integer.parseInt(sb.toString()));
-        } catch (NumberFormatException e) {
-            throw new SmartScriptLexerException("Invalid number: " + sb.toString(), e);
+        if (!periodFound) {
+            if (significantDigits > MAX_EXACT_DIGITS || mantissa > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE))
+                throw new SmartScriptLexerException("Invalid number: " + finishValue());
+
+            valueStart = -1;
+            return new SmartScriptToken(SmartScriptTokenType.INTEGER, (int) (negative ? -mantissa : mantissa));
         }
+
+        if (!asciiDigits)
+            throw new SmartScriptLexerException("Invalid number: " + finishValue());
+
+        if (significantDigits > MAX_EXACT_DIGITS || fractionDigits >= POWERS_OF_TEN.length)
+            return new SmartScriptToken(SmartScriptTokenType.DOUBLE, Double.parseDouble(finishValue()));
+
+        valueStart = -1;
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        return new SmartScriptToken(SmartScriptTokenType.DOUBLE, negative ? -value : value);
     }
 
     /**
      * Reads in a string from the input.
      *
-     * @return the string contents, without the surrounding quotation marks
+     * @return the string token, whose value does not include the surrounding quotation marks
      * @throws SmartScriptLexerException if the input has been consumed entirely
      * @throws SmartScriptLexerException if the next character in the input is not a quotation mark ({@code "})
      * @throws SmartScriptLexerException if the string is unterminated
      * @throws SmartScriptLexerException if there is an invalid escape sequence in the string
      */
-    private String consumeString() {
-        if (currentIndex == data.length)
+    private SmartScriptToken lexString() {
+        if (!isAvailable(1))
             throw new SmartScriptLexerException("Tried reading a string at the end of the file.");
 
         if (data[currentIndex] != '"')
@@ -323,31 +549,34 @@ public class SmartScriptLexer {
 
         currentIndex++; // Skip the opening quotation mark;
 
-        StringBuilder sb = new StringBuilder();
+        startValue();
 
-        while (currentIndex < data.length && data[currentIndex] != '"') {
+        while (isAvailable(1) && data[currentIndex] != '"') {
             if (data[currentIndex] != '\\') {
-                sb.append(data[currentIndex++]);
+                currentIndex++;
                 continue;
             }
 
             //Escape sequence handling:
-            currentIndex++; // Skip the backslash
+            flushValue();
+            valueStart = ++currentIndex; // Skip the backslash, leaving it out of the value
 
-            if (currentIndex == data.length)
+            if (!isAvailable(1))
                 throw new SmartScriptLexerException("Unterminated string with backslash at end of file.");
 
             if (!TAG_STRING_ESCAPES.containsKey(data[currentIndex]))
                 throw new SmartScriptLexerException("Invalid escape sequence: \\" + data[currentIndex]);
 
-            sb.append(TAG_STRING_ESCAPES.get(data[currentIndex++]));
+            valueBuilder.append(TAG_STRING_ESCAPES.get(data[currentIndex++]));
+            valueStart = currentIndex;
         }
 
-        if (currentIndex == data.length)
+        if (!isAvailable(1))
             throw new SmartScriptLexerException("Unterminated string in input.");
 
+        SmartScriptToken token = finishValue(SmartScriptTokenType.STRING);
         currentIndex++; // Skip the closing quotation mark;
 
-        return sb.toString();
+        return token;
     }
 }
@@ -1,7 +1,12 @@
 package hr.fer.oprpp1.custom.scripting.lexer;
 
+import java.util.Objects;
+
 /**
  * A {@link SmartScriptLexer} token.
+ * <p>
+ * A token produced by the lexer may refer to a part of the lexer's input instead of holding a copy of it,
+ * in which case the value is copied into a string only when it is first requested by {@link #getValue()}.
  *
  * @author Borna Cafuk
  */
@@ -11,9 +16,21 @@ public class SmartScriptToken {
      */
     private SmartScriptTokenType type;
     /**
-     * The value the token is holding.
+     * The value the token is holding, or {@code null} if it has not yet been copied out of {@link #source}.
      */
     private Object value;
+    /**
+     * The array containing the characters of the value, or {@code null} if the value is stored in {@link #value}.
+     */
+    private char[] source;
+    /**
+     * The index of the first character of the value in {@link #source}.
+     */
+    private int offset;
+    /**
+     * The number of characters of the value in {@link #source}.
+     */
+    private int length;
 
     /**
      * Constructs a new token with the given type and value.
@@ -26,15 +43,57 @@ public class SmartScriptToken {
         this.value = value;
     }
 
+    /**
+     * Constructs a new token whose value is a string consisting of the given characters.
+     * <p>
+     * The characters are not copied, so they must not be modified while the token is in use.
+     *
+     * @param type   the token's type
+     * @param source the array containing the value
+     * @param offset the index of the first character of the value
+     * @param length the number of characters in the value
+     * @throws NullPointerException      if {@code source} is {@code null}
+     * @throws IndexOutOfBoundsException if the characters are not within the bounds of {@code source}
+     */
+    SmartScriptToken(SmartScriptTokenType type, char[] source, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, Objects.requireNonNull(source, "The source must not be null.").length);
+
+        this.type = type;
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+    }
+
     /**
      * Returns the token's value.
      *
      * @return the token's value
      */
     public Object getValue() {
+        if (source != null) {
+            value = new String(source, offset, length);
+            source = null;
+        }
+
         return value;
     }
 
+    /**
+     * Appends the token's value to a string builder, without first converting it to a string if it is not needed.
+     * Nothing is appended if the value is {@code null}.
+     *
+     * @param sb the string builder to append to
+     * @throws NullPointerException if {@code sb} is {@code null}
+     */
+    public void appendValueTo(StringBuilder sb) {
+        Objects.requireNonNull(sb, "The string builder must not be null.");
+
+        if (source != null)
+            sb.append(source, offset, length);
+        else if (value != null)
+            sb.append(value);
+    }
+
     /**
      * Returns the token's type.
      *
@@ -0,0 +1,179 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+import hr.fer.oprpp1.custom.scripting.nodes.Node;
+import hr.fer.oprpp1.custom.scripting.nodes.TextNode;
+
+import java.util.Objects;
+
+/**
+ * A parser which keeps a document up to date as its text is edited, without parsing the whole text after every edit.
+ * <p>
+ * The parser remembers where each child of the document node starts in the text. After an edit, only the children
+ * which overlap or touch the edited part of the text are parsed again, together with any adjacent text
+ * they merge with. A {@code FOR} block is a single child of the document node, so an edit inside it causes
+ * the whole outermost block enclosing the edit to be parsed again. The other children are reused as they are.
+ * <p>
+ * Every document returned by this parser is equal to the one returned by {@link SmartScriptParser} for the same text.
+ *
+ * @author Borna Cafuk
+ */
+public class IncrementalSmartScriptParser {
+    /**
+     * The current text.
+     */
+    private String text;
+    /**
+     * The document node parsed from {@link #text}.
+     */
+    private DocumentNode documentNode;
+    /**
+     * The positions in {@link #text} at which the children of {@link #documentNode} start.
+     */
+    private int[] childOffsets;
+
+    /**
+     * Constructs a new parser and parses the given initial text.
+     *
+     * @param text the text to parse
+     * @throws NullPointerException       if {@code text} is {@code null}.
+     * @throws SmartScriptParserException if {@code text} is not syntactically valid.
+     */
+    public IncrementalSmartScriptParser(String text) {
+        replace(text, new SmartScriptParser(Objects.requireNonNull(text, "The text must not be null.")));
+    }
+
+    /**
+     * Gets the current text.
+     *
+     * @return the text with all the edits applied
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gets the root node of the current text.
+     *
+     * @return the root (document) node
+     */
+    public DocumentNode getDocumentNode() {
+        return documentNode;
+    }
+
+    /**
+     * Replaces a part of the text and updates the document accordingly.
+     * <p>
+     * A new document node is created, so the previous document node is not modified,
+     * but the nodes which are not affected by the edit are shared between them.
+     * If the edited text is not syntactically valid, an exception is thrown and the parser is left unchanged.
+     *
+     * @param offset        the position in the text at which the edit starts
+     * @param removedLength the number of characters removed from the text, starting at {@code offset}
+     * @param inserted      the text to insert at {@code offset} in place of the removed characters
+     * @return the root node of the edited text
+     * @throws NullPointerException       if {@code inserted} is {@code null}
+     * @throws IndexOutOfBoundsException  if the removed characters are not within the text
+     * @throws SmartScriptParserException if the edited text is not syntactically valid
+     */
+    public DocumentNode edit(int offset, int removedLength, String inserted) {
+        Objects.requireNonNull(inserted, "The inserted text must not be null.");
+        Objects.checkFromIndexSize(offset, removedLength, text.length());
+
+        String newText = text.substring(0, offset) + inserted + text.substring(offset + removedLength);
+        int delta = inserted.length() - removedLength;
+        int count = childOffsets.length;
+
+        // The children from index `from` (inclusive) to index `to` (exclusive) overlap or touch the removed characters
+        int from = 0;
+        while (from < count && childEnd(from) < offset)
+            from++;
+
+        int to = from;
+        while (to < count && childOffsets[to] <= offset + removedLength)
+            to++;
+
+        while (true) {
+            int regionStart = from < count ? childOffsets[from] : 0;
+            int regionEnd = (to > 0 ? childEnd(to - 1) : 0) + delta;
+
+            SmartScriptParser region;
+            try {
+                region = new SmartScriptParser(newText.substring(regionStart, regionEnd));
+            } catch (SmartScriptParserException e) {
+                // The region may be invalid on its own, e.g. if it ends with a backslash escaping the following tag
+                return replace(newText, new SmartScriptParser(newText));
+            }
+
+            DocumentNode regionNode = region.getDocumentNode();
+            int regionCount = regionNode.numberOfChildren();
+
+            // Text nodes are never adjacent, so text at the edges of the region may need to be merged with its neighbours
+            Node first = regionCount > 0 ? regionNode.getChild(0) : (to < count ? documentNode.getChild(to) : null);
+            if (from > 0 && first instanceof TextNode && documentNode.getChild(from - 1) instanceof TextNode) {
+                from--;
+                continue;
+            }
+
+            Node last = regionCount > 0 ? regionNode.getChild(regionCount - 1) : (from > 0 ? documentNode.getChild(from - 1) : null);
+            if (to < count && last instanceof TextNode && documentNode.getChild(to) instanceof TextNode) {
+                to++;
+                continue;
+            }
+
+            DocumentNode newDocument = new DocumentNode();
+            int[] newOffsets = new int[count - (to - from) + regionCount];
+            int index = 0;
+
+            for (int i = 0; i < from; i++, index++) {
+                newDocument.addChildNode(documentNode.getChild(i));
+                newOffsets[index] = childOffsets[i];
+            }
+
+            for (int i = 0; i < regionCount; i++, index++) {
+                newDocument.addChildNode(regionNode.getChild(i));
+                newOffsets[index] = regionStart + region.getChildOffset(i);
+            }
+
+            for (int i = to; i < count; i++, index++) {
+                newDocument.addChildNode(documentNode.getChild(i));
+                newOffsets[index] = childOffsets[i] + delta;
+            }
+
+            text = newText;
+            documentNode = newDocument;
+            childOffsets = newOffsets;
+            return documentNode;
+        }
+    }
+
+    /**
+     * Gets the position in {@link #text} at which a child of {@link #documentNode} ends.
+     *
+     * @param index the index of the child
+     * @return the position just after the last character of the child
+     */
+    private int childEnd(int index) {
+        return index + 1 < childOffsets.length ? childOffsets[index + 1] : text.length();
+    }
+
+    /**
+     * Replaces the text and the document with the result of parsing the whole text.
+     *
+     * @param newText the new text
+     * @param parser  the parser which parsed {@code newText}
+     * @return the new document node
+     */
+    private DocumentNode replace(String newText, SmartScriptParser parser) {
+        DocumentNode newDocument = parser.getDocumentNode();
+        int[] newOffsets = new int[newDocument.numberOfChildren()];
+
+        for (int i = 0; i < newOffsets.length; i++)
+            newOffsets[i] = parser.getChildOffset(i);
+
+        text = newText;
+        documentNode = newDocument;
+        childOffsets = newOffsets;
+        return documentNode;
+    }
+}
@@ -0,0 +1,221 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexer;
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A parser which parses large inputs in parallel.
+ * <p>
+ * The input is first scanned for tags which are not nested in a {@code FOR} block, and it is split into segments
+ * just before some of them. Each segment then contains whole children of the document node, so the segments
+ * are parsed independently on a fork-join pool, and their children are joined into a single document node.
+ * <p>
+ * The resulting document is equal to the one returned by {@link SmartScriptParser} for the same input.
+ *
+ * @author Borna Cafuk
+ */
+public class ParallelSmartScriptParser {
+    /**
+     * The smallest number of characters in a segment, below which parsing in parallel is not worth its overhead.
+     */
+    private static final int MIN_SEGMENT_SIZE = 1 << 16;
+    /**
+     * The number of segments per thread of the pool, so that threads which finish early can take over the rest.
+     */
+    private static final int SEGMENTS_PER_THREAD = 4;
+
+    /**
+     * The root node of the resulting document.
+     */
+    private DocumentNode documentNode;
+
+    /**
+     * Constructs a new parser and parses the given input using the common fork-join pool.
+     *
+     * @param input the input to parse
+     * @throws NullPointerException       if {@code input} is {@code null}.
+     * @throws SmartScriptParserException if {@code input} is not syntactically valid.
+     */
+    public ParallelSmartScriptParser(String input) {
+        this(input, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new parser and parses the given input using the given fork-join pool.
+     *
+     * @param input the input to parse
+     * @param pool  the pool on which to parse the segments of the input
+     * @throws NullPointerException       if {@code input} or {@code pool} is {@code null}.
+     * @throws SmartScriptParserException if {@code input} is not syntactically valid.
+     */
+    public ParallelSmartScriptParser(String input, ForkJoinPool pool) {
+        Objects.requireNonNull(input, "The input must not be null.");
+        Objects.requireNonNull(pool, "The pool must not be null.");
+
+        int segmentSize = Math.max(MIN_SEGMENT_SIZE, input.length() / (pool.getParallelism() * SEGMENTS_PER_THREAD));
+        int[] bounds = findSegmentBounds(input, segmentSize);
+
+        if (bounds.length == 2) {
+            documentNode = new SmartScriptParser(input).getDocumentNode();
+            return;
+        }
+
+        DocumentNode[] segments = new DocumentNode[bounds.length - 1];
+        pool.invoke(new SegmentTask(input, bounds, segments, 0, segments.length));
+
+        documentNode = new DocumentNode();
+        for (DocumentNode segment : segments)
+            for (int i = 0; i < segment.numberOfChildren(); i++)
+                documentNode.addChildNode(segment.getChild(i));
+    }
+
+    /**
+     * Gets the root node.
+     *
+     * @return the root (document) node
+     */
+    public DocumentNode getDocumentNode() {
+        return documentNode;
+    }
+
+    /**
+     * Finds the positions at which the input can be split into segments which can be parsed independently.
+     * <p>
+     * The input is split just before tags which are not in a {@code FOR} block, each at least {@code segmentSize}
+     * characters after the previous split. Escape sequences in text and strings in tags are skipped
+     * as the lexer would skip them. If the input is not valid, the part after the first error found
+     * is left in a single segment, so that parsing it reports the error.
+     *
+     * @param input       the input to split
+     * @param segmentSize the smallest number of characters in a segment
+     * @return the positions at which the segments start, followed by the length of the input
+     */
+    private static int[] findSegmentBounds(String input, int segmentSize) {
+        int length = input.length();
+        int[] bounds = new int[16];
+        int count = 1; // The first segment starts at 0
+        int nextSplit = segmentSize;
+        int depth = 0;
+
+        int i = 0;
+        while (i < length) {
+            char c = input.charAt(i);
+
+            if (c == '\\') {
+                i += 2; // Skip the escaped character
+                continue;
+            }
+
+            if (c != '{' || i + 1 == length || input.charAt(i + 1) != '$') {
+                i++;
+                continue;
+            }
+
+            if (depth == 0 && i >= nextSplit && length - i >= segmentSize) {
+                if (count == bounds.length)
+                    bounds = Arrays.copyOf(bounds, 2 * count);
+                bounds[count++] = i;
+                nextSplit = i + segmentSize;
+            }
+
+            i += 2; // Skip the {$
+            while (i < length && Character.isWhitespace(input.charAt(i)))
+                i++;
+
+            int nameStart = i;
+            while (i < length && (Character.isLetterOrDigit(input.charAt(i)) || input.charAt(i) == '_'))
+                i++;
+
+            if (i - nameStart == 3) {
+                String name = input.substring(nameStart, i).toUpperCase();
+                if (name.equals("FOR"))
+                    depth++;
+                else if (name.equals("END"))
+                    depth--;
+            }
+
+            if (depth < 0)
+                break;
+
+            // Skip to the end of the tag, including any strings which may contain $}
+            while (i < length && !(input.charAt(i) == '$' && i + 1 < length && input.charAt(i + 1) == '}')) {
+                if (input.charAt(i) == '"') {
+                    i++;
+                    while (i < length && input.charAt(i) != '"')
+                        i += input.charAt(i) == '\\' ? 2 : 1;
+                }
+
+                i++;
+            }
+
+            i += 2; // Skip the $}
+        }
+
+        bounds = Arrays.copyOf(bounds, count + 1);
+        bounds[count] = length;
+        return bounds;
+    }
+
+    /**
+     * A task which parses a range of segments, splitting the range in half until only one segment is left.
+     */
+    private static class SegmentTask extends RecursiveAction {
+        /**
+         * The whole input.
+         */
+        private final String input;
+        /**
+         * The positions at which the segments start, followed by the length of the input.
+         */
+        private final int[] bounds;
+        /**
+         * The array into which the document node of each segment is stored.
+         */
+        private final DocumentNode[] segments;
+        /**
+         * The index of the first segment to parse.
+         */
+        private final int from;
+        /**
+         * The index after the last segment to parse.
+         */
+        private final int to;
+
+        /**
+         * Constructs a new task parsing the given range of segments.
+         *
+         * @param input    the whole input
+         * @param bounds   the positions at which the segments start, followed by the length of the input
+         * @param segments the array into which the document node of each segment is stored
+         * @param from     the index of the first segment to parse
+         * @param to       the index after the last segment to parse
+         */
+        SegmentTask(String input, int[] bounds, DocumentNode[] segments, int from, int to) {
+            this.input = input;
+            this.bounds = bounds;
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SegmentTask(input, bounds, segments, from, middle),
+                        new SegmentTask(input, bounds, segments, middle, to));
+                return;
+            }
+
+            // The segment is read through a view of the input, so it is not copied as a whole
+            CharBuffer segment = CharBuffer.wrap(input, bounds[from], bounds[from + 1]);
+            segments[from] = new SmartScriptParser(segment, SmartScriptLexer.DEFAULT_WINDOW_SIZE).getDocumentNode();
+        }
+    }
+}
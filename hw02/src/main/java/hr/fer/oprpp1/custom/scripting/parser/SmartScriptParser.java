@@ -7,6 +7,7 @@ import hr.fer.oprpp1.custom.scripting.elems.*;
 import hr.fer.oprpp1.custom.scripting.lexer.*;
 import hr.fer.oprpp1.custom.scripting.nodes.*;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -27,6 +28,11 @@ public class SmartScriptParser {
      * The stack of nodes currently being processed.
      */
     private ObjectStack nodeStack = new ObjectStack();
+    /**
+     * The positions in the input at which the children of {@link #documentNode} start.
+     * Only the first {@code documentNode.numberOfChildren()} elements are used.
+     */
+    private int[] childOffsets = new int[16];
 
     /**
      * Constructs a new parser and parses the given input.
@@ -36,9 +42,35 @@ public class SmartScriptParser {
      * @throws SmartScriptParserException if {@code input} is not syntactically valid.
      */
     public SmartScriptParser(String input) {
-        Objects.requireNonNull(input, "The input must not be null.");
+        this(new SmartScriptLexer(Objects.requireNonNull(input, "The input must not be null.")));
+    }
 
-        lexer = new SmartScriptLexer(input);
+    /**
+     * Constructs a new parser and parses input which is read incrementally.
+     * <p>
+     * The input is tokenized as it is read, using a window of the given size, so the whole input is never held
+     * in memory at once. If the input needs to be closed, it is the caller's responsibility to close it.
+     *
+     * @param input      the input to parse
+     * @param windowSize the number of characters of the input to keep in memory
+     * @throws NullPointerException         if {@code input} is {@code null}.
+     * @throws IllegalArgumentException     if {@code windowSize} is less than 2
+     * @throws SmartScriptParserException   if {@code input} is not syntactically valid.
+     * @throws java.io.UncheckedIOException if reading the input fails
+     * @see SmartScriptLexer#SmartScriptLexer(Readable, int)
+     */
+    public SmartScriptParser(Readable input, int windowSize) {
+        this(new SmartScriptLexer(Objects.requireNonNull(input, "The input must not be null."), windowSize));
+    }
+
+    /**
+     * Constructs a new parser and parses the input of the given lexer.
+     *
+     * @param lexer the lexer providing the tokens
+     * @throws SmartScriptParserException if the input is not syntactically valid.
+     */
+    private SmartScriptParser(SmartScriptLexer lexer) {
+        this.lexer = lexer;
         try {
             documentNode = new DocumentNode();
             nodeStack.push(documentNode);
@@ -57,13 +89,35 @@ public class SmartScriptParser {
         return documentNode;
     }
 
+    /**
+     * Gets the position in the input at which a child of the document node starts.
+     * The child ends where the next one starts, or at the end of the input if it is the last one.
+     *
+     * @param index the index of the child
+     * @return the position of the first character of the child's text in the input
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the number of children
+     */
+    int getChildOffset(int index) {
+        Objects.checkIndex(index, documentNode.numberOfChildren());
+        return childOffsets[index];
+    }
+
     /**
      * Parses the input in its entirety.
      */
     private void parse() {
-        while (lexer.nextToken().getType() != SmartScriptTokenType.EOF) {
+        for (int position = lexer.getPosition();
+             lexer.nextToken().getType() != SmartScriptTokenType.EOF;
+             position = lexer.getPosition()) {
             Node parent = (Node) nodeStack.peek();
 
+            if (parent == documentNode) {
+                int index = documentNode.numberOfChildren();
+                if (index == childOffsets.length)
+                    childOffsets = Arrays.copyOf(childOffsets, 2 * index);
+                childOffsets[index] = position;
+            }
+
             if (lexer.getToken().getType() == SmartScriptTokenType.BARE_STRING) {
                 parent.addChildNode(new TextNode((String) lexer.getToken().getValue()));
                 continue;
@@ -1,10 +1,13 @@
 package hr.fer.oprpp1.hw02;
 
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexer;
 import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
 import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParser;
 import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParserException;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
@@ -25,16 +28,12 @@ public class SmartScriptTester {
         }
         String filepath = args[0];
 
-        String docBody = null;
-        try {
-            docBody = Files.readString(Paths.get(filepath));
-        } catch (IOException e) {
+        SmartScriptParser parser = null;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filepath))) {
+            parser = new SmartScriptParser(reader, SmartScriptLexer.DEFAULT_WINDOW_SIZE);
+        } catch (IOException | UncheckedIOException e) {
             System.err.println("Error reading file: " + e.getMessage());
             System.exit(-1);
-        }
-        SmartScriptParser parser = null;
-        try {
-            parser = new SmartScriptParser(docBody);
         } catch (SmartScriptParserException e) {
             System.out.println("Unable to parse document: " + e.getMessage());
             System.exit(-1);
@@ -2,6 +2,11 @@ package hr.fer.oprpp1.custom.collections;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ArrayIndexedCollectionTest {
@@ -474,4 +479,70 @@ class ArrayIndexedCollectionTest {
                 () -> new ArrayIndexedCollection(null, 100)
         );
     }
+
+    @Test
+    public void stream() {
+        ArrayIndexedCollection collection = createCollection(1000);
+
+        assertEquals(
+                IntStream.range(0, 1000).filter(i -> i % 3 == 0).sum(),
+                collection.stream().map(e -> (Element) e).filter(e -> e.uniqueID % 3 == 0).mapToInt(e -> e.uniqueID).sum()
+        );
+    }
+
+    @Test
+    public void parallelStreamKeepsOrder() {
+        ArrayIndexedCollection collection = createCollection(10_000);
+
+        java.util.List<Integer> ids = collection.parallelStream()
+                .map(e -> ((Element) e).uniqueID)
+                .filter(id -> id % 2 == 0)
+                .collect(Collectors.toList());
+
+        assertEquals(5000, ids.size());
+        for (int i = 0; i < ids.size(); i++)
+            assertEquals(2 * i, ids.get(i));
+    }
+
+    @Test
+    public void spliteratorSplitsExactly() {
+        ArrayIndexedCollection collection = createCollection(101);
+        Spliterator<Object> spliterator = collection.spliterator();
+
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(101, spliterator.getExactSizeIfKnown());
+
+        Spliterator<Object> prefix = spliterator.trySplit();
+        assertEquals(50, prefix.getExactSizeIfKnown());
+        assertEquals(51, spliterator.getExactSizeIfKnown());
+
+        assertTrue(prefix.tryAdvance(e -> assertEquals(0, ((Element) e).uniqueID)));
+        assertTrue(spliterator.tryAdvance(e -> assertEquals(50, ((Element) e).uniqueID)));
+        assertEquals(49, prefix.estimateSize());
+    }
+
+    @Test
+    public void spliteratorConcurrentModification() {
+        ArrayIndexedCollection collection = createCollection(10);
+        Spliterator<Object> spliterator = collection.spliterator();
+
+        collection.insert(new Element(1, 1), 0);
+
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(e -> {}));
+        assertThrows(
+                ConcurrentModificationException.class,
+                () -> collection.stream().forEach(e -> collection.remove(0))
+        );
+    }
+
+    @Test
+    public void addAllSatisfyingFromParallelStream() {
+        ArrayIndexedCollection source = createCollection(1000);
+        ArrayIndexedCollection target = new ArrayIndexedCollection();
+
+        source.parallelStream().filter(e -> ((Element) e).uniqueID % 10 == 0).forEachOrdered(target::add);
+
+        assertEquals(100, target.size());
+        assertEquals(990, ((Element) target.get(99)).uniqueID);
+    }
 }
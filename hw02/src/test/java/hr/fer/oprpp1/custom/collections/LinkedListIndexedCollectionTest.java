@@ -2,6 +2,9 @@ package hr.fer.oprpp1.custom.collections;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class LinkedListIndexedCollectionTest {
@@ -439,4 +442,30 @@ class LinkedListIndexedCollectionTest {
                 () -> new LinkedListIndexedCollection(null)
         );
     }
+
+    @Test
+    public void parallelStreamKeepsOrder() {
+        LinkedListIndexedCollection collection = createCollection(5000);
+
+        java.util.List<Integer> ids = collection.parallelStream()
+                .map(e -> ((Element) e).uniqueID)
+                .collect(Collectors.toList());
+
+        assertEquals(5000, ids.size());
+        for (int i = 0; i < ids.size(); i++)
+            assertEquals(i, ids.get(i));
+    }
+
+    @Test
+    public void spliteratorSize() {
+        LinkedListIndexedCollection collection = createCollection(5000);
+        Spliterator<Object> spliterator = collection.spliterator();
+
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertEquals(5000, spliterator.getExactSizeIfKnown());
+
+        Spliterator<Object> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(5000, prefix.getExactSizeIfKnown() + spliterator.estimateSize());
+    }
 }
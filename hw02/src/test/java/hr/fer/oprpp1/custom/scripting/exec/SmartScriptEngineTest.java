@@ -0,0 +1,116 @@
+package hr.fer.oprpp1.custom.scripting.exec;
+
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmartScriptEngineTest {
+    @Test
+    public void testNullDocument() {
+        assertThrows(NullPointerException.class, () -> new SmartScriptEngine(null));
+    }
+
+    @Test
+    public void testJustText() {
+        assertEquals("Just text, {$ no tags.", render("Just text, \\{$ no tags."));
+        assertEquals("", render(""));
+    }
+
+    @Test
+    public void testEchoConstants() {
+        assertEquals("1 2.5 Hello\n", render("{$= 1 $} {$= 2.5 $} {$= \"Hello\\n\" $}"));
+        assertEquals("12.5x", render("{$= 1 2.5 \"x\" $}"));
+    }
+
+    @Test
+    public void testOperators() {
+        assertEquals("7", render("{$= 1 2 3 * + $}"));
+        assertEquals("3", render("{$= 7 2 / $}"));
+        assertEquals("3.5", render("{$= 7 2.0 / $}"));
+        assertEquals("-5", render("{$= 2 7 - $}"));
+        assertEquals("8.0", render("{$= 2 3 ^ $}"));
+        assertEquals("13", render("{$= \"10\" 3 + $}"));
+        assertEquals("10.5", render("{$= \"10.5\" \"0\" + $}"));
+    }
+
+    @Test
+    public void testForLoop() {
+        assertEquals("1 2 3 4 5 ", render("{$ FOR i 1 5 $}{$= i \" \" $}{$ END $}"));
+        assertEquals("0 3 6 9 ", render("{$ FOR i 0 10 3 $}{$= i \" \" $}{$ END $}"));
+        assertEquals("5 3 1 ", render("{$ FOR i 5 0 -2 $}{$= i \" \" $}{$ END $}"));
+        assertEquals("", render("{$ FOR i 5 1 $}{$= i $}{$ END $}"));
+        assertEquals("0.5 1.0 1.5 ", render("{$ FOR i 0.5 \"1.5\" 0.5 $}{$= i \" \" $}{$ END $}"));
+    }
+
+    @Test
+    public void testNestedLoops() {
+        String source = "{$ FOR i 1 3 $}{$ FOR j 1 i $}{$= i j * $},{$ END $};{$ END $}";
+        assertEquals("1,;2,4,;3,6,9,;", render(source));
+    }
+
+    @Test
+    public void testLoopVariableAsBound() {
+        String source = "{$ FOR n 3 3 $}{$ FOR i 1 n $}{$= i $}{$ END $}{$ END $}";
+        assertEquals("123", render(source));
+    }
+
+    @Test
+    public void testFunctions() {
+        assertEquals("1.0", render("{$= 90 @sin $}"));
+        assertEquals("3.14", render("{$= 3.14159 \"0.00\" @decfmt $}"));
+        assertEquals("55", render("{$= 5 @dup $}"));
+        assertEquals("21", render("{$= 1 2 @swap $}"));
+        assertEquals("1", render("{$= 1 2 @swap - $}"));
+    }
+
+    @Test
+    public void testParameters() {
+        SmartScriptEngine engine = engine("Hello, {$= \"name\" \"World\" @paramGet $}!");
+
+        assertEquals("Hello, World!", engine.render());
+        assertEquals("Hello, Ana!", engine.render(Map.of("name", "Ana")));
+        assertEquals("Hello, 3!", engine("Hello, {$= \"n\" 0 @paramGet 1 + $}!").render(Map.of("n", "2")));
+    }
+
+    @Test
+    public void testEngineIsReusable() {
+        SmartScriptEngine engine = engine("{$ FOR i 1 3 $}{$= i \"sep\" \",\" @paramGet $}{$ END $}");
+
+        StringBuilder sb = new StringBuilder("> ");
+        engine.execute(Map.of("sep", ";"), sb);
+        engine.execute(Map.of(), sb);
+        assertEquals("> 1;2;3;1,2,3,", sb.toString());
+        assertEquals("1,2,3,", engine.render());
+    }
+
+    @Test
+    public void testCompileErrors() {
+        assertThrows(SmartScriptEngineException.class, () -> engine("{$= + $}"));
+        assertThrows(SmartScriptEngineException.class, () -> engine("{$= 1 * $}"));
+        assertThrows(SmartScriptEngineException.class, () -> engine("{$= @swap $}"));
+        assertThrows(SmartScriptEngineException.class, () -> engine("{$= 1 @unknown $}"));
+    }
+
+    @Test
+    public void testRuntimeErrors() {
+        assertThrows(SmartScriptEngineException.class, () -> render("{$= x $}"));
+        assertThrows(SmartScriptEngineException.class, () -> render("{$= \"abc\" 1 + $}"));
+        assertThrows(SmartScriptEngineException.class, () -> render("{$= 1 0 / $}"));
+        assertThrows(SmartScriptEngineException.class, () -> render("{$ FOR i 1 \"x\" $}{$ END $}"));
+        assertThrows(SmartScriptEngineException.class, () -> render("{$= 1 \"#,##0.0.0\" @decfmt $}"));
+        assertThrows(NullPointerException.class, () -> engine("").render(null));
+    }
+
+    private static SmartScriptEngine engine(String source) {
+        DocumentNode document = new SmartScriptParser(source).getDocumentNode();
+        return new SmartScriptEngine(document);
+    }
+
+    private static String render(String source) {
+        return engine(source).render();
+    }
+}
@@ -2,6 +2,13 @@ package hr.fer.oprpp1.custom.scripting.lexer;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -593,6 +600,185 @@ class SmartScriptLexerTest {
         checkToken(lexer.nextToken(), new SmartScriptToken(SmartScriptTokenType.EOF, null));
     }
 
+    @Test
+    public void testIntegerLimits() {
+        SmartScriptLexer lexer = new SmartScriptLexer("2147483647 -2147483648 00000000000000000000012 -0 \u0661\u0662");
+        lexer.setState(SmartScriptLexerState.TAG);
+
+        checkToken(lexer.nextToken(), new SmartScriptToken(SmartScriptTokenType.INTEGER, Integer.MAX_VALUE));
+        checkToken(lexer.nextToken(), new SmartScriptToken(SmartScriptTokenType.INTEGER, Integer.MIN_VALUE));
+        checkToken(lexer.nextToken(), new SmartScriptToken(SmartScriptTokenType.INTEGER, 12));
+        checkToken(lexer.nextToken(), new SmartScriptToken(SmartScriptTokenType.INTEGER, 0));
+        checkToken(lexer.nextToken(), new SmartScriptToken(SmartScriptTokenType.INTEGER, 12));
+
+        for (String number : new String[]{"2147483648", "-2147483649", "12345678901234567890123"}) {
+            SmartScriptLexer invalid = new SmartScriptLexer(number);
+            invalid.setState(SmartScriptLexerState.TAG);
+            assertThrows(SmartScriptLexerException.class, invalid::nextToken, number);
+        }
+    }
+
+    @Test
+    public void testDoublesMatchParseDouble() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            if (random.nextBoolean())
+                sb.append('-');
+            appendDigits(sb, random, 1 + random.nextInt(20));
+            sb.append('.');
+            appendDigits(sb, random, random.nextInt(30));
+
+            String number = sb.toString();
+            SmartScriptLexer lexer = new SmartScriptLexer(number);
+            lexer.setState(SmartScriptLexerState.TAG);
+            checkToken(lexer.nextToken(), new SmartScriptToken(SmartScriptTokenType.DOUBLE, Double.parseDouble(number)));
+        }
+
+        SmartScriptLexer invalid = new SmartScriptLexer("\u0661.5");
+        invalid.setState(SmartScriptLexerState.TAG);
+        assertThrows(SmartScriptLexerException.class, invalid::nextToken);
+    }
+
+    @Test
+    public void testAppendValueTo() {
+        SmartScriptLexer lexer = new SmartScriptLexer("Plain text, {$ \"with \\\"escapes\\\"\" $}\\{ \\\\ escaped");
+        StringBuilder sb = new StringBuilder();
+
+        lexer.nextToken().appendValueTo(sb);
+        lexer.nextToken().appendValueTo(sb);
+        lexer.setState(SmartScriptLexerState.TAG);
+        lexer.nextToken().appendValueTo(sb);
+        lexer.nextToken().appendValueTo(sb);
+        lexer.setState(SmartScriptLexerState.TEXT);
+        lexer.nextToken().appendValueTo(sb);
+
+        assertEquals("Plain text, with \"escapes\"{ \\ escaped", sb.toString());
+        assertEquals("{ \\ escaped", lexer.getToken().getValue());
+        assertThrows(NullPointerException.class, () -> lexer.getToken().appendValueTo(null));
+    }
+
+    @Test
+    public void testReaderMatchesString() {
+        String input = "A tag follows {$= i -1.5 -x \"a\\\"b\" @sin$} and \\{ escapes {$END$}";
+
+        for (int windowSize : new int[]{2, 3, 5, 64}) {
+            SmartScriptLexer expected = new SmartScriptLexer(input);
+            SmartScriptLexer actual = new SmartScriptLexer(new StringReader(input), windowSize);
+
+            do {
+                checkToken(actual.nextToken(), expected.nextToken());
+
+                SmartScriptTokenType type = expected.getToken().getType();
+                if (type == SmartScriptTokenType.TAG_LEFT) {
+                    expected.setState(SmartScriptLexerState.TAG);
+                    actual.setState(SmartScriptLexerState.TAG);
+                } else if (type == SmartScriptTokenType.TAG_RIGHT) {
+                    expected.setState(SmartScriptLexerState.TEXT);
+                    actual.setState(SmartScriptLexerState.TEXT);
+                }
+            } while (expected.getToken().getType() != SmartScriptTokenType.EOF);
+        }
+    }
+
+    @Test
+    public void testReaderReadsIncrementally() {
+        int[] charsRead = {0};
+        Reader reader = new Reader() {
+            private int remaining = 1_000_000;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                if (remaining == 0)
+                    return -1;
+
+                int count = Math.min(length, remaining);
+                java.util.Arrays.fill(buffer, offset, offset + count, 'x');
+                remaining -= count;
+                charsRead[0] += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        SmartScriptLexer lexer = new SmartScriptLexer(new CompositeReader("{$", reader), 64);
+        assertEquals(SmartScriptTokenType.TAG_LEFT, lexer.nextToken().getType());
+        assertTrue(charsRead[0] <= 64, "The lexer read " + charsRead[0] + " characters ahead.");
+
+        lexer.setState(SmartScriptLexerState.TAG);
+        SmartScriptToken identifier = lexer.nextToken();
+        assertEquals(SmartScriptTokenType.IDENTIFIER, identifier.getType());
+        assertEquals(1_000_000, ((String) identifier.getValue()).length());
+    }
+
+    @Test
+    public void testCharBufferInput() {
+        SmartScriptLexer lexer = new SmartScriptLexer(CharBuffer.wrap("text{$"), 2);
+
+        checkToken(lexer.nextToken(), new SmartScriptToken(SmartScriptTokenType.BARE_STRING, "text"));
+        checkToken(lexer.nextToken(), new SmartScriptToken(SmartScriptTokenType.TAG_LEFT, null));
+        checkToken(lexer.nextToken(), new SmartScriptToken(SmartScriptTokenType.EOF, null));
+    }
+
+    @Test
+    public void testReaderErrors() {
+        assertThrows(IllegalArgumentException.class, () -> new SmartScriptLexer(new StringReader(""), 1));
+        assertThrows(NullPointerException.class, () -> new SmartScriptLexer((Readable) null, 16));
+
+        Reader failing = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("Failed.");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        SmartScriptLexer lexer = new SmartScriptLexer(failing, 16);
+        assertThrows(UncheckedIOException.class, lexer::nextToken);
+    }
+
+    /**
+     * A reader which reads a prefix string and then another reader.
+     */
+    private static class CompositeReader extends Reader {
+        private final Reader prefix;
+        private final Reader rest;
+        private boolean prefixDone = false;
+
+        CompositeReader(String prefix, Reader rest) {
+            this.prefix = new StringReader(prefix);
+            this.rest = rest;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (!prefixDone) {
+                int read = prefix.read(buffer, offset, length);
+                if (read > 0)
+                    return read;
+                prefixDone = true;
+            }
+
+            return rest.read(buffer, offset, length);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static void appendDigits(StringBuilder sb, Random random, int count) {
+        for (int i = 0; i < count; i++)
+            sb.append((char) ('0' + random.nextInt(10)));
+    }
+
     private void checkToken(SmartScriptToken actual, SmartScriptToken expected) {
         String msg = "Token are not equal.";
         assertEquals(expected.getType(), actual.getType(), msg);
@@ -0,0 +1,105 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+import hr.fer.oprpp1.custom.scripting.nodes.TextNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalSmartScriptParserTest {
+    @Test
+    public void testNullInput() {
+        assertThrows(NullPointerException.class, () -> new IncrementalSmartScriptParser(null));
+        assertThrows(NullPointerException.class, () -> new IncrementalSmartScriptParser("").edit(0, 0, null));
+    }
+
+    @Test
+    public void testInvalidInitialText() {
+        assertThrows(SmartScriptParserException.class, () -> new IncrementalSmartScriptParser("{$END$}"));
+    }
+
+    @Test
+    public void testEditOutOfBounds() {
+        IncrementalSmartScriptParser parser = new IncrementalSmartScriptParser("text");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> parser.edit(-1, 0, ""));
+        assertThrows(IndexOutOfBoundsException.class, () -> parser.edit(5, 0, ""));
+        assertThrows(IndexOutOfBoundsException.class, () -> parser.edit(2, 3, ""));
+    }
+
+    @Test
+    public void testUnaffectedNodesAreReused() {
+        String source = "Header {$= a $} middle {$ FOR i 1 3 $}{$= i $}{$ END $} footer";
+        IncrementalSmartScriptParser parser = new IncrementalSmartScriptParser(source);
+        DocumentNode before = parser.getDocumentNode();
+
+        DocumentNode after = parser.edit(source.indexOf("{$= i"), 0, "i = ");
+
+        assertEquals(new SmartScriptParser(parser.getText()).getDocumentNode(), after);
+        assertEquals("Header {$= a $} middle {$ FOR i 1 3 $}i = {$= i $}{$ END $} footer", parser.getText());
+        assertSame(before.getChild(0), after.getChild(0));
+        assertSame(before.getChild(1), after.getChild(1));
+        assertSame(before.getChild(2), after.getChild(2));
+        assertNotSame(before.getChild(3), after.getChild(3));
+        assertSame(before.getChild(4), after.getChild(4));
+    }
+
+    @Test
+    public void testRemovingTagMergesText() {
+        IncrementalSmartScriptParser parser = new IncrementalSmartScriptParser("one {$= 1 $} two {$= 2 $} three");
+
+        parser.edit(4, 8, "");
+        assertEquals(new SmartScriptParser("one  two {$= 2 $} three").getDocumentNode(), parser.getDocumentNode());
+        assertEquals(3, parser.getDocumentNode().numberOfChildren());
+
+        parser.edit(parser.getText().indexOf("{$"), 1, "\\{");
+        assertEquals(1, parser.getDocumentNode().numberOfChildren());
+        assertEquals(new TextNode("one  two {$= 2 $} three"), parser.getDocumentNode().getChild(0));
+    }
+
+    @Test
+    public void testInvalidEditLeavesParserUnchanged() {
+        String source = "a {$= 1 $} b";
+        IncrementalSmartScriptParser parser = new IncrementalSmartScriptParser(source);
+        DocumentNode before = parser.getDocumentNode();
+
+        assertThrows(SmartScriptParserException.class, () -> parser.edit(2, 0, "{$ FOR i 1 2 $}"));
+        assertThrows(SmartScriptParserException.class, () -> parser.edit(source.length(), 0, "\\"));
+
+        assertSame(before, parser.getDocumentNode());
+        assertEquals(source, parser.getText());
+        assertEquals(new SmartScriptParser("a {$= 1 $} b!").getDocumentNode(), parser.edit(source.length(), 0, "!"));
+    }
+
+    @Test
+    public void testRandomEditsMatchFullParse() {
+        String[] fragments = {
+                "", "text ", "\\", "\\{", "{", "{$", "$}", "=", "{$= x 1 \"s\" $}",
+                "{$ FOR i 1 2 $}", "{$ END $}", "{$ FOR j 0 5 1 $}inner{$ END $}", " y"
+        };
+        Random random = new Random(42);
+
+        IncrementalSmartScriptParser parser = new IncrementalSmartScriptParser("");
+        for (int i = 0; i < 20_000; i++) {
+            String text = parser.getText();
+            int offset = random.nextInt(text.length() + 1);
+            int removedLength = random.nextInt(Math.min(text.length() - offset, 12) + 1);
+            String inserted = fragments[random.nextInt(fragments.length)];
+
+            String newText = text.substring(0, offset) + inserted + text.substring(offset + removedLength);
+            DocumentNode expected;
+            try {
+                expected = new SmartScriptParser(newText).getDocumentNode();
+            } catch (SmartScriptParserException e) {
+                assertThrows(SmartScriptParserException.class, () -> parser.edit(offset, removedLength, inserted), newText);
+                assertEquals(text, parser.getText());
+                continue;
+            }
+
+            assertEquals(expected, parser.edit(offset, removedLength, inserted), newText);
+            assertEquals(newText, parser.getText());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSmartScriptParserTest {
+    private static final String BLOCK = """
+            Text with \\{$ escaped tags, \\\\ backslashes and { braces.
+            {$= "a string with $} and {$ inside" 1 2.5 * @sin $}
+            {$ FOR i 1 10 1 $}
+              nested {$= i $}
+              {$ for j "1" i $}{$= "\\"$}" j $}{$ END $}
+            {$ end $}
+            """;
+
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Test
+    public void testNullInput() {
+        assertThrows(NullPointerException.class, () -> new ParallelSmartScriptParser(null));
+        assertThrows(NullPointerException.class, () -> new ParallelSmartScriptParser("", null));
+    }
+
+    @Test
+    public void testSmallInput() {
+        assertMatchesSequential("");
+        assertMatchesSequential(BLOCK);
+    }
+
+    @Test
+    public void testLargeInput() {
+        String input = BLOCK.repeat(5000);
+        DocumentNode document = assertMatchesSequential(input);
+
+        assertEquals(4 * 5000 + 1, document.numberOfChildren()); // The text between the blocks is merged
+    }
+
+    @Test
+    public void testLargeForBlock() {
+        String input = BLOCK.repeat(1000) + "{$ FOR k 1 2 $}" + BLOCK.repeat(3000) + "{$ END $}" + BLOCK.repeat(1000);
+
+        assertMatchesSequential(input);
+    }
+
+    @Test
+    public void testCommonPool() {
+        String input = BLOCK.repeat(5000);
+
+        assertEquals(new SmartScriptParser(input).getDocumentNode(), new ParallelSmartScriptParser(input).getDocumentNode());
+    }
+
+    @Test
+    public void testInvalidLargeInput() {
+        String blocks = BLOCK.repeat(2000);
+
+        assertThrows(SmartScriptParserException.class, () -> new ParallelSmartScriptParser(blocks + "{$ END $}" + blocks, pool));
+        assertThrows(SmartScriptParserException.class, () -> new ParallelSmartScriptParser(blocks + "{$ FOR i 1 2 $}" + blocks, pool));
+        assertThrows(SmartScriptParserException.class, () -> new ParallelSmartScriptParser(blocks + "\\a" + blocks, pool));
+        assertThrows(SmartScriptParserException.class, () -> new ParallelSmartScriptParser(blocks + "{$ = \"x $}" + blocks, pool));
+    }
+
+    private static DocumentNode assertMatchesSequential(String input) {
+        DocumentNode expected = new SmartScriptParser(input).getDocumentNode();
+        DocumentNode actual = new ParallelSmartScriptParser(input, pool).getDocumentNode();
+
+        assertEquals(expected, actual);
+        return actual;
+    }
+}
@@ -1,5 +1,6 @@
 package hr.fer.oprpp1.custom.scripting.parser;
 
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexer;
 import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -7,6 +8,8 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -172,6 +175,47 @@ class SmartScriptParserTest {
         assertThrows(SmartScriptParserException.class, () -> new SmartScriptParser(source));
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 6, 7})
+    public void testExtraFromReader(int testNumber) {
+        String source = readExample(testNumber);
+        DocumentNode expected = new SmartScriptParser(source).getDocumentNode();
+
+        for (int windowSize : new int[]{2, 3, 16, SmartScriptLexer.DEFAULT_WINDOW_SIZE}) {
+            DocumentNode actual = new SmartScriptParser(new StringReader(source), windowSize).getDocumentNode();
+            assertEquals(expected, actual);
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 5, 8, 9})
+    public void testExtraThrowingFromReader(int testNumber) {
+        String source = readExample(testNumber);
+
+        assertThrows(SmartScriptParserException.class, () -> new SmartScriptParser(new StringReader(source), 4));
+    }
+
+    @Test
+    public void testReaderInput() {
+        String source = """
+                This is sample text.
+                {$ FOR i 1 10 1 $}
+                  This is {$= i $}-th time this message is generated.
+                {$END$}
+                {$FOR i 0.0 10.0 2.0 $}
+                  sin({$=i$}^2) = {$= i i * @sin "0.000" @decfmt $}
+                {$END$}
+                """;
+
+        DocumentNode expected = new SmartScriptParser(source).getDocumentNode();
+
+        assertEquals(expected, new SmartScriptParser(new StringReader(source), 2).getDocumentNode());
+        assertEquals(expected, new SmartScriptParser(CharBuffer.wrap(source), 5).getDocumentNode());
+        assertThrows(NullPointerException.class, () -> new SmartScriptParser((Readable) null, 16));
+        assertThrows(IllegalArgumentException.class, () -> new SmartScriptParser(new StringReader(source), 1));
+    }
+
     private static void assertParsesSuccessfully(String source) {
         SmartScriptParser parser = new SmartScriptParser(source);
         DocumentNode document = parser.getDocumentNode();
@@ -0,0 +1,688 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A cache which maps keys to values and evicts entries once their total weight exceeds a given maximum.
+ * <p>
+ * The entries are stored in a {@link SimpleHashtable} and are additionally linked into a list
+ * ordered by their last access, from the most recently to the least recently used.
+ * Each lookup moves its entry to the front of the list, and eviction always takes entries from the back.
+ * <p>
+ * What happens when a new entry doesn't fit depends on the {@link EvictionPolicy}:
+ * <ul>
+ *     <li>{@link EvictionPolicy#LRU} always evicts the least recently used entries to make room for it;</li>
+ *     <li>{@link EvictionPolicy#TINY_LFU} keeps an approximate count of how often each key has been accessed
+ *     recently, and only evicts the least recently used entry if the new entry's key has been accessed more often.
+ *     Otherwise, the new entry is discarded instead. This stops keys which are used only once,
+ *     such as those of a sequential scan, from pushing frequently used entries out of the cache.</li>
+ * </ul>
+ * <p>
+ * The weight of each entry is determined by a {@link Weigher} when it is inserted.
+ * By default, every entry weighs 1, so the maximum weight is simply the maximum number of entries.
+ * Otherwise, the number of entries isn't known in advance, so the frequency sketch used by
+ * {@link EvictionPolicy#TINY_LFU} is sized by the expected number of entries, and grows if there are more.
+ * <p>
+ * The cache counts hits, misses and evictions; see {@link #getHitCount()},
+ * {@link #getMissCount()} and {@link #getEvictionCount()}.
+ * <p>
+ * Neither keys nor values may be {@code null}. This class is not thread-safe.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author Borna Cafuk
+ */
+public class BoundedCache<K, V> {
+    /**
+     * The strategy used to decide which entries to evict.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Evict the least recently used entries.
+         */
+        LRU,
+        /**
+         * Evict the least recently used entry only if the new entry's key is accessed more often,
+         * and discard the new entry otherwise.
+         */
+        TINY_LFU
+    }
+
+    /**
+     * Calculates the weight of cache entries.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+        /**
+         * Calculates the weight of an entry.
+         *
+         * @param key   the key of the entry
+         * @param value the value of the entry
+         * @return the weight of the entry; must not be negative
+         */
+        int weigh(K key, V value);
+    }
+
+    /**
+     * The entries of the cache, by key.
+     */
+    private final SimpleHashtable<K, Node<K, V>> table = new SimpleHashtable<>();
+    /**
+     * The most recently used entry, or {@code null} if the cache is empty.
+     */
+    private Node<K, V> head;
+    /**
+     * The least recently used entry, or {@code null} if the cache is empty.
+     */
+    private Node<K, V> tail;
+
+    /**
+     * The maximum total weight of the entries.
+     */
+    private final long maximumWeight;
+    /**
+     * The current total weight of the entries.
+     */
+    private long totalWeight = 0;
+    /**
+     * The function used to calculate the weights of the entries.
+     */
+    private final Weigher<? super K, ? super V> weigher;
+    /**
+     * The number of entries for which the frequency sketch of a weighted cache is sized
+     * if no expected number of entries is given.
+     */
+    private static final long DEFAULT_EXPECTED_ENTRIES = 16;
+
+    /**
+     * The access frequencies of the keys, or {@code null} if the policy is {@link EvictionPolicy#LRU}.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * The number of lookups which found an entry.
+     */
+    private long hitCount = 0;
+    /**
+     * The number of lookups which did not find an entry.
+     */
+    private long missCount = 0;
+    /**
+     * The number of entries which were evicted or rejected because of the weight limit.
+     */
+    private long evictionCount = 0;
+
+    /**
+     * Constructs a cache with the given maximum number of entries, each of which weighs 1.
+     *
+     * @param maximumSize the maximum number of entries
+     * @param policy      the eviction policy
+     * @throws IllegalArgumentException if {@code maximumSize} is less than 1
+     * @throws NullPointerException     if {@code policy} is {@code null}
+     */
+    public BoundedCache(long maximumSize, EvictionPolicy policy) {
+        this(maximumSize, maximumSize, policy, (key, value) -> 1);
+    }
+
+    /**
+     * Constructs a cache with the given maximum total weight of entries.
+     * <p>
+     * The frequency sketch starts small and grows as entries are added;
+     * use {@link #BoundedCache(long, long, EvictionPolicy, Weigher)} if the number of entries can be estimated.
+     *
+     * @param maximumWeight the maximum total weight of the entries
+     * @param policy        the eviction policy
+     * @param weigher       the function used to calculate the weights of the entries
+     * @throws IllegalArgumentException if {@code maximumWeight} is less than 1
+     * @throws NullPointerException     if {@code policy} or {@code weigher} is {@code null}
+     */
+    public BoundedCache(long maximumWeight, EvictionPolicy policy, Weigher<? super K, ? super V> weigher) {
+        this(maximumWeight, DEFAULT_EXPECTED_ENTRIES, policy, weigher);
+    }
+
+    /**
+     * Constructs a cache with the given maximum total weight of entries,
+     * sizing its frequency sketch for the given number of entries.
+     *
+     * @param maximumWeight   the maximum total weight of the entries
+     * @param expectedEntries the number of entries the cache is expected to hold when full;
+     *                        the frequency sketch grows if it holds more
+     * @param policy          the eviction policy
+     * @param weigher         the function used to calculate the weights of the entries
+     * @throws IllegalArgumentException if {@code maximumWeight} is less than 1 or {@code expectedEntries} is negative
+     * @throws NullPointerException     if {@code policy} or {@code weigher} is {@code null}
+     */
+    public BoundedCache(long maximumWeight, long expectedEntries, EvictionPolicy policy, Weigher<? super K, ? super V> weigher) {
+        if (maximumWeight < 1)
+            throw new IllegalArgumentException("The maximum weight must be at least 1, but " + maximumWeight + " was given.");
+        if (expectedEntries < 0)
+            throw new IllegalArgumentException("The expected number of entries must not be negative, but " + expectedEntries + " was given.");
+
+        this.maximumWeight = maximumWeight;
+        Objects.requireNonNull(policy, "The eviction policy must not be null.");
+
+        this.weigher = Objects.requireNonNull(weigher, "The weigher must not be null.");
+        this.sketch = policy == EvictionPolicy.TINY_LFU ? new FrequencySketch(expectedEntries) : null;
+    }
+
+    /**
+     * Retrieves the value associated with a key and marks it as the most recently used.
+     *
+     * @param key the key whose value to look up
+     * @return the value assigned to the given key, or {@code null} if the key is not in the cache
+     */
+    public V get(K key) {
+        if (key == null)
+            return null;
+
+        if (sketch != null)
+            sketch.increment(key);
+
+        Node<K, V> node = table.get(key);
+
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        moveToFront(node);
+        return node.value;
+    }
+
+    /**
+     * Retrieves the value associated with a key, loading it using a function if the key is not in the cache.
+     * <p>
+     * The loaded value is inserted like in {@link #put(Object, Object)}, so it may be rejected immediately.
+     * If the function returns {@code null}, nothing is inserted.
+     *
+     * @param key    the key whose value to look up
+     * @param loader the function which loads the value for the key if it is not in the cache;
+     *               must not modify the cache
+     * @return the value in the cache or the loaded value, or {@code null} if the loader returned {@code null}
+     * @throws NullPointerException if {@code key} or {@code loader} is {@code null}
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(key, "The key must not be null.");
+        Objects.requireNonNull(loader, "The loader must not be null.");
+
+        V value = get(key);
+        if (value != null)
+            return value;
+
+        value = loader.apply(key);
+        if (value != null)
+            insert(key, value);
+
+        return value;
+    }
+
+    /**
+     * Assigns a value to a given key and marks it as the most recently used.
+     * <p>
+     * If the cache becomes heavier than its maximum weight, entries are evicted according to the eviction policy.
+     * An entry which is heavier than the maximum weight on its own is never stored,
+     * and replaces any existing entry with the same key.
+     *
+     * @param key   the key whose value to assign
+     * @param value the new value for the key
+     * @return the value which was assigned to the key previously if the key was in the cache, {@code null} otherwise
+     * @throws NullPointerException     if {@code key} or {@code value} is {@code null}
+     * @throws IllegalArgumentException if the weigher returns a negative weight
+     */
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "The key must not be null.");
+        Objects.requireNonNull(value, "The value must not be null.");
+
+        if (sketch != null)
+            sketch.increment(key);
+
+        return insert(key, value);
+    }
+
+    /**
+     * Removes the entry with the given key from the cache.
+     *
+     * @param key the key of the entry to remove
+     * @return the value which was assigned to the key, or {@code null} if the key was not in the cache
+     */
+    public V remove(K key) {
+        if (key == null)
+            return null;
+
+        Node<K, V> node = table.remove(key);
+        if (node == null)
+            return null;
+
+        unlink(node);
+        totalWeight -= node.weight;
+        return node.value;
+    }
+
+    /**
+     * Checks if the cache contains an entry with the given key.
+     * <p>
+     * Unlike {@link #get(Object)}, this neither counts as an access nor affects the statistics.
+     *
+     * @param key the key to look up
+     * @return {@code true} if the cache contains the given key, {@code false} otherwise
+     */
+    public boolean containsKey(K key) {
+        return table.containsKey(key);
+    }
+
+    /**
+     * Gets the number of entries in the cache.
+     *
+     * @return the number of entries currently stored in the cache
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Checks whether there are no entries in the cache.
+     *
+     * @return {@code true} if there are no entries currently stored in the cache, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return table.isEmpty();
+    }
+
+    /**
+     * Gets the total weight of the entries in the cache.
+     *
+     * @return the sum of the weights of all entries currently stored in the cache
+     */
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Gets the maximum total weight of the entries in the cache.
+     *
+     * @return the maximum weight given in the constructor
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Gets the number of lookups using {@link #get(Object)} or {@link #computeIfAbsent(Object, Function)}
+     * which found an entry.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups using {@link #get(Object)} or {@link #computeIfAbsent(Object, Function)}
+     * which did not find an entry.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of entries which were removed from the cache, or never stored in it,
+     * because of its maximum weight.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Removes all entries from the cache.
+     * <p>
+     * The statistics and the access frequencies are kept.
+     */
+    public void clear() {
+        table.clear();
+        head = null;
+        tail = null;
+        totalWeight = 0;
+    }
+
+    /**
+     * Inserts or replaces an entry, without recording an access in the frequency sketch.
+     *
+     * @param key   the key whose value to assign
+     * @param value the new value for the key
+     * @return the value which was assigned to the key previously if the key was in the cache, {@code null} otherwise
+     * @throws IllegalArgumentException if the weigher returns a negative weight
+     */
+    private V insert(K key, V value) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0)
+            throw new IllegalArgumentException("The weight of an entry must not be negative, but " + weight + " was calculated.");
+
+        Node<K, V> node = table.get(key);
+
+        if (node != null) {
+            V oldValue = node.value;
+            totalWeight += weight - node.weight;
+            node.value = value;
+            node.weight = weight;
+            moveToFront(node);
+
+            if (weight > maximumWeight) {
+                remove(key);
+                evictionCount++;
+            } else {
+                evictIfNecessary(null);
+            }
+
+            return oldValue;
+        }
+
+        if (weight > maximumWeight) {
+            evictionCount++;
+            return null;
+        }
+
+        node = new Node<>(key, value, weight);
+        if (!evictIfNecessary(node)) {
+            evictionCount++;
+            return null;
+        }
+
+        table.put(key, node);
+        linkFirst(node);
+        totalWeight += weight;
+
+        if (sketch != null)
+            sketch.ensureCapacity(table.size());
+
+        return null;
+    }
+
+    /**
+     * Evicts the least recently used entries until the cache is no heavier than its maximum weight,
+     * taking into account the weight of an entry which is about to be added.
+     * <p>
+     * With the {@link EvictionPolicy#TINY_LFU} policy, eviction stops if the candidate's key
+     * is not accessed more often than the least recently used entry's key.
+     * Entries evicted up to that point stay evicted.
+     *
+     * @param candidate the entry which is about to be added, or {@code null} if there is none
+     * @return {@code true} if the candidate (if any) can be added, {@code false} if it was rejected
+     */
+    private boolean evictIfNecessary(Node<K, V> candidate) {
+        long extraWeight = candidate == null ? 0 : candidate.weight;
+
+        while (totalWeight + extraWeight > maximumWeight) {
+            Node<K, V> victim = tail;
+
+            if (candidate != null && sketch != null && sketch.frequency(candidate.key) <= sketch.frequency(victim.key))
+                return false;
+
+            table.remove(victim.key);
+            unlink(victim);
+            totalWeight -= victim.weight;
+            evictionCount++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Moves an entry which is already in the list to its front.
+     *
+     * @param node the entry to move
+     */
+    private void moveToFront(Node<K, V> node) {
+        if (node == head)
+            return;
+
+        unlink(node);
+        linkFirst(node);
+    }
+
+    /**
+     * Adds an entry to the front of the list.
+     *
+     * @param node the entry to add; must not be in the list
+     */
+    private void linkFirst(Node<K, V> node) {
+        node.previous = null;
+        node.next = head;
+
+        if (head != null)
+            head.previous = node;
+        else
+            tail = node;
+
+        head = node;
+    }
+
+    /**
+     * Removes an entry from the list.
+     *
+     * @param node the entry to remove; must be in the list
+     */
+    private void unlink(Node<K, V> node) {
+        if (node.previous != null)
+            node.previous.next = node.next;
+        else
+            head = node.next;
+
+        if (node.next != null)
+            node.next.previous = node.previous;
+        else
+            tail = node.previous;
+
+        node.previous = null;
+        node.next = null;
+    }
+
+    /**
+     * An entry of the cache, which is also a node in the access-ordered list.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static class Node<K, V> {
+        /**
+         * The key of the entry.
+         */
+        private final K key;
+        /**
+         * The value of the entry.
+         */
+        private V value;
+        /**
+         * The weight of the entry, as calculated when the value was assigned.
+         */
+        private int weight;
+        /**
+         * The entry which was used more recently than this one, or {@code null} if this is the head.
+         */
+        private Node<K, V> previous;
+        /**
+         * The entry which was used less recently than this one, or {@code null} if this is the tail.
+         */
+        private Node<K, V> next;
+
+        /**
+         * Constructs an entry which is not yet linked into the list.
+         *
+         * @param key    the key of the entry
+         * @param value  the value of the entry
+         * @param weight the weight of the entry
+         */
+        private Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A count-min sketch which estimates how often each key has been accessed recently.
+     * <p>
+     * Each key is counted in one counter of each of {@value DEPTH} rows, chosen by differently seeded hashes,
+     * and its frequency is estimated as the smallest of those counters. Collisions can only make
+     * the estimate too high, never too low. The counters saturate at {@value MAXIMUM_COUNT}.
+     * <p>
+     * After a number of increments proportional to the width of the sketch, all counters are halved,
+     * so that keys which used to be popular are eventually forgotten.
+     * <p>
+     * If the cache holds more entries than the sketch was sized for, the width of the sketch is doubled.
+     * Since a key's counter in the wider row is chosen by one more bit of the same hash,
+     * each counter is copied into both of the counters it is split into, so no accesses are forgotten.
+     */
+    private static class FrequencySketch {
+        /**
+         * The number of rows.
+         */
+        private static final int DEPTH = 4;
+        /**
+         * The largest value a counter can reach.
+         */
+        private static final int MAXIMUM_COUNT = 15;
+        /**
+         * The number of counters in a row per expected entry.
+         * With fewer counters, keys accessed once too often collide with frequently accessed keys in every row.
+         */
+        private static final int WIDTH_FACTOR = 4;
+        /**
+         * The number of increments per counter in a row after which all counters are halved.
+         */
+        private static final int SAMPLE_FACTOR = 10;
+        /**
+         * The largest number of counters in a row.
+         */
+        private static final int MAXIMUM_WIDTH = 1 << 24;
+        /**
+         * The multipliers used to derive the hash of each row from the hash code of a key.
+         */
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        /**
+         * The counters, with the rows stored one after another.
+         */
+        private byte[] counters;
+        /**
+         * The number of counters in a row minus one. The width is a power of two.
+         */
+        private int mask;
+        /**
+         * The number of increments after which the counters are halved.
+         */
+        private int sampleSize;
+        /**
+         * The number of increments since the counters were last halved.
+         */
+        private int increments = 0;
+
+        /**
+         * Constructs a sketch with {@value WIDTH_FACTOR} counters per row for every expected entry,
+         * rounded up to a power of two and limited to {@value MAXIMUM_WIDTH}.
+         *
+         * @param expectedEntries the number of entries the cache is expected to hold
+         */
+        private FrequencySketch(long expectedEntries) {
+            // Clamped before multiplying, so that huge expected sizes can't overflow
+            long clampedEntries = Math.min(Math.max(expectedEntries, 16), MAXIMUM_WIDTH / WIDTH_FACTOR);
+            long desiredWidth = clampedEntries * WIDTH_FACTOR;
+            int width = Integer.highestOneBit((int) desiredWidth);
+            if (width < desiredWidth)
+                width <<= 1;
+
+            counters = new byte[DEPTH * width];
+            mask = width - 1;
+            sampleSize = SAMPLE_FACTOR * width;
+        }
+
+        /**
+         * Doubles the width of the sketch until it has {@value WIDTH_FACTOR} counters per row for every entry,
+         * or until it reaches the largest width.
+         *
+         * @param entries the number of entries in the cache
+         */
+        private void ensureCapacity(long entries) {
+            int width = mask + 1;
+            if (entries * WIDTH_FACTOR <= width || width == MAXIMUM_WIDTH)
+                return;
+
+            int newWidth = width << 1;
+            byte[] newCounters = new byte[DEPTH * newWidth];
+
+            for (int row = 0; row < DEPTH; row++) {
+                System.arraycopy(counters, row * width, newCounters, row * newWidth, width);
+                System.arraycopy(counters, row * width, newCounters, row * newWidth + width, width);
+            }
+
+            counters = newCounters;
+            mask = newWidth - 1;
+            sampleSize = SAMPLE_FACTOR * newWidth;
+        }
+
+        /**
+         * Records an access of a key.
+         *
+         * @param key the key which was accessed
+         */
+        private void increment(Object key) {
+            int hashCode = key.hashCode();
+
+            for (int row = 0; row < DEPTH; row++) {
+                int index = indexOf(hashCode, row);
+                if (counters[index] < MAXIMUM_COUNT)
+                    counters[index]++;
+            }
+
+            if (++increments == sampleSize)
+                age();
+        }
+
+        /**
+         * Estimates how often a key has been accessed recently.
+         *
+         * @param key the key to look up
+         * @return the estimated number of accesses, at most {@value MAXIMUM_COUNT}
+         */
+        private int frequency(Object key) {
+            int hashCode = key.hashCode();
+            int frequency = MAXIMUM_COUNT;
+
+            for (int row = 0; row < DEPTH; row++)
+                frequency = Math.min(frequency, counters[indexOf(hashCode, row)]);
+
+            return frequency;
+        }
+
+        /**
+         * Halves all counters.
+         */
+        private void age() {
+            for (int i = 0; i < counters.length; i++)
+                counters[i] >>= 1;
+
+            increments /= 2;
+        }
+
+        /**
+         * Calculates the index of a key's counter in a row.
+         *
+         * @param hashCode the hash code of the key
+         * @param row      the row
+         * @return the index of the counter in {@link #counters}
+         */
+        private int indexOf(int hashCode, int row) {
+            int hash = hashCode * SEEDS[row];
+            hash ^= hash >>> 16;
+            return row * (mask + 1) + (hash & mask);
+        }
+    }
+}
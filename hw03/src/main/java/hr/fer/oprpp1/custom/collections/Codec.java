@@ -0,0 +1,89 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts objects to and from their serialized form, for use in {@link OffHeapHashtable}.
+ * <p>
+ * Two objects which are equal must be encoded into the same bytes,
+ * because {@link OffHeapHashtable} compares and hashes keys in their serialized form.
+ *
+ * @param <T> the type of the objects to convert
+ * @author Borna Cafuk
+ */
+public interface Codec<T> {
+    /**
+     * A codec which encodes strings as UTF-8.
+     */
+    Codec<String> STRING = new Codec<>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer) {
+            if (buffer.hasArray())
+                return new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), StandardCharsets.UTF_8);
+
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * A codec which stores byte arrays as they are.
+     * <p>
+     * Note that {@link OffHeapHashtable} compares keys by their contents, not by identity as {@code byte[]} does.
+     */
+    Codec<byte[]> BYTES = new Codec<>() {
+        @Override
+        public byte[] encode(byte[] value) {
+            return value;
+        }
+
+        @Override
+        public byte[] decode(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        }
+    };
+
+    /**
+     * A codec which encodes integers as four big-endian bytes.
+     */
+    Codec<Integer> INTEGER = new Codec<>() {
+        @Override
+        public byte[] encode(Integer value) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * Serializes an object.
+     * <p>
+     * The returned array is copied by the caller and is never modified, so it may be shared or cached.
+     *
+     * @param value the object to serialize; never {@code null}
+     * @return the serialized form of the object
+     */
+    byte[] encode(T value);
+
+    /**
+     * Deserializes an object from the remaining bytes of a buffer.
+     * <p>
+     * The buffer is only valid during the call, so the returned object must not keep a reference to it.
+     *
+     * @param buffer the buffer whose remaining bytes contain exactly one serialized object
+     * @return the deserialized object
+     */
+    T decode(ByteBuffer buffer);
+}
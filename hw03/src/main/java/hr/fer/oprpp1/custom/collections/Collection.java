@@ -1,5 +1,10 @@
 package hr.fer.oprpp1.custom.collections;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A generic collection of objects.
  *
@@ -101,4 +106,40 @@ public interface Collection<E> {
                 add(element);
         });
     }
+
+    /**
+     * Creates a {@link Spliterator} over the elements of the collection.
+     * <p>
+     * The default implementation traverses an {@link ElementsGetter}, so it is fail-fast in the same way.
+     * It knows the size of the collection, but it can only be split by copying batches of elements into arrays,
+     * so collections which allow direct access to their elements should override it.
+     *
+     * @return a new spliterator
+     */
+    default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(createElementsGetter().asIterator(), size(), 0);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} of the elements of the collection.
+     *
+     * @return a sequential stream
+     */
+    default Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a possibly parallel {@link Stream} of the elements of the collection.
+     * <p>
+     * The collection must not be modified while the stream is being processed.
+     * In particular, adding the elements of a parallel stream to a collection has to be done with
+     * {@link Stream#forEachOrdered(java.util.function.Consumer)} or after collecting them,
+     * since collections are not thread-safe.
+     *
+     * @return a possibly parallel stream
+     */
+    default Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
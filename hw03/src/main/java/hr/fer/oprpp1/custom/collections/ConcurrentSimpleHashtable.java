@@ -0,0 +1,705 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe table that maps keys to values.
+ * A map cannot contain duplicate keys; each key can map to at most one value.
+ * <p>
+ * Neither keys nor values may be {@code null}, since {@code null} is used to signal the absence of a key.
+ * <p>
+ * The entries are split into a fixed number of segments according to the hash of their key.
+ * Each segment is a separate chained hashtable guarded by its own lock, so threads modifying entries
+ * in different segments don't block each other. Lookups don't lock at all.
+ * <p>
+ * Unlike {@link SimpleHashtable}, the iterators of this hashtable never throw
+ * {@link java.util.ConcurrentModificationException}. They are weakly consistent: every entry which exists
+ * during the whole iteration is returned exactly once, while entries added or removed during the iteration
+ * may or may not be returned.
+ * <p>
+ * Keys are compared using {@link Object#equals(Object)}.
+ * Values are stored in buckets according to the hash of their key, which is determined using {@link Object#hashCode()}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author Borna Cafuk
+ */
+public class ConcurrentSimpleHashtable<K, V> implements Iterable<ConcurrentSimpleHashtable.Entry<K, V>> {
+    /**
+     * The default initial total number of buckets if not specified otherwise.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * The default number of segments if not specified otherwise.
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    /**
+     * The maximum ratio of entries to buckets in a segment.
+     * Must be greater than 0.
+     */
+    private static final double LOAD_FACTOR = 0.75;
+    /**
+     * The factor by which the number of buckets in a segment is increased in {@link Segment#resize()}.
+     * Must be a power of two.
+     */
+    private static final int GROWTH_FACTOR = 2;
+
+    /**
+     * The segments of the hashtable. The number of segments is a power of two and never changes.
+     */
+    private final Segment<K, V>[] segments;
+    /**
+     * The number of bits of a hash, counting from the highest bit, which are used to select a segment.
+     */
+    private final int segmentBits;
+
+    /**
+     * Constructs a new hashtable with the default of {@value DEFAULT_CAPACITY} buckets
+     * split into {@value DEFAULT_CONCURRENCY_LEVEL} segments.
+     */
+    public ConcurrentSimpleHashtable() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a new hashtable with at least the specified number of buckets,
+     * split into {@value DEFAULT_CONCURRENCY_LEVEL} segments.
+     *
+     * @param capacity the desired total number of buckets
+     * @throws IllegalArgumentException if {@code capacity} is less than 1
+     */
+    public ConcurrentSimpleHashtable(int capacity) {
+        this(capacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a new hashtable with at least the specified number of buckets and segments.
+     * <p>
+     * The actual number of segments has to be a power of two, so if {@code concurrencyLevel}
+     * is not a power of two, the smallest power of two larger than {@code concurrencyLevel} will be used.
+     * Each segment gets at least one bucket.
+     *
+     * @param capacity         the desired total number of buckets
+     * @param concurrencyLevel the desired number of segments, i.e. the number of threads which should be able to
+     *                         modify the hashtable at the same time
+     * @throws IllegalArgumentException if {@code capacity} or {@code concurrencyLevel} is less than 1
+     * @throws IllegalArgumentException if {@code concurrencyLevel} is larger than 2<sup>16</sup>
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentSimpleHashtable(int capacity, int concurrencyLevel) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("The initial number of buckets has to be at least one, but " + capacity + " was given.");
+        if (concurrencyLevel < 1 || concurrencyLevel > 1 << 16)
+            throw new IllegalArgumentException("The number of segments has to be between 1 and 65536, but " + concurrencyLevel + " was given.");
+
+        int segmentCount = findFirstPowerOfTwo(concurrencyLevel);
+        int segmentCapacity = findFirstPowerOfTwo((capacity + segmentCount - 1) / segmentCount);
+
+        segmentBits = Integer.numberOfTrailingZeros(segmentCount);
+        segments = (Segment<K, V>[]) new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++)
+            segments[i] = new Segment<>(segmentCapacity);
+    }
+
+    /**
+     * Assigns a value to a given key.
+     * If the key already exists in the hashtable, its value will be overwritten.
+     * Otherwise, a new entry is added to the hashtable.
+     *
+     * @param key   the key whose value to assign
+     * @param value the new value for the key
+     * @return the value which was assigned to the key previously if the key already exists, {@code null} otherwise
+     * @throws NullPointerException if {@code key} or {@code value} is {@code null}
+     */
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "The value must not be null.");
+        int hash = hash(key);
+        return segmentFor(hash).put(key, hash, value, false);
+    }
+
+    /**
+     * Atomically assigns a value to a given key, but only if the key doesn't already exist in the hashtable.
+     *
+     * @param key   the key whose value to assign
+     * @param value the value for the key
+     * @return the value which is already assigned to the key if it exists, {@code null} otherwise
+     * @throws NullPointerException if {@code key} or {@code value} is {@code null}
+     */
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value, "The value must not be null.");
+        int hash = hash(key);
+        return segmentFor(hash).put(key, hash, value, true);
+    }
+
+    /**
+     * Atomically computes a new value for a given key from its current value.
+     * <p>
+     * The function is given the key and its current value, or {@code null} if the key does not exist.
+     * If the function returns {@code null}, the entry is removed (or not added), otherwise the returned value
+     * is assigned to the key.
+     * <p>
+     * The function is called while holding the lock of the key's segment,
+     * so it should be short and must not modify this hashtable.
+     *
+     * @param key      the key whose value to compute
+     * @param function the function computing the new value
+     * @return the new value assigned to the key, or {@code null} if there is none
+     * @throws NullPointerException if {@code key} or {@code function} is {@code null}
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function, "The function must not be null.");
+        int hash = hash(key);
+        return segmentFor(hash).compute(key, hash, function);
+    }
+
+    /**
+     * Atomically computes a value for a given key if the key doesn't already exist in the hashtable.
+     * <p>
+     * If the function returns {@code null}, no entry is added.
+     * <p>
+     * The function is called while holding the lock of the key's segment,
+     * so it should be short and must not modify this hashtable.
+     *
+     * @param key      the key whose value to compute
+     * @param function the function computing the value from the key
+     * @return the value assigned to the key, or {@code null} if there is none
+     * @throws NullPointerException if {@code key} or {@code function} is {@code null}
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        Objects.requireNonNull(function, "The function must not be null.");
+
+        V value = get(key);
+        if (value != null)
+            return value;
+
+        return compute(key, (k, v) -> v != null ? v : function.apply(k));
+    }
+
+    /**
+     * Retrieves the value associated with a key.
+     *
+     * @param key the key whose value to look up
+     * @return the value assigned to the given key, or {@code null} if the key does not exist in the hashtable
+     */
+    public V get(Object key) {
+        if (key == null)
+            return null;
+
+        int hash = hash(key);
+        Entry<K, V> entry = segmentFor(hash).find(key, hash);
+
+        if (entry == null)
+            return null;
+
+        return entry.value;
+    }
+
+    /**
+     * Gets the number of entries stored in the hashtable.
+     * <p>
+     * If the hashtable is being modified concurrently, the result is only an estimate.
+     *
+     * @return the number of key-value pairs currently stored in the hashtable
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments)
+            size += segment.count;
+        return size;
+    }
+
+    /**
+     * Checks whether there are no entries in the hashtable.
+     * <p>
+     * If the hashtable is being modified concurrently, the result is only an estimate.
+     *
+     * @return {@code true} if there are no entries currently stored in the table, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        for (Segment<K, V> segment : segments)
+            if (segment.count != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Checks if the hashtable contains an entry with the given key.
+     *
+     * @param key the key to look up
+     * @return {@code true} if the hashtable contains the given key, {@code false} otherwise
+     */
+    public boolean containsKey(Object key) {
+        if (key == null)
+            return false;
+
+        int hash = hash(key);
+        return segmentFor(hash).find(key, hash) != null;
+    }
+
+    /**
+     * Checks if the hashtable contains an entry with the given value.
+     *
+     * @param value the value to look up
+     * @return {@code true} if the hashtable contains the given value, {@code false} otherwise
+     */
+    public boolean containsValue(Object value) {
+        if (value == null)
+            return false;
+
+        for (Entry<K, V> entry : this)
+            if (value.equals(entry.value))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Removes the entry with the given key from the hashtable.
+     *
+     * @param key the key of the entry to remove
+     * @return the value which was assigned to the key, or {@code null} if the key doesn't exist in the hashtable
+     */
+    public V remove(Object key) {
+        if (key == null)
+            return null;
+
+        int hash = hash(key);
+        return segmentFor(hash).remove(key, hash);
+    }
+
+    /**
+     * Removes all entries from the hashtable.
+     * <p>
+     * The segments are cleared one by one, so entries added concurrently may survive.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments)
+            segment.clear();
+    }
+
+    /**
+     * Converts the entries of this hashmap into a string in the form of a list of ket-value pairs.
+     *
+     * @return a string representing the entries of this hashmap
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+
+        Iterator<Entry<K, V>> iterator = iterator();
+
+        while (iterator.hasNext()) {
+            sb.append(iterator.next());
+
+            if (iterator.hasNext())
+                sb.append(", ");
+        }
+
+        sb.append(']');
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the entries of the hashtable.
+     *
+     * @return a new iterator
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new IteratorImpl();
+    }
+
+    /**
+     * Finds the smallest integer which is both a power of two and larger than or equal to a given parameter.
+     *
+     * @param n the lower bound for the power of two
+     * @return the smallest power of two which is larger or equal to {@code n}
+     */
+    private static int findFirstPowerOfTwo(int n) {
+        for (int power = 1; power != 0; power *= 2)
+            if (power >= n)
+                return power;
+        throw new IllegalArgumentException("Couldn't find a power of two greater than " + n + " that fits into an integer.");
+    }
+
+    /**
+     * Calculates the hash of a key.
+     * <p>
+     * The highest bits of the hash select the segment and the lowest bits select the bucket within it,
+     * so {@link Object#hashCode()} is first multiplied by a large odd constant
+     * to spread its bits towards the top, and then the top bits are mixed back into the bottom ones.
+     *
+     * @param key the key whose hash to calculate
+     * @return the hash of the key
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    private static int hash(Object key) {
+        Objects.requireNonNull(key, "The key must not be null.");
+        int hash = key.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Gets the segment to which a hash belongs.
+     *
+     * @param hash the hash of a key, as calculated by {@link #hash(Object)}
+     * @return the segment
+     */
+    private Segment<K, V> segmentFor(int hash) {
+        if (segmentBits == 0)
+            return segments[0];
+
+        return segments[hash >>> (Integer.SIZE - segmentBits)];
+    }
+
+    /**
+     * A key-value pair stored in the hashtable.
+     * <p>
+     * The value of an entry can only be changed through the hashtable,
+     * e.g. using {@link #put(Object, Object)} or {@link #compute(Object, BiFunction)},
+     * and an entry obtained earlier may not reflect such changes (see {@link #getValue()}).
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    public static final class Entry<K, V> {
+        /**
+         * The entry's key.
+         */
+        private final K key;
+        /**
+         * The hash of the entry's key, as calculated by {@link ConcurrentSimpleHashtable#hash(Object)}.
+         */
+        private final int hash;
+        /**
+         * The entry's value.
+         * <p>
+         * Only written while holding the lock of the entry's segment.
+         */
+        private volatile V value;
+        /**
+         * The next entry in the same bucket, or {@code null} if this entry is the last in the bucket.
+         * <p>
+         * Only written while holding the lock of the entry's segment.
+         */
+        private volatile Entry<K, V> next;
+
+        /**
+         * Constructs a new entry with the given parameters.
+         *
+         * @param key   the entry's key
+         * @param hash  the hash of the entry's key
+         * @param value the entry's value
+         * @param next  the next entry in the same bucket
+         */
+        private Entry(K key, int hash, V value, Entry<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+
+        /**
+         * Returns the entry's the key.
+         *
+         * @return the key
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the entry's the value.
+         * <p>
+         * The value should be treated as a snapshot which may be stale. Changes to the key's value made through
+         * the hashtable are seen by this entry only until the entry is removed or its segment is resized,
+         * since a resize copies the entries of the segment into new entry objects.
+         * Use {@link ConcurrentSimpleHashtable#get(Object)} to read the current value.
+         *
+         * @return the value
+         */
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Converts the entry to a string.
+         *
+         * @return the key and value, joined by an equals sign ({@code =})
+         */
+        @Override
+        public String toString() {
+            return key.toString() + '=' + value;
+        }
+    }
+
+    /**
+     * A part of the hashtable with its own buckets and lock.
+     * <p>
+     * All modifications are done in {@code synchronized} methods.
+     * Lookups are done without locking: entries are only published through volatile writes,
+     * and removing an entry or resizing never changes the links of entries which a reader may be traversing,
+     * except to skip over a removed entry.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Segment<K, V> {
+        /**
+         * The buckets of the segment. Each slot is the head of a linked list of entries in that bucket,
+         * or {@code null} if the bucket is empty.
+         * <p>
+         * Replaced as a whole when the segment is resized.
+         */
+        private volatile AtomicReferenceArray<Entry<K, V>> buckets;
+        /**
+         * The number of entries in the segment.
+         * <p>
+         * Only written while holding the lock of the segment.
+         */
+        private volatile int count = 0;
+
+        /**
+         * Constructs a new empty segment.
+         *
+         * @param capacity the initial number of buckets; must be a power of two
+         */
+        private Segment(int capacity) {
+            buckets = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * Finds the entry with the given key without locking.
+         *
+         * @param key  the key to look up
+         * @param hash the hash of {@code key}
+         * @return the entry with the given key if it exists in the segment, {@code null} otherwise
+         */
+        private Entry<K, V> find(Object key, int hash) {
+            AtomicReferenceArray<Entry<K, V>> buckets = this.buckets;
+
+            for (Entry<K, V> entry = buckets.get(hash & (buckets.length() - 1)); entry != null; entry = entry.next)
+                if (entry.hash == hash && key.equals(entry.key))
+                    return entry;
+
+            return null;
+        }
+
+        /**
+         * Assigns a value to a given key.
+         *
+         * @param key          the key whose value to assign
+         * @param hash         the hash of {@code key}
+         * @param value        the new value for the key
+         * @param onlyIfAbsent whether an existing value should be kept
+         * @return the value which was assigned to the key previously if the key already exists, {@code null} otherwise
+         */
+        private synchronized V put(K key, int hash, V value, boolean onlyIfAbsent) {
+            Entry<K, V> entry = find(key, hash);
+
+            if (entry != null) {
+                V oldValue = entry.value;
+                if (!onlyIfAbsent)
+                    entry.value = value;
+                return oldValue;
+            }
+
+            insert(key, hash, value);
+            return null;
+        }
+
+        /**
+         * Computes a new value for a given key from its current value.
+         *
+         * @param key      the key whose value to compute
+         * @param hash     the hash of {@code key}
+         * @param function the function computing the new value
+         * @return the new value assigned to the key, or {@code null} if there is none
+         * @see ConcurrentSimpleHashtable#compute(Object, BiFunction)
+         */
+        private synchronized V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> function) {
+            Entry<K, V> entry = find(key, hash);
+            V newValue = function.apply(key, entry == null ? null : entry.value);
+
+            if (newValue == null) {
+                if (entry != null)
+                    remove(key, hash);
+            } else if (entry != null) {
+                entry.value = newValue;
+            } else {
+                insert(key, hash, newValue);
+            }
+
+            return newValue;
+        }
+
+        /**
+         * Removes the entry with the given key from the segment.
+         *
+         * @param key  the key of the entry to remove
+         * @param hash the hash of {@code key}
+         * @return the value which was assigned to the key, or {@code null} if the key doesn't exist in the segment
+         */
+        private synchronized V remove(Object key, int hash) {
+            AtomicReferenceArray<Entry<K, V>> buckets = this.buckets;
+            int bucketIndex = hash & (buckets.length() - 1);
+
+            Entry<K, V> prevEntry = null;
+            for (Entry<K, V> entry = buckets.get(bucketIndex); entry != null; entry = entry.next) {
+                if (entry.hash == hash && key.equals(entry.key)) {
+                    // Readers currently at the removed entry can still follow its link to the rest of the bucket
+                    if (prevEntry == null)
+                        buckets.set(bucketIndex, entry.next);
+                    else
+                        prevEntry.next = entry.next;
+
+                    count--;
+                    return entry.value;
+                }
+                prevEntry = entry;
+            }
+
+            return null;
+        }
+
+        /**
+         * Removes all entries from the segment.
+         */
+        private synchronized void clear() {
+            buckets = new AtomicReferenceArray<>(buckets.length());
+            count = 0;
+        }
+
+        /**
+         * Adds a new entry at the head of its bucket, resizing the segment first if necessary.
+         * <p>
+         * Must be called while holding the lock of the segment.
+         *
+         * @param key   the key, which must not already exist in the segment
+         * @param hash  the hash of {@code key}
+         * @param value the value for the key
+         */
+        private void insert(K key, int hash, V value) {
+            if ((count + 1.0d) / buckets.length() > LOAD_FACTOR)
+                resize();
+
+            AtomicReferenceArray<Entry<K, V>> buckets = this.buckets;
+            int bucketIndex = hash & (buckets.length() - 1);
+
+            buckets.set(bucketIndex, new Entry<>(key, hash, value, buckets.get(bucketIndex)));
+            count++;
+        }
+
+        /**
+         * Increases the number of buckets {@value GROWTH_FACTOR} times.
+         * <p>
+         * The entries are copied rather than relinked, so that readers which are still traversing the old buckets
+         * see them unchanged.
+         * <p>
+         * Must be called while holding the lock of the segment.
+         */
+        private void resize() {
+            AtomicReferenceArray<Entry<K, V>> oldBuckets = buckets;
+            AtomicReferenceArray<Entry<K, V>> newBuckets = new AtomicReferenceArray<>(oldBuckets.length() * GROWTH_FACTOR);
+            int mask = newBuckets.length() - 1;
+
+            for (int i = 0; i < oldBuckets.length(); i++) {
+                for (Entry<K, V> entry = oldBuckets.get(i); entry != null; entry = entry.next) {
+                    int bucketIndex = entry.hash & mask;
+                    newBuckets.set(bucketIndex, new Entry<>(entry.key, entry.hash, entry.value, newBuckets.get(bucketIndex)));
+                }
+            }
+
+            buckets = newBuckets;
+        }
+    }
+
+    /**
+     * A weakly consistent iterator over the entries of the hashtable.
+     * <p>
+     * Each segment's buckets are read at the moment the iterator reaches the segment.
+     */
+    private class IteratorImpl implements Iterator<Entry<K, V>> {
+        /**
+         * The index of the segment to which {@link #nextEntry} belongs.
+         * If there are no more elements, it will be equal to the number of segments.
+         */
+        private int segmentIndex = -1;
+        /**
+         * The buckets of the current segment as they were when the iterator reached the segment.
+         */
+        private AtomicReferenceArray<Entry<K, V>> buckets = null;
+        /**
+         * The index of the bucket in {@link #buckets} to which {@link #nextEntry} belongs.
+         */
+        private int bucketIndex = -1;
+        /**
+         * The next entry to be returned by {@link #next()}.
+         * If there are no more elements, it will be {@code null}.
+         */
+        private Entry<K, V> nextEntry = null;
+        /**
+         * The last entry returned by {@link #next()}.
+         * If {@link #remove()} has been called after the last call to {@link #next()}, it will be {@code null}.
+         * If {@link #next()} has not yet been called, it will also be {@code null}.
+         */
+        private Entry<K, V> currentEntry = null;
+
+        private IteratorImpl() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (nextEntry == null)
+                throw new NoSuchElementException("All entries have been iterated over.");
+
+            currentEntry = nextEntry;
+            advance();
+            return currentEntry;
+        }
+
+        /**
+         * Removes the key of the last returned entry from the hashtable.
+         */
+        @Override
+        public void remove() {
+            if (currentEntry == null)
+                throw new IllegalStateException("remove() has already been called.");
+
+            ConcurrentSimpleHashtable.this.remove(currentEntry.key);
+            currentEntry = null;
+        }
+
+        /**
+         * Advances the internal state to the next entry in the hashtable.
+         */
+        private void advance() {
+            if (nextEntry != null)
+                nextEntry = nextEntry.next;
+
+            while (nextEntry == null) {
+                if (buckets == null || ++bucketIndex >= buckets.length()) {
+                    if (++segmentIndex >= segments.length)
+                        return;
+
+                    buckets = segments[segmentIndex].buckets;
+                    bucketIndex = 0;
+                }
+
+                nextEntry = buckets.get(bucketIndex);
+            }
+        }
+    }
+}
@@ -1,13 +1,12 @@
 package hr.fer.oprpp1.custom.collections;
 
-import java.util.Objects;
-
 /**
  * An object that maps keys to values. A map cannot contain duplicate keys; each key can map to at most one value.
  * <p>
  * {@code null} is allowed as a value, but not as a key.
  * <p>
  * Keys are compared using {@link Object#equals(Object)}.
+ * The entries are stored in a {@link SimpleHashtable}, so lookups take constant time on average.
  *
  * @param <K> the type of the keys
  * @param <V> the type of the values
@@ -15,9 +14,9 @@ import java.util.Objects;
  */
 public class Dictionary<K, V> {
     /**
-     * The internal list of collections.
+     * The internal hashtable of entries.
      */
-    private ArrayIndexedCollection<Entry<K, V>> entries = new ArrayIndexedCollection<>();
+    private SimpleHashtable<K, V> entries = new SimpleHashtable<>();
 
     /**
      * Checks whether there currently are any entries in the dictionary.
@@ -25,7 +24,7 @@ public class Dictionary<K, V> {
      * @return {@code true} if the dictionary contains at least one key-value pair, {@code false} otherwise
      */
     public boolean isEmpty() {
-        return size() == 0;
+        return entries.isEmpty();
     }
 
     /**
@@ -53,17 +52,7 @@ public class Dictionary<K, V> {
      * @throws NullPointerException if {@code key} is {@code null}
      */
     public V put(K key, V value) {
-        Objects.requireNonNull(key, "The key must not be null.");
-        Entry<K, V> entry = getEntry(key);
-
-        if (entry == null) {
-            entries.add(new Entry<>(key, value));
-            return null;
-        }
-
-        V oldValue = entry.value;
-        entry.value = value;
-        return oldValue;
+        return entries.put(key, value);
     }
 
     /**
@@ -73,12 +62,7 @@ public class Dictionary<K, V> {
      * @return the value assigned to the given key, or {@code null} if the key does not exist in the dictionary
      */
     public V get(Object key) {
-        Entry<K, V> entry = getEntry(key);
-
-        if (entry == null)
-            return null;
-
-        return entry.value;
+        return entries.get(key);
     }
 
     /**
@@ -89,76 +73,6 @@ public class Dictionary<K, V> {
      *         or {@code null} if the key did not exist in the dictionary
      */
     public V remove(Object key) {
-        Entry<K, V> entry = getEntry(key);
-
-        if (entry == null)
-            return null;
-
-        entries.remove(entry);
-        return entry.value;
-    }
-
-    /**
-     * Searches the dictionary for the entry with the given key.
-     *
-     * @param key the key to search for
-     * @return the entry with the given key if it exists in the dictionary, {@code null} otherwise
-     */
-    private Entry<K, V> getEntry(Object key) {
-        ElementsGetter<Entry<K, V>> getter = entries.createElementsGetter();
-
-        while (getter.hasNextElement()) {
-            Entry<K, V> entry = getter.getNextElement();
-            if (entry.key.equals(key))
-                return entry;
-        }
-
-        return null;
-    }
-
-    /**
-     * A key-value pair.
-     *
-     * @param <K> the type of the key
-     * @param <V> the type of the value
-     */
-    private static class Entry<K, V> {
-        /**
-         * The key.
-         */
-        public K key;
-        /**
-         * The value.
-         */
-        public V value;
-
-        /**
-         * Constructs a new entry with the given key and value.
-         *
-         * @param key   the key
-         * @param value the value
-         */
-        public Entry(K key, V value) {
-            this.key = key;
-            this.value = value;
-        }
-
-        /**
-         * Compares two entries with respect to their keys. Keys are compared using {@link Object#equals(Object)}.
-         *
-         * @param o the object to which to compare the entry
-         * @return {@code true} if {@code o} is an {@link Entry} and its key is equal to this entry's key,
-         *         {@code false} otherwise
-         */
-        @Override
-        public boolean equals(Object o) {
-            if (this == o)
-                return true;
-            if (o == null || getClass() != o.getClass())
-                return false;
-
-            Entry<?, ?> entry = (Entry<?, ?>) o;
-            return key.equals(entry.key);
-        }
+        return entries.remove(key);
     }
 }
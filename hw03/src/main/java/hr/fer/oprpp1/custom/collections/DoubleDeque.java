@@ -0,0 +1,336 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A double-ended queue of {@code double} values, backed by a circular array.
+ * <p>
+ * This is the {@code double}-specialized variant of {@link ObjectDeque}, so the values are never boxed.
+ * <p>
+ * Adding and removing elements at either end takes constant (amortized) time, without shifting any elements.
+ * It can be used as a last in, first out stack through {@link #push(double)}, {@link #pop()} and {@link #peek()},
+ * which all work on the last element.
+ * <p>
+ * The array grows {@value DoubleDeque#GROWTH_FACTOR} times when it is full. Optionally, it also shrinks
+ * {@value DoubleDeque#GROWTH_FACTOR} times when less than a quarter of it is used,
+ * but never below its initial capacity.
+ *
+ * @author Borna Cafuk
+ */
+public class DoubleDeque {
+    /**
+     * The default capacity (i.e. the size of the internal array) when no capacity is specified in the constructor.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * By how much the capacity is multiplied when an element is to be added to an already full array,
+     * and divided when the array is shrunk.
+     */
+    private static final int GROWTH_FACTOR = 2;
+    /**
+     * The array is shrunk when the number of elements is less than its length divided by this value.
+     */
+    private static final int SHRINK_DIVISOR = 4;
+
+    /**
+     * The internal circular array containing the elements. Its length is always a power of two.
+     */
+    private double[] elements;
+    /**
+     * The index in {@link #elements} of the first element.
+     */
+    private int head = 0;
+    /**
+     * The number of elements currently in the deque.
+     */
+    private int size = 0;
+    /**
+     * The capacity below which the array is never shrunk.
+     */
+    private final int minimumCapacity;
+    /**
+     * Whether the array is shrunk when most of it is unused.
+     */
+    private final boolean shrinking;
+
+    /**
+     * Constructs an empty deque with the default initial capacity of {@value DoubleDeque#DEFAULT_CAPACITY}
+     * which is never shrunk.
+     */
+    public DoubleDeque() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Constructs an empty deque with the specified initial capacity, rounded up to a power of two.
+     *
+     * @param initialCapacity the initial capacity; must be 1 or greater
+     * @param shrinking       whether to shrink the array when less than a quarter of it is used
+     * @throws IllegalArgumentException if the specified initial capacity is less than 1
+     *                                  or greater than {@code 2^30}
+     */
+    public DoubleDeque(int initialCapacity, boolean shrinking) {
+        if (initialCapacity < 1 || initialCapacity > 1 << 30)
+            throw new IllegalArgumentException("The initial capacity must be between 1 and 2^30, but " + initialCapacity + " was given.");
+
+        minimumCapacity = Integer.highestOneBit(initialCapacity) == initialCapacity
+                ? initialCapacity
+                : Integer.highestOneBit(initialCapacity) << 1;
+        this.shrinking = shrinking;
+        elements = new double[minimumCapacity];
+    }
+
+    /**
+     * Returns whether the deque is empty.
+     *
+     * @return {@code true} if the deque is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the size of the deque.
+     *
+     * @return the number of values currently stored in the deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a value to the front of the deque.
+     *
+     * @param value the value to add
+     */
+    public void addFirst(double value) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+    }
+
+    /**
+     * Adds a value to the back of the deque.
+     *
+     * @param value the value to add
+     */
+    public void addLast(double value) {
+        ensureCapacity(size + 1);
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Removes the value at the front of the deque and returns it.
+     *
+     * @return the value that was removed
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public double removeFirst() {
+        if (size == 0)
+            throw new NoSuchElementException("The deque is empty.");
+
+        double value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+
+        shrinkIfNecessary();
+        return value;
+    }
+
+    /**
+     * Removes the value at the back of the deque and returns it.
+     *
+     * @return the value that was removed
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public double removeLast() {
+        if (size == 0)
+            throw new NoSuchElementException("The deque is empty.");
+
+        double value = elements[(head + size - 1) & (elements.length - 1)];
+        size--;
+
+        shrinkIfNecessary();
+        return value;
+    }
+
+    /**
+     * Gets the value at the front of the deque, but does not remove it.
+     *
+     * @return the value at the front of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public double peekFirst() {
+        if (size == 0)
+            throw new NoSuchElementException("The deque is empty.");
+
+        return elements[head];
+    }
+
+    /**
+     * Gets the value at the back of the deque, but does not remove it.
+     *
+     * @return the value at the back of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public double peekLast() {
+        if (size == 0)
+            throw new NoSuchElementException("The deque is empty.");
+
+        return elements[(head + size - 1) & (elements.length - 1)];
+    }
+
+    /**
+     * Pushes a value onto the top of the stack, i.e. the back of the deque.
+     *
+     * @param value the value to be pushed
+     * @see DoubleDeque#addLast(double)
+     */
+    public void push(double value) {
+        addLast(value);
+    }
+
+    /**
+     * Removes the value at the top of the stack, i.e. the back of the deque, and returns it.
+     *
+     * @return the value that was removed
+     * @throws NoSuchElementException if the deque is empty
+     * @see DoubleDeque#removeLast()
+     */
+    public double pop() {
+        return removeLast();
+    }
+
+    /**
+     * Gets the value at the top of the stack, i.e. the back of the deque, but does not remove it.
+     *
+     * @return the value at the top of the stack
+     * @throws NoSuchElementException if the deque is empty
+     * @see DoubleDeque#peekLast()
+     */
+    public double peek() {
+        return peekLast();
+    }
+
+    /**
+     * Pushes multiple values onto the stack, i.e. adds them to the back of the deque.
+     * <p>
+     * The values are pushed in the order in which they are given, so the last of them ends up on top.
+     * The array is grown at most once.
+     *
+     * @param values the values to push
+     * @throws NullPointerException if {@code values} is {@code null}
+     */
+    public void pushAll(double... values) {
+        Objects.requireNonNull(values, "The array must not be null.");
+
+        ensureCapacity(size + values.length);
+
+        // The free space may wrap around the end of the array, in which case it is copied in two parts
+        int tail = (head + size) & (elements.length - 1);
+        int firstPart = Math.min(values.length, elements.length - tail);
+        System.arraycopy(values, 0, elements, tail, firstPart);
+        System.arraycopy(values, firstPart, elements, 0, values.length - firstPart);
+
+        size += values.length;
+    }
+
+    /**
+     * Pops multiple values from the top of the stack, i.e. removes them from the back of the deque.
+     *
+     * @param count the number of values to pop
+     * @return the popped values, in the order in which they were popped, so the former top is first
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws NoSuchElementException   if there are fewer than {@code count} values in the deque,
+     *                                  in which case none are removed
+     */
+    public double[] popN(int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("The number of popped elements must not be negative, but " + count + " was given.");
+        if (count > size)
+            throw new NoSuchElementException("Only " + size + " values are in the deque, but " + count + " were to be popped.");
+
+        double[] popped = new double[count];
+        int mask = elements.length - 1;
+
+        for (int i = 0; i < count; i++)
+            popped[i] = elements[(head + size - 1 - i) & mask];
+
+        size -= count;
+        shrinkIfNecessary();
+        return popped;
+    }
+
+    /**
+     * Creates an array from the deque.
+     *
+     * @return an array containing all values in the deque, from front to back; never {@code null}
+     */
+    public double[] toArray() {
+        double[] array = new double[size];
+
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, array, 0, firstPart);
+        System.arraycopy(elements, 0, array, firstPart, size - firstPart);
+
+        return array;
+    }
+
+    /**
+     * Removes all elements from the deque.
+     * <p>
+     * If the deque is shrinking, the array is also shrunk to its initial capacity.
+     */
+    public void clear() {
+        if (shrinking && elements.length > minimumCapacity)
+            elements = new double[minimumCapacity];
+
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Grows the array by a factor of {@value DoubleDeque#GROWTH_FACTOR} (or more, if necessary)
+     * if it can't hold the given number of elements.
+     *
+     * @param capacity the number of elements the array has to be able to hold
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= elements.length)
+            return;
+
+        int newCapacity = elements.length;
+        while (newCapacity < capacity)
+            newCapacity *= GROWTH_FACTOR;
+
+        reallocate(newCapacity);
+    }
+
+    /**
+     * Shrinks the array by a factor of {@value DoubleDeque#GROWTH_FACTOR} if shrinking is enabled,
+     * less than a quarter of it is used and it is larger than its initial capacity.
+     */
+    private void shrinkIfNecessary() {
+        if (shrinking && elements.length > minimumCapacity && size < elements.length / SHRINK_DIVISOR)
+            reallocate(elements.length / GROWTH_FACTOR);
+    }
+
+    /**
+     * Moves the elements into a new array of the given length, starting at index 0.
+     *
+     * @param capacity the length of the new array; must be a power of two not less than {@link #size}
+     */
+    private void reallocate(int capacity) {
+        double[] newElements = new double[capacity];
+
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, size - firstPart);
+
+        elements = newElements;
+        head = 0;
+    }
+}
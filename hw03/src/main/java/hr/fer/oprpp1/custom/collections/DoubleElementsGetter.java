@@ -0,0 +1,43 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.ConcurrentModificationException;
+
+/**
+ * An {@link ElementsGetter} over {@code double} elements which can return them without boxing.
+ *
+ * @author Borna Cafuk
+ * @see java.util.PrimitiveIterator.OfDouble
+ */
+public interface DoubleElementsGetter extends ElementsGetter<Double> {
+    /**
+     * Gets the next element in the collection.
+     *
+     * @return the next element in the collection
+     * @throws java.util.NoSuchElementException if there are no more elements
+     * @throws ConcurrentModificationException  if the collection has changed since this {@link ElementsGetter}
+     *                                          has been created
+     */
+    double getNextDouble();
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The element is boxed; use {@link #getNextDouble()} to avoid that.
+     */
+    @Override
+    default Double getNextElement() {
+        return getNextDouble();
+    }
+
+    /**
+     * Calls {@link DoubleProcessor#process(double)} on all remaining elements.
+     * <p>
+     * Unlike {@link #processRemaining(Processor)}, the elements are not boxed.
+     *
+     * @param p the processor to use
+     */
+    default void processRemainingDouble(DoubleProcessor p) {
+        while (hasNextElement())
+            p.process(getNextDouble());
+    }
+}
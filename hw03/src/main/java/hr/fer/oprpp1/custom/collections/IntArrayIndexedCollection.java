@@ -0,0 +1,337 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An array-backed collection of {@code int} values with constant-time lookup.
+ * <p>
+ * This is the {@code int}-specialized variant of {@link ArrayIndexedCollection}.
+ * The values are stored in an {@code int[]}, so adding and getting elements doesn't box them.
+ * This collection may contain duplicate elements.
+ *
+ * @author Borna Cafuk
+ */
+public class IntArrayIndexedCollection {
+    /**
+     * The default capacity (i.e. the size of the internal array) when no capacity is specified in the constructor.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * By how much the capacity is multiplied when an element is to be added to an already full array.
+     */
+    private static final int GROWTH_FACTOR = 2;
+
+    /**
+     * How many elements are contained in the collection, i.e. how many indices of the internal array are occupied.
+     */
+    private int size;
+    /**
+     * The internal array containing the elements of the collection.
+     */
+    private int[] elements;
+    /**
+     * A modification counter used in {@link IntArrayIndexedElementsGetter} to check for concurrent modifications.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Constructs an array collection with the default initial capacity of
+     * {@value IntArrayIndexedCollection#DEFAULT_CAPACITY}.
+     */
+    public IntArrayIndexedCollection() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an array collection with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity; must be 1 or greater
+     * @throws IllegalArgumentException if the specified initial capacity is less than 1
+     */
+    public IntArrayIndexedCollection(int initialCapacity) {
+        if (initialCapacity < 1)
+            throw new IllegalArgumentException("The initial size of the collection must be at least 1, but " + initialCapacity + " was given.");
+
+        size = 0;
+        elements = new int[initialCapacity];
+    }
+
+    /**
+     * Constructs an array collection from the elements of another collection.
+     *
+     * @param other the collection whose elements to insert into the new array collection
+     * @throws NullPointerException if {@code other} is {@code null}
+     */
+    public IntArrayIndexedCollection(IntArrayIndexedCollection other) {
+        this(Math.max(other.size, 1));
+
+        addAll(other);
+    }
+
+    /**
+     * Returns whether the collection is empty.
+     *
+     * @return {@code true} if the collection is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the size of the collection.
+     *
+     * @return the number of elements currently stored in the collection
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tests whether the collection contains a value.
+     *
+     * @param value the value to be tested
+     * @return {@code true} if the collection contains {@code value}, {@code false} otherwise
+     */
+    public boolean contains(int value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Adds an element to the end of the array.
+     * <p>
+     * Invalidates existing {@link IntArrayIndexedElementsGetter}s if a reallocation occurs.
+     *
+     * @param value the element to add
+     */
+    public void add(int value) {
+        insert(value, size);
+    }
+
+    /**
+     * Adds all elements from another collection to the end of the array.
+     * <p>
+     * Invalidates existing {@link IntArrayIndexedElementsGetter}s if a reallocation occurs.
+     *
+     * @param other the collection to add the elements from; remains unchanged
+     * @throws NullPointerException if {@code other} is {@code null}
+     */
+    public void addAll(IntArrayIndexedCollection other) {
+        Objects.requireNonNull(other, "The other collection must not be null.");
+
+        int otherSize = other.size;
+        ensureCapacity(size + otherSize);
+        System.arraycopy(other.elements, 0, elements, size, otherSize);
+        size += otherSize;
+    }
+
+    /**
+     * Gets the element at the specified index.
+     *
+     * @param index the index of the element to get
+     * @return the element at the index
+     * @throws IndexOutOfBoundsException if the index is less than 0 or if it is beyond the end of the list
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Valid indices are 0 to " + (size - 1) + ", but " + index + " was passed.");
+
+        return elements[index];
+    }
+
+    /**
+     * Inserts an element into the array at a specified position.
+     * <p>
+     * All elements that are currently at or after the position get shifted towards the end of the list.
+     * Afterwards, the inserted element will have the specified index.
+     * <p>
+     * Invalidates existing {@link IntArrayIndexedElementsGetter}s if elements are shifted or a reallocation occurs.
+     *
+     * @param value    the element to insert
+     * @param position the position where to insert the element
+     * @throws IndexOutOfBoundsException if the position is less than 0 or if it is greater than the size
+     */
+    public void insert(int value, int position) {
+        if (position < 0 || position > size)
+            throw new IndexOutOfBoundsException("Valid positions are 0 to " + size + ", but " + position + " was passed.");
+
+        ensureCapacity(size + 1);
+
+        if (position != size) {
+            System.arraycopy(elements, position, elements, position + 1, size - position);
+            modificationCount++;
+        }
+
+        elements[position] = value;
+        size++;
+    }
+
+    /**
+     * Finds the first occurrence of a value in the list and returns its index.
+     *
+     * @param value the value to find
+     * @return the index of the value if it exists in the collection, -1 otherwise
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++)
+            if (elements[i] == value)
+                return i;
+
+        return -1;
+    }
+
+    /**
+     * Removes the first occurrence of a value from the collection.
+     * <p>
+     * Invalidates existing {@link IntArrayIndexedElementsGetter}s if the element removed is not from the end.
+     *
+     * @param value the value to be removed
+     * @return {@code true} if an occurrence of {@code value} was found and removed, {@code false} otherwise
+     */
+    public boolean removeValue(int value) {
+        int index = indexOf(value);
+
+        if (index == -1)
+            return false;
+
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Removes the element at the specified index.
+     * All elements that are currently after the index get shifted towards the start of the list.
+     * <p>
+     * Invalidates existing {@link IntArrayIndexedElementsGetter}s if the element removed is not from the end.
+     *
+     * @param index the index at which to remove the element
+     * @throws IndexOutOfBoundsException if the index is less than 0 or if it is beyond the end of the list
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Valid indices are 0 to " + (size - 1) + ", but " + index + " was passed.");
+
+        if (index != size - 1) {
+            System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+            modificationCount++;
+        }
+
+        size--;
+    }
+
+    /**
+     * Creates an array from the collection.
+     *
+     * @return an array containing all elements contained in the collection; never {@code null}
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Removes all elements from the collection.
+     * <p>
+     * Invalidates existing {@link IntArrayIndexedElementsGetter}s.
+     */
+    public void clear() {
+        size = 0;
+        modificationCount++;
+    }
+
+    /**
+     * Runs a {@link IntProcessor}'s {@link IntProcessor#process(int)} method for every element in the collection.
+     *
+     * @param processor the {@link IntProcessor} to use
+     */
+    public void forEach(IntProcessor processor) {
+        createElementsGetter().processRemainingInt(processor);
+    }
+
+    /**
+     * Increases the size of the array by a factor of {@value IntArrayIndexedCollection#GROWTH_FACTOR}
+     * (or more, if necessary) if it can't hold the given number of elements.
+     * <p>
+     * Invalidates existing {@link IntArrayIndexedElementsGetter}s if a reallocation occurs.
+     *
+     * @param capacity the number of elements the array has to be able to hold
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= elements.length)
+            return;
+
+        elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * GROWTH_FACTOR));
+        modificationCount++;
+    }
+
+    /**
+     * Creates an {@link IntElementsGetter} for the collection.
+     * <p>
+     * The elements are returned in order of increasing index.
+     *
+     * @return a new IntElementsGetter
+     */
+    public IntElementsGetter createElementsGetter() {
+        return new IntArrayIndexedElementsGetter(this);
+    }
+
+    /**
+     * An implementation of {@link IntElementsGetter} for this class.
+     */
+    private static class IntArrayIndexedElementsGetter implements IntElementsGetter {
+        /**
+         * The index of the first element which has not yet been returned by {@link #getNextInt()}.
+         */
+        private int currentIndex = 0;
+        /**
+         * The collection whose elements will be returned by this getter.
+         */
+        private IntArrayIndexedCollection collection;
+        /**
+         * The {@link #modificationCount} at the moment of this {@link IntElementsGetter}'s creation.
+         * <p>
+         * This is used to monitor for concurrent modifications.
+         */
+        private long savedModificationCount;
+
+        /**
+         * Constructs a new {@link IntArrayIndexedElementsGetter} for a given {@link IntArrayIndexedCollection}.
+         *
+         * @param collection the collection whose elements will be returned by this getter
+         */
+        private IntArrayIndexedElementsGetter(IntArrayIndexedCollection collection) {
+            this.collection = collection;
+            this.savedModificationCount = collection.modificationCount;
+        }
+
+        @Override
+        public boolean hasNextElement() {
+            if (collection.modificationCount != savedModificationCount)
+                throw new ConcurrentModificationException("The collection has been modified since the ElementsGetter has been constructed.");
+
+            return currentIndex != collection.size;
+        }
+
+        @Override
+        public int getNextInt() {
+            if (!hasNextElement())
+                throw new NoSuchElementException("There are no more elements in this collection.");
+
+            return collection.elements[currentIndex++];
+        }
+
+        @Override
+        public void processRemainingInt(IntProcessor p) {
+            if (collection.modificationCount != savedModificationCount)
+                throw new ConcurrentModificationException("The collection has been modified since the ElementsGetter has been constructed.");
+
+            // The processor may modify the collection, so the modification count still has to be checked every time
+            while (currentIndex < collection.size && collection.modificationCount == savedModificationCount)
+                p.process(collection.elements[currentIndex++]);
+
+            if (collection.modificationCount != savedModificationCount)
+                throw new ConcurrentModificationException("The collection has been modified since the ElementsGetter has been constructed.");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.ConcurrentModificationException;
+
+/**
+ * An {@link ElementsGetter} over {@code int} elements which can return them without boxing.
+ *
+ * @author Borna Cafuk
+ * @see java.util.PrimitiveIterator.OfInt
+ */
+public interface IntElementsGetter extends ElementsGetter<Integer> {
+    /**
+     * Gets the next element in the collection.
+     *
+     * @return the next element in the collection
+     * @throws java.util.NoSuchElementException if there are no more elements
+     * @throws ConcurrentModificationException  if the collection has changed since this {@link ElementsGetter}
+     *                                          has been created
+     */
+    int getNextInt();
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The element is boxed; use {@link #getNextInt()} to avoid that.
+     */
+    @Override
+    default Integer getNextElement() {
+        return getNextInt();
+    }
+
+    /**
+     * Calls {@link IntProcessor#process(int)} on all remaining elements.
+     * <p>
+     * Unlike {@link #processRemaining(Processor)}, the elements are not boxed.
+     *
+     * @param p the processor to use
+     */
+    default void processRemainingInt(IntProcessor p) {
+        while (hasNextElement())
+            p.process(getNextInt());
+    }
+}
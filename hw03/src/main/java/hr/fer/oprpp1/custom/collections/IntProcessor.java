@@ -0,0 +1,19 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * Represents an operation that accepts a single {@code int} argument and returns no result.
+ * <p>
+ * This is the {@code int}-specialized variant of {@link Processor}.
+ *
+ * @author Borna Cafuk
+ * @see java.util.function.IntConsumer
+ */
+@FunctionalInterface
+public interface IntProcessor {
+    /**
+     * Performs this operation on the given argument.
+     *
+     * @param value the input argument
+     */
+    void process(int value);
+}
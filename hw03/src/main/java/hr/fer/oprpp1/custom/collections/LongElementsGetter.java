@@ -0,0 +1,43 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.ConcurrentModificationException;
+
+/**
+ * An {@link ElementsGetter} over {@code long} elements which can return them without boxing.
+ *
+ * @author Borna Cafuk
+ * @see java.util.PrimitiveIterator.OfLong
+ */
+public interface LongElementsGetter extends ElementsGetter<Long> {
+    /**
+     * Gets the next element in the collection.
+     *
+     * @return the next element in the collection
+     * @throws java.util.NoSuchElementException if there are no more elements
+     * @throws ConcurrentModificationException  if the collection has changed since this {@link ElementsGetter}
+     *                                          has been created
+     */
+    long getNextLong();
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The element is boxed; use {@link #getNextLong()} to avoid that.
+     */
+    @Override
+    default Long getNextElement() {
+        return getNextLong();
+    }
+
+    /**
+     * Calls {@link LongProcessor#process(long)} on all remaining elements.
+     * <p>
+     * Unlike {@link #processRemaining(Processor)}, the elements are not boxed.
+     *
+     * @param p the processor to use
+     */
+    default void processRemainingLong(LongProcessor p) {
+        while (hasNextElement())
+            p.process(getNextLong());
+    }
+}
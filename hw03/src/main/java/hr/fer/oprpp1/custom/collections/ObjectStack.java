@@ -5,6 +5,8 @@ import java.util.Objects;
 /**
  * A last in, first out stack for objects.
  * <p>
+ * The stack is backed by an {@link ObjectDeque}, so pushing and popping take constant time.
+ * <p>
  * The stack is not allowed to contain {@code null}.
  *
  * @param <E> the type of objects to be stored on the stack
@@ -12,15 +14,15 @@ import java.util.Objects;
  */
 public class ObjectStack<E> {
     /**
-     * The internal indexed collection that contains the stack elements.
+     * The internal deque that contains the stack elements, with the top of the stack at its back.
      */
-    private ArrayIndexedCollection<E> collection;
+    private ObjectDeque<E> deque;
 
     /**
      * Constructs a new empty stack.
      */
     public ObjectStack() {
-        collection = new ArrayIndexedCollection<>();
+        deque = new ObjectDeque<>();
     }
 
     /**
@@ -29,7 +31,7 @@ public class ObjectStack<E> {
      * @return {@code true} if the stack is empty, {@code false} otherwise
      */
     public boolean isEmpty() {
-        return collection.isEmpty();
+        return deque.isEmpty();
     }
 
     /**
@@ -38,7 +40,7 @@ public class ObjectStack<E> {
      * @return the number of objects currently stored on the stack
      */
     public int size() {
-        return collection.size();
+        return deque.size();
     }
 
     /**
@@ -50,38 +52,41 @@ public class ObjectStack<E> {
     public void push(E value) {
         Objects.requireNonNull(value, "null cannot be pushed onto the stack.");
 
-        collection.add(value);
+        deque.push(value);
     }
 
     /**
      * Removes the object at the top of the stack and removes it.
      *
      * @return the object that was removed from the stack
+     * @throws EmptyStackException if the stack is empty
      * @see ObjectStack#peek()
      */
     public E pop() {
-        if (isEmpty())
+        if (deque.isEmpty())
             throw new EmptyStackException();
 
-        E value = peek();
-        collection.remove(collection.size() - 1);
-        return value;
+        return deque.pop();
     }
 
     /**
      * Gets the object at the top of the stack, but does not remove it.
      *
      * @return the object at the top of the stack
+     * @throws EmptyStackException if the stack is empty
      * @see ObjectStack#pop()
      */
     public E peek() {
-        return collection.get(collection.size() - 1);
+        if (deque.isEmpty())
+            throw new EmptyStackException();
+
+        return deque.peek();
     }
 
     /**
      * Removes all elements from the stack.
      */
     public void clear() {
-        collection.clear();
+        deque.clear();
     }
 }
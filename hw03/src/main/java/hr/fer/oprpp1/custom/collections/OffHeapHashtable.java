@@ -0,0 +1,776 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A table that maps keys to values, which stores its entries outside of the Java heap.
+ * A map cannot contain duplicate keys; each key can map to at most one value.
+ * <p>
+ * Keys and values are serialized using {@link Codec}s and appended as records to an arena,
+ * a direct {@link ByteBuffer} which is not scanned by the garbage collector.
+ * The records are found through an open-addressed index with linear probing, like in
+ * {@link OpenAddressingHashtable}, which consists of only two {@code int} arrays.
+ * This means that the table occupies a constant number of heap objects no matter how many entries it holds,
+ * unlike {@link SimpleHashtable}, which needs an entry object and usually a boxed key and value per entry.
+ * The price is that every lookup has to serialize the key and every retrieved value has to be deserialized.
+ * <p>
+ * Keys are compared and hashed in their serialized form, so equal keys must be serialized into equal bytes.
+ * Neither keys nor values may be {@code null}.
+ * <p>
+ * Removing an entry or replacing its value by one of a different length leaves the old record in the arena.
+ * Once more than half of the arena consists of such records, it is compacted.
+ * <p>
+ * The table can be written to a file using {@link #save(Path)} and reopened using {@link #load(Path, Codec, Codec)}.
+ * The reopened table memory-maps the file and reads the records directly from it,
+ * so only the index has to be read when it is opened. The records are copied into a new arena on the first write.
+ * <p>
+ * Since the arena is a single buffer, the total size of the records is limited to {@link Integer#MAX_VALUE} bytes.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author Borna Cafuk
+ */
+public class OffHeapHashtable<K, V> {
+    /**
+     * The default initial number of slots if not specified otherwise.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * The initial size of the arena in bytes.
+     */
+    private static final int DEFAULT_ARENA_CAPACITY = 4096;
+    /**
+     * The maximum ratio of entries to slots.
+     * Must be greater than 0 and less than 1, so that there is always at least one empty slot.
+     */
+    private static final double LOAD_FACTOR = 0.5;
+    /**
+     * The factor by which the number of slots and the size of the arena are increased when they run out.
+     * Must be a power of two.
+     */
+    private static final int GROWTH_FACTOR = 2;
+    /**
+     * The size of a record header, which consists of the length of the key and the length of the value.
+     */
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * The value at the beginning of every file written by {@link #save(Path)}.
+     */
+    private static final int FILE_MAGIC = 0x4F484854;
+    /**
+     * The version of the file format, which is increased whenever the format changes.
+     */
+    private static final int FILE_VERSION = 1;
+    /**
+     * The size of the file header, which consists of the magic number, the version, the number of entries,
+     * the number of slots and the size of the arena.
+     */
+    private static final int FILE_HEADER_SIZE = 5 * Integer.BYTES;
+
+    /**
+     * The codec used for the keys.
+     */
+    private final Codec<K> keyCodec;
+    /**
+     * The codec used for the values.
+     */
+    private final Codec<V> valueCodec;
+
+    /**
+     * The buffer containing the records.
+     * <p>
+     * Each record consists of the length of the key, the length of the value, the key and the value.
+     * The lengths are big-endian {@code int}s.
+     * <p>
+     * After {@link #load(Path, Codec, Codec)}, this is a read-only mapping of the file.
+     */
+    private ByteBuffer arena;
+    /**
+     * The number of bytes at the start of the arena which are occupied by records.
+     */
+    private int arenaSize = 0;
+    /**
+     * The number of bytes in the arena which are occupied by records that are no longer referenced by the index.
+     */
+    private int garbageSize = 0;
+    /**
+     * The hash codes of the serialized keys, indexed by slot.
+     */
+    private int[] hashes;
+    /**
+     * The offsets of the records in the arena plus one, indexed by slot.
+     * Empty slots are 0.
+     */
+    private int[] offsets;
+    /**
+     * The number of entries currently stored in the hash table.
+     */
+    private int size = 0;
+    /**
+     * A modification counter used in {@link #forEach(BiConsumer)} to check for concurrent modifications.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Constructs a new hashtable with the default of {@value DEFAULT_CAPACITY} slots.
+     *
+     * @param keyCodec   the codec to use for the keys
+     * @param valueCodec the codec to use for the values
+     * @throws NullPointerException if either of the codecs is {@code null}
+     */
+    public OffHeapHashtable(Codec<K> keyCodec, Codec<V> valueCodec) {
+        this(keyCodec, valueCodec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new hashtable with at least the specified number of slots.
+     * <p>
+     * The actual number of slots has to be a power of two, so if {@code capacity} is not a power of two,
+     * the smallest power of two larger than {@code capacity} will be used.
+     *
+     * @param keyCodec   the codec to use for the keys
+     * @param valueCodec the codec to use for the values
+     * @param capacity   the desired number of slots
+     * @throws NullPointerException     if either of the codecs is {@code null}
+     * @throws IllegalArgumentException if {@code capacity} is less than 1
+     * @throws IllegalArgumentException if {@code capacity} is larger than the largest power of two
+     *                                  representable by an {@link Integer}
+     */
+    public OffHeapHashtable(Codec<K> keyCodec, Codec<V> valueCodec, int capacity) {
+        this.keyCodec = Objects.requireNonNull(keyCodec, "The key codec must not be null.");
+        this.valueCodec = Objects.requireNonNull(valueCodec, "The value codec must not be null.");
+
+        if (capacity < 1)
+            throw new IllegalArgumentException("The initial number of slots has to be at least one, but " + capacity + " was given.");
+
+        int length = findFirstPowerOfTwo(capacity);
+        hashes = new int[length];
+        offsets = new int[length];
+        arena = ByteBuffer.allocateDirect(DEFAULT_ARENA_CAPACITY);
+    }
+
+    /**
+     * Constructs a hashtable from already existing contents. Used by {@link #load(Path, Codec, Codec)}.
+     *
+     * @param keyCodec   the codec to use for the keys
+     * @param valueCodec the codec to use for the values
+     * @param hashes     the hash codes of the keys, indexed by slot
+     * @param offsets    the offsets of the records plus one, indexed by slot
+     * @param size       the number of entries
+     * @param arena      the buffer containing the records, and nothing else
+     */
+    private OffHeapHashtable(Codec<K> keyCodec, Codec<V> valueCodec, int[] hashes, int[] offsets, int size, ByteBuffer arena) {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.hashes = hashes;
+        this.offsets = offsets;
+        this.size = size;
+        this.arena = arena;
+        this.arenaSize = arena.capacity();
+    }
+
+    /**
+     * Assigns a value to a given key.
+     * If the key already exists in the hashtable, its value will be overwritten.
+     * Otherwise, a new entry is added to the hashtable.
+     * <p>
+     * If the serialized new value has the same length as the old one, it is overwritten in place.
+     * Otherwise, a new record is appended to the arena.
+     * <p>
+     * If adding a new element would exceed the load factor of {@value #LOAD_FACTOR},
+     * a resize to {@value #GROWTH_FACTOR} times the current number of slots is triggered.
+     *
+     * @param key   the key whose value to assign
+     * @param value the new value for the key
+     * @return the value which was assigned to the key previously if the key already exists, {@code null} otherwise
+     * @throws NullPointerException  if {@code key} or {@code value} is {@code null}
+     * @throws IllegalStateException if the records would not fit into {@link Integer#MAX_VALUE} bytes
+     */
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "The key must not be null.");
+        Objects.requireNonNull(value, "The value must not be null.");
+
+        byte[] keyBytes = keyCodec.encode(key);
+        byte[] valueBytes = valueCodec.encode(value);
+        int hash = hash(keyBytes);
+        int slot = findSlot(keyBytes, hash);
+
+        if (offsets[slot] != 0) {
+            // The key exists
+            int offset = offsets[slot] - 1;
+            V oldValue = decodeValue(offset);
+
+            if (arena.getInt(offset + Integer.BYTES) == valueBytes.length) {
+                if (arena.isReadOnly())
+                    reallocateArena(arena.capacity());
+
+                arena.put(offset + RECORD_HEADER_SIZE + keyBytes.length, valueBytes);
+            } else {
+                garbageSize += recordSize(offset);
+                offsets[slot] = append(keyBytes, valueBytes) + 1;
+                compactIfNecessary();
+            }
+
+            return oldValue;
+        }
+
+        if ((size + 1.0d) / offsets.length > LOAD_FACTOR) {
+            resize();
+            slot = findSlot(keyBytes, hash);
+        }
+
+        offsets[slot] = append(keyBytes, valueBytes) + 1;
+        hashes[slot] = hash;
+        size++;
+        modificationCount++;
+        return null;
+    }
+
+    /**
+     * Retrieves the value associated with a key.
+     *
+     * @param key the key whose value to look up
+     * @return a newly deserialized value assigned to the given key,
+     * or {@code null} if the key does not exist in the hashtable
+     */
+    public V get(K key) {
+        if (key == null)
+            return null;
+
+        byte[] keyBytes = keyCodec.encode(key);
+        int slot = findSlot(keyBytes, hash(keyBytes));
+
+        return offsets[slot] == 0 ? null : decodeValue(offsets[slot] - 1);
+    }
+
+    /**
+     * Gets the number of entries stored in the hashtable.
+     *
+     * @return the number of key-value pairs currently stored in the hashtable
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the hashtable contains an entry with the given key.
+     * <p>
+     * Unlike {@link #get(Object)}, this does not deserialize anything.
+     *
+     * @param key the key to look up
+     * @return {@code true} if the hashtable contains the given key, {@code false} otherwise
+     */
+    public boolean containsKey(K key) {
+        if (key == null)
+            return false;
+
+        byte[] keyBytes = keyCodec.encode(key);
+        return offsets[findSlot(keyBytes, hash(keyBytes))] != 0;
+    }
+
+    /**
+     * Removes the entry with the given key from the hashtable.
+     *
+     * @param key the key of the entry to remove
+     * @return the value which was assigned to the key, or {@code null} if the key doesn't exist in the hashtable
+     */
+    public V remove(K key) {
+        if (key == null)
+            return null;
+
+        byte[] keyBytes = keyCodec.encode(key);
+        int slot = findSlot(keyBytes, hash(keyBytes));
+
+        if (offsets[slot] == 0)
+            // The key doesn't exist
+            return null;
+
+        int offset = offsets[slot] - 1;
+        V oldValue = decodeValue(offset);
+        garbageSize += recordSize(offset);
+
+        removeSlot(slot);
+        modificationCount++;
+        compactIfNecessary();
+        return oldValue;
+    }
+
+    /**
+     * Checks whether there are no entries in the hashtable.
+     *
+     * @return {@code true} if there are no entries currently stored in the table, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries from the hashtable.
+     * <p>
+     * The number of slots and the size of the arena are kept.
+     */
+    public void clear() {
+        Arrays.fill(offsets, 0);
+        size = 0;
+        arenaSize = 0;
+        garbageSize = 0;
+        modificationCount++;
+
+        if (arena.isReadOnly())
+            arena = ByteBuffer.allocateDirect(DEFAULT_ARENA_CAPACITY);
+    }
+
+    /**
+     * Deserializes every entry of the hashtable and passes it to an action.
+     * <p>
+     * No guarantee is given about the order of the entries.
+     *
+     * @param action the action to perform on each key-value pair
+     * @throws NullPointerException            if {@code action} is {@code null}
+     * @throws ConcurrentModificationException if the action modifies the hashtable
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action, "The action must not be null.");
+
+        long savedModificationCount = modificationCount;
+
+        for (int slot = 0; slot < offsets.length; slot++) {
+            if (offsets[slot] == 0)
+                continue;
+
+            int offset = offsets[slot] - 1;
+            action.accept(decodeKey(offset), decodeValue(offset));
+
+            if (modificationCount != savedModificationCount)
+                throw new ConcurrentModificationException("The hashtable has been modified during forEach.");
+        }
+    }
+
+    /**
+     * Writes the hashtable to a file, replacing it if it exists.
+     * <p>
+     * The arena is compacted first, so the file does not contain removed records.
+     * <p>
+     * The hashtable is first written to a temporary file in the same directory, which is then moved in place
+     * of the given file. This way, a hashtable can be saved to the file it was loaded from, even though its records
+     * are still read from that file, and the file is never left partially written.
+     *
+     * @param file the file to write to
+     * @throws NullPointerException if {@code file} is {@code null}
+     * @throws IOException          if writing the file fails
+     */
+    public void save(Path file) throws IOException {
+        Objects.requireNonNull(file, "The file must not be null.");
+
+        if (garbageSize > 0)
+            compact();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+        try {
+            write(temporary);
+
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Writes the hashtable to a file, which must not be the file from which the arena is mapped.
+     *
+     * @param file the file to write to
+     * @throws IOException if writing the file fails
+     */
+    private void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE)
+                    .putInt(FILE_MAGIC)
+                    .putInt(FILE_VERSION)
+                    .putInt(size)
+                    .putInt(offsets.length)
+                    .putInt(arenaSize)
+                    .flip();
+            writeFully(channel, header);
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(DEFAULT_ARENA_CAPACITY * Integer.BYTES);
+            writeInts(channel, hashes, buffer);
+            writeInts(channel, offsets, buffer);
+
+            ByteBuffer records = arena.duplicate();
+            records.position(0).limit(arenaSize);
+            writeFully(channel, records);
+        }
+    }
+
+    /**
+     * Opens a hashtable previously written using {@link #save(Path)}.
+     * <p>
+     * The file is memory-mapped and the records are read from it directly until the hashtable is first modified,
+     * so opening a file only has to read the index. Later changes to the hashtable are not written back to the file.
+     *
+     * @param file       the file to read from
+     * @param keyCodec   the codec to use for the keys; must be compatible with the one the file was written with
+     * @param valueCodec the codec to use for the values; must be compatible with the one the file was written with
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     * @return the hashtable stored in the file
+     * @throws NullPointerException if any of the arguments is {@code null}
+     * @throws IOException          if reading the file fails or if it does not contain a valid hashtable,
+     *                              including an index which references records outside of the arena
+     */
+    public static <K, V> OffHeapHashtable<K, V> load(Path file, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        Objects.requireNonNull(file, "The file must not be null.");
+        Objects.requireNonNull(keyCodec, "The key codec must not be null.");
+        Objects.requireNonNull(valueCodec, "The value codec must not be null.");
+
+        MappedByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < FILE_HEADER_SIZE || fileSize > Integer.MAX_VALUE)
+                throw new IOException("The file " + file + " does not contain a valid hashtable.");
+
+            // The mapping stays valid after the channel is closed
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        }
+
+        int magic = mapping.getInt(0);
+        int version = mapping.getInt(Integer.BYTES);
+        int size = mapping.getInt(2 * Integer.BYTES);
+        int slotCount = mapping.getInt(3 * Integer.BYTES);
+        int arenaSize = mapping.getInt(4 * Integer.BYTES);
+
+        if (magic != FILE_MAGIC)
+            throw new IOException("The file " + file + " does not contain a valid hashtable.");
+        if (version != FILE_VERSION)
+            throw new IOException("The file " + file + " has version " + version + ", but only version " + FILE_VERSION + " is supported.");
+        if (slotCount < 1 || Integer.bitCount(slotCount) != 1 || size < 0 || size >= slotCount || arenaSize < 0
+                || FILE_HEADER_SIZE + 2L * slotCount * Integer.BYTES + arenaSize != mapping.capacity())
+            throw new IOException("The file " + file + " does not contain a valid hashtable.");
+
+        int[] hashes = new int[slotCount];
+        int[] offsets = new int[slotCount];
+
+        IntBuffer index = mapping.position(FILE_HEADER_SIZE).asIntBuffer();
+        index.get(hashes);
+        index.get(offsets);
+
+        mapping.position(FILE_HEADER_SIZE + 2 * slotCount * Integer.BYTES);
+        ByteBuffer records = mapping.slice();
+
+        // Every record referenced by the index has to lie within the arena, or lookups would read past it
+        int entryCount = 0;
+        for (int slotOffset : offsets) {
+            if (slotOffset == 0)
+                continue;
+
+            entryCount++;
+            long offset = slotOffset - 1L;
+            if (offset < 0 || offset > arenaSize - RECORD_HEADER_SIZE)
+                throw new IOException("The file " + file + " does not contain a valid hashtable.");
+
+            int keyLength = records.getInt((int) offset);
+            int valueLength = records.getInt((int) offset + Integer.BYTES);
+            if (keyLength < 0 || valueLength < 0 || offset + RECORD_HEADER_SIZE + keyLength + valueLength > arenaSize)
+                throw new IOException("The file " + file + " does not contain a valid hashtable.");
+        }
+
+        if (entryCount != size)
+            throw new IOException("The file " + file + " does not contain a valid hashtable.");
+
+        return new OffHeapHashtable<>(keyCodec, valueCodec, hashes, offsets, size, records);
+    }
+
+    /**
+     * Computes the hash code of a serialized key.
+     * <p>
+     * This does not depend on {@link Object#hashCode()}, so the index stays valid
+     * when it is saved and loaded by another JVM.
+     *
+     * @param bytes the serialized key
+     * @return the spread hash code of the key
+     */
+    private static int hash(byte[] bytes) {
+        int hashCode = Arrays.hashCode(bytes);
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * Finds the slot which contains the given key, or the empty slot where it would be inserted.
+     *
+     * @param keyBytes the serialized key
+     * @param hash     the hash code of the key
+     * @return the slot of the key if it exists, the first empty slot in its probe sequence otherwise
+     */
+    private int findSlot(byte[] keyBytes, int hash) {
+        int mask = offsets.length - 1;
+        int slot = hash & mask;
+
+        while (offsets[slot] != 0) {
+            if (hashes[slot] == hash && keyEquals(offsets[slot] - 1, keyBytes))
+                return slot;
+
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Checks whether the record at the given offset has the given key.
+     *
+     * @param offset   the offset of the record
+     * @param keyBytes the serialized key
+     * @return {@code true} if the serialized keys are equal, {@code false} otherwise
+     */
+    private boolean keyEquals(int offset, byte[] keyBytes) {
+        if (arena.getInt(offset) != keyBytes.length)
+            return false;
+
+        int keyOffset = offset + RECORD_HEADER_SIZE;
+        for (int i = 0; i < keyBytes.length; i++)
+            if (arena.get(keyOffset + i) != keyBytes[i])
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Deserializes the key of the record at the given offset.
+     *
+     * @param offset the offset of the record
+     * @return the key
+     */
+    private K decodeKey(int offset) {
+        int keyLength = arena.getInt(offset);
+
+        ByteBuffer view = arena.duplicate();
+        view.limit(offset + RECORD_HEADER_SIZE + keyLength).position(offset + RECORD_HEADER_SIZE);
+        return keyCodec.decode(view);
+    }
+
+    /**
+     * Deserializes the value of the record at the given offset.
+     *
+     * @param offset the offset of the record
+     * @return the value
+     */
+    private V decodeValue(int offset) {
+        int valueOffset = offset + RECORD_HEADER_SIZE + arena.getInt(offset);
+        int valueLength = arena.getInt(offset + Integer.BYTES);
+
+        ByteBuffer view = arena.duplicate();
+        view.limit(valueOffset + valueLength).position(valueOffset);
+        return valueCodec.decode(view);
+    }
+
+    /**
+     * Calculates the total size of the record at the given offset.
+     *
+     * @param offset the offset of the record
+     * @return the number of bytes occupied by the record, including its header
+     */
+    private int recordSize(int offset) {
+        return RECORD_HEADER_SIZE + arena.getInt(offset) + arena.getInt(offset + Integer.BYTES);
+    }
+
+    /**
+     * Appends a record to the end of the arena, growing it if necessary.
+     *
+     * @param keyBytes   the serialized key
+     * @param valueBytes the serialized value
+     * @return the offset of the new record
+     * @throws IllegalStateException if the records would not fit into {@link Integer#MAX_VALUE} bytes
+     */
+    private int append(byte[] keyBytes, byte[] valueBytes) {
+        long required = (long) arenaSize + RECORD_HEADER_SIZE + keyBytes.length + valueBytes.length;
+        if (required > Integer.MAX_VALUE)
+            throw new IllegalStateException("The records of the hashtable do not fit into " + Integer.MAX_VALUE + " bytes.");
+
+        if (arena.isReadOnly() || required > arena.capacity()) {
+            long grown = Math.min((long) arena.capacity() * GROWTH_FACTOR, Integer.MAX_VALUE);
+            reallocateArena((int) Math.max(required, grown));
+        }
+
+        int offset = arenaSize;
+        arena.putInt(offset, keyBytes.length);
+        arena.putInt(offset + Integer.BYTES, valueBytes.length);
+        arena.put(offset + RECORD_HEADER_SIZE, keyBytes);
+        arena.put(offset + RECORD_HEADER_SIZE + keyBytes.length, valueBytes);
+
+        arenaSize = (int) required;
+        return offset;
+    }
+
+    /**
+     * Copies the records into a new writable arena of the given size.
+     *
+     * @param capacity the size of the new arena; must not be less than {@link #arenaSize}
+     */
+    private void reallocateArena(int capacity) {
+        ByteBuffer newArena = ByteBuffer.allocateDirect(capacity);
+
+        ByteBuffer records = arena.duplicate();
+        records.position(0).limit(arenaSize);
+        newArena.put(records);
+
+        arena = newArena;
+    }
+
+    /**
+     * Compacts the arena if more than half of it consists of records which are no longer referenced.
+     */
+    private void compactIfNecessary() {
+        if (garbageSize > arenaSize / 2)
+            compact();
+    }
+
+    /**
+     * Copies all referenced records into a new arena of the same size, leaving out the others.
+     */
+    private void compact() {
+        ByteBuffer newArena = ByteBuffer.allocateDirect(Math.max(arena.capacity(), DEFAULT_ARENA_CAPACITY));
+        ByteBuffer record = arena.duplicate();
+
+        for (int slot = 0; slot < offsets.length; slot++) {
+            if (offsets[slot] == 0)
+                continue;
+
+            int offset = offsets[slot] - 1;
+            offsets[slot] = newArena.position() + 1;
+
+            record.clear();
+            record.limit(offset + recordSize(offset)).position(offset);
+            newArena.put(record);
+        }
+
+        arena = newArena;
+        arenaSize = newArena.position();
+        garbageSize = 0;
+    }
+
+    /**
+     * Empties a slot and moves any following entries which would become unreachable
+     * through linear probing back into it.
+     *
+     * @param slot the slot of the entry to remove; must not be empty
+     */
+    private void removeSlot(int slot) {
+        int mask = offsets.length - 1;
+        int hole = slot;
+
+        for (int current = (hole + 1) & mask; offsets[current] != 0; current = (current + 1) & mask) {
+            int home = hashes[current] & mask;
+
+            // The entry can be moved into the hole only if its home slot is not cyclically in (hole, current]
+            boolean homeBetween = hole <= current
+                    ? hole < home && home <= current
+                    : hole < home || home <= current;
+
+            if (!homeBetween) {
+                offsets[hole] = offsets[current];
+                hashes[hole] = hashes[current];
+                hole = current;
+            }
+        }
+
+        offsets[hole] = 0;
+        size--;
+    }
+
+    /**
+     * Increases the number of slots {@value GROWTH_FACTOR} times and moves all existing entries into the new arrays.
+     * <p>
+     * Entries are placed directly using their cached hash codes, without reading the arena.
+     */
+    private void resize() {
+        int[] oldHashes = hashes;
+        int[] oldOffsets = offsets;
+
+        int length = oldOffsets.length * GROWTH_FACTOR;
+        int mask = length - 1;
+
+        hashes = new int[length];
+        offsets = new int[length];
+        modificationCount++;
+
+        for (int oldSlot = 0; oldSlot < oldOffsets.length; oldSlot++) {
+            if (oldOffsets[oldSlot] == 0)
+                continue;
+
+            int slot = oldHashes[oldSlot] & mask;
+            while (offsets[slot] != 0)
+                slot = (slot + 1) & mask;
+
+            hashes[slot] = oldHashes[oldSlot];
+            offsets[slot] = oldOffsets[oldSlot];
+        }
+    }
+
+    /**
+     * Finds the smallest integer which is both a power of two and larger than or equal to a given parameter.
+     *
+     * @param n the lower bound for the power of two
+     * @return the smallest power of two which is larger or equal to {@code n}
+     */
+    private static int findFirstPowerOfTwo(int n) {
+        for (int power = 1; power != 0; power *= 2)
+            if (power >= n)
+                return power;
+        throw new IllegalArgumentException("Couldn't find a power of two greater than " + n + " that fits into an integer.");
+    }
+
+    /**
+     * Writes an array of integers to a channel, using a buffer for batching.
+     *
+     * @param channel the channel to write to
+     * @param values  the integers to write
+     * @param buffer  the buffer to use; its contents are overwritten
+     * @throws IOException if writing fails
+     */
+    private static void writeInts(FileChannel channel, int[] values, ByteBuffer buffer) throws IOException {
+        int batch = buffer.capacity() / Integer.BYTES;
+
+        for (int start = 0; start < values.length; start += batch) {
+            int count = Math.min(batch, values.length - start);
+
+            buffer.clear();
+            buffer.asIntBuffer().put(values, start, count);
+            buffer.limit(count * Integer.BYTES);
+            writeFully(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes all remaining bytes of a buffer to a channel.
+     *
+     * @param channel the channel to write to
+     * @param buffer  the buffer to write
+     * @throws IOException if writing fails
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+}
@@ -0,0 +1,622 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.*;
+
+/**
+ * A table that maps keys to values. A map cannot contain duplicate keys; each key can map to at most one value.
+ * <p>
+ * {@code null} is allowed as a value, but not as a key.
+ * <p>
+ * This is an alternative to {@link SimpleHashtable} with the same interface, but a different internal layout.
+ * Instead of chaining entry objects in buckets, it uses open addressing with linear probing
+ * over parallel arrays of keys, values and cached hash codes.
+ * Inserting into the table does not allocate anything unless a resize is triggered,
+ * and a lookup usually only has to inspect one or two adjacent slots.
+ * <p>
+ * Keys are compared using {@link Object#equals(Object)}.
+ * The slot of an entry is determined using {@link Object#hashCode()}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author Borna Cafuk
+ */
+public class OpenAddressingHashtable<K, V> implements Iterable<OpenAddressingHashtable.Entry<K, V>> {
+    /**
+     * The default initial number of slots if not specified otherwise.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * The maximum ratio of entries to slots.
+     * Must be greater than 0 and less than 1, so that there is always at least one empty slot.
+     * <p>
+     * This is lower than the load factor of {@link SimpleHashtable} because the length of probe sequences
+     * in linear probing grows quickly as the table fills up.
+     */
+    private static final double LOAD_FACTOR = 0.5;
+    /**
+     * The factor by which the number of slots is increased in {@link #resize()}.
+     * Must be a power of two.
+     */
+    private static final int GROWTH_FACTOR = 2;
+
+    /**
+     * The keys of the entries, indexed by slot.
+     * Empty slots are {@code null}.
+     */
+    private Object[] keys;
+    /**
+     * The values of the entries, indexed by slot.
+     * Empty slots are {@code null}.
+     */
+    private Object[] values;
+    /**
+     * The spread hash codes of the keys, indexed by slot.
+     * These are cached so that resizing and probing do not have to call {@link Object#hashCode()} again.
+     */
+    private int[] hashes;
+    /**
+     * The number of entries currently stored in the hash table.
+     */
+    private int size = 0;
+    /**
+     * A modification counter used in {@link IteratorImpl} to check for concurrent modifications.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Constructs a new hashtable with the default of {@value DEFAULT_CAPACITY} slots.
+     */
+    public OpenAddressingHashtable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new hashtable with at least the specified number of slots.
+     * <p>
+     * The actual number of slots has to be a power of two, so if {@code capacity} is not a power of two,
+     * the smallest power of two larger than {@code capacity} will be used.
+     *
+     * @param capacity the desired number of slots
+     * @throws IllegalArgumentException if {@code capacity} is less than 1
+     * @throws IllegalArgumentException if {@code capacity} is larger than the largest power of two
+     *                                  representable by an {@link Integer}
+     */
+    public OpenAddressingHashtable(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("The initial number of slots has to be at least one, but " + capacity + " was given.");
+
+        int length = findFirstPowerOfTwo(capacity);
+        keys = new Object[length];
+        values = new Object[length];
+        hashes = new int[length];
+    }
+
+    /**
+     * Assigns a value to a given key.
+     * If the key already exists in the hashtable, its value will be overwritten.
+     * Otherwise, a new entry is added to the hashtable.
+     * <p>
+     * If adding a new element would exceed the load factor of {@value #LOAD_FACTOR},
+     * a resize to {@value #GROWTH_FACTOR} times the current number of slots is triggered.
+     * <p>
+     * Invalidates existing iterators if the key does not exist in the hashtable.
+     *
+     * @param key   the key whose value to assign
+     * @param value the new value for the key
+     * @return the value which was assigned to the key previously if the key already exists, {@code null} otherwise
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "The key must not be null.");
+
+        int hash = spread(key.hashCode());
+        int slot = findSlot(key, hash);
+
+        if (keys[slot] != null) {
+            // The key exists
+            V oldValue = (V) values[slot];
+            values[slot] = value;
+            return oldValue;
+        }
+
+        if ((size + 1.0d) / keys.length > LOAD_FACTOR) {
+            resize();
+            slot = findSlot(key, hash);
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        hashes[slot] = hash;
+        size++;
+        modificationCount++;
+        return null;
+    }
+
+    /**
+     * Retrieves the value associated with a key.
+     *
+     * @param key the key whose value to look up
+     * @return the value assigned to the given key, or {@code null} if the key does not exist in the hashtable
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null)
+            return null;
+
+        int slot = findSlot(key, spread(key.hashCode()));
+        return (V) values[slot];
+    }
+
+    /**
+     * Gets the number of entries stored in the hashtable.
+     *
+     * @return the number of key-value pairs currently stored in the hashtable
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the hashtable contains an entry with the given key.
+     *
+     * @param key the key to look up
+     * @return {@code true} if the hashtable contains the given key, {@code false} otherwise
+     */
+    public boolean containsKey(Object key) {
+        if (key == null)
+            return false;
+
+        return keys[findSlot(key, spread(key.hashCode()))] != null;
+    }
+
+    /**
+     * Checks if the hashtable contains an entry with the given value.
+     *
+     * @param value the value to look up
+     * @return {@code true} if the hashtable contains the given value, {@code false} otherwise
+     */
+    public boolean containsValue(Object value) {
+        for (int slot = 0; slot < keys.length; slot++)
+            if (keys[slot] != null && Objects.equals(value, values[slot]))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Removes the entry with the given key from the hashtable.
+     * <p>
+     * Invalidates existing iterators if the key exists in the hashtable.
+     *
+     * @param key the key of the entry to remove
+     * @return the value which was assigned to the key, or {@code null} if the key doesn't exist in the hashtable
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null)
+            return null;
+
+        int slot = findSlot(key, spread(key.hashCode()));
+
+        if (keys[slot] == null)
+            // The key doesn't exist
+            return null;
+
+        V oldValue = (V) values[slot];
+        removeSlot(slot);
+        modificationCount++;
+        return oldValue;
+    }
+
+    /**
+     * Checks whether there are no entries in the hashtable.
+     *
+     * @return {@code true} if there are no entries currently stored in the table, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Converts the entries of this hashmap into a string in the form of a list of ket-value pairs.
+     *
+     * @return a string representing the entries of this hashmap
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+
+        Iterator<Entry<K, V>> iterator = iterator();
+
+        while (iterator.hasNext()) {
+            sb.append(iterator.next());
+
+            if (iterator.hasNext())
+                sb.append(", ");
+        }
+
+        sb.append(']');
+
+        return sb.toString();
+    }
+
+    /**
+     * Dumps all key-value pairs currently stored in the hashtable into an array.
+     * <p>
+     * No guarantee is given about the order of the elements, except that two calls to the function
+     * will yield the same order if the hashtable is not modified between them.
+     *
+     * @return an array of the entries stored in the hashtable.
+     */
+    @SuppressWarnings("unchecked")
+    public Entry<K, V>[] toArray() {
+        Entry<K, V>[] array = (Entry<K, V>[]) new Entry[size];
+
+        Iterator<Entry<K, V>> iterator = iterator();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = iterator.next();
+        }
+
+        return array;
+    }
+
+    /**
+     * Removes all entries from the hashtable.
+     * <p>
+     * Invalidates existing iterators.
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+        modificationCount++;
+    }
+
+    /**
+     * Finds the smallest integer which is both a power of two and larger than or equal to a given parameter.
+     *
+     * @param n the lower bound for the power of two
+     * @return the smallest power of two which is larger or equal to {@code n}
+     */
+    private int findFirstPowerOfTwo(int n) {
+        for (int power = 1; power != 0; power *= 2)
+            if (power >= n)
+                return power;
+        throw new IllegalArgumentException("Couldn't find a power of two greater than " + n + " that fits into an integer.");
+    }
+
+    /**
+     * Mixes the higher bits of a hash code into the lower ones.
+     * <p>
+     * Slots are selected by masking off the higher bits, so without this step,
+     * hash codes which only differ in their higher bits would always collide.
+     *
+     * @param hashCode the hash code to spread
+     * @return the spread hash code
+     */
+    private static int spread(int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * Finds the slot which contains the given key, or the empty slot where it would be inserted.
+     *
+     * @param key  the key to look up; must not be {@code null}
+     * @param hash the spread hash code of the key
+     * @return the index of the slot holding the key if it exists in the hashtable,
+     *         or the index of the first empty slot in its probe sequence otherwise
+     */
+    private int findSlot(Object key, int hash) {
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        int probes = 0;
+
+        while (keys[slot] != null) {
+            probes++;
+
+            if (hashes[slot] == hash && key.equals(keys[slot]))
+                break;
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (MetricsRegistry.ENABLED)
+            MetricsRegistry.OPEN_ADDRESSING_PROBE_LENGTH.record(probes);
+
+        return slot;
+    }
+
+    /**
+     * Empties a slot and shifts back the entries following it in the same cluster,
+     * so that no entry becomes unreachable from its home slot.
+     * <p>
+     * Entries are only ever moved into the slot being emptied or into slots after it in probe order,
+     * which is what {@link IteratorImpl#remove()} relies on.
+     * <p>
+     * Does not update the {@link #modificationCount}.
+     *
+     * @param slot the index of the slot to empty
+     */
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+
+        for (int current = (hole + 1) & mask; keys[current] != null; current = (current + 1) & mask) {
+            int home = hashes[current] & mask;
+
+            // The entry can be moved into the hole only if its home slot is not cyclically in (hole, current]
+            boolean homeBetween = hole <= current
+                    ? hole < home && home <= current
+                    : hole < home || home <= current;
+
+            if (!homeBetween) {
+                keys[hole] = keys[current];
+                values[hole] = values[current];
+                hashes[hole] = hashes[current];
+                hole = current;
+            }
+        }
+
+        keys[hole] = null;
+        values[hole] = null;
+        size--;
+    }
+
+    /**
+     * Returns an iterator over the entries of the hashtable.
+     *
+     * @return a new iterator
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new IteratorImpl();
+    }
+
+    /**
+     * Increases the number of slots {@value GROWTH_FACTOR} times and moves all existing entries into the new arrays.
+     * <p>
+     * Entries are placed directly using their cached hash codes,
+     * without calling {@link Object#hashCode()} or {@link Object#equals(Object)}.
+     * <p>
+     * Invalidates existing iterators.
+     */
+    private void resize() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+
+        int length = oldKeys.length * GROWTH_FACTOR;
+        int mask = length - 1;
+
+        keys = new Object[length];
+        values = new Object[length];
+        hashes = new int[length];
+        modificationCount++;
+
+        if (MetricsRegistry.ENABLED)
+            MetricsRegistry.OPEN_ADDRESSING_RESIZES.increment();
+
+        for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            if (oldKeys[oldSlot] == null)
+                continue;
+
+            int slot = oldHashes[oldSlot] & mask;
+            while (keys[slot] != null)
+                slot = (slot + 1) & mask;
+
+            keys[slot] = oldKeys[oldSlot];
+            values[slot] = oldValues[oldSlot];
+            hashes[slot] = oldHashes[oldSlot];
+        }
+    }
+
+    /**
+     * A key-value pair stored in the hashtable.
+     * <p>
+     * Since the hashtable does not store entry objects, these are created during iteration.
+     * Changing the value of an entry writes the value through to the hashtable.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    public static class Entry<K, V> {
+        /**
+         * The hashtable from which this entry was taken.
+         */
+        private final OpenAddressingHashtable<K, V> table;
+        /**
+         * The entry's key.
+         */
+        private final K key;
+        /**
+         * The entry's value.
+         */
+        private V value;
+
+        /**
+         * Constructs a new entry with the given parameters.
+         *
+         * @param table the hashtable from which the entry was taken
+         * @param key   the entry's key
+         * @param value the entry's value
+         */
+        private Entry(OpenAddressingHashtable<K, V> table, K key, V value) {
+            this.table = table;
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Returns the entry's the key.
+         *
+         * @return the key
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the entry's the value.
+         *
+         * @return the value
+         */
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Changes the entry's value.
+         * <p>
+         * If the key still exists in the hashtable, its value in the hashtable is changed as well.
+         *
+         * @param value the new value
+         */
+        public void setValue(V value) {
+            this.value = value;
+
+            int slot = table.findSlot(key, spread(key.hashCode()));
+            if (table.keys[slot] != null)
+                table.values[slot] = value;
+        }
+
+        /**
+         * Converts the entry to a string.
+         *
+         * @return the key and value, joined by an equals sign ({@code =})
+         */
+        @Override
+        public String toString() {
+            return key.toString() + '=' + value;
+        }
+    }
+
+    /**
+     * An iterator over the entries of the hashtable.
+     * <p>
+     * The iteration starts right after an empty slot and wraps around the end of the arrays.
+     * Since no cluster spans over an empty slot, removing an entry never moves
+     * an entry which has already been returned into a slot which has not yet been visited.
+     */
+    public class IteratorImpl implements Iterator<Entry<K, V>> {
+        /**
+         * The index of the first slot visited by this iterator.
+         */
+        private final int startSlot;
+        /**
+         * The number of slots, counted from {@link #startSlot}, which have already been visited.
+         * The slot holding the next entry has the offset {@code visited - 1}.
+         * If there are no more elements, it will be greater than the number of slots.
+         */
+        private int visited = 0;
+        /**
+         * Whether there is an entry which will be returned by {@link #next()}.
+         */
+        private boolean hasNextEntry = false;
+        /**
+         * The offset from {@link #startSlot} of the slot holding the last entry returned by {@link #next()}.
+         * If {@link #remove()} has been called after the last call to {@link #next()}, it will be -1.
+         * If {@link #next()} has not yet been called, it will also be -1.
+         */
+        private int lastOffset = -1;
+        /**
+         * The {@link #modificationCount} at the moment of this {@link IteratorImpl}'s creation.
+         * This is also updated every time {@link #remove()} returns.
+         * <p>
+         * This is used to monitor for concurrent modifications.
+         */
+        private long expectedModificationCount = modificationCount;
+
+        private IteratorImpl() {
+            int slot = 0;
+            if (size != 0)
+                while (keys[slot] != null)
+                    slot++;
+
+            startSlot = (slot + 1) & (keys.length - 1);
+            advance();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws ConcurrentModificationException if the hashtable has been modified through a different iterator or
+         *                                         by directly calling {@link OpenAddressingHashtable} methods
+         */
+        @Override
+        public boolean hasNext() {
+            if (modificationCount != expectedModificationCount)
+                throw new ConcurrentModificationException("The hashtable has been modified.");
+
+            return hasNextEntry;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws ConcurrentModificationException if the hashtable has been modified through a different iterator or
+         *                                         by directly calling {@link OpenAddressingHashtable} methods
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (!hasNext())
+                throw new NoSuchElementException("All entries have been iterated over.");
+
+            int slot = currentSlot();
+            Entry<K, V> entry = new Entry<>(OpenAddressingHashtable.this, (K) keys[slot], (V) values[slot]);
+
+            lastOffset = visited - 1;
+            advance();
+            return entry;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws ConcurrentModificationException if the hashtable has been modified through a different iterator or
+         *                                         by directly calling {@link OpenAddressingHashtable} methods
+         */
+        @Override
+        public void remove() {
+            if (modificationCount != expectedModificationCount)
+                throw new ConcurrentModificationException("The hashtable has been modified.");
+            if (lastOffset == -1)
+                throw new IllegalStateException("remove() has already been called.");
+
+            removeSlot((startSlot + lastOffset) & (keys.length - 1));
+            modificationCount++;
+            expectedModificationCount++;
+
+            // A following entry may have been shifted into the emptied slot, so it has to be visited again
+            visited = lastOffset;
+            lastOffset = -1;
+            advance();
+        }
+
+        /**
+         * Gets the index of the slot holding the entry which will be returned by {@link #next()}.
+         *
+         * @return the index of the slot
+         */
+        private int currentSlot() {
+            return (startSlot + visited - 1) & (keys.length - 1);
+        }
+
+        /**
+         * Advances {@link #visited} to the next occupied slot and updates {@link #hasNextEntry}.
+         */
+        private void advance() {
+            while (visited < keys.length) {
+                visited++;
+                if (keys[currentSlot()] != null) {
+                    hasNextEntry = true;
+                    return;
+                }
+            }
+
+            visited = keys.length + 1;
+            hasNextEntry = false;
+        }
+    }
+}
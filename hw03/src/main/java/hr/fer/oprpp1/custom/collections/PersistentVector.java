@@ -0,0 +1,549 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable list which creates modified copies of itself that share most of their structure with the original.
+ * <p>
+ * The elements are stored in a trie with a branching factor of {@value #BRANCHING_FACTOR}.
+ * The leaves are arrays of {@value #BRANCHING_FACTOR} elements, and each inner node is an array
+ * of {@value #BRANCHING_FACTOR} child nodes. The last leaf, called the tail, is kept outside the trie,
+ * so that appending usually only copies the tail.
+ * <p>
+ * {@link #get(int)}, {@link #set(int, Object)}, {@link #append(Object)} and {@link #removeLast()}
+ * take {@code O(log32 n)} time, which is effectively constant. The modifying methods leave this vector unchanged
+ * and return a new one, copying only the nodes on the path to the modified element.
+ * Since a vector can never change, it can be shared between components without copying,
+ * and keeping an old version as a snapshot costs nothing.
+ * <p>
+ * The modifying methods of {@link Collection} and {@link List} would have to change the vector in place,
+ * so they throw an {@link UnsupportedOperationException}.
+ * <p>
+ * This vector may contain duplicate elements, but not {@code null} references.
+ *
+ * @param <E> the type of objects stored in the vector
+ * @author Borna Cafuk
+ */
+public final class PersistentVector<E> implements List<E> {
+    /**
+     * The number of bits of an index which select a child of a node.
+     */
+    private static final int BITS = 5;
+    /**
+     * The number of children of each node and the number of elements in each leaf.
+     */
+    private static final int BRANCHING_FACTOR = 1 << BITS;
+    /**
+     * A mask which selects the lowest {@value #BITS} bits of an index.
+     */
+    private static final int MASK = BRANCHING_FACTOR - 1;
+
+    /**
+     * The root of an empty trie.
+     */
+    private static final Object[] EMPTY_NODE = new Object[BRANCHING_FACTOR];
+    /**
+     * The empty vector.
+     */
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    /**
+     * The number of elements in the vector, including the tail.
+     */
+    private final int size;
+    /**
+     * The number of bits an index has to be shifted right by to select a child of the root.
+     */
+    private final int shift;
+    /**
+     * The root of the trie containing all elements except those in the tail.
+     */
+    private final Object[] root;
+    /**
+     * The last elements of the vector, which aren't in the trie yet.
+     * It contains between 1 and {@value #BRANCHING_FACTOR} elements, unless the vector is empty.
+     */
+    private final Object[] tail;
+
+    /**
+     * Constructs a vector from its parts.
+     *
+     * @param size  the number of elements
+     * @param shift the shift of the root
+     * @param root  the root of the trie
+     * @param tail  the tail
+     */
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns the empty vector.
+     *
+     * @param <E> the type of objects stored in the vector
+     * @return an empty vector
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Creates a vector containing the elements of a collection, in the order in which
+     * {@link Collection#toArray()} returns them.
+     * <p>
+     * The trie is built a whole leaf at a time, so this takes linear time.
+     *
+     * @param other the collection whose elements to put into the vector; remains unchanged
+     * @param <E>   the type of objects stored in the vector
+     * @return a new vector containing the elements of {@code other}
+     * @throws NullPointerException if {@code other} is {@code null} or if it contains {@code null}
+     */
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> other) {
+        Objects.requireNonNull(other, "The other collection must not be null.");
+
+        if (other instanceof PersistentVector)
+            return copyOf((PersistentVector<? extends E>) other);
+
+        Object[] array = other.toArray();
+        for (Object value : array)
+            Objects.requireNonNull(value, "null cannot be added to the vector.");
+
+        PersistentVector<E> vector = empty();
+        for (int start = 0; start < array.length; start += BRANCHING_FACTOR)
+            vector = vector.appendLeaf(Arrays.copyOfRange(array, start, Math.min(start + BRANCHING_FACTOR, array.length)));
+
+        return vector;
+    }
+
+    /**
+     * Returns the given vector, since it can't change and doesn't need to be copied.
+     *
+     * @param other the vector
+     * @param <E>   the type of objects stored in the vector
+     * @return {@code other}
+     * @throws NullPointerException if {@code other} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> copyOf(PersistentVector<? extends E> other) {
+        return (PersistentVector<E>) Objects.requireNonNull(other, "The other vector must not be null.");
+    }
+
+    /**
+     * Copies the elements of the vector into a new {@link ArrayIndexedCollection}, in order.
+     *
+     * @return a new collection containing the elements of the vector
+     */
+    public ArrayIndexedCollection<E> toArrayIndexedCollection() {
+        ArrayIndexedCollection<E> collection = new ArrayIndexedCollection<>(Math.max(size, 1));
+        collection.addAll(this);
+        return collection;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Creates a vector in which the element at the specified index is replaced.
+     *
+     * @param index the index of the element to replace
+     * @param value the new element
+     * @return a new vector with the element replaced
+     * @throws IndexOutOfBoundsException if the index is less than 0 or if it is beyond the end of the vector
+     * @throws NullPointerException      if {@code value} is {@code null}
+     */
+    public PersistentVector<E> set(int index, E value) {
+        checkIndex(index);
+        Objects.requireNonNull(value, "null cannot be added to the vector.");
+
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+
+        return new PersistentVector<>(size, shift, setInNode(shift, root, index, value), tail);
+    }
+
+    /**
+     * Creates a vector with an element added to the end.
+     *
+     * @param value the element to add
+     * @return a new vector with the element added
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public PersistentVector<E> append(E value) {
+        Objects.requireNonNull(value, "null cannot be added to the vector.");
+
+        if (tail.length < BRANCHING_FACTOR) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        return appendLeaf(new Object[]{value});
+    }
+
+    /**
+     * Creates a vector with the last element removed.
+     *
+     * @return a new vector without the last element
+     * @throws NoSuchElementException if the vector is empty
+     */
+    public PersistentVector<E> removeLast() {
+        if (size == 0)
+            throw new NoSuchElementException("Cannot remove an element from an empty vector.");
+
+        if (size == 1)
+            return empty();
+
+        if (tail.length > 1)
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+
+        // The tail becomes empty, so the last leaf of the trie becomes the new tail
+        Object[] newTail = leafFor(size - 2);
+        Object[] newRoot = removeLastLeaf(shift, root);
+        int newShift = shift;
+
+        if (newRoot == null)
+            newRoot = EMPTY_NODE;
+
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (value == null)
+            return -1;
+
+        for (int leafStart = 0; leafStart < size; leafStart += BRANCHING_FACTOR) {
+            Object[] leaf = leafFor(leafStart);
+
+            for (int i = 0; i < leaf.length && leafStart + i < size; i++)
+                if (value.equals(leaf[i]))
+                    return leafStart + i;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) != -1;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+
+        for (int leafStart = 0; leafStart < size; leafStart += BRANCHING_FACTOR) {
+            Object[] leaf = leafFor(leafStart);
+            System.arraycopy(leaf, 0, array, leafStart, Math.min(BRANCHING_FACTOR, size - leafStart));
+        }
+
+        return array;
+    }
+
+    /**
+     * Creates an {@link ElementsGetter} for the vector.
+     * <p>
+     * The elements are returned in order of increasing index. Since the vector is immutable,
+     * the getter can never be invalidated.
+     *
+     * @return a new ElementsGetter
+     */
+    @Override
+    public ElementsGetter<E> createElementsGetter() {
+        return new PersistentVectorElementsGetter<>(this);
+    }
+
+    /**
+     * Not supported, since the vector is immutable.
+     *
+     * @param value ignored
+     * @throws UnsupportedOperationException always
+     * @see #append(Object)
+     */
+    @Override
+    public void add(E value) {
+        throw new UnsupportedOperationException("The vector is immutable; use append instead.");
+    }
+
+    /**
+     * Not supported, since the vector is immutable.
+     *
+     * @param value    ignored
+     * @param position ignored
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void insert(E value, int position) {
+        throw new UnsupportedOperationException("The vector is immutable.");
+    }
+
+    /**
+     * Not supported, since the vector is immutable.
+     *
+     * @param value ignored
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean remove(Object value) {
+        throw new UnsupportedOperationException("The vector is immutable.");
+    }
+
+    /**
+     * Not supported, since the vector is immutable.
+     *
+     * @param index ignored
+     * @throws UnsupportedOperationException always
+     * @see #removeLast()
+     */
+    @Override
+    public void remove(int index) {
+        throw new UnsupportedOperationException("The vector is immutable; use removeLast instead.");
+    }
+
+    /**
+     * Not supported, since the vector is immutable.
+     *
+     * @param other ignored
+     * @throws UnsupportedOperationException always
+     * @see #copyOf(Collection)
+     */
+    @Override
+    public void addAll(Collection<? extends E> other) {
+        throw new UnsupportedOperationException("The vector is immutable.");
+    }
+
+    /**
+     * Not supported, since the vector is immutable.
+     *
+     * @throws UnsupportedOperationException always
+     * @see #empty()
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("The vector is immutable; use empty instead.");
+    }
+
+    /**
+     * Checks whether an index refers to an element of the vector.
+     *
+     * @param index the index to check
+     * @throws IndexOutOfBoundsException if the index is less than 0 or if it is beyond the end of the vector
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Valid indices are 0 to " + (size - 1) + ", but " + index + " was passed.");
+    }
+
+    /**
+     * Calculates the index of the first element in the tail.
+     *
+     * @return the number of elements in the trie
+     */
+    private int tailOffset() {
+        return size - tail.length;
+    }
+
+    /**
+     * Finds the leaf which contains the element at a valid index.
+     *
+     * @param index the index of the element
+     * @return the leaf or the tail containing the element
+     */
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset())
+            return tail;
+
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS)
+            node = (Object[]) node[(index >>> level) & MASK];
+
+        return node;
+    }
+
+    /**
+     * Creates a vector in which the current tail is moved into the trie and replaced by a new one.
+     *
+     * @param leaf the new tail; must contain between 1 and {@value #BRANCHING_FACTOR} elements
+     * @return a new vector with the leaf appended
+     */
+    private PersistentVector<E> appendLeaf(Object[] leaf) {
+        if (size == 0)
+            return new PersistentVector<>(leaf.length, shift, root, leaf);
+
+        Object[] newRoot;
+        int newShift = shift;
+
+        if ((size >>> BITS) > (1 << shift)) {
+            // The trie is full, so a new level is added on top
+            newRoot = new Object[BRANCHING_FACTOR];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = appendToNode(shift, root, tail);
+        }
+
+        return new PersistentVector<>(size + leaf.length, newShift, newRoot, leaf);
+    }
+
+    /**
+     * Copies the path to the position after the last leaf of the trie and puts a leaf there.
+     * The trie must not be full.
+     *
+     * @param level the shift of {@code node}
+     * @param node  the node at which to start
+     * @param leaf  the leaf to put into the trie; must be full
+     * @return a copy of {@code node} containing the leaf
+     */
+    private Object[] appendToNode(int level, Object[] node, Object[] leaf) {
+        int childIndex = ((size - 1) >>> level) & MASK;
+        Object[] newNode = node.clone();
+
+        if (level == BITS) {
+            newNode[childIndex] = leaf;
+        } else {
+            Object[] child = (Object[]) node[childIndex];
+            newNode[childIndex] = child != null
+                    ? appendToNode(level - BITS, child, leaf)
+                    : newPath(level - BITS, leaf);
+        }
+
+        return newNode;
+    }
+
+    /**
+     * Creates a chain of nodes leading to a leaf, through the first child of each node.
+     *
+     * @param level the shift of the topmost node to create, or 0 to return the leaf itself
+     * @param leaf  the leaf at the end of the chain
+     * @return the topmost node of the chain
+     */
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0)
+            return leaf;
+
+        Object[] node = new Object[BRANCHING_FACTOR];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    /**
+     * Copies the path to an element of the trie and replaces the element.
+     *
+     * @param level the shift of {@code node}, or 0 if it is a leaf
+     * @param node  the node at which to start
+     * @param index the index of the element
+     * @param value the new element
+     * @return a copy of {@code node} with the element replaced
+     */
+    private static Object[] setInNode(int level, Object[] node, int index, Object value) {
+        Object[] newNode = node.clone();
+
+        if (level == 0) {
+            newNode[index & MASK] = value;
+        } else {
+            int childIndex = (index >>> level) & MASK;
+            newNode[childIndex] = setInNode(level - BITS, (Object[]) node[childIndex], index, value);
+        }
+
+        return newNode;
+    }
+
+    /**
+     * Copies the path to the last leaf of the trie without the leaf, removing any nodes which become empty.
+     *
+     * @param level the shift of {@code node}
+     * @param node  the node at which to start
+     * @return a copy of {@code node} without the last leaf, or {@code null} if it would be empty
+     */
+    private Object[] removeLastLeaf(int level, Object[] node) {
+        int childIndex = ((size - 2) >>> level) & MASK;
+
+        if (level > BITS) {
+            Object[] newChild = removeLastLeaf(level - BITS, (Object[]) node[childIndex]);
+            if (newChild == null && childIndex == 0)
+                return null;
+
+            Object[] newNode = node.clone();
+            newNode[childIndex] = newChild;
+            return newNode;
+        }
+
+        if (childIndex == 0)
+            return null;
+
+        Object[] newNode = node.clone();
+        newNode[childIndex] = null;
+        return newNode;
+    }
+
+    /**
+     * An implementation of {@link ElementsGetter} for this class, which walks the vector one leaf at a time.
+     *
+     * @param <E> the type of elements of the vector
+     */
+    private static class PersistentVectorElementsGetter<E> implements ElementsGetter<E> {
+        /**
+         * The vector whose elements will be returned by this getter.
+         */
+        private final PersistentVector<E> vector;
+        /**
+         * The index of the next element to return.
+         */
+        private int currentIndex = 0;
+        /**
+         * The leaf which contains the element at {@link #currentIndex}, or {@code null} if it hasn't been found yet.
+         */
+        private Object[] currentLeaf;
+
+        /**
+         * Constructs a new {@link PersistentVectorElementsGetter} for a given {@link PersistentVector}.
+         *
+         * @param vector the vector whose elements will be returned by this getter
+         */
+        private PersistentVectorElementsGetter(PersistentVector<E> vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        public boolean hasNextElement() {
+            return currentIndex < vector.size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E getNextElement() {
+            if (!hasNextElement())
+                throw new NoSuchElementException("There are no more elements in this vector.");
+
+            if ((currentIndex & MASK) == 0 || currentLeaf == null)
+                currentLeaf = vector.leafFor(currentIndex);
+
+            return (E) currentLeaf[currentIndex++ & MASK];
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A chain of operations on the elements of an {@link ElementsGetter} which are all performed in a single pass.
+ * <p>
+ * A pipeline is created from a collection or an elements getter using {@link #from(Collection)}
+ * or {@link #from(ElementsGetter)}, extended using {@link #filter(Tester)}, {@link #map(Function)} and
+ * {@link #limit(long)}, and run by one of the terminal operations, such as {@link #collectInto(Collection)}.
+ * <p>
+ * Extending a pipeline doesn't touch any elements. The terminal operation links the operations into a chain of
+ * {@link Processor}s, each of which passes the elements it accepts directly to the next one,
+ * so every element is fetched only once and no intermediate collections are created.
+ * Nothing is allocated per element, except by the functions given to {@link #map(Function)}.
+ * <p>
+ * If the pipeline contains a {@link #limit(long)}, the source stops being read as soon as the limit is reached.
+ * Otherwise, the elements are pushed through {@link ElementsGetter#processRemaining(Processor)},
+ * which lets the source use its own loop.
+ * <p>
+ * A pipeline consumes the elements of its getter, so only one terminal operation can be run on it
+ * or on any pipeline derived from the same source. The source collection must not be modified
+ * between creating the pipeline and running it, otherwise the getter throws a
+ * {@link java.util.ConcurrentModificationException}.
+ *
+ * @param <T> the type of the elements at the end of the pipeline
+ * @author Borna Cafuk
+ */
+public final class Pipeline<T> {
+    /**
+     * The getter providing the elements at the start of the pipeline.
+     */
+    private final ElementsGetter<?> source;
+    /**
+     * The previous pipeline, or {@code null} if this is the start of the pipeline.
+     */
+    private final Pipeline<?> upstream;
+    /**
+     * The operation added by this pipeline, or {@code null} if this is the start of the pipeline.
+     */
+    private final Stage stage;
+    /**
+     * Whether this pipeline or any pipeline before it contains a {@link #limit(long)}.
+     */
+    private final boolean shortCircuiting;
+
+    /**
+     * Constructs a pipeline.
+     *
+     * @param source          the getter providing the elements at the start of the pipeline
+     * @param upstream        the previous pipeline, or {@code null} if this is the start of the pipeline
+     * @param stage           the operation added by this pipeline, or {@code null} if this is the start
+     * @param shortCircuiting whether the pipeline contains a {@link #limit(long)}
+     */
+    private Pipeline(ElementsGetter<?> source, Pipeline<?> upstream, Stage stage, boolean shortCircuiting) {
+        this.source = source;
+        this.upstream = upstream;
+        this.stage = stage;
+        this.shortCircuiting = shortCircuiting;
+    }
+
+    /**
+     * Creates a pipeline over the elements of a collection.
+     * <p>
+     * The collection's elements getter is created immediately.
+     *
+     * @param collection the collection whose elements to process
+     * @param <T>        the type of the elements
+     * @return a new pipeline
+     * @throws NullPointerException if {@code collection} is {@code null}
+     */
+    public static <T> Pipeline<T> from(Collection<T> collection) {
+        Objects.requireNonNull(collection, "The collection must not be null.");
+        return from(collection.createElementsGetter());
+    }
+
+    /**
+     * Creates a pipeline over the remaining elements of an elements getter.
+     *
+     * @param getter the getter whose elements to process
+     * @param <T>    the type of the elements
+     * @return a new pipeline
+     * @throws NullPointerException if {@code getter} is {@code null}
+     */
+    public static <T> Pipeline<T> from(ElementsGetter<T> getter) {
+        Objects.requireNonNull(getter, "The elements getter must not be null.");
+        return new Pipeline<>(getter, null, null, false);
+    }
+
+    /**
+     * Extends the pipeline by discarding the elements which don't satisfy a tester.
+     *
+     * @param tester the tester which accepted elements must satisfy
+     * @return a new pipeline
+     * @throws NullPointerException if {@code tester} is {@code null}
+     */
+    public Pipeline<T> filter(Tester<? super T> tester) {
+        Objects.requireNonNull(tester, "The tester must not be null.");
+        return new Pipeline<>(source, this, downstream -> new FilterSink<>(tester, downstream), shortCircuiting);
+    }
+
+    /**
+     * Extends the pipeline by replacing each element with the result of a function.
+     *
+     * @param mapper the function to apply to each element
+     * @param <R>    the type of the results of the function
+     * @return a new pipeline
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    public <R> Pipeline<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "The mapper must not be null.");
+        return new Pipeline<>(source, this, downstream -> new MapSink<>(mapper, downstream), shortCircuiting);
+    }
+
+    /**
+     * Extends the pipeline by passing on at most the given number of elements.
+     * <p>
+     * No more elements are read from the source once the limit is reached.
+     *
+     * @param maxSize the maximum number of elements to pass on
+     * @return a new pipeline
+     * @throws IllegalArgumentException if {@code maxSize} is negative
+     */
+    public Pipeline<T> limit(long maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException("The limit must not be negative, but " + maxSize + " was given.");
+
+        return new Pipeline<>(source, this, downstream -> new LimitSink<>(maxSize, downstream), true);
+    }
+
+    /**
+     * Runs the pipeline and adds the resulting elements to a collection.
+     *
+     * @param target the collection to add the elements to
+     * @param <C>    the type of the collection
+     * @return {@code target}
+     * @throws NullPointerException if {@code target} is {@code null}
+     */
+    public <C extends Collection<? super T>> C collectInto(C target) {
+        Objects.requireNonNull(target, "The target collection must not be null.");
+
+        run(target::add);
+        return target;
+    }
+
+    /**
+     * Runs the pipeline and passes the resulting elements to a processor.
+     *
+     * @param processor the processor to pass the elements to
+     * @throws NullPointerException if {@code processor} is {@code null}
+     */
+    public void forEach(Processor<? super T> processor) {
+        Objects.requireNonNull(processor, "The processor must not be null.");
+
+        run(processor);
+    }
+
+    /**
+     * Runs the pipeline and counts the resulting elements.
+     *
+     * @return the number of elements which reached the end of the pipeline
+     */
+    public long count() {
+        CountingSink<T> counter = new CountingSink<>();
+        run(counter);
+        return counter.count;
+    }
+
+    /**
+     * Links the operations into a chain of sinks ending with the given processor and pushes the source through it.
+     *
+     * @param terminal the processor receiving the elements at the end of the pipeline
+     */
+    @SuppressWarnings("unchecked")
+    private void run(Processor<? super T> terminal) {
+        Sink<?> sink = terminal instanceof Sink ? (Sink<?>) terminal : new TerminalSink<>(terminal);
+
+        for (Pipeline<?> pipeline = this; pipeline.stage != null; pipeline = pipeline.upstream)
+            sink = pipeline.stage.wrap(sink);
+
+        Sink<Object> first = (Sink<Object>) sink;
+        ElementsGetter<Object> getter = (ElementsGetter<Object>) source;
+
+        if (!shortCircuiting) {
+            getter.processRemaining(first);
+            return;
+        }
+
+        while (!first.isCancelled() && getter.hasNextElement())
+            first.process(getter.getNextElement());
+    }
+
+    /**
+     * An operation of the pipeline, which creates its sink when the pipeline is run.
+     */
+    @FunctionalInterface
+    private interface Stage {
+        /**
+         * Creates the sink for this operation.
+         *
+         * @param downstream the sink to which this operation passes its elements
+         * @return the sink for this operation
+         */
+        Sink<?> wrap(Sink<?> downstream);
+    }
+
+    /**
+     * A processor which is a part of a running pipeline.
+     *
+     * @param <T> the type of the elements it accepts
+     */
+    private static abstract class Sink<T> implements Processor<T> {
+        /**
+         * Checks whether this sink, or any sink after it, doesn't accept any more elements.
+         *
+         * @return {@code true} if no more elements should be read from the source, {@code false} otherwise
+         */
+        boolean isCancelled() {
+            return false;
+        }
+    }
+
+    /**
+     * A sink which passes elements on to another sink.
+     *
+     * @param <T> the type of the elements it accepts
+     * @param <R> the type of the elements it passes on
+     */
+    private static abstract class ChainedSink<T, R> extends Sink<T> {
+        /**
+         * The sink to which elements are passed on.
+         */
+        protected final Sink<R> downstream;
+
+        /**
+         * Constructs a sink passing elements on to another sink.
+         *
+         * @param downstream the sink to which elements are passed on
+         */
+        @SuppressWarnings("unchecked")
+        ChainedSink(Sink<?> downstream) {
+            this.downstream = (Sink<R>) downstream;
+        }
+
+        @Override
+        boolean isCancelled() {
+            return downstream.isCancelled();
+        }
+    }
+
+    /**
+     * The sink of {@link #filter(Tester)}.
+     *
+     * @param <T> the type of the elements
+     */
+    private static final class FilterSink<T> extends ChainedSink<T, T> {
+        /**
+         * The tester which accepted elements must satisfy.
+         */
+        private final Tester<? super T> tester;
+
+        /**
+         * Constructs the sink.
+         *
+         * @param tester     the tester which accepted elements must satisfy
+         * @param downstream the sink to which accepted elements are passed on
+         */
+        FilterSink(Tester<? super T> tester, Sink<?> downstream) {
+            super(downstream);
+            this.tester = tester;
+        }
+
+        @Override
+        public void process(T value) {
+            if (tester.test(value))
+                downstream.process(value);
+        }
+    }
+
+    /**
+     * The sink of {@link #map(Function)}.
+     *
+     * @param <T> the type of the elements it accepts
+     * @param <R> the type of the elements it passes on
+     */
+    private static final class MapSink<T, R> extends ChainedSink<T, R> {
+        /**
+         * The function to apply to each element.
+         */
+        private final Function<? super T, ? extends R> mapper;
+
+        /**
+         * Constructs the sink.
+         *
+         * @param mapper     the function to apply to each element
+         * @param downstream the sink to which the results are passed on
+         */
+        MapSink(Function<? super T, ? extends R> mapper, Sink<?> downstream) {
+            super(downstream);
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void process(T value) {
+            downstream.process(mapper.apply(value));
+        }
+    }
+
+    /**
+     * The sink of {@link #limit(long)}.
+     *
+     * @param <T> the type of the elements
+     */
+    private static final class LimitSink<T> extends ChainedSink<T, T> {
+        /**
+         * The number of elements which can still be passed on.
+         */
+        private long remaining;
+
+        /**
+         * Constructs the sink.
+         *
+         * @param maxSize    the maximum number of elements to pass on
+         * @param downstream the sink to which elements are passed on
+         */
+        LimitSink(long maxSize, Sink<?> downstream) {
+            super(downstream);
+            this.remaining = maxSize;
+        }
+
+        @Override
+        public void process(T value) {
+            if (remaining > 0) {
+                remaining--;
+                downstream.process(value);
+            }
+        }
+
+        @Override
+        boolean isCancelled() {
+            return remaining == 0 || downstream.isCancelled();
+        }
+    }
+
+    /**
+     * A sink which passes elements to a processor given to a terminal operation.
+     *
+     * @param <T> the type of the elements
+     */
+    private static final class TerminalSink<T> extends Sink<T> {
+        /**
+         * The processor receiving the elements.
+         */
+        private final Processor<? super T> processor;
+
+        /**
+         * Constructs the sink.
+         *
+         * @param processor the processor receiving the elements
+         */
+        TerminalSink(Processor<? super T> processor) {
+            this.processor = processor;
+        }
+
+        @Override
+        public void process(T value) {
+            processor.process(value);
+        }
+    }
+
+    /**
+     * The sink of {@link #count()}.
+     *
+     * @param <T> the type of the elements
+     */
+    private static final class CountingSink<T> extends Sink<T> {
+        /**
+         * The number of elements received.
+         */
+        private long count = 0;
+
+        @Override
+        public void process(T value) {
+            count++;
+        }
+    }
+}
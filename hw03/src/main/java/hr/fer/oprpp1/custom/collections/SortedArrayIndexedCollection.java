@@ -0,0 +1,432 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An array-backed collection which keeps its elements sorted according to a {@link Comparator}.
+ * <p>
+ * Since the elements are always sorted, {@link #indexOf(Object)}, {@link #contains(Object)}
+ * and range queries use binary search and take logarithmic time, instead of the linear scan
+ * done by {@link ArrayIndexedCollection}. Adding an element still has to shift the elements after it.
+ * {@link #addAll(Collection)} sorts the added elements and merges them in a single pass,
+ * so adding a batch of {@code m} elements, especially an already sorted one,
+ * takes {@code O(n + m)} time instead of {@code O(n * m)}.
+ * <p>
+ * Two elements are considered equal if the comparator returns 0 for them, not according to
+ * {@link Object#equals(Object)}, so the comparator should be consistent with equals.
+ * Equal elements are kept in the order in which they were added.
+ * <p>
+ * This collection may contain duplicate elements, but not {@code null} references.
+ * It does not implement {@link List}, since inserting at an arbitrary position would break the ordering.
+ *
+ * @param <E> the type of objects to be stored in the collection
+ * @author Borna Cafuk
+ */
+public class SortedArrayIndexedCollection<E> implements Collection<E> {
+    /**
+     * The default capacity (i.e. the size of the internal array) when no capacity is specified in the constructor.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * By how much the capacity is multiplied when an element is to be added to an already full array.
+     */
+    private static final int GROWTH_FACTOR = 2;
+
+    /**
+     * How many elements are contained in the collection, i.e. how many indices of the internal array are occupied.
+     */
+    private int size = 0;
+    /**
+     * The internal array containing the elements of the collection in sorted order.
+     * Unused indices are set to {@code null}.
+     */
+    private E[] elements;
+    /**
+     * The comparator which determines the order of the elements.
+     */
+    private final Comparator<? super E> comparator;
+    /**
+     * A modification counter used in {@link SortedArrayIndexedElementsGetter} to check for concurrent modifications.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Constructs a collection sorted by the natural ordering of its elements,
+     * with the default initial capacity of {@value SortedArrayIndexedCollection#DEFAULT_CAPACITY}.
+     * <p>
+     * Adding elements which are not {@link Comparable} will throw a {@link ClassCastException}.
+     */
+    @SuppressWarnings("unchecked")
+    public SortedArrayIndexedCollection() {
+        this((Comparator<? super E>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Constructs a collection sorted by the given comparator,
+     * with the default initial capacity of {@value SortedArrayIndexedCollection#DEFAULT_CAPACITY}.
+     *
+     * @param comparator the comparator which determines the order of the elements
+     * @throws NullPointerException if {@code comparator} is {@code null}
+     */
+    public SortedArrayIndexedCollection(Comparator<? super E> comparator) {
+        this(comparator, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a collection sorted by the given comparator, with the specified initial capacity.
+     *
+     * @param comparator      the comparator which determines the order of the elements
+     * @param initialCapacity the initial capacity; must be 1 or greater
+     * @throws NullPointerException     if {@code comparator} is {@code null}
+     * @throws IllegalArgumentException if the specified initial capacity is less than 1
+     */
+    @SuppressWarnings("unchecked")
+    public SortedArrayIndexedCollection(Comparator<? super E> comparator, int initialCapacity) {
+        this.comparator = Objects.requireNonNull(comparator, "The comparator must not be null.");
+
+        if (initialCapacity < 1)
+            throw new IllegalArgumentException("The initial size of the collection must be at least 1, but " + initialCapacity + " was given.");
+
+        elements = (E[]) new Object[initialCapacity];
+    }
+
+    /**
+     * Gets the comparator which determines the order of the elements.
+     *
+     * @return the comparator
+     */
+    public Comparator<? super E> getComparator() {
+        return comparator;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an element at the position determined by the comparator, after any elements equal to it.
+     * <p>
+     * Invalidates existing {@link SortedArrayIndexedElementsGetter}s.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    @Override
+    public void add(E value) {
+        Objects.requireNonNull(value, "null cannot be added to the collection.");
+
+        int position = upperBound(value);
+        ensureCapacity(size + 1);
+
+        System.arraycopy(elements, position, elements, position + 1, size - position);
+        elements[position] = value;
+        size++;
+        modificationCount++;
+    }
+
+    /**
+     * Adds all elements from another collection by sorting them and merging them with the existing elements.
+     * <p>
+     * The merge is done in place from the back of the array, so each existing element is moved at most once.
+     * Sorting an already sorted batch takes linear time.
+     * <p>
+     * Invalidates existing {@link SortedArrayIndexedElementsGetter}s if any elements are added.
+     *
+     * @param other the collection to add the elements from; remains unchanged
+     * @throws NullPointerException if {@code other} is {@code null} or if it contains {@code null}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addAll(Collection<? extends E> other) {
+        Objects.requireNonNull(other, "The other collection must not be null.");
+
+        E[] batch = (E[]) other.toArray();
+        if (batch.length == 0)
+            return;
+
+        for (E value : batch)
+            Objects.requireNonNull(value, "null cannot be added to the collection.");
+
+        // A stable sort keeps equal elements of the batch in their original order
+        Arrays.sort(batch, comparator);
+        ensureCapacity(size + batch.length);
+
+        int existing = size - 1;
+        int added = batch.length - 1;
+
+        // Existing elements which are greater than the current added one are moved to the back first,
+        // so on ties the added element ends up after the existing ones
+        for (int target = size + batch.length - 1; added >= 0; target--) {
+            if (existing >= 0 && comparator.compare(elements[existing], batch[added]) > 0)
+                elements[target] = elements[existing--];
+            else
+                elements[target] = batch[added--];
+        }
+
+        size += batch.length;
+        modificationCount++;
+    }
+
+    /**
+     * Gets the element at the specified index.
+     *
+     * @param index the index of the element to get
+     * @return the element at the index
+     * @throws IndexOutOfBoundsException if the index is less than 0 or if it is beyond the end of the collection
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Valid indices are 0 to " + (size - 1) + ", but " + index + " was passed.");
+
+        return elements[index];
+    }
+
+    /**
+     * Finds the first element equal to the given value using binary search and returns its index.
+     *
+     * @param value the value to find
+     * @return the index of the first element equal to {@code value} if there is one, -1 otherwise
+     * (also if {@code value} is {@code null} or can't be compared using the comparator)
+     */
+    @SuppressWarnings("unchecked")
+    public int indexOf(Object value) {
+        if (value == null)
+            return -1;
+
+        try {
+            E key = (E) value;
+            int index = lowerBound(key);
+            return index < size && comparator.compare(elements[index], key) == 0 ? index : -1;
+        } catch (ClassCastException ex) {
+            // The value is of a type which the comparator can't compare with the elements
+            return -1;
+        }
+    }
+
+    /**
+     * Tests whether the collection contains an element equal to the given value, using binary search.
+     *
+     * @param value the value to be tested
+     * @return {@code true} if the collection contains an element equal to {@code value}, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Finds the index of the first element which is not less than the given value.
+     *
+     * @param value the value to compare the elements with
+     * @return the index of the first element greater than or equal to {@code value},
+     * or the size if there is no such element
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public int lowerBound(E value) {
+        Objects.requireNonNull(value, "The value must not be null.");
+
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (comparator.compare(elements[middle], value) < 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        return low;
+    }
+
+    /**
+     * Finds the index of the first element which is greater than the given value.
+     *
+     * @param value the value to compare the elements with
+     * @return the index of the first element greater than {@code value}, or the size if there is no such element
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public int upperBound(E value) {
+        Objects.requireNonNull(value, "The value must not be null.");
+
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (comparator.compare(elements[middle], value) <= 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        return low;
+    }
+
+    /**
+     * Counts the elements which are greater than or equal to {@code fromValue} and less than {@code toValue}.
+     *
+     * @param fromValue the lower bound, inclusive
+     * @param toValue   the upper bound, exclusive
+     * @return the number of elements in the range, or 0 if {@code fromValue} is not less than {@code toValue}
+     * @throws NullPointerException if {@code fromValue} or {@code toValue} is {@code null}
+     */
+    public int countRange(E fromValue, E toValue) {
+        return Math.max(0, lowerBound(toValue) - lowerBound(fromValue));
+    }
+
+    /**
+     * Copies the elements which are greater than or equal to {@code fromValue} and less than {@code toValue}
+     * into a new {@link ArrayIndexedCollection}, in sorted order.
+     *
+     * @param fromValue the lower bound, inclusive
+     * @param toValue   the upper bound, exclusive
+     * @return a new collection containing the elements in the range
+     * @throws NullPointerException if {@code fromValue} or {@code toValue} is {@code null}
+     */
+    public ArrayIndexedCollection<E> range(E fromValue, E toValue) {
+        int fromIndex = lowerBound(fromValue);
+        int toIndex = Math.max(fromIndex, lowerBound(toValue));
+
+        ArrayIndexedCollection<E> range = new ArrayIndexedCollection<>(Math.max(toIndex - fromIndex, 1));
+        for (int i = fromIndex; i < toIndex; i++)
+            range.add(elements[i]);
+
+        return range;
+    }
+
+    /**
+     * Removes the first element equal to the given value, found using binary search.
+     * <p>
+     * Invalidates existing {@link SortedArrayIndexedElementsGetter}s if an element is removed.
+     *
+     * @param value the value to be removed
+     * @return {@code true} if an element equal to {@code value} was found and removed, {@code false} otherwise
+     */
+    @Override
+    public boolean remove(Object value) {
+        int index = indexOf(value);
+
+        if (index == -1)
+            return false;
+
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Removes the element at the specified index.
+     * All elements that are currently after the index get shifted towards the start of the array.
+     * <p>
+     * Invalidates existing {@link SortedArrayIndexedElementsGetter}s.
+     *
+     * @param index the index at which to remove the element
+     * @throws IndexOutOfBoundsException if the index is less than 0 or if it is beyond the end of the collection
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Valid indices are 0 to " + (size - 1) + ", but " + index + " was passed.");
+
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        elements[size] = null;
+        modificationCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Invalidates existing {@link SortedArrayIndexedElementsGetter}s.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        modificationCount++;
+    }
+
+    /**
+     * Creates an {@link ElementsGetter} for the collection.
+     * <p>
+     * The elements are returned in sorted order.
+     *
+     * @return a new ElementsGetter
+     */
+    @Override
+    public ElementsGetter<E> createElementsGetter() {
+        return new SortedArrayIndexedElementsGetter<>(this);
+    }
+
+    /**
+     * Increases the size of the array {@value SortedArrayIndexedCollection#GROWTH_FACTOR} times
+     * (or more, if necessary) if it can't hold the given number of elements.
+     *
+     * @param capacity the number of elements the array has to be able to hold
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= elements.length)
+            return;
+
+        elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * GROWTH_FACTOR));
+    }
+
+    /**
+     * An implementation of {@link ElementsGetter} for this class.
+     *
+     * @param <E> the type of elements of the collection
+     */
+    private static class SortedArrayIndexedElementsGetter<E> implements ElementsGetter<E> {
+        /**
+         * The index of the first element which has not yet been returned by {@link #getNextElement()}.
+         */
+        private int currentIndex = 0;
+        /**
+         * The collection whose elements will be returned by this getter.
+         */
+        private final SortedArrayIndexedCollection<E> collection;
+        /**
+         * The {@link #modificationCount} at the moment of this {@link ElementsGetter}'s creation.
+         * <p>
+         * This is used to monitor for concurrent modifications.
+         */
+        private final long savedModificationCount;
+
+        /**
+         * Constructs a new {@link SortedArrayIndexedElementsGetter} for a given {@link SortedArrayIndexedCollection}.
+         *
+         * @param collection the collection whose elements will be returned by this getter
+         */
+        private SortedArrayIndexedElementsGetter(SortedArrayIndexedCollection<E> collection) {
+            this.collection = collection;
+            this.savedModificationCount = collection.modificationCount;
+        }
+
+        @Override
+        public boolean hasNextElement() {
+            if (collection.modificationCount != savedModificationCount)
+                throw new ConcurrentModificationException("The collection has been modified since the ElementsGetter has been constructed.");
+
+            return currentIndex != collection.size;
+        }
+
+        @Override
+        public E getNextElement() {
+            if (!hasNextElement())
+                throw new NoSuchElementException("There are no more elements in this collection.");
+
+            return collection.elements[currentIndex++];
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An unrolled-linked-list-backed collection.
+ * <p>
+ * Instead of one node per element, the elements are stored in chunks, each of which is a small array.
+ * The chunks are kept in order in an array, and their sizes are kept in a Fenwick tree, so that the chunk
+ * containing any index can be found, and the sizes updated, in logarithmic time.
+ * <p>
+ * With a chunk capacity of {@code B}, indexed access takes {@code O(log(n / B))} time,
+ * and inserting or removing an element takes {@code O(B + log(n / B))} time,
+ * since the element is shifted only within its chunk. Adding or removing a chunk at the end of the list
+ * also takes {@code O(log(n / B))} time. Splitting a full chunk, or merging or removing a chunk,
+ * in the middle of the list moves all chunks after it, which takes {@code O((n / B) log(n / B))} time.
+ * A chunk is only split when it is full, and the halves it is split into are only half full.
+ * <p>
+ * When the last chunk becomes empty, it is kept, so that removing and adding an element at a chunk boundary
+ * doesn't repeatedly drop and create a chunk. It is only removed once the chunk before it is half empty.
+ * <p>
+ * Iteration goes through the chunks' arrays, so it is almost as fast as iterating over an array.
+ * <p>
+ * This collection may contain duplicate elements, but not {@code null} references.
+ *
+ * @param <E> the type of objects to be stored in the collection
+ * @author Borna Cafuk
+ */
+public class UnrolledLinkedListIndexedCollection<E> implements List<E> {
+    /**
+     * The default capacity of each chunk when no capacity is specified in the constructor.
+     */
+    private static final int DEFAULT_CHUNK_CAPACITY = 64;
+    /**
+     * The initial length of the array holding the chunks.
+     */
+    private static final int INITIAL_CHUNK_ARRAY_LENGTH = 4;
+
+    /**
+     * The maximum number of elements in each chunk.
+     */
+    private final int chunkCapacity;
+    /**
+     * The number of elements currently contained in the collection.
+     */
+    private int size;
+    /**
+     * The chunks containing the elements, in order. Only the first {@link #chunkCount} are used,
+     * and none of them are empty, except possibly the last one.
+     */
+    private Chunk<E>[] chunks;
+    /**
+     * A Fenwick tree over the sizes of the chunks in {@link #chunks}, indexed from 1.
+     * <p>
+     * Only the first {@link #chunkCount} + 1 elements are used; the element at index {@code i}
+     * holds the total size of the chunks from {@code i - (i & -i)} to {@code i - 1}.
+     */
+    private int[] chunkSizeTree;
+    /**
+     * The number of chunks currently in use.
+     */
+    private int chunkCount;
+    /**
+     * A modification counter used in {@link UnrolledLinkedListElementsGetter} to check for concurrent modifications.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Constructs an empty collection with the default chunk capacity of
+     * {@value UnrolledLinkedListIndexedCollection#DEFAULT_CHUNK_CAPACITY}.
+     */
+    public UnrolledLinkedListIndexedCollection() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty collection with the specified chunk capacity.
+     * <p>
+     * Larger chunks make indexed access and iteration faster, but inserting and removing elements
+     * in the middle of a chunk slower. For very long lists, a chunk capacity around the square root
+     * of the expected size balances the two.
+     *
+     * @param chunkCapacity the maximum number of elements in each chunk; must be 2 or greater
+     * @throws IllegalArgumentException if the chunk capacity is less than 2
+     */
+    @SuppressWarnings("unchecked")
+    public UnrolledLinkedListIndexedCollection(int chunkCapacity) {
+        if (chunkCapacity < 2)
+            throw new IllegalArgumentException("The chunk capacity must be at least 2, but " + chunkCapacity + " was given.");
+
+        this.chunkCapacity = chunkCapacity;
+        size = 0;
+        chunks = (Chunk<E>[]) new Chunk[INITIAL_CHUNK_ARRAY_LENGTH];
+        chunkSizeTree = new int[INITIAL_CHUNK_ARRAY_LENGTH + 1];
+        chunkCount = 0;
+    }
+
+    /**
+     * Constructs an unrolled linked list collection from the elements of another collection.
+     *
+     * @param other the collection whose elements to insert into the new collection
+     * @throws NullPointerException if {@code other} is {@code null}
+     */
+    public UnrolledLinkedListIndexedCollection(Collection<? extends E> other) {
+        this();
+
+        addAll(other);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Adds an element to the end of the list.
+     * <p>
+     * Invalidates existing {@link UnrolledLinkedListElementsGetter}s.
+     *
+     * @param value the element to add
+     * @throws NullPointerException if the element is {@code null}
+     */
+    @Override
+    public void add(E value) {
+        Objects.requireNonNull(value, "null cannot be added to collection.");
+
+        if (chunkCount == 0 || chunks[chunkCount - 1].size == chunkCapacity)
+            insertChunk(chunkCount, new Chunk<>(chunkCapacity));
+
+        Chunk<E> lastChunk = chunks[chunkCount - 1];
+        lastChunk.elements[lastChunk.size++] = value;
+        updateChunkSize(chunkCount - 1, 1);
+
+        size++;
+        modificationCount++;
+    }
+
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Valid indices are 0 to " + (size - 1) + ", but " + index + " was passed.");
+
+        int chunkIndex = findChunk(index);
+        return chunks[chunkIndex].elements[index - chunkStart(chunkIndex)];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Invalidates existing {@link UnrolledLinkedListElementsGetter}s.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(chunks, 0, chunkCount, null);
+        chunkCount = 0;
+        size = 0;
+        modificationCount++;
+    }
+
+    @Override
+    public void insert(E value, int position) {
+        Objects.requireNonNull(value, "null cannot be inserted into collection.");
+
+        if (position < 0 || position > size)
+            throw new IndexOutOfBoundsException("Valid positions are 0 to " + size + ", but " + position + " was passed.");
+
+        if (position == size) {
+            add(value);
+            return;
+        }
+
+        int chunkIndex = findChunk(position);
+        int offset = position - chunkStart(chunkIndex);
+        Chunk<E> chunk = chunks[chunkIndex];
+
+        if (chunk.size == chunkCapacity) {
+            splitChunk(chunkIndex);
+
+            if (offset > chunk.size) {
+                offset -= chunk.size;
+                chunkIndex++;
+                chunk = chunks[chunkIndex];
+            }
+        }
+
+        System.arraycopy(chunk.elements, offset, chunk.elements, offset + 1, chunk.size - offset);
+        chunk.elements[offset] = value;
+        chunk.size++;
+        updateChunkSize(chunkIndex, 1);
+
+        size++;
+        modificationCount++;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (value == null)
+            return -1;
+
+        for (int i = 0, start = 0; i < chunkCount; start += chunks[i].size, i++) {
+            Chunk<E> chunk = chunks[i];
+
+            for (int j = 0; j < chunk.size; j++)
+                if (value.equals(chunk.elements[j]))
+                    return start + j;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Removes the first occurrence of an object from the collection.
+     * <p>
+     * Whether an object in the collection is equal to the parameter is determined using the
+     * {@link Object#equals(Object)} method.
+     * <p>
+     * Invalidates existing {@link UnrolledLinkedListElementsGetter}s.
+     *
+     * @param value the object to be removed
+     * @return {@code true} if an occurrence of {@code value} was found and removed, {@code false} otherwise
+     */
+    @Override
+    public boolean remove(Object value) {
+        if (value == null)
+            return false;
+
+        for (int i = 0; i < chunkCount; i++) {
+            Chunk<E> chunk = chunks[i];
+
+            for (int j = 0; j < chunk.size; j++) {
+                if (value.equals(chunk.elements[j])) {
+                    remove(i, j);
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void remove(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Valid indices are 0 to " + (size - 1) + ", but " + index + " was passed.");
+
+        int chunkIndex = findChunk(index);
+        remove(chunkIndex, index - chunkStart(chunkIndex));
+    }
+
+    /**
+     * Removes the element at the given offset within a chunk.
+     * <p>
+     * If the chunk becomes empty and it is not the last chunk, it is removed. If it becomes small enough
+     * to fit into one of its neighbours while leaving that neighbour at most half full, the two are merged.
+     * <p>
+     * Invalidates existing {@link UnrolledLinkedListElementsGetter}s.
+     *
+     * @param chunkIndex the index of the chunk in {@link #chunks}
+     * @param offset     the offset of the element within the chunk
+     */
+    private void remove(int chunkIndex, int offset) {
+        Chunk<E> chunk = chunks[chunkIndex];
+
+        System.arraycopy(chunk.elements, offset + 1, chunk.elements, offset, chunk.size - offset - 1);
+        chunk.size--;
+        chunk.elements[chunk.size] = null;
+        updateChunkSize(chunkIndex, -1);
+
+        if (chunk.size == 0 && chunkIndex + 1 < chunkCount)
+            removeChunk(chunkIndex);
+        else if (chunkIndex + 1 < chunkCount && chunk.size + chunks[chunkIndex + 1].size <= chunkCapacity / 2)
+            mergeWithNext(chunkIndex);
+        else if (chunkIndex > 0 && chunk.size + chunks[chunkIndex - 1].size <= chunkCapacity / 2)
+            mergeWithNext(chunkIndex - 1);
+
+        size--;
+        modificationCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+
+        for (int i = 0, start = 0; i < chunkCount; start += chunks[i].size, i++)
+            System.arraycopy(chunks[i].elements, 0, array, start, chunks[i].size);
+
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The elements are returned in order of increasing index.
+     */
+    @Override
+    public ElementsGetter<E> createElementsGetter() {
+        return new UnrolledLinkedListElementsGetter<>(this);
+    }
+
+    /**
+     * Finds the chunk containing the element at an index.
+     *
+     * @param index the index of the element; must be a valid index
+     * @return the index of the chunk in {@link #chunks}
+     */
+    private int findChunk(int index) {
+        int chunkIndex = 0;
+        int remaining = index;
+
+        // Descends the tree, skipping over chunks which end before the index
+        for (int step = Integer.highestOneBit(chunkCount); step > 0; step >>>= 1) {
+            int next = chunkIndex + step;
+
+            if (next <= chunkCount && chunkSizeTree[next] <= remaining) {
+                chunkIndex = next;
+                remaining -= chunkSizeTree[next];
+            }
+        }
+
+        return chunkIndex;
+    }
+
+    /**
+     * Calculates the index of the first element of a chunk.
+     *
+     * @param chunkIndex the index of the chunk in {@link #chunks}
+     * @return the total size of the chunks before it
+     */
+    private int chunkStart(int chunkIndex) {
+        int start = 0;
+
+        for (int i = chunkIndex; i > 0; i -= i & -i)
+            start += chunkSizeTree[i];
+
+        return start;
+    }
+
+    /**
+     * Updates {@link #chunkSizeTree} after the size of a chunk has changed.
+     *
+     * @param chunkIndex the index of the chunk in {@link #chunks}
+     * @param delta      the change in the size of the chunk
+     */
+    private void updateChunkSize(int chunkIndex, int delta) {
+        for (int i = chunkIndex + 1; i <= chunkCount; i += i & -i)
+            chunkSizeTree[i] += delta;
+    }
+
+    /**
+     * Recalculates the elements of {@link #chunkSizeTree} for the chunks from the given one to the last one.
+     * <p>
+     * This is done whenever chunks are added or removed, since that moves the following chunks.
+     * The elements for the chunks before the given one have to be up to date.
+     * Each element takes {@code O(log(n / B))} time, so adding or removing the last chunk is cheap.
+     *
+     * @param chunkIndex the index of the first chunk in {@link #chunks} whose element to recalculate
+     */
+    private void rebuildChunkSizeTree(int chunkIndex) {
+        for (int i = chunkIndex + 1; i <= chunkCount; i++) {
+            int total = chunks[i - 1].size;
+
+            // Adds the elements covering the rest of the range of this element
+            for (int j = i - 1; j > i - (i & -i); j -= j & -j)
+                total += chunkSizeTree[j];
+
+            chunkSizeTree[i] = total;
+        }
+    }
+
+    /**
+     * Splits a full chunk into two halves. The second half becomes a new chunk immediately after the first one.
+     *
+     * @param chunkIndex the index of the chunk in {@link #chunks}
+     */
+    private void splitChunk(int chunkIndex) {
+        Chunk<E> chunk = chunks[chunkIndex];
+        Chunk<E> newChunk = new Chunk<>(chunkCapacity);
+
+        int keptCount = chunk.size / 2;
+        int movedCount = chunk.size - keptCount;
+
+        System.arraycopy(chunk.elements, keptCount, newChunk.elements, 0, movedCount);
+        Arrays.fill(chunk.elements, keptCount, chunk.size, null);
+        chunk.size = keptCount;
+        newChunk.size = movedCount;
+        updateChunkSize(chunkIndex, -movedCount);
+
+        insertChunk(chunkIndex + 1, newChunk);
+    }
+
+    /**
+     * Moves all elements of the chunk following the given one into it, and removes the emptied chunk.
+     * <p>
+     * The caller has to ensure that the elements fit.
+     *
+     * @param chunkIndex the index of the chunk in {@link #chunks} into which to merge the next one
+     */
+    private void mergeWithNext(int chunkIndex) {
+        Chunk<E> chunk = chunks[chunkIndex];
+        Chunk<E> next = chunks[chunkIndex + 1];
+
+        System.arraycopy(next.elements, 0, chunk.elements, chunk.size, next.size);
+        chunk.size += next.size;
+        updateChunkSize(chunkIndex, next.size);
+
+        removeChunk(chunkIndex + 1);
+    }
+
+    /**
+     * Inserts a chunk into {@link #chunks}, growing the arrays if necessary.
+     * <p>
+     * The sizes of the chunks before it have to be up to date in {@link #chunkSizeTree}.
+     *
+     * @param chunkIndex the index at which to insert the chunk
+     * @param chunk      the chunk to insert
+     */
+    private void insertChunk(int chunkIndex, Chunk<E> chunk) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            chunkSizeTree = Arrays.copyOf(chunkSizeTree, chunks.length + 1);
+        }
+
+        System.arraycopy(chunks, chunkIndex, chunks, chunkIndex + 1, chunkCount - chunkIndex);
+
+        chunks[chunkIndex] = chunk;
+        chunkCount++;
+        rebuildChunkSizeTree(chunkIndex);
+    }
+
+    /**
+     * Removes a chunk from {@link #chunks}. The chunk has to be empty, or its elements have to have been moved
+     * into another chunk.
+     * <p>
+     * The sizes of the chunks before it have to be up to date in {@link #chunkSizeTree}.
+     *
+     * @param chunkIndex the index of the chunk to remove
+     */
+    private void removeChunk(int chunkIndex) {
+        System.arraycopy(chunks, chunkIndex + 1, chunks, chunkIndex, chunkCount - chunkIndex - 1);
+
+        chunkCount--;
+        chunks[chunkCount] = null;
+        rebuildChunkSizeTree(chunkIndex);
+    }
+
+    /**
+     * An implementation of {@link ElementsGetter} for this class.
+     *
+     * @param <E> the type of the elements
+     */
+    private static class UnrolledLinkedListElementsGetter<E> implements ElementsGetter<E> {
+        /**
+         * The index of the chunk containing the first element which has not yet been returned
+         * by {@link #getNextElement()}.
+         */
+        private int chunkIndex = 0;
+        /**
+         * The offset within the current chunk of the first element which has not yet been returned
+         * by {@link #getNextElement()}.
+         */
+        private int offset = 0;
+        /**
+         * The collection whose elements will be returned by this getter.
+         */
+        private UnrolledLinkedListIndexedCollection<E> collection;
+        /**
+         * The {@link #modificationCount} at the moment of this {@link ElementsGetter}'s creation.
+         * <p>
+         * This is used to monitor for concurrent modifications.
+         */
+        private long savedModificationCount;
+
+        /**
+         * Constructs a new {@link UnrolledLinkedListElementsGetter}
+         * for a given {@link UnrolledLinkedListIndexedCollection}.
+         *
+         * @param collection the collection whose elements will be returned by this getter
+         */
+        private UnrolledLinkedListElementsGetter(UnrolledLinkedListIndexedCollection<E> collection) {
+            this.collection = collection;
+            this.savedModificationCount = collection.modificationCount;
+        }
+
+        @Override
+        public boolean hasNextElement() {
+            if (collection.modificationCount != savedModificationCount)
+                throw new ConcurrentModificationException("The collection has been modified since the ElementsGetter has been constructed.");
+
+            // Only the last chunk can be empty, so the end is reached once there are no elements left in a chunk
+            return chunkIndex < collection.chunkCount && offset < collection.chunks[chunkIndex].size;
+        }
+
+        @Override
+        public E getNextElement() {
+            if (!hasNextElement())
+                throw new NoSuchElementException("There are no more elements in this collection.");
+
+            Chunk<E> chunk = collection.chunks[chunkIndex];
+            E value = chunk.elements[offset++];
+
+            if (offset == chunk.size) {
+                chunkIndex++;
+                offset = 0;
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * An internal class representing a chunk of the list.
+     *
+     * @param <E> the type of the values held by the chunk
+     */
+    private static class Chunk<E> {
+        /**
+         * The elements of the chunk. Unused indices are set to {@code null}.
+         */
+        public E[] elements;
+        /**
+         * The number of elements in the chunk.
+         */
+        public int size;
+
+        /**
+         * Initializes an empty chunk.
+         *
+         * @param capacity the maximum number of elements in the chunk
+         */
+        @SuppressWarnings("unchecked")
+        public Chunk(int capacity) {
+            this.elements = (E[]) new Object[capacity];
+            this.size = 0;
+        }
+    }
+}
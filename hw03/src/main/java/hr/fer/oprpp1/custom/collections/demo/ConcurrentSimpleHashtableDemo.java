@@ -0,0 +1,107 @@
+package hr.fer.oprpp1.custom.collections.demo;
+
+import hr.fer.oprpp1.custom.collections.ConcurrentSimpleHashtable;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A rough throughput comparison of {@link ConcurrentSimpleHashtable} and a {@link SimpleHashtable}
+ * guarded by a single lock, with several threads doing a mix of lookups and updates.
+ * <p>
+ * The optional first argument is the number of threads, which defaults to the number of available processors.
+ */
+public class ConcurrentSimpleHashtableDemo {
+    /**
+     * The number of distinct keys used by the threads.
+     */
+    private static final int KEY_COUNT = 100_000;
+    /**
+     * The number of operations done by each thread in each run.
+     */
+    private static final int OPERATIONS_PER_THREAD = 2_000_000;
+    /**
+     * The percentage of operations which are updates rather than lookups.
+     */
+    private static final int UPDATE_PERCENTAGE = 20;
+    /**
+     * The number of runs of each variant. The first runs are slower because the code isn't compiled yet.
+     */
+    private static final int RUNS = 5;
+
+    /**
+     * A single operation on a hashtable.
+     */
+    private interface Operation {
+        /**
+         * Performs a lookup or an update.
+         *
+         * @param key    the key to look up or update
+         * @param update {@code true} for an update, {@code false} for a lookup
+         */
+        void perform(Integer key, boolean update);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        Integer[] keys = new Integer[KEY_COUNT];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = i;
+
+        for (int run = 1; run <= RUNS; run++) {
+            SimpleHashtable<Integer, Integer> locked = new SimpleHashtable<>();
+            Object lock = new Object();
+            long lockedTime = measure(threadCount, keys, (key, update) -> {
+                synchronized (lock) {
+                    if (update)
+                        locked.put(key, key);
+                    else
+                        locked.get(key);
+                }
+            });
+
+            ConcurrentSimpleHashtable<Integer, Integer> concurrent = new ConcurrentSimpleHashtable<>();
+            long concurrentTime = measure(threadCount, keys, (key, update) -> {
+                if (update)
+                    concurrent.put(key, key);
+                else
+                    concurrent.get(key);
+            });
+
+            System.out.printf("Run %d, %d threads: locked SimpleHashtable %d ms, ConcurrentSimpleHashtable %d ms%n",
+                    run, threadCount, lockedTime / 1_000_000, concurrentTime / 1_000_000);
+        }
+    }
+
+    /**
+     * Runs the operations on the given number of threads and measures how long it takes for all of them to finish.
+     *
+     * @param threadCount the number of threads
+     * @param keys        the keys to use
+     * @param operation   the operation to perform
+     * @return the elapsed time in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    private static long measure(int threadCount, Integer[] keys, Operation operation) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++)
+                    operation.perform(keys[random.nextInt(keys.length)], random.nextInt(100) < UPDATE_PERCENTAGE);
+            }));
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+        return System.nanoTime() - start;
+    }
+}
@@ -2,6 +2,11 @@ package hr.fer.oprpp1.custom.collections;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ArrayIndexedCollectionTest {
@@ -439,6 +444,107 @@ class ArrayIndexedCollectionTest {
         assertArrayEquals(source.toArray(), collection.toArray());
     }
 
+    @Test
+    public void addAllFromLinkedList() {
+        final int elementCount = 100;
+        LinkedListIndexedCollection<Element> source = new LinkedListIndexedCollection<>(createCollection(elementCount));
+
+        ArrayIndexedCollection<Element> collection = new ArrayIndexedCollection<>(1);
+        collection.addAll(source);
+
+        assertEquals(elementCount, collection.size());
+        assertArrayEquals(source.toArray(), collection.toArray());
+    }
+
+    @Test
+    public void addAllToItself() {
+        ArrayIndexedCollection<Element> collection = createCollection(10);
+        collection.addAll(collection);
+
+        assertEquals(20, collection.size());
+        for (int i = 0; i < 20; i++)
+            assertEquals(i % 10, collection.get(i).uniqueID);
+    }
+
+    @Test
+    public void insertAll() {
+        ArrayIndexedCollection<Element> collection = createCollection(10);
+        ArrayIndexedCollection<Element> source = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 5; i++)
+            source.add(new Element(100 + i, 100 + i));
+
+        collection.insertAll(source, 3);
+
+        assertEquals(15, collection.size());
+        int[] expected = {0, 1, 2, 100, 101, 102, 103, 104, 3, 4, 5, 6, 7, 8, 9};
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], collection.get(i).uniqueID);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.insertAll(source, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.insertAll(source, 16));
+        assertThrows(NullPointerException.class, () -> collection.insertAll(null, 0));
+    }
+
+    @Test
+    public void insertAllIntoItself() {
+        ArrayIndexedCollection<Element> collection = createCollection(4);
+        collection.insertAll(collection, 1);
+
+        int[] expected = {0, 0, 1, 2, 3, 1, 2, 3};
+        assertEquals(expected.length, collection.size());
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], collection.get(i).uniqueID);
+    }
+
+    @Test
+    public void insertAllInvalidatesElementsGetter() {
+        ArrayIndexedCollection<Element> collection = new ArrayIndexedCollection<>(100);
+        collection.add(new Element(0, 0));
+        ElementsGetter<Element> getter = collection.createElementsGetter();
+
+        collection.insertAll(createCollection(3), 0);
+
+        assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+    }
+
+    @Test
+    public void removeRange() {
+        ArrayIndexedCollection<Element> collection = createCollection(10);
+
+        collection.removeRange(2, 5);
+        collection.removeRange(4, 4);
+        collection.removeRange(5, 7);
+
+        int[] expected = {0, 1, 5, 6, 7};
+        assertEquals(expected.length, collection.size());
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], collection.get(i).uniqueID);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.removeRange(-1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.removeRange(3, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.removeRange(0, 6));
+    }
+
+    @Test
+    public void retainAll() {
+        ArrayIndexedCollection<Element> collection = createCollection(10);
+        LinkedListIndexedCollection<Element> retained = new LinkedListIndexedCollection<>();
+        retained.add(new Element(-1, 1));
+        retained.add(new Element(-8, 8));
+        retained.add(new Element(-4, 4));
+
+        assertTrue(collection.retainAll(retained));
+        assertFalse(collection.retainAll(retained));
+
+        int[] expected = {1, 4, 8};
+        assertEquals(expected.length, collection.size());
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], collection.get(i).uniqueID);
+
+        assertTrue(collection.retainAll(new ArrayIndexedCollection<>()));
+        assertTrue(collection.isEmpty());
+    }
+
     @Test
     public void copyConstructor() {
         final int elementCount = 100;
@@ -473,4 +579,143 @@ class ArrayIndexedCollectionTest {
                 () -> new ArrayIndexedCollection<Element>(null, 100)
         );
     }
+
+    @Test
+    public void stream() {
+        ArrayIndexedCollection<Element> collection = createCollection(1000);
+
+        assertEquals(
+                IntStream.range(0, 1000).filter(i -> i % 3 == 0).sum(),
+                collection.stream().filter(e -> e.uniqueID % 3 == 0).mapToInt(e -> e.uniqueID).sum()
+        );
+    }
+
+    @Test
+    public void parallelStreamKeepsOrder() {
+        ArrayIndexedCollection<Element> collection = createCollection(10_000);
+
+        java.util.List<Integer> ids = collection.parallelStream()
+                .filter(e -> e.uniqueID % 2 == 0)
+                .map(e -> e.uniqueID)
+                .collect(Collectors.toList());
+
+        assertEquals(5000, ids.size());
+        for (int i = 0; i < ids.size(); i++)
+            assertEquals(2 * i, ids.get(i));
+    }
+
+    @Test
+    public void spliteratorSplitsExactly() {
+        ArrayIndexedCollection<Element> collection = createCollection(101);
+        Spliterator<Element> spliterator = collection.spliterator();
+
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(101, spliterator.getExactSizeIfKnown());
+
+        Spliterator<Element> prefix = spliterator.trySplit();
+        assertEquals(50, prefix.getExactSizeIfKnown());
+        assertEquals(51, spliterator.getExactSizeIfKnown());
+
+        assertTrue(prefix.tryAdvance(e -> assertEquals(0, e.uniqueID)));
+        assertTrue(spliterator.tryAdvance(e -> assertEquals(50, e.uniqueID)));
+        assertEquals(49, prefix.estimateSize());
+    }
+
+    @Test
+    public void spliteratorConcurrentModification() {
+        ArrayIndexedCollection<Element> collection = createCollection(10);
+        Spliterator<Element> spliterator = collection.spliterator();
+
+        collection.insert(new Element(1, 1), 0);
+
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(e -> {}));
+        assertThrows(
+                ConcurrentModificationException.class,
+                () -> collection.stream().forEach(e -> collection.remove(0))
+        );
+    }
+
+    @Test
+    public void addAllSatisfyingFromParallelStream() {
+        ArrayIndexedCollection<Element> source = createCollection(1000);
+        ArrayIndexedCollection<Element> target = new ArrayIndexedCollection<>();
+
+        source.parallelStream().filter(e -> e.uniqueID % 10 == 0).forEachOrdered(target::add);
+
+        assertEquals(100, target.size());
+        assertEquals(990, target.get(99).uniqueID);
+    }
+
+    private static int[] uniqueIDs(ElementsGetter<Element> getter) {
+        java.util.List<Integer> ids = new java.util.ArrayList<>();
+        getter.processRemaining(e -> ids.add(e.uniqueID));
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    public void snapshotModeIsOptIn() {
+        ArrayIndexedCollection<Element> collection = createCollection(3);
+        assertFalse(collection.isSnapshotMode());
+
+        ElementsGetter<Element> getter = collection.createElementsGetter();
+        collection.remove(0);
+        assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+    }
+
+    @Test
+    public void snapshotIgnoresAppends() {
+        ArrayIndexedCollection<Element> collection = new ArrayIndexedCollection<>(100);
+        collection.setSnapshotMode(true);
+        for (int i = 0; i < 3; i++)
+            collection.add(new Element(-i, i));
+
+        ElementsGetter<Element> getter = collection.createElementsGetter();
+        for (int i = 3; i < 200; i++)
+            collection.add(new Element(-i, i));
+
+        assertArrayEquals(new int[]{0, 1, 2}, uniqueIDs(getter));
+        assertEquals(200, collection.size());
+    }
+
+    @Test
+    public void snapshotSurvivesInPlaceModifications() {
+        ArrayIndexedCollection<Element> collection = createCollection(5);
+        collection.setSnapshotMode(true);
+
+        ElementsGetter<Element> first = collection.createElementsGetter();
+        collection.insert(new Element(10, 10), 0);
+        ElementsGetter<Element> second = collection.createElementsGetter();
+        collection.remove(collection.size() - 1);
+        collection.removeRange(1, 3);
+        ElementsGetter<Element> third = collection.createElementsGetter();
+        collection.retainAll(createCollection(1));
+        ElementsGetter<Element> fourth = collection.createElementsGetter();
+        collection.clear();
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, uniqueIDs(first));
+        assertArrayEquals(new int[]{10, 0, 1, 2, 3, 4}, uniqueIDs(second));
+        assertArrayEquals(new int[]{10, 2, 3}, uniqueIDs(third));
+        assertArrayEquals(new int[0], uniqueIDs(fourth));
+        assertTrue(collection.isEmpty());
+    }
+
+    @Test
+    public void snapshotSpliterator() {
+        ArrayIndexedCollection<Element> collection = createCollection(100);
+        collection.setSnapshotMode(true);
+
+        Spliterator<Element> spliterator = collection.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.IMMUTABLE | Spliterator.SIZED));
+
+        collection.remove(0);
+        collection.add(new Element(1000, 1000));
+
+        int[] sum = {0};
+        spliterator.forEachRemaining(e -> sum[0] += e.uniqueID);
+        assertEquals(4950, sum[0]);
+
+        // A stream over a snapshot can modify the collection it came from
+        collection.stream().forEach(e -> collection.remove(0));
+        assertTrue(collection.isEmpty());
+    }
 }
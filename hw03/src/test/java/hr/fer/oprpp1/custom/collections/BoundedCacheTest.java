@@ -0,0 +1,201 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+    @Test
+    public void testConstructorWithIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, String>(0, BoundedCache.EvictionPolicy.LRU));
+        assertThrows(NullPointerException.class, () -> new BoundedCache<String, String>(10, null));
+        assertThrows(NullPointerException.class, () -> new BoundedCache<String, String>(10, BoundedCache.EvictionPolicy.LRU, null));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, String>(10, -1, BoundedCache.EvictionPolicy.LRU, (key, value) -> 1));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(100, BoundedCache.EvictionPolicy.LRU);
+
+        for (int i = 0; i < 100; i++)
+            assertNull(cache.put("Key" + i, i));
+
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, cache.put("Key" + i, -i));
+
+        assertEquals(100, cache.size());
+        assertEquals(-99, cache.get("Key99"));
+        assertNull(cache.get("Key100"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testNullKeysAndValues() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, BoundedCache.EvictionPolicy.LRU);
+
+        assertThrows(NullPointerException.class, () -> cache.put(null, 0));
+        assertThrows(NullPointerException.class, () -> cache.put("Key", null));
+        assertNull(cache.get(null));
+        assertFalse(cache.containsKey(null));
+        assertNull(cache.remove(null));
+    }
+
+    @Test
+    public void testLruEviction() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(3, BoundedCache.EvictionPolicy.LRU);
+
+        cache.put("A", 1);
+        cache.put("B", 2);
+        cache.put("C", 3);
+        cache.get("A");
+        cache.put("D", 4);
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.containsKey("A"));
+        assertFalse(cache.containsKey("B"));
+        assertTrue(cache.containsKey("C"));
+        assertTrue(cache.containsKey("D"));
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.put("C", 33);
+        cache.put("E", 5);
+
+        assertFalse(cache.containsKey("A"));
+        assertEquals(33, cache.get("C"));
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testWeights() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, BoundedCache.EvictionPolicy.LRU, (key, value) -> value.length());
+
+        cache.put("A", "aaaa");
+        cache.put("B", "bbbb");
+        assertEquals(8, cache.getTotalWeight());
+
+        cache.put("C", "cccccc");
+        assertFalse(cache.containsKey("A"));
+        assertTrue(cache.containsKey("B"));
+        assertEquals(10, cache.getTotalWeight());
+
+        cache.put("D", "d");
+        assertFalse(cache.containsKey("B"));
+        assertEquals(7, cache.getTotalWeight());
+
+        // An entry heavier than the whole cache replaces the existing one, but is not stored
+        cache.put("C", "ccccccccccc");
+        assertFalse(cache.containsKey("C"));
+        assertTrue(cache.containsKey("D"));
+        assertEquals(1, cache.getTotalWeight());
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new BoundedCache<String, String>(10, BoundedCache.EvictionPolicy.LRU, (key, value) -> -1).put("A", "a")
+        );
+    }
+
+    @Test
+    public void testTinyLfuKeepsFrequentEntries() {
+        BoundedCache<Integer, Integer> lru = new BoundedCache<>(100, BoundedCache.EvictionPolicy.LRU);
+        BoundedCache<Integer, Integer> tinyLfu = new BoundedCache<>(100, BoundedCache.EvictionPolicy.TINY_LFU);
+
+        for (BoundedCache<Integer, Integer> cache : java.util.List.of(lru, tinyLfu)) {
+            for (int round = 0; round < 5; round++)
+                for (int i = 0; i < 100; i++)
+                    cache.computeIfAbsent(i, key -> key);
+
+            // A scan over keys which are used only once
+            for (int i = 1000; i < 1200; i++)
+                cache.computeIfAbsent(i, key -> key);
+        }
+
+        int lruHot = 0;
+        int tinyLfuHot = 0;
+        for (int i = 0; i < 100; i++) {
+            if (lru.containsKey(i))
+                lruHot++;
+            if (tinyLfu.containsKey(i))
+                tinyLfuHot++;
+        }
+
+        assertEquals(0, lruHot);
+        assertEquals(100, tinyLfuHot);
+        assertEquals(100, tinyLfu.size());
+    }
+
+    @Test
+    public void testUnboundedTinyLfu() {
+        BoundedCache<String, String> cache = new BoundedCache<>(Long.MAX_VALUE, BoundedCache.EvictionPolicy.TINY_LFU);
+
+        assertNull(cache.put("a", "b"));
+        assertEquals("b", cache.get("a"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testWeightedTinyLfuKeepsFrequentEntries() {
+        // The sketch starts small and has to grow to tell the frequent keys apart from the scanned ones
+        BoundedCache<Integer, String> cache = new BoundedCache<>(
+                50_000, BoundedCache.EvictionPolicy.TINY_LFU, (key, value) -> value.length()
+        );
+        BoundedCache<Integer, String> sized = new BoundedCache<>(
+                50_000, 5_000, BoundedCache.EvictionPolicy.TINY_LFU, (key, value) -> value.length()
+        );
+
+        for (BoundedCache<Integer, String> c : java.util.List.of(cache, sized)) {
+            for (int round = 0; round < 5; round++)
+                for (int i = 0; i < 5_000; i++)
+                    c.computeIfAbsent(i, key -> "0123456789");
+
+            for (int i = 100_000; i < 110_000; i++)
+                c.computeIfAbsent(i, key -> "0123456789");
+
+            int hot = 0;
+            for (int i = 0; i < 5_000; i++)
+                if (c.containsKey(i))
+                    hot++;
+
+            // A few scanned keys may collide with frequent keys in every row of the sketch and replace them
+            assertTrue(hot >= 4_950, "Only " + hot + " frequent entries were kept.");
+            assertEquals(50_000, c.getTotalWeight());
+        }
+    }
+
+    @Test
+    public void testComputeIfAbsentAndStatistics() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, BoundedCache.EvictionPolicy.LRU);
+
+        assertEquals(5, cache.computeIfAbsent("Hello", String::length));
+        assertEquals(5, cache.computeIfAbsent("Hello", key -> fail("The key is already in the cache")));
+        assertNull(cache.computeIfAbsent("Absent", key -> null));
+        assertFalse(cache.containsKey("Absent"));
+        assertNull(cache.get("Other"));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, BoundedCache.EvictionPolicy.LRU);
+
+        for (int i = 0; i < 10; i++)
+            cache.put("Key" + i, i);
+
+        assertEquals(5, cache.remove("Key5"));
+        assertNull(cache.remove("Key5"));
+        assertEquals(9, cache.size());
+        assertEquals(9, cache.getTotalWeight());
+
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.getTotalWeight());
+
+        for (int i = 0; i < 20; i++)
+            cache.put("Key" + i, i);
+        assertEquals(10, cache.size());
+        assertTrue(cache.containsKey("Key19"));
+        assertFalse(cache.containsKey("Key9"));
+    }
+}
@@ -0,0 +1,200 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentSimpleHashtableTest {
+    @Test
+    public void testDefaultConstructor() {
+        ConcurrentSimpleHashtable<String, Integer> hashtable = new ConcurrentSimpleHashtable<>();
+        assertTrue(hashtable.isEmpty());
+    }
+
+    @Test
+    public void testConstructorWithIllegalArguments() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ConcurrentSimpleHashtable<String, Integer>(0)
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ConcurrentSimpleHashtable<String, Integer>(16, 0)
+        );
+    }
+
+    @Test
+    public void testPutAndGet() {
+        ConcurrentSimpleHashtable<String, Integer> hashtable = new ConcurrentSimpleHashtable<>(1, 4);
+
+        for (int i = 0; i < 1000; i++) {
+            assertNull(hashtable.put("Key" + i, i));
+            assertEquals(i + 1, hashtable.size());
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, hashtable.get("Key" + i));
+            assertEquals(i, hashtable.put("Key" + i, -i));
+        }
+
+        assertEquals(1000, hashtable.size());
+        assertEquals(-999, hashtable.get("Key999"));
+        assertNull(hashtable.get("Key1000"));
+    }
+
+    @Test
+    public void testNullKeysAndValues() {
+        ConcurrentSimpleHashtable<String, Integer> hashtable = new ConcurrentSimpleHashtable<>();
+
+        assertThrows(NullPointerException.class, () -> hashtable.put(null, 0));
+        assertThrows(NullPointerException.class, () -> hashtable.put("Key", null));
+        assertNull(hashtable.get(null));
+        assertFalse(hashtable.containsKey(null));
+        assertNull(hashtable.remove(null));
+    }
+
+    @Test
+    public void testRemove() {
+        ConcurrentSimpleHashtable<String, Integer> hashtable = new ConcurrentSimpleHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(hashtable.containsKey("Key" + i));
+            assertEquals(i, hashtable.remove("Key" + i));
+            assertFalse(hashtable.containsKey("Key" + i));
+            assertNull(hashtable.remove("Key" + i));
+        }
+
+        assertTrue(hashtable.isEmpty());
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        ConcurrentSimpleHashtable<String, Integer> hashtable = new ConcurrentSimpleHashtable<>();
+
+        assertNull(hashtable.putIfAbsent("Key", 1));
+        assertEquals(1, hashtable.putIfAbsent("Key", 2));
+        assertEquals(1, hashtable.get("Key"));
+    }
+
+    @Test
+    public void testCompute() {
+        ConcurrentSimpleHashtable<String, Integer> hashtable = new ConcurrentSimpleHashtable<>();
+
+        assertEquals(1, hashtable.compute("Key", (k, v) -> v == null ? 1 : v + 1));
+        assertEquals(2, hashtable.compute("Key", (k, v) -> v == null ? 1 : v + 1));
+        assertEquals(2, hashtable.get("Key"));
+
+        assertNull(hashtable.compute("Key", (k, v) -> null));
+        assertFalse(hashtable.containsKey("Key"));
+        assertTrue(hashtable.isEmpty());
+
+        assertEquals(5, hashtable.computeIfAbsent("Other", String::length));
+        assertEquals(5, hashtable.computeIfAbsent("Other", k -> fail("The key already exists")));
+        assertNull(hashtable.computeIfAbsent("Absent", k -> null));
+        assertFalse(hashtable.containsKey("Absent"));
+    }
+
+    @Test
+    public void testConcurrentCompute() throws InterruptedException {
+        ConcurrentSimpleHashtable<Integer, Integer> hashtable = new ConcurrentSimpleHashtable<>();
+        Thread[] threads = new Thread[8];
+
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++)
+                    hashtable.compute(i % 100, (k, v) -> v == null ? 1 : v + 1);
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        assertEquals(100, hashtable.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(threads.length * 100, hashtable.get(i));
+    }
+
+    @Test
+    public void testIterator() {
+        ConcurrentSimpleHashtable<String, Integer> hashtable = new ConcurrentSimpleHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        Set<String> iteratedKeys = new HashSet<>();
+        for (ConcurrentSimpleHashtable.Entry<String, Integer> entry : hashtable) {
+            assertEquals("Key" + entry.getValue(), entry.getKey());
+            assertTrue(iteratedKeys.add(entry.getKey()));
+        }
+
+        assertEquals(100, iteratedKeys.size());
+
+        Iterator<ConcurrentSimpleHashtable.Entry<String, Integer>> iterator = hashtable.iterator();
+        while (iterator.hasNext())
+            iterator.next();
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void testIteratorWithConcurrentModification() {
+        ConcurrentSimpleHashtable<String, Integer> hashtable = new ConcurrentSimpleHashtable<>(1, 1);
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        Set<String> iteratedKeys = new HashSet<>();
+        Iterator<ConcurrentSimpleHashtable.Entry<String, Integer>> iterator = hashtable.iterator();
+
+        // Adding entries (and resizing) while iterating must not throw or return an existing entry twice
+        for (int i = 100; iterator.hasNext(); i++) {
+            String key = iterator.next().getKey();
+            assertTrue(iteratedKeys.add(key));
+            hashtable.put("Key" + i, i);
+        }
+
+        for (int i = 0; i < 100; i++)
+            assertTrue(iteratedKeys.contains("Key" + i));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        ConcurrentSimpleHashtable<String, Integer> hashtable = new ConcurrentSimpleHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        Iterator<ConcurrentSimpleHashtable.Entry<String, Integer>> iterator = hashtable.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() % 2 == 0) {
+                iterator.remove();
+                assertThrows(IllegalStateException.class, iterator::remove);
+            }
+        }
+
+        assertEquals(50, hashtable.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i % 2 != 0, hashtable.containsKey("Key" + i));
+    }
+
+    @Test
+    public void testClear() {
+        ConcurrentSimpleHashtable<String, Integer> hashtable = new ConcurrentSimpleHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        hashtable.clear();
+
+        assertTrue(hashtable.isEmpty());
+        assertEquals(0, hashtable.size());
+        assertFalse(hashtable.containsValue(5));
+    }
+}
@@ -0,0 +1,68 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleArrayIndexedCollectionTest {
+    private DoubleArrayIndexedCollection createCollection(int elementCount) {
+        DoubleArrayIndexedCollection collection = new DoubleArrayIndexedCollection(1);
+
+        for (int i = 0; i < elementCount; i++)
+            collection.add(i / 2.0);
+
+        return collection;
+    }
+
+    @Test
+    public void addAndGet() {
+        DoubleArrayIndexedCollection collection = createCollection(100);
+
+        assertEquals(100, collection.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i / 2.0, collection.get(i));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.get(100));
+    }
+
+    @Test
+    public void insertAndRemove() {
+        DoubleArrayIndexedCollection collection = createCollection(3);
+
+        collection.insert(-1.5, 1);
+        collection.remove(0);
+        assertTrue(collection.removeValue(1.0));
+
+        assertArrayEquals(new double[]{-1.5, 0.5}, collection.toArray());
+    }
+
+    @Test
+    public void indexOfSpecialValues() {
+        DoubleArrayIndexedCollection collection = new DoubleArrayIndexedCollection();
+        collection.add(0.0);
+        collection.add(Double.NaN);
+
+        assertEquals(1, collection.indexOf(Double.NaN));
+        assertEquals(0, collection.indexOf(0.0));
+        assertEquals(-1, collection.indexOf(-0.0));
+        assertFalse(collection.contains(-0.0));
+    }
+
+    @Test
+    public void elementsGetter() {
+        DoubleArrayIndexedCollection collection = createCollection(4);
+        DoubleElementsGetter getter = collection.createElementsGetter();
+
+        assertEquals(0.0, getter.getNextDouble());
+        assertEquals(0.5, getter.getNextElement());
+
+        double[] sum = {0};
+        getter.processRemainingDouble(value -> sum[0] += value);
+        assertEquals(2.5, sum[0]);
+
+        collection.clear();
+        assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+    }
+}
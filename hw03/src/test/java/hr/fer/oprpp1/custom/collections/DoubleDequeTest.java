@@ -0,0 +1,54 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleDequeTest {
+    @Test
+    public void stackOperations() {
+        DoubleDeque deque = new DoubleDeque(1, true);
+
+        for (int i = 0; i < 100; i++)
+            deque.push(i / 2.0);
+
+        assertEquals(49.5, deque.peek());
+        for (int i = 99; i >= 0; i--)
+            assertEquals(i / 2.0, deque.pop());
+
+        assertThrows(NoSuchElementException.class, deque::pop);
+    }
+
+    @Test
+    public void bothEnds() {
+        DoubleDeque deque = new DoubleDeque();
+
+        deque.addFirst(1);
+        deque.addLast(2);
+        deque.addFirst(0);
+
+        assertArrayEquals(new double[]{0, 1, 2}, deque.toArray());
+        assertEquals(0, deque.removeFirst());
+        assertEquals(2, deque.removeLast());
+        assertEquals(1, deque.peekFirst());
+        assertEquals(1, deque.peekLast());
+    }
+
+    @Test
+    public void bulkOperations() {
+        DoubleDeque deque = new DoubleDeque(4, false);
+        deque.addFirst(-1);
+
+        deque.pushAll(1, 2, 3, 4, 5);
+        assertArrayEquals(new double[]{-1, 1, 2, 3, 4, 5}, deque.toArray());
+
+        assertArrayEquals(new double[]{5, 4}, deque.popN(2));
+        assertThrows(NoSuchElementException.class, () -> deque.popN(5));
+        assertArrayEquals(new double[]{3, 2, 1, -1}, deque.popN(4));
+
+        deque.pushAll();
+        assertTrue(deque.isEmpty());
+    }
+}
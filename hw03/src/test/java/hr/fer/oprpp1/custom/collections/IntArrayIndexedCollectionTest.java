@@ -0,0 +1,182 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntArrayIndexedCollectionTest {
+    private IntArrayIndexedCollection createCollection(int elementCount) {
+        IntArrayIndexedCollection collection = new IntArrayIndexedCollection(1);
+
+        for (int i = 0; i < elementCount; i++)
+            collection.add(i * 10);
+
+        return collection;
+    }
+
+    @Test
+    public void defaultConstructor() {
+        IntArrayIndexedCollection collection = new IntArrayIndexedCollection();
+        assertTrue(collection.isEmpty());
+        assertEquals(0, collection.size());
+    }
+
+    @Test
+    public void illegalInitialCapacity() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new IntArrayIndexedCollection(0)
+        );
+    }
+
+    @Test
+    public void copyConstructor() {
+        IntArrayIndexedCollection original = createCollection(20);
+        IntArrayIndexedCollection copy = new IntArrayIndexedCollection(original);
+
+        assertArrayEquals(original.toArray(), copy.toArray());
+
+        copy.add(-1);
+        assertEquals(20, original.size());
+        assertEquals(21, copy.size());
+
+        assertEquals(0, new IntArrayIndexedCollection(new IntArrayIndexedCollection()).size());
+    }
+
+    @Test
+    public void addAndGet() {
+        IntArrayIndexedCollection collection = createCollection(100);
+
+        assertEquals(100, collection.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i * 10, collection.get(i));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.get(100));
+    }
+
+    @Test
+    public void addAll() {
+        IntArrayIndexedCollection collection = createCollection(3);
+        collection.addAll(createCollection(20));
+
+        assertEquals(23, collection.size());
+        assertEquals(20, collection.get(2));
+        assertEquals(0, collection.get(3));
+        assertEquals(190, collection.get(22));
+
+        assertThrows(NullPointerException.class, () -> collection.addAll(null));
+    }
+
+    @Test
+    public void insert() {
+        IntArrayIndexedCollection collection = createCollection(3);
+
+        collection.insert(-1, 0);
+        collection.insert(-2, 2);
+        collection.insert(-3, collection.size());
+
+        assertArrayEquals(new int[]{-1, 0, -2, 10, 20, -3}, collection.toArray());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.insert(5, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.insert(5, 7));
+    }
+
+    @Test
+    public void indexOfAndContains() {
+        IntArrayIndexedCollection collection = createCollection(5);
+        collection.add(20);
+
+        assertEquals(2, collection.indexOf(20));
+        assertEquals(-1, collection.indexOf(15));
+        assertTrue(collection.contains(40));
+        assertFalse(collection.contains(50));
+    }
+
+    @Test
+    public void remove() {
+        IntArrayIndexedCollection collection = createCollection(5);
+
+        collection.remove(0);
+        collection.remove(collection.size() - 1);
+        assertTrue(collection.removeValue(20));
+        assertFalse(collection.removeValue(20));
+
+        assertArrayEquals(new int[]{10, 30}, collection.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.remove(2));
+    }
+
+    @Test
+    public void clear() {
+        IntArrayIndexedCollection collection = createCollection(5);
+        collection.clear();
+
+        assertTrue(collection.isEmpty());
+        assertEquals(0, collection.toArray().length);
+    }
+
+    @Test
+    public void forEach() {
+        IntArrayIndexedCollection collection = createCollection(10);
+        int[] sum = {0};
+
+        collection.forEach(value -> sum[0] += value);
+
+        assertEquals(450, sum[0]);
+    }
+
+    @Test
+    public void elementsGetter() {
+        IntArrayIndexedCollection collection = createCollection(3);
+        IntElementsGetter getter = collection.createElementsGetter();
+
+        assertEquals(0, getter.getNextInt());
+        assertEquals(10, getter.getNextElement());
+        assertTrue(getter.hasNextElement());
+        assertEquals(20, getter.getNextInt());
+        assertFalse(getter.hasNextElement());
+        assertThrows(NoSuchElementException.class, getter::getNextInt);
+    }
+
+    @Test
+    public void elementsGetterProcessRemaining() {
+        IntArrayIndexedCollection collection = createCollection(5);
+        IntElementsGetter getter = collection.createElementsGetter();
+        getter.getNextInt();
+
+        IntArrayIndexedCollection copy = new IntArrayIndexedCollection();
+        getter.processRemainingInt(copy::add);
+        assertArrayEquals(new int[]{10, 20, 30, 40}, copy.toArray());
+
+        // The boxing overload inherited from ElementsGetter must work as well
+        getter = collection.createElementsGetter();
+        ArrayIndexedCollection<Integer> boxed = new ArrayIndexedCollection<>();
+        getter.processRemaining(boxed::add);
+        assertEquals(5, boxed.size());
+    }
+
+    @Test
+    public void elementsGetterConcurrentModification() {
+        IntArrayIndexedCollection collection = createCollection(3);
+        IntElementsGetter getter = collection.createElementsGetter();
+
+        collection.insert(5, 0);
+
+        assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+        assertThrows(ConcurrentModificationException.class, getter::getNextInt);
+        assertThrows(ConcurrentModificationException.class, () -> getter.processRemainingInt(value -> {}));
+    }
+
+    @Test
+    public void forEachWithModifyingProcessor() {
+        IntArrayIndexedCollection collection = createCollection(3);
+
+        assertThrows(
+                ConcurrentModificationException.class,
+                () -> collection.forEach(value -> collection.insert(value, 0))
+        );
+    }
+}
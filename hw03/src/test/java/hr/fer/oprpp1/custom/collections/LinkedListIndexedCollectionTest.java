@@ -2,6 +2,8 @@ package hr.fer.oprpp1.custom.collections;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.*;
 
 class LinkedListIndexedCollectionTest {
@@ -438,4 +440,30 @@ class LinkedListIndexedCollectionTest {
                 () -> new LinkedListIndexedCollection<Element>(null)
         );
     }
+
+    @Test
+    public void parallelStreamKeepsOrder() {
+        LinkedListIndexedCollection<Element> collection = createCollection(5000);
+
+        java.util.List<Integer> ids = collection.parallelStream()
+                .map(e -> e.uniqueID)
+                .collect(Collectors.toList());
+
+        assertEquals(5000, ids.size());
+        for (int i = 0; i < ids.size(); i++)
+            assertEquals(i, ids.get(i));
+    }
+
+    @Test
+    public void spliteratorSize() {
+        LinkedListIndexedCollection<Element> collection = createCollection(5000);
+        Spliterator<Element> spliterator = collection.spliterator();
+
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertEquals(5000, spliterator.getExactSizeIfKnown());
+
+        Spliterator<Element> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(5000, prefix.getExactSizeIfKnown() + spliterator.estimateSize());
+    }
 }
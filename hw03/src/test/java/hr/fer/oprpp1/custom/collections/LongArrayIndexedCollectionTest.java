@@ -0,0 +1,194 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongArrayIndexedCollectionTest {
+    private LongArrayIndexedCollection createCollection(int elementCount) {
+        LongArrayIndexedCollection collection = new LongArrayIndexedCollection(1);
+
+        for (int i = 0; i < elementCount; i++)
+            collection.add(i * 10L);
+
+        return collection;
+    }
+
+    @Test
+    public void defaultConstructor() {
+        LongArrayIndexedCollection collection = new LongArrayIndexedCollection();
+        assertTrue(collection.isEmpty());
+        assertEquals(0, collection.size());
+    }
+
+    @Test
+    public void illegalInitialCapacity() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new LongArrayIndexedCollection(0)
+        );
+    }
+
+    @Test
+    public void copyConstructor() {
+        LongArrayIndexedCollection original = createCollection(20);
+        LongArrayIndexedCollection copy = new LongArrayIndexedCollection(original);
+
+        assertArrayEquals(original.toArray(), copy.toArray());
+
+        copy.add(-1);
+        assertEquals(20, original.size());
+        assertEquals(21, copy.size());
+
+        assertEquals(0, new LongArrayIndexedCollection(new LongArrayIndexedCollection()).size());
+    }
+
+    @Test
+    public void addAndGet() {
+        LongArrayIndexedCollection collection = createCollection(100);
+
+        assertEquals(100, collection.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i * 10, collection.get(i));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.get(100));
+    }
+
+    @Test
+    public void addAll() {
+        LongArrayIndexedCollection collection = createCollection(3);
+        collection.addAll(createCollection(20));
+
+        assertEquals(23, collection.size());
+        assertEquals(20, collection.get(2));
+        assertEquals(0, collection.get(3));
+        assertEquals(190, collection.get(22));
+
+        assertThrows(NullPointerException.class, () -> collection.addAll(null));
+    }
+
+    @Test
+    public void insert() {
+        LongArrayIndexedCollection collection = createCollection(3);
+
+        collection.insert(-1, 0);
+        collection.insert(-2, 2);
+        collection.insert(-3, collection.size());
+
+        assertArrayEquals(new long[]{-1, 0, -2, 10, 20, -3}, collection.toArray());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.insert(5, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.insert(5, 7));
+    }
+
+    @Test
+    public void valuesOutsideOfIntRange() {
+        LongArrayIndexedCollection collection = new LongArrayIndexedCollection();
+        collection.add(Long.MAX_VALUE);
+        collection.add(Long.MIN_VALUE);
+        collection.insert(1L << 40, 1);
+
+        assertArrayEquals(new long[]{Long.MAX_VALUE, 1L << 40, Long.MIN_VALUE}, collection.toArray());
+        assertEquals(2, collection.indexOf(Long.MIN_VALUE));
+        assertFalse(collection.contains(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void indexOfAndContains() {
+        LongArrayIndexedCollection collection = createCollection(5);
+        collection.add(20);
+
+        assertEquals(2, collection.indexOf(20));
+        assertEquals(-1, collection.indexOf(15));
+        assertTrue(collection.contains(40));
+        assertFalse(collection.contains(50));
+    }
+
+    @Test
+    public void remove() {
+        LongArrayIndexedCollection collection = createCollection(5);
+
+        collection.remove(0);
+        collection.remove(collection.size() - 1);
+        assertTrue(collection.removeValue(20));
+        assertFalse(collection.removeValue(20));
+
+        assertArrayEquals(new long[]{10, 30}, collection.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.remove(2));
+    }
+
+    @Test
+    public void clear() {
+        LongArrayIndexedCollection collection = createCollection(5);
+        collection.clear();
+
+        assertTrue(collection.isEmpty());
+        assertEquals(0, collection.toArray().length);
+    }
+
+    @Test
+    public void forEach() {
+        LongArrayIndexedCollection collection = createCollection(10);
+        long[] sum = {0};
+
+        collection.forEach(value -> sum[0] += value);
+
+        assertEquals(450, sum[0]);
+    }
+
+    @Test
+    public void elementsGetter() {
+        LongArrayIndexedCollection collection = createCollection(3);
+        LongElementsGetter getter = collection.createElementsGetter();
+
+        assertEquals(0, getter.getNextLong());
+        assertEquals(Long.valueOf(10), getter.getNextElement());
+        assertTrue(getter.hasNextElement());
+        assertEquals(20, getter.getNextLong());
+        assertFalse(getter.hasNextElement());
+        assertThrows(NoSuchElementException.class, getter::getNextLong);
+    }
+
+    @Test
+    public void elementsGetterProcessRemaining() {
+        LongArrayIndexedCollection collection = createCollection(5);
+        LongElementsGetter getter = collection.createElementsGetter();
+        getter.getNextLong();
+
+        LongArrayIndexedCollection copy = new LongArrayIndexedCollection();
+        getter.processRemainingLong(copy::add);
+        assertArrayEquals(new long[]{10, 20, 30, 40}, copy.toArray());
+
+        // The boxing overload inherited from ElementsGetter must work as well
+        getter = collection.createElementsGetter();
+        ArrayIndexedCollection<Long> boxed = new ArrayIndexedCollection<>();
+        getter.processRemaining(boxed::add);
+        assertEquals(5, boxed.size());
+    }
+
+    @Test
+    public void elementsGetterConcurrentModification() {
+        LongArrayIndexedCollection collection = createCollection(3);
+        LongElementsGetter getter = collection.createElementsGetter();
+
+        collection.insert(5, 0);
+
+        assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+        assertThrows(ConcurrentModificationException.class, getter::getNextLong);
+        assertThrows(ConcurrentModificationException.class, () -> getter.processRemainingLong(value -> {}));
+    }
+
+    @Test
+    public void forEachWithModifyingProcessor() {
+        LongArrayIndexedCollection collection = createCollection(3);
+
+        assertThrows(
+                ConcurrentModificationException.class,
+                () -> collection.forEach(value -> collection.insert(value, 0))
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MetricsRegistryTest {
+    @BeforeEach
+    public void resetMetrics() {
+        MetricsRegistry.reset();
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        assertEquals(0, MetricsRegistry.Histogram.bucketOf(0));
+        assertEquals(1, MetricsRegistry.Histogram.bucketOf(1));
+        assertEquals(2, MetricsRegistry.Histogram.bucketOf(2));
+        assertEquals(2, MetricsRegistry.Histogram.bucketOf(3));
+        assertEquals(3, MetricsRegistry.Histogram.bucketOf(4));
+        assertEquals(31, MetricsRegistry.Histogram.bucketOf(Integer.MAX_VALUE));
+
+        MetricsRegistry.Histogram histogram = MetricsRegistry.HASHTABLE_CHAIN_LENGTH;
+        histogram.record(0);
+        histogram.record(2);
+        histogram.record(3);
+        histogram.record(7);
+
+        assertEquals(4, histogram.getTotalCount());
+        assertEquals(1, histogram.getCount(0));
+        assertEquals(2, histogram.getCount(2));
+        assertEquals(1, histogram.getCount(3));
+        assertEquals(3.0, histogram.getMean());
+        assertThrows(IndexOutOfBoundsException.class, () -> histogram.getCount(MetricsRegistry.Histogram.BUCKET_COUNT));
+
+        histogram.reset();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    @Test
+    public void testDump() {
+        MetricsRegistry.HASHTABLE_RESIZES.add(3);
+
+        String dump = MetricsRegistry.dump();
+        for (MetricsRegistry.Metric metric : MetricsRegistry.getMetrics())
+            assertTrue(dump.contains(metric.getName()));
+        assertTrue(dump.contains("SimpleHashtable.resizes = 3"));
+    }
+
+    @Test
+    public void testArrayIndexedCollectionMetrics() {
+        assumeTrue(MetricsRegistry.ENABLED);
+
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>(2);
+        collection.add(1);
+        collection.add(2);
+        assertEquals(0, MetricsRegistry.ARRAY_GROWTHS.get());
+
+        collection.add(3);
+        assertEquals(1, MetricsRegistry.ARRAY_GROWTHS.get());
+
+        collection.insert(0, 0);
+        assertEquals(3, MetricsRegistry.ARRAY_SHIFTED_ELEMENTS.get());
+
+        collection.remove(0);
+        assertEquals(6, MetricsRegistry.ARRAY_SHIFTED_ELEMENTS.get());
+
+        // Modifications alone don't count as invalidations
+        assertEquals(0, MetricsRegistry.ITERATOR_INVALIDATIONS.get());
+
+        ElementsGetter<Integer> getter = collection.createElementsGetter();
+        collection.insert(4, 0);
+        assertThrows(ConcurrentModificationException.class, getter::getNextElement);
+        assertEquals(1, MetricsRegistry.ITERATOR_INVALIDATIONS.get());
+    }
+
+    @Test
+    public void testSimpleHashtableMetrics() {
+        assumeTrue(MetricsRegistry.ENABLED);
+
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>(2);
+        for (int i = 0; i < 100; i++)
+            hashtable.put(i, i);
+
+        assertTrue(MetricsRegistry.HASHTABLE_RESIZES.get() > 0);
+        assertEquals(0, MetricsRegistry.ITERATOR_INVALIDATIONS.get());
+
+        Iterator<SimpleHashtable.TableEntry<Integer, Integer>> iterator = hashtable.iterator();
+        hashtable.remove(0);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+        assertEquals(2, MetricsRegistry.ITERATOR_INVALIDATIONS.get());
+
+        MetricsRegistry.HASHTABLE_CHAIN_LENGTH.reset();
+        hashtable.get(5);
+        assertEquals(1, MetricsRegistry.HASHTABLE_CHAIN_LENGTH.getTotalCount());
+        assertTrue(MetricsRegistry.HASHTABLE_CHAIN_LENGTH.getMean() >= 1);
+    }
+
+    @Test
+    public void testOpenAddressingHashtableMetrics() {
+        assumeTrue(MetricsRegistry.ENABLED);
+
+        OpenAddressingHashtable<Integer, Integer> hashtable = new OpenAddressingHashtable<>(2);
+        for (int i = 0; i < 100; i++)
+            hashtable.put(i, i);
+
+        assertTrue(MetricsRegistry.OPEN_ADDRESSING_RESIZES.get() > 0);
+
+        MetricsRegistry.OPEN_ADDRESSING_PROBE_LENGTH.reset();
+        hashtable.get(5);
+        hashtable.get(1000);
+        assertEquals(2, MetricsRegistry.OPEN_ADDRESSING_PROBE_LENGTH.getTotalCount());
+    }
+}
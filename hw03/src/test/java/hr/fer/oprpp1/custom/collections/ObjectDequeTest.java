@@ -0,0 +1,141 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectDequeTest {
+    @Test
+    public void illegalInitialCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ObjectDeque<String>(0, false));
+        assertThrows(IllegalArgumentException.class, () -> new ObjectDeque<String>((1 << 30) + 1, false));
+    }
+
+    @Test
+    public void stackOperations() {
+        ObjectDeque<Integer> deque = new ObjectDeque<>();
+
+        for (int i = 0; i < 100; i++)
+            deque.push(i);
+
+        assertEquals(100, deque.size());
+        assertEquals(99, deque.peek());
+
+        for (int i = 99; i >= 0; i--)
+            assertEquals(i, deque.pop());
+
+        assertTrue(deque.isEmpty());
+        assertThrows(NoSuchElementException.class, deque::pop);
+        assertThrows(NoSuchElementException.class, deque::peek);
+        assertThrows(NullPointerException.class, () -> deque.push(null));
+    }
+
+    @Test
+    public void bothEnds() {
+        ObjectDeque<Integer> deque = new ObjectDeque<>(4, false);
+
+        deque.addLast(2);
+        deque.addFirst(1);
+        deque.addLast(3);
+        deque.addFirst(0);
+        deque.addFirst(-1);
+
+        assertArrayEquals(new Object[]{-1, 0, 1, 2, 3}, deque.toArray());
+        assertEquals(-1, deque.peekFirst());
+        assertEquals(3, deque.peekLast());
+        assertEquals(-1, deque.removeFirst());
+        assertEquals(3, deque.removeLast());
+        assertArrayEquals(new Object[]{0, 1, 2}, deque.toArray());
+
+        assertThrows(NullPointerException.class, () -> deque.addFirst(null));
+        assertThrows(NoSuchElementException.class, () -> new ObjectDeque<Integer>().removeFirst());
+        assertThrows(NoSuchElementException.class, () -> new ObjectDeque<Integer>().peekFirst());
+    }
+
+    @Test
+    public void randomOperationsMatchArrayDeque() {
+        Random random = new Random(7);
+        ObjectDeque<Integer> deque = new ObjectDeque<>(2, true);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            // Phases of mostly adding and mostly removing, so that the array grows and shrinks
+            boolean adding = (i / 1000) % 2 == 0 ? random.nextInt(4) != 0 : random.nextInt(4) == 0;
+
+            if (adding || expected.isEmpty()) {
+                if (random.nextBoolean()) {
+                    deque.addFirst(i);
+                    expected.addFirst(i);
+                } else {
+                    deque.addLast(i);
+                    expected.addLast(i);
+                }
+            } else if (random.nextBoolean()) {
+                assertEquals(expected.removeFirst(), deque.removeFirst());
+            } else {
+                assertEquals(expected.removeLast(), deque.removeLast());
+            }
+
+            assertEquals(expected.size(), deque.size());
+        }
+
+        assertArrayEquals(expected.toArray(), deque.toArray());
+    }
+
+    @Test
+    public void pushAllWrapsAround() {
+        ObjectDeque<Integer> deque = new ObjectDeque<>(8, false);
+        for (int i = 0; i < 6; i++)
+            deque.addLast(i);
+        for (int i = 0; i < 5; i++)
+            deque.removeFirst();
+
+        ArrayIndexedCollection<Integer> values = new ArrayIndexedCollection<>();
+        for (int i = 6; i < 12; i++)
+            values.add(i);
+
+        deque.pushAll(values);
+        assertArrayEquals(new Object[]{5, 6, 7, 8, 9, 10, 11}, deque.toArray());
+
+        for (int i = 12; i < 30; i++)
+            values.add(i);
+        deque.pushAll(values);
+        assertEquals(31, deque.size());
+        assertEquals(29, deque.peek());
+
+        assertThrows(NullPointerException.class, () -> deque.pushAll(null));
+    }
+
+    @Test
+    public void popN() {
+        ObjectDeque<Integer> deque = new ObjectDeque<>();
+        for (int i = 0; i < 10; i++)
+            deque.push(i);
+
+        assertArrayEquals(new Object[]{9, 8, 7}, deque.popN(3));
+        assertArrayEquals(new Object[0], deque.popN(0));
+        assertThrows(NoSuchElementException.class, () -> deque.popN(8));
+        assertEquals(7, deque.size());
+        assertThrows(IllegalArgumentException.class, () -> deque.popN(-1));
+        assertArrayEquals(new Object[]{6, 5, 4, 3, 2, 1, 0}, deque.popN(7));
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void clear() {
+        ObjectDeque<Integer> deque = new ObjectDeque<>(2, true);
+        for (int i = 0; i < 100; i++)
+            deque.addFirst(i);
+
+        deque.clear();
+        assertTrue(deque.isEmpty());
+        assertEquals(0, deque.toArray().length);
+
+        deque.push(1);
+        assertEquals(1, deque.pop());
+    }
+}
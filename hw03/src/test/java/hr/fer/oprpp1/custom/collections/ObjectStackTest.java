@@ -0,0 +1,38 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectStackTest {
+    @Test
+    public void pushPopAndPeek() {
+        ObjectStack<String> stack = new ObjectStack<>();
+
+        stack.push("first");
+        stack.push("second");
+
+        assertEquals(2, stack.size());
+        assertEquals("second", stack.peek());
+        assertEquals("second", stack.pop());
+        assertEquals("first", stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void emptyStackException() {
+        ObjectStack<String> stack = new ObjectStack<>();
+
+        assertThrows(EmptyStackException.class, stack::pop);
+        assertThrows(EmptyStackException.class, stack::peek);
+
+        stack.push("value");
+        stack.clear();
+        assertThrows(EmptyStackException.class, stack::pop);
+    }
+
+    @Test
+    public void pushNull() {
+        assertThrows(NullPointerException.class, () -> new ObjectStack<String>().push(null));
+    }
+}
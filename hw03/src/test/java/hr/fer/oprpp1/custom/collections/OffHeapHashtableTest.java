@@ -0,0 +1,271 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapHashtableTest {
+    @Test
+    public void testConstructorWithIllegalArguments() {
+        assertThrows(NullPointerException.class, () -> new OffHeapHashtable<>(null, Codec.STRING));
+        assertThrows(NullPointerException.class, () -> new OffHeapHashtable<>(Codec.STRING, null));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapHashtable<>(Codec.STRING, Codec.STRING, 0));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        OffHeapHashtable<String, Integer> hashtable = new OffHeapHashtable<>(Codec.STRING, Codec.INTEGER, 1);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertNull(hashtable.put("Key" + i, i));
+            assertEquals(i + 1, hashtable.size());
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, hashtable.get("Key" + i));
+            assertEquals(i, hashtable.put("Key" + i, -i));
+        }
+
+        assertEquals(10_000, hashtable.size());
+        assertEquals(-9999, hashtable.get("Key9999"));
+        assertNull(hashtable.get("Key10000"));
+    }
+
+    @Test
+    public void testPutWithDifferentValueLengths() {
+        OffHeapHashtable<String, String> hashtable = new OffHeapHashtable<>(Codec.STRING, Codec.STRING);
+
+        hashtable.put("Key", "short");
+        assertEquals("short", hashtable.put("Key", "a much longer value"));
+        assertEquals("a much longer value", hashtable.put("Key", "čćžšđ"));
+        assertEquals("čćžšđ", hashtable.get("Key"));
+        assertEquals(1, hashtable.size());
+    }
+
+    @Test
+    public void testNullKeysAndValues() {
+        OffHeapHashtable<String, String> hashtable = new OffHeapHashtable<>(Codec.STRING, Codec.STRING);
+
+        assertThrows(NullPointerException.class, () -> hashtable.put(null, "Value"));
+        assertThrows(NullPointerException.class, () -> hashtable.put("Key", null));
+        assertNull(hashtable.get(null));
+        assertFalse(hashtable.containsKey(null));
+        assertNull(hashtable.remove(null));
+    }
+
+    @Test
+    public void testByteArrayKeysAreComparedByContent() {
+        OffHeapHashtable<byte[], String> hashtable = new OffHeapHashtable<>(Codec.BYTES, Codec.STRING);
+
+        hashtable.put(new byte[]{1, 2, 3}, "Value");
+
+        assertTrue(hashtable.containsKey(new byte[]{1, 2, 3}));
+        assertEquals("Value", hashtable.get(new byte[]{1, 2, 3}));
+        assertFalse(hashtable.containsKey(new byte[]{1, 2}));
+        assertFalse(hashtable.containsKey(new byte[0]));
+    }
+
+    @Test
+    public void testRemove() {
+        OffHeapHashtable<String, Integer> hashtable = new OffHeapHashtable<>(Codec.STRING, Codec.INTEGER);
+
+        for (int i = 0; i < 1000; i++)
+            hashtable.put("Key" + i, i);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(hashtable.containsKey("Key" + i));
+            assertEquals(i, hashtable.remove("Key" + i));
+            assertFalse(hashtable.containsKey("Key" + i));
+            assertNull(hashtable.remove("Key" + i));
+
+            // The remaining entries must still be reachable after the backward shifts and compactions
+            if (i % 100 == 0)
+                for (int j = i + 1; j < 1000; j++)
+                    assertEquals(j, hashtable.get("Key" + j));
+        }
+
+        assertTrue(hashtable.isEmpty());
+    }
+
+    @Test
+    public void testRandomOperationsAgainstHashMap() {
+        OffHeapHashtable<String, String> hashtable = new OffHeapHashtable<>(Codec.STRING, Codec.STRING);
+        Map<String, String> expected = new HashMap<>();
+        java.util.Random random = new java.util.Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            String key = "Key" + random.nextInt(2000);
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), hashtable.remove(key));
+            } else {
+                String value = "Value".repeat(random.nextInt(5)) + i;
+                assertEquals(expected.put(key, value), hashtable.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), hashtable.size());
+        for (Map.Entry<String, String> entry : expected.entrySet())
+            assertEquals(entry.getValue(), hashtable.get(entry.getKey()));
+    }
+
+    @Test
+    public void testForEach() {
+        OffHeapHashtable<String, Integer> hashtable = new OffHeapHashtable<>(Codec.STRING, Codec.INTEGER);
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        Map<String, Integer> visited = new HashMap<>();
+        hashtable.forEach((key, value) -> assertNull(visited.put(key, value)));
+
+        assertEquals(100, visited.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, visited.get("Key" + i));
+
+        assertThrows(
+                java.util.ConcurrentModificationException.class,
+                () -> hashtable.forEach((key, value) -> hashtable.remove(key))
+        );
+    }
+
+    @Test
+    public void testClear() {
+        OffHeapHashtable<String, Integer> hashtable = new OffHeapHashtable<>(Codec.STRING, Codec.INTEGER);
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        hashtable.clear();
+
+        assertTrue(hashtable.isEmpty());
+        assertFalse(hashtable.containsKey("Key5"));
+
+        hashtable.put("Key5", 5);
+        assertEquals(5, hashtable.get("Key5"));
+    }
+
+    @Test
+    public void testSaveAndLoad(@TempDir Path directory) throws IOException {
+        OffHeapHashtable<String, String> hashtable = new OffHeapHashtable<>(Codec.STRING, Codec.STRING);
+
+        for (int i = 0; i < 1000; i++)
+            hashtable.put("Key" + i, "Value" + i);
+        for (int i = 0; i < 1000; i += 2)
+            hashtable.remove("Key" + i);
+
+        Path file = directory.resolve("table.bin");
+        hashtable.save(file);
+
+        OffHeapHashtable<String, String> loaded = OffHeapHashtable.load(file, Codec.STRING, Codec.STRING);
+        assertEquals(500, loaded.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i % 2 == 0 ? null : "Value" + i, loaded.get("Key" + i));
+
+        // Modifying the loaded table must not affect the file
+        assertEquals("Value1", loaded.put("Key1", "Value!"));
+        assertEquals("Value3", loaded.put("Key3", "Changed value"));
+        assertNull(loaded.put("Key0", "Value0"));
+        assertEquals("Value!", loaded.get("Key1"));
+        assertEquals("Changed value", loaded.get("Key3"));
+        assertEquals(501, loaded.size());
+
+        OffHeapHashtable<String, String> reloaded = OffHeapHashtable.load(file, Codec.STRING, Codec.STRING);
+        assertEquals(500, reloaded.size());
+        assertEquals("Value1", reloaded.get("Key1"));
+        assertFalse(reloaded.containsKey("Key0"));
+    }
+
+    @Test
+    public void testSaveToLoadedFile(@TempDir Path directory) throws IOException {
+        OffHeapHashtable<String, Integer> hashtable = new OffHeapHashtable<>(Codec.STRING, Codec.INTEGER);
+        for (int i = 0; i < 1000; i++)
+            hashtable.put("Key" + i, i);
+
+        Path file = directory.resolve("table.bin");
+        hashtable.save(file);
+
+        // The records of the loaded table are still read from the file while it is saved over
+        OffHeapHashtable<String, Integer> loaded = OffHeapHashtable.load(file, Codec.STRING, Codec.INTEGER);
+        loaded.save(file);
+
+        OffHeapHashtable<String, Integer> reloaded = OffHeapHashtable.load(file, Codec.STRING, Codec.INTEGER);
+        assertEquals(1000, reloaded.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, reloaded.get("Key" + i));
+
+        reloaded.put("Key1000", 1000);
+        reloaded.remove("Key0");
+        reloaded.save(file);
+
+        OffHeapHashtable<String, Integer> modified = OffHeapHashtable.load(file, Codec.STRING, Codec.INTEGER);
+        assertEquals(1000, modified.size());
+        assertEquals(1000, modified.get("Key1000"));
+        assertFalse(modified.containsKey("Key0"));
+        assertEquals(999, modified.get("Key999"));
+
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count(), "No temporary files should be left behind.");
+        }
+    }
+
+    @Test
+    public void testLoadInvalidFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("invalid.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20});
+
+        assertThrows(IOException.class, () -> OffHeapHashtable.load(file, Codec.STRING, Codec.STRING));
+        assertThrows(IOException.class, () -> OffHeapHashtable.load(directory.resolve("missing.bin"), Codec.STRING, Codec.STRING));
+    }
+
+    @Test
+    public void testLoadCorruptedIndex(@TempDir Path directory) throws IOException {
+        OffHeapHashtable<String, String> table = new OffHeapHashtable<>(Codec.STRING, Codec.STRING);
+        table.put("Key", "Value");
+
+        Path file = directory.resolve("table.bin");
+        table.save(file);
+        byte[] original = Files.readAllBytes(file);
+
+        // The header is followed by the hashes and the offsets of the 16 slots, and then by the arena
+        int offsetsStart = 5 * Integer.BYTES + 16 * Integer.BYTES;
+        int arenaStart = offsetsStart + 16 * Integer.BYTES;
+        int arenaSize = original.length - arenaStart;
+
+        int slot = 0;
+        while (ByteBuffer.wrap(original).getInt(offsetsStart + slot * Integer.BYTES) == 0)
+            slot++;
+        int slotPosition = offsetsStart + slot * Integer.BYTES;
+
+        // An offset past the end of the arena
+        ByteBuffer corrupted = ByteBuffer.wrap(original.clone()).putInt(slotPosition, arenaSize + 100);
+        Files.write(file, corrupted.array());
+        assertThrows(IOException.class, () -> OffHeapHashtable.load(file, Codec.STRING, Codec.STRING));
+
+        // A negative offset
+        corrupted = ByteBuffer.wrap(original.clone()).putInt(slotPosition, -7);
+        Files.write(file, corrupted.array());
+        assertThrows(IOException.class, () -> OffHeapHashtable.load(file, Codec.STRING, Codec.STRING));
+
+        // A record whose value extends past the end of the arena
+        corrupted = ByteBuffer.wrap(original.clone()).putInt(arenaStart + Integer.BYTES, arenaSize);
+        Files.write(file, corrupted.array());
+        assertThrows(IOException.class, () -> OffHeapHashtable.load(file, Codec.STRING, Codec.STRING));
+
+        // A record with a negative key length
+        corrupted = ByteBuffer.wrap(original.clone()).putInt(arenaStart, -1);
+        Files.write(file, corrupted.array());
+        assertThrows(IOException.class, () -> OffHeapHashtable.load(file, Codec.STRING, Codec.STRING));
+
+        Files.write(file, original);
+        assertEquals("Value", OffHeapHashtable.load(file, Codec.STRING, Codec.STRING).get("Key"));
+    }
+}
@@ -0,0 +1,403 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAddressingHashtableTest {
+    @Test
+    public void testDefaultConstructor() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+        assertTrue(hashtable.isEmpty());
+    }
+
+    @Test
+    public void testInitialCapacityConstructor() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>(17);
+        assertTrue(hashtable.isEmpty());
+    }
+
+    @Test
+    public void testInitialCapacityConstructorWithIllegalCapacity() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new OpenAddressingHashtable<String, Integer>(-1)
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new OpenAddressingHashtable<String, Integer>(0)
+        );
+    }
+
+    @Test
+    public void testPut() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+        HashMap<String, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(hashtable.containsKey("Key" + i));
+            assertNull(hashtable.put("Key" + i, i));
+            assertEquals(i + 1, hashtable.size());
+            assertTrue(hashtable.containsKey("Key" + i));
+
+            expected.put("Key" + i, i);
+        }
+
+        assertHashtableEquals(expected, hashtable);
+    }
+
+    @Test
+    public void testPutNullKey() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        assertThrows(NullPointerException.class, () -> hashtable.put(null, 0));
+    }
+
+    @Test
+    public void testPutNullValue() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        assertFalse(hashtable.containsValue(null));
+        hashtable.put("Key", null);
+        assertTrue(hashtable.containsValue(null));
+    }
+
+    @Test
+    public void testPutWithExistingKey() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        assertEquals(100, hashtable.size());
+        HashMap<String, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, hashtable.put("Key" + i, -i));
+            assertEquals(100, hashtable.size());
+
+            expected.put("Key" + i, -i);
+        }
+
+        assertHashtableEquals(expected, hashtable);
+    }
+
+    @Test
+    public void testGet() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, hashtable.get("Key" + i));
+    }
+
+    @Test
+    public void testGetWithNonexistentKey() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        assertNull(hashtable.get("Key"));
+    }
+
+    @Test
+    public void testContainsKey() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 200; i++)
+            assertFalse(hashtable.containsKey("Key" + i));
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        for (int i = 0; i < 100; i++)
+            assertTrue(hashtable.containsKey("Key" + i));
+
+        for (int i = 100; i < 200; i++)
+            assertFalse(hashtable.containsKey("Key" + i));
+    }
+
+    @Test
+    public void testContainsValue() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 200; i++)
+            assertFalse(hashtable.containsValue(i));
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        for (int i = 0; i < 100; i++)
+            assertTrue(hashtable.containsValue(i));
+
+        for (int i = 100; i < 200; i++)
+            assertFalse(hashtable.containsValue(i));
+    }
+
+    @Test
+    public void testRemove() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(hashtable.containsKey("Key" + i));
+            assertEquals(i, hashtable.remove("Key" + i));
+            assertEquals(99 - i, hashtable.size());
+            assertFalse(hashtable.containsKey("Key" + i));
+        }
+
+        assertTrue(hashtable.isEmpty());
+    }
+
+    @Test
+    public void testRemoveWithNonexistentKey() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        assertNull(hashtable.remove("Key"));
+    }
+
+    @Test
+    public void testToArray() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+        HashMap<String, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100; i++) {
+            hashtable.put("Key" + i, i);
+            expected.put("Key" + i, i);
+        }
+
+        Map<String, Integer> actualMap = new HashMap<>(hashtable.size());
+        for (OpenAddressingHashtable.Entry<String, Integer> entry : hashtable.toArray())
+            actualMap.put(entry.getKey(), entry.getValue());
+
+        assertEquals(expected, actualMap);
+    }
+
+    @Test
+    public void testClear() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        assertFalse(hashtable.isEmpty());
+        assertEquals(100, hashtable.size());
+
+        hashtable.clear();
+
+        assertTrue(hashtable.isEmpty());
+        assertEquals(0, hashtable.size());
+    }
+
+    @Test
+    public void testIterator() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        Iterator<OpenAddressingHashtable.Entry<String, Integer>> iterator = hashtable.iterator();
+
+        Set<String> iteratedKeys = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(iterator.hasNext());
+            OpenAddressingHashtable.Entry<String, Integer> entry = iterator.next();
+
+            assertEquals("Key" + entry.getValue(), entry.getKey());
+            assertFalse(iteratedKeys.contains(entry.getKey()));
+
+            iteratedKeys.add(entry.getKey());
+        }
+
+        assertEquals(100, iteratedKeys.size());
+
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void testIteratorsWithConcurrentModification() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        Iterator<OpenAddressingHashtable.Entry<String, Integer>> iteratorPut = hashtable.iterator();
+        hashtable.put("Key100", 100);
+        // Put has added a new entry
+        assertThrows(ConcurrentModificationException.class, iteratorPut::hasNext);
+        assertThrows(ConcurrentModificationException.class, iteratorPut::next);
+        assertThrows(ConcurrentModificationException.class, iteratorPut::remove);
+
+        Iterator<OpenAddressingHashtable.Entry<String, Integer>> iteratorPutExisting = hashtable.iterator();
+        hashtable.put("Key100", 101);
+        // Put has changed an existing entry's value
+        assertDoesNotThrow(iteratorPutExisting::hasNext);
+        assertDoesNotThrow(iteratorPutExisting::next);
+        assertDoesNotThrow(iteratorPutExisting::remove);
+
+        Iterator<OpenAddressingHashtable.Entry<String, Integer>> iteratorRemove = hashtable.iterator();
+        hashtable.remove("Key100");
+        // Remove has removed an existing entry
+        assertThrows(ConcurrentModificationException.class, iteratorRemove::hasNext);
+        assertThrows(ConcurrentModificationException.class, iteratorRemove::next);
+        assertThrows(ConcurrentModificationException.class, iteratorRemove::remove);
+
+        Iterator<OpenAddressingHashtable.Entry<String, Integer>> iteratorRemoveNonexitent = hashtable.iterator();
+        hashtable.remove("Key100");
+        // Remove has not removed an entry because it doesn't exist
+        assertDoesNotThrow(iteratorRemoveNonexitent::hasNext);
+        assertDoesNotThrow(iteratorRemoveNonexitent::next);
+        assertDoesNotThrow(iteratorRemoveNonexitent::remove);
+
+        Iterator<OpenAddressingHashtable.Entry<String, Integer>> iteratorClear = hashtable.iterator();
+        hashtable.clear();
+        // Clear has removed all elements
+        assertThrows(ConcurrentModificationException.class, iteratorClear::hasNext);
+        assertThrows(ConcurrentModificationException.class, iteratorClear::next);
+        assertThrows(ConcurrentModificationException.class, iteratorClear::remove);
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        assertTrue(hashtable.containsKey("Key17"));
+        assertEquals(100, hashtable.size());
+
+        Iterator<OpenAddressingHashtable.Entry<String, Integer>> iterator1 = hashtable.iterator();
+        while (iterator1.hasNext())
+            if (iterator1.next().getKey().equals("Key17"))
+                iterator1.remove();
+
+        assertFalse(hashtable.containsKey("Key17"));
+        assertEquals(99, hashtable.size());
+
+        Iterator<OpenAddressingHashtable.Entry<String, Integer>> iterator2 = hashtable.iterator();
+        while (iterator2.hasNext()) {
+            iterator2.next();
+            iterator2.remove();
+        }
+
+        assertTrue(hashtable.isEmpty());
+        assertEquals(0, hashtable.size());
+    }
+
+    @Test
+    public void testIteratorRemoveWhenIllegal() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        Iterator<OpenAddressingHashtable.Entry<String, Integer>> iterator = hashtable.iterator();
+
+        // Calling remove() before next()
+        assertThrows(IllegalStateException.class, iterator::remove);
+
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey().equals("Key17")) {
+                assertDoesNotThrow(iterator::remove);
+                // Calling remove() twice for the same call of next()
+                assertThrows(IllegalStateException.class, iterator::remove);
+            }
+        }
+    }
+
+    @Test
+    public void testPutAndRemoveWithCollidingKeys() {
+        OpenAddressingHashtable<CollidingKey, Integer> hashtable = new OpenAddressingHashtable<>(4);
+        HashMap<CollidingKey, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 50; i++) {
+            hashtable.put(new CollidingKey(i), i);
+            expected.put(new CollidingKey(i), i);
+        }
+
+        for (int i = 0; i < 50; i += 3) {
+            assertEquals(i, hashtable.remove(new CollidingKey(i)));
+            expected.remove(new CollidingKey(i));
+        }
+
+        assertHashtableEquals(expected, hashtable);
+        for (int i = 0; i < 50; i++)
+            assertEquals(expected.get(new CollidingKey(i)), hashtable.get(new CollidingKey(i)));
+    }
+
+    @Test
+    public void testIteratorRemoveVisitsEveryEntryOnce() {
+        OpenAddressingHashtable<Integer, Integer> hashtable = new OpenAddressingHashtable<>();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+
+        // Small multiples of the capacity end up in the same clusters, including ones wrapping around the end
+        for (int i = 0; i < 200; i++) {
+            hashtable.put(i * 31, i);
+            expected.put(i * 31, i);
+        }
+
+        Set<Integer> iteratedKeys = new HashSet<>();
+        Iterator<OpenAddressingHashtable.Entry<Integer, Integer>> iterator = hashtable.iterator();
+        while (iterator.hasNext()) {
+            OpenAddressingHashtable.Entry<Integer, Integer> entry = iterator.next();
+            assertTrue(iteratedKeys.add(entry.getKey()));
+
+            if (entry.getValue() % 2 == 0) {
+                iterator.remove();
+                expected.remove(entry.getKey());
+            }
+        }
+
+        assertEquals(200, iteratedKeys.size());
+        assertHashtableEquals(expected, hashtable);
+    }
+
+    @Test
+    public void testEntrySetValue() {
+        OpenAddressingHashtable<String, Integer> hashtable = new OpenAddressingHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put("Key" + i, i);
+
+        for (OpenAddressingHashtable.Entry<String, Integer> entry : hashtable)
+            entry.setValue(-entry.getValue());
+
+        for (int i = 0; i < 100; i++)
+            assertEquals(-i, hashtable.get("Key" + i));
+    }
+
+    private static <K, V> void assertHashtableEquals(Map<K, V> expected, OpenAddressingHashtable<K, V> actual) {
+        Map<K, V> actualMap = new HashMap<>(actual.size());
+        for (OpenAddressingHashtable.Entry<K, V> entry : actual)
+            actualMap.put(entry.getKey(), entry.getValue());
+
+        assertEquals(expected, actualMap);
+    }
+
+    /**
+     * A key whose hash code is the same for all instances.
+     */
+    private static class CollidingKey {
+        private final int id;
+
+        private CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
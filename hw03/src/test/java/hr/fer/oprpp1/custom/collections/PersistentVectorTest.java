@@ -0,0 +1,176 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentVectorTest {
+    @Test
+    public void emptyVector() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+
+        assertTrue(vector.isEmpty());
+        assertEquals(0, vector.size());
+        assertArrayEquals(new Object[0], vector.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(0));
+        assertThrows(NoSuchElementException.class, vector::removeLast);
+    }
+
+    @Test
+    public void appendAndGet() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+
+        // Enough elements for a trie with three levels
+        for (int i = 0; i < 40_000; i++) {
+            vector = vector.append(i);
+            assertEquals(i + 1, vector.size());
+        }
+
+        for (int i = 0; i < 40_000; i++)
+            assertEquals(i, vector.get(i));
+
+        PersistentVector<Integer> finalVector = vector;
+        assertThrows(IndexOutOfBoundsException.class, () -> finalVector.get(40_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> finalVector.get(-1));
+        assertThrows(NullPointerException.class, () -> finalVector.append(null));
+    }
+
+    @Test
+    public void oldVersionsAreUnchanged() {
+        PersistentVector<Integer> first = PersistentVector.empty();
+        for (int i = 0; i < 100; i++)
+            first = first.append(i);
+
+        PersistentVector<Integer> second = first.set(10, -10).set(99, -99).append(100);
+
+        assertEquals(10, first.get(10));
+        assertEquals(99, first.get(99));
+        assertEquals(100, first.size());
+
+        assertEquals(-10, second.get(10));
+        assertEquals(-99, second.get(99));
+        assertEquals(100, second.get(100));
+        assertEquals(101, second.size());
+    }
+
+    @Test
+    public void set() {
+        PersistentVector<Integer> vector = PersistentVector.copyOf(range(2000));
+
+        for (int i = 0; i < 2000; i += 7)
+            vector = vector.set(i, -i);
+
+        for (int i = 0; i < 2000; i++)
+            assertEquals(i % 7 == 0 ? -i : i, vector.get(i));
+
+        PersistentVector<Integer> finalVector = vector;
+        assertThrows(IndexOutOfBoundsException.class, () -> finalVector.set(2000, 0));
+        assertThrows(NullPointerException.class, () -> finalVector.set(0, null));
+    }
+
+    @Test
+    public void removeLast() {
+        PersistentVector<Integer> vector = PersistentVector.copyOf(range(40_000));
+        PersistentVector<Integer> original = vector;
+
+        for (int size = 40_000; size > 0; size--) {
+            assertEquals(size - 1, vector.get(size - 1));
+            vector = vector.removeLast();
+            assertEquals(size - 1, vector.size());
+
+            // The trie must stay consistent when shrinking, so appending again must work
+            if (size % 997 == 0) {
+                PersistentVector<Integer> appended = vector.append(-1);
+                assertEquals(-1, appended.get(size - 1));
+                if (size > 1)
+                    assertEquals(size - 2, appended.get(size - 2));
+            }
+        }
+
+        assertTrue(vector.isEmpty());
+        assertEquals(40_000, original.size());
+        assertEquals(39_999, original.get(39_999));
+    }
+
+    @Test
+    public void copyOfMatchesAppending() {
+        for (int size : new int[]{0, 1, 31, 32, 33, 1024, 1056, 1057, 33_000}) {
+            PersistentVector<Integer> copied = PersistentVector.copyOf(range(size));
+            PersistentVector<Integer> appended = PersistentVector.empty();
+            for (int i = 0; i < size; i++)
+                appended = appended.append(i);
+
+            assertArrayEquals(appended.toArray(), copied.toArray());
+            assertArrayEquals(range(size).toArray(), copied.toArray());
+
+            // Both must keep growing correctly from where they were built
+            assertEquals(-1, copied.append(-1).get(size));
+        }
+
+        assertThrows(NullPointerException.class, () -> PersistentVector.copyOf((Collection<Integer>) null));
+    }
+
+    @Test
+    public void conversionFromAndToArrayIndexedCollection() {
+        ArrayIndexedCollection<Integer> collection = range(100);
+        PersistentVector<Integer> vector = PersistentVector.copyOf(collection);
+
+        // Modifying the source doesn't affect the vector
+        collection.clear();
+        assertEquals(100, vector.size());
+
+        ArrayIndexedCollection<Integer> converted = vector.toArrayIndexedCollection();
+        assertArrayEquals(range(100).toArray(), converted.toArray());
+        converted.remove(0);
+        assertEquals(0, vector.get(0));
+
+        assertSame(vector, PersistentVector.copyOf(vector));
+    }
+
+    @Test
+    public void indexOfAndContains() {
+        PersistentVector<Integer> vector = PersistentVector.copyOf(range(100)).append(5);
+
+        assertEquals(5, vector.indexOf(5));
+        assertEquals(99, vector.indexOf(99));
+        assertEquals(-1, vector.indexOf(100));
+        assertEquals(-1, vector.indexOf(null));
+        assertTrue(vector.contains(42));
+        assertFalse(vector.contains(-1));
+    }
+
+    @Test
+    public void elementsGetter() {
+        PersistentVector<Integer> vector = PersistentVector.copyOf(range(1000));
+
+        ElementsGetter<Integer> getter = vector.createElementsGetter();
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, getter.getNextElement());
+
+        assertFalse(getter.hasNextElement());
+        assertThrows(NoSuchElementException.class, getter::getNextElement);
+        assertEquals(499_500L, vector.stream().mapToLong(Integer::longValue).sum());
+    }
+
+    @Test
+    public void mutatingMethodsAreUnsupported() {
+        PersistentVector<Integer> vector = PersistentVector.copyOf(range(10));
+
+        assertThrows(UnsupportedOperationException.class, () -> vector.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> vector.insert(1, 0));
+        assertThrows(UnsupportedOperationException.class, () -> vector.remove((Object) 1));
+        assertThrows(UnsupportedOperationException.class, () -> vector.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> vector.addAll(range(1)));
+        assertThrows(UnsupportedOperationException.class, vector::clear);
+        assertEquals(10, vector.size());
+    }
+
+    private static ArrayIndexedCollection<Integer> range(int size) {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        for (int i = 0; i < size; i++)
+            collection.add(i);
+        return collection;
+    }
+}
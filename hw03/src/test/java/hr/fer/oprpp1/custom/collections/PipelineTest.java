@@ -0,0 +1,95 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineTest {
+    @Test
+    public void filterMapCollect() {
+        ArrayIndexedCollection<String> result = Pipeline.from(range(20))
+                .filter(i -> i % 2 == 0)
+                .map(i -> i * i)
+                .filter(i -> i > 10)
+                .map(i -> "#" + i)
+                .collectInto(new ArrayIndexedCollection<>());
+
+        assertArrayEquals(new Object[]{"#16", "#36", "#64", "#100", "#144", "#196", "#256", "#324"}, result.toArray());
+    }
+
+    @Test
+    public void emptyPipelineCopiesElements() {
+        LinkedListIndexedCollection<Integer> result = Pipeline.from(range(5)).collectInto(new LinkedListIndexedCollection<>());
+        assertArrayEquals(range(5).toArray(), result.toArray());
+    }
+
+    @Test
+    public void limitStopsReadingTheSource() {
+        int[] tested = {0};
+
+        ArrayIndexedCollection<Integer> result = Pipeline.from(range(1000))
+                .filter(i -> {
+                    tested[0]++;
+                    return i % 3 == 0;
+                })
+                .limit(4)
+                .collectInto(new ArrayIndexedCollection<>());
+
+        assertArrayEquals(new Object[]{0, 3, 6, 9}, result.toArray());
+        assertEquals(10, tested[0]);
+    }
+
+    @Test
+    public void limitBeforeFilter() {
+        assertEquals(2, Pipeline.from(range(1000)).limit(5).filter(i -> i % 3 == 0).count());
+        assertEquals(0, Pipeline.from(range(1000)).limit(0).count());
+        assertThrows(IllegalArgumentException.class, () -> Pipeline.from(range(1)).limit(-1));
+    }
+
+    @Test
+    public void forEachAndCount() {
+        long[] sum = {0};
+        Pipeline.from(range(100)).map(Integer::longValue).forEach(value -> sum[0] += value);
+
+        assertEquals(4950, sum[0]);
+        assertEquals(50, Pipeline.from(range(100)).filter(i -> i >= 50).count());
+    }
+
+    @Test
+    public void fromElementsGetter() {
+        ElementsGetter<Integer> getter = range(10).createElementsGetter();
+        getter.getNextElement();
+        getter.getNextElement();
+
+        assertEquals(8, Pipeline.from(getter).count());
+        assertFalse(getter.hasNextElement());
+    }
+
+    @Test
+    public void modifiedSourceFailsFast() {
+        ArrayIndexedCollection<Integer> source = range(10);
+        Pipeline<Integer> pipeline = Pipeline.from(source).filter(i -> true);
+
+        source.remove(0);
+        assertThrows(ConcurrentModificationException.class, pipeline::count);
+    }
+
+    @Test
+    public void nullArguments() {
+        assertThrows(NullPointerException.class, () -> Pipeline.from((Collection<Integer>) null));
+        assertThrows(NullPointerException.class, () -> Pipeline.from((ElementsGetter<Integer>) null));
+        assertThrows(NullPointerException.class, () -> Pipeline.from(range(1)).filter(null));
+        assertThrows(NullPointerException.class, () -> Pipeline.from(range(1)).map(null));
+        assertThrows(NullPointerException.class, () -> Pipeline.from(range(1)).collectInto(null));
+        assertThrows(NullPointerException.class, () -> Pipeline.from(range(1)).forEach(null));
+    }
+
+    private static ArrayIndexedCollection<Integer> range(int size) {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        for (int i = 0; i < size; i++)
+            collection.add(i);
+        return collection;
+    }
+}
@@ -312,6 +312,255 @@ class SimpleHashtableTest {
         }
     }
 
+    @Test
+    public void testCollidingComparableKeys() {
+        SimpleHashtable<CollidingKey, Integer> hashtable = new SimpleHashtable<>();
+        HashMap<CollidingKey, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 500; i++) {
+            assertNull(hashtable.put(new CollidingKey(i), i));
+            expected.put(new CollidingKey(i), i);
+        }
+
+        assertEquals(500, hashtable.size());
+        assertHashtableEquals(expected, hashtable);
+
+        for (int i = 0; i < 500; i++)
+            assertEquals(i, hashtable.put(new CollidingKey(i), -i));
+
+        for (int i = 0; i < 500; i += 2) {
+            assertEquals(-i, hashtable.remove(new CollidingKey(i)));
+            expected.remove(new CollidingKey(i));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 2 != 0, hashtable.containsKey(new CollidingKey(i)));
+            assertEquals(i % 2 != 0 ? Integer.valueOf(-i) : null, hashtable.get(new CollidingKey(i)));
+        }
+
+        Iterator<SimpleHashtable.TableEntry<CollidingKey, Integer>> iterator = hashtable.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertTrue(hashtable.isEmpty());
+        assertNull(hashtable.get(new CollidingKey(1)));
+    }
+
+    @Test
+    public void testCollidingKeysOfMixedTypes() {
+        SimpleHashtable<Object, Integer> hashtable = new SimpleHashtable<>();
+        HashMap<Object, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100; i++) {
+            Object key = i % 3 == 0 ? new UnorderedCollidingKey(i) : new CollidingKey(i);
+            hashtable.put(key, i);
+            expected.put(key, i);
+        }
+
+        assertHashtableEquals(expected, hashtable);
+
+        for (int i = 0; i < 100; i += 2) {
+            Object key = i % 3 == 0 ? new UnorderedCollidingKey(i) : new CollidingKey(i);
+            assertEquals(i, hashtable.remove(key));
+            expected.remove(key);
+        }
+
+        assertHashtableEquals(expected, hashtable);
+    }
+
+    @Test
+    public void testIteratorRemoveUntreeifiesInPlace() {
+        SimpleHashtable<CollidingKey, Integer> hashtable = new SimpleHashtable<>();
+        for (int i = 0; i < 10; i++)
+            hashtable.put(new CollidingKey(i), i);
+
+        Iterator<SimpleHashtable.TableEntry<CollidingKey, Integer>> iterator = hashtable.iterator();
+        for (int i = 0; i < 5; i++) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        // The bucket has been converted back into a list, but the remaining entries are still the same objects
+        while (iterator.hasNext())
+            iterator.next().setValue(100);
+
+        assertEquals(5, hashtable.size());
+        for (SimpleHashtable.TableEntry<CollidingKey, Integer> entry : hashtable)
+            assertEquals(100, entry.getValue());
+    }
+
+    @Test
+    public void testTreeifyKeepsEntries() {
+        SimpleHashtable<CollidingKey, Integer> hashtable = new SimpleHashtable<>();
+        hashtable.put(new CollidingKey(0), 0);
+        SimpleHashtable.TableEntry<CollidingKey, Integer> first = hashtable.iterator().next();
+
+        for (int i = 1; i < 20; i++)
+            hashtable.put(new CollidingKey(i), i);
+
+        first.setValue(100);
+        assertEquals(100, hashtable.get(new CollidingKey(0)));
+
+        for (int i = 1; i < 16; i++)
+            hashtable.remove(new CollidingKey(i));
+
+        first.setValue(200);
+        assertEquals(200, hashtable.get(new CollidingKey(0)));
+    }
+
+    @Test
+    public void testExtremeHashCodes() {
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>();
+
+        hashtable.put(Integer.MIN_VALUE, 1);
+        hashtable.put(Integer.MAX_VALUE, 2);
+        hashtable.put(-1, 3);
+
+        assertEquals(1, hashtable.get(Integer.MIN_VALUE));
+        assertEquals(2, hashtable.get(Integer.MAX_VALUE));
+        assertEquals(3, hashtable.get(-1));
+    }
+
+    @Test
+    public void testIncrementalResize() {
+        SimpleHashtable<String, Integer> hashtable = new SimpleHashtable<>(2, true);
+        HashMap<String, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 1000; i++) {
+            assertNull(hashtable.put("Key" + i, i));
+            expected.put("Key" + i, i);
+
+            // Every entry has to be reachable, regardless of whether its bucket has been moved yet
+            for (int j = 0; j <= i; j += 37)
+                assertEquals(j, hashtable.get("Key" + j));
+            assertHashtableEquals(expected, hashtable);
+        }
+
+        assertEquals(1000, hashtable.size());
+
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, hashtable.remove("Key" + i));
+            expected.remove("Key" + i);
+        }
+
+        assertHashtableEquals(expected, hashtable);
+    }
+
+    @Test
+    public void testIncrementalResizeWithRemovals() {
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>(1, true);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        java.util.Random random = new java.util.Random(42);
+
+        // Removals between insertions change how many insertions are left before the next resize
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(5_000);
+
+            if (random.nextInt(3) == 0)
+                assertEquals(expected.remove(key), hashtable.remove(key));
+            else
+                assertEquals(expected.put(key, i), hashtable.put(key, i));
+
+            if (i % 500 == 0)
+                assertHashtableEquals(expected, hashtable);
+        }
+
+        assertHashtableEquals(expected, hashtable);
+    }
+
+    @Test
+    public void testIncrementalResizeIteratorRemove() {
+        SimpleHashtable<CollidingKey, Integer> hashtable = new SimpleHashtable<>(2, true);
+        HashMap<CollidingKey, Integer> expected = new HashMap<>();
+
+        // The 193rd entry triggers a resize from 256 buckets, so most of the old buckets are still in use
+        for (int i = 0; i < 193; i++) {
+            hashtable.put(new CollidingKey(i % 2 == 0 ? i : -i), i);
+            expected.put(new CollidingKey(i % 2 == 0 ? i : -i), i);
+        }
+
+        Set<CollidingKey> iteratedKeys = new HashSet<>();
+        Iterator<SimpleHashtable.TableEntry<CollidingKey, Integer>> iterator = hashtable.iterator();
+        while (iterator.hasNext()) {
+            SimpleHashtable.TableEntry<CollidingKey, Integer> entry = iterator.next();
+            assertTrue(iteratedKeys.add(entry.getKey()));
+
+            if (entry.getValue() % 3 == 0) {
+                iterator.remove();
+                expected.remove(entry.getKey());
+            }
+        }
+
+        assertEquals(193, iteratedKeys.size());
+        assertHashtableEquals(expected, hashtable);
+    }
+
+    @Test
+    public void testStream() {
+        SimpleHashtable<String, Integer> hashtable = new SimpleHashtable<>(2);
+
+        for (int i = 0; i < 1000; i++)
+            hashtable.put("Key" + i, i);
+
+        assertEquals(499_500L, hashtable.stream().mapToLong(SimpleHashtable.TableEntry::getValue).sum());
+        assertEquals(499_500L, hashtable.parallelStream().mapToLong(SimpleHashtable.TableEntry::getValue).sum());
+        assertEquals(500, hashtable.parallelStream().filter(e -> e.getValue() % 2 == 0).count());
+    }
+
+    @Test
+    public void testStreamDuringIncrementalResize() {
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>(2, true);
+        Set<Integer> expected = new HashSet<>();
+
+        for (int i = 0; i < 193; i++) {
+            hashtable.put(i, i);
+            expected.add(i);
+
+            Set<Integer> streamed = new HashSet<>();
+            hashtable.parallelStream().map(SimpleHashtable.TableEntry::getKey).forEach(key -> {
+                synchronized (streamed) {
+                    assertTrue(streamed.add(key));
+                }
+            });
+            assertEquals(expected, streamed);
+        }
+    }
+
+    @Test
+    public void testSpliteratorSplit() {
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put(i, i);
+
+        Spliterator<SimpleHashtable.TableEntry<Integer, Integer>> spliterator = hashtable.spliterator();
+        assertEquals(100, spliterator.getExactSizeIfKnown());
+
+        Spliterator<SimpleHashtable.TableEntry<Integer, Integer>> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(-1, spliterator.getExactSizeIfKnown());
+
+        Set<Integer> keys = new HashSet<>();
+        prefix.forEachRemaining(e -> assertTrue(keys.add(e.getKey())));
+        spliterator.forEachRemaining(e -> assertTrue(keys.add(e.getKey())));
+        assertEquals(100, keys.size());
+    }
+
+    @Test
+    public void testSpliteratorConcurrentModification() {
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>();
+
+        for (int i = 0; i < 100; i++)
+            hashtable.put(i, i);
+
+        assertThrows(
+                ConcurrentModificationException.class,
+                () -> hashtable.stream().forEach(e -> hashtable.remove(e.getKey()))
+        );
+    }
+
     private static <K, V> void assertHashtableEquals(Map<K, V> expected, SimpleHashtable<K, V> actual) {
         Map<K, V> actualMap = new HashMap<>(actual.size());
         for (SimpleHashtable.TableEntry<K, V> entry : actual)
@@ -319,4 +568,51 @@ class SimpleHashtableTest {
 
         assertEquals(expected, actualMap);
     }
+
+    /**
+     * A comparable key whose hash code is the same for all instances.
+     */
+    private static class CollidingKey implements Comparable<CollidingKey> {
+        private final int id;
+
+        private CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    /**
+     * A key which isn't comparable and has the same hash code as {@link CollidingKey}.
+     */
+    private static class UnorderedCollidingKey {
+        private final int id;
+
+        private UnorderedCollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof UnorderedCollidingKey && ((UnorderedCollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
 }
@@ -0,0 +1,188 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedArrayIndexedCollectionTest {
+    @Test
+    public void constructorArguments() {
+        assertThrows(NullPointerException.class, () -> new SortedArrayIndexedCollection<Integer>(null));
+        assertThrows(IllegalArgumentException.class, () -> new SortedArrayIndexedCollection<Integer>(Comparator.naturalOrder(), 0));
+        assertTrue(new SortedArrayIndexedCollection<Integer>().isEmpty());
+    }
+
+    @Test
+    public void addKeepsOrder() {
+        SortedArrayIndexedCollection<Integer> collection = new SortedArrayIndexedCollection<>(Comparator.naturalOrder(), 1);
+
+        for (int value : new int[]{5, 3, 9, 1, 3, 7})
+            collection.add(value);
+
+        assertArrayEquals(new Object[]{1, 3, 3, 5, 7, 9}, collection.toArray());
+        assertThrows(NullPointerException.class, () -> collection.add(null));
+    }
+
+    @Test
+    public void customComparator() {
+        SortedArrayIndexedCollection<String> collection = new SortedArrayIndexedCollection<>(Comparator.comparing(String::length));
+
+        collection.add("ccc");
+        collection.add("a");
+        collection.add("bb");
+        collection.add("x");
+
+        // Equal elements stay in insertion order
+        assertArrayEquals(new Object[]{"a", "x", "bb", "ccc"}, collection.toArray());
+        assertEquals(0, collection.indexOf("z"));
+        assertEquals(2, collection.indexOf("zz"));
+        assertEquals(-1, collection.indexOf("zzzz"));
+    }
+
+    @Test
+    public void indexOfAndContains() {
+        SortedArrayIndexedCollection<Integer> collection = new SortedArrayIndexedCollection<>();
+
+        for (int i = 0; i < 100; i++)
+            collection.add(2 * i);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, collection.indexOf(2 * i));
+            assertTrue(collection.contains(2 * i));
+            assertFalse(collection.contains(2 * i + 1));
+        }
+
+        assertEquals(-1, collection.indexOf(null));
+        assertEquals(-1, collection.indexOf("Not an integer"));
+        assertFalse(collection.contains(-1));
+    }
+
+    @Test
+    public void bounds() {
+        SortedArrayIndexedCollection<Integer> collection = new SortedArrayIndexedCollection<>();
+        collection.addAll(listOf(1, 3, 3, 3, 5));
+
+        assertEquals(0, collection.lowerBound(0));
+        assertEquals(1, collection.lowerBound(3));
+        assertEquals(4, collection.upperBound(3));
+        assertEquals(4, collection.lowerBound(4));
+        assertEquals(5, collection.upperBound(5));
+        assertEquals(5, collection.lowerBound(6));
+    }
+
+    @Test
+    public void rangeQueries() {
+        SortedArrayIndexedCollection<Integer> collection = new SortedArrayIndexedCollection<>();
+        for (int i = 0; i < 20; i++)
+            collection.add(i);
+
+        assertEquals(5, collection.countRange(3, 8));
+        assertEquals(0, collection.countRange(8, 3));
+        assertEquals(20, collection.countRange(-100, 100));
+        assertArrayEquals(new Object[]{3, 4, 5, 6, 7}, collection.range(3, 8).toArray());
+        assertTrue(collection.range(8, 3).isEmpty());
+        assertThrows(NullPointerException.class, () -> collection.range(null, 3));
+    }
+
+    @Test
+    public void addAllMerges() {
+        SortedArrayIndexedCollection<Integer> collection = new SortedArrayIndexedCollection<>(Comparator.naturalOrder(), 2);
+        collection.addAll(listOf(10, 20, 30));
+        collection.addAll(listOf(35, 5, 20, 15));
+        collection.addAll(new ArrayIndexedCollection<>());
+
+        assertArrayEquals(new Object[]{5, 10, 15, 20, 20, 30, 35}, collection.toArray());
+        assertThrows(NullPointerException.class, () -> collection.addAll(null));
+    }
+
+    @Test
+    public void addAllKeepsExistingEqualElementsFirst() {
+        SortedArrayIndexedCollection<String> collection = new SortedArrayIndexedCollection<>(Comparator.comparing(String::length));
+        collection.add("a");
+        collection.add("ccc");
+
+        ArrayIndexedCollection<String> batch = new ArrayIndexedCollection<>();
+        batch.add("y");
+        batch.add("x");
+        batch.add("zzz");
+        collection.addAll(batch);
+
+        assertArrayEquals(new Object[]{"a", "y", "x", "ccc", "zzz"}, collection.toArray());
+    }
+
+    @Test
+    public void randomOperationsStaySorted() {
+        SortedArrayIndexedCollection<Integer> collection = new SortedArrayIndexedCollection<>();
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        Random random = new Random(42);
+
+        for (int round = 0; round < 200; round++) {
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    int value = random.nextInt(100);
+                    collection.add(value);
+                    expected.add(value);
+                }
+                case 1 -> {
+                    ArrayIndexedCollection<Integer> batch = new ArrayIndexedCollection<>();
+                    for (int i = random.nextInt(10); i > 0; i--) {
+                        int value = random.nextInt(100);
+                        batch.add(value);
+                        expected.add(value);
+                    }
+                    collection.addAll(batch);
+                }
+                default -> {
+                    Integer value = random.nextInt(100);
+                    assertEquals(expected.remove(value), collection.remove(value));
+                }
+            }
+
+            expected.sort(null);
+            assertArrayEquals(expected.toArray(), collection.toArray());
+        }
+    }
+
+    @Test
+    public void removeAndClear() {
+        SortedArrayIndexedCollection<Integer> collection = new SortedArrayIndexedCollection<>();
+        collection.addAll(listOf(4, 2, 3, 1));
+
+        assertTrue(collection.remove((Object) 3));
+        assertFalse(collection.remove((Object) 3));
+        collection.remove(0);
+        assertArrayEquals(new Object[]{2, 4}, collection.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.remove(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.get(-1));
+
+        collection.clear();
+        assertTrue(collection.isEmpty());
+    }
+
+    @Test
+    public void elementsGetter() {
+        SortedArrayIndexedCollection<Integer> collection = new SortedArrayIndexedCollection<>();
+        collection.addAll(listOf(3, 1, 2));
+
+        ElementsGetter<Integer> getter = collection.createElementsGetter();
+        assertEquals(1, getter.getNextElement());
+        assertEquals(2, getter.getNextElement());
+        assertEquals(3, getter.getNextElement());
+        assertFalse(getter.hasNextElement());
+
+        ElementsGetter<Integer> invalidated = collection.createElementsGetter();
+        collection.add(0);
+        assertThrows(ConcurrentModificationException.class, invalidated::getNextElement);
+    }
+
+    private static ArrayIndexedCollection<Integer> listOf(Integer... values) {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        for (Integer value : values)
+            collection.add(value);
+        return collection;
+    }
+}
@@ -0,0 +1,254 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnrolledLinkedListIndexedCollectionTest {
+    private UnrolledLinkedListIndexedCollection<Integer> createCollection(int chunkCapacity, int elementCount) {
+        UnrolledLinkedListIndexedCollection<Integer> collection = new UnrolledLinkedListIndexedCollection<>(chunkCapacity);
+
+        for (int i = 0; i < elementCount; i++)
+            collection.add(i);
+
+        return collection;
+    }
+
+    @Test
+    public void defaultConstructor() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = new UnrolledLinkedListIndexedCollection<>();
+        assertTrue(collection.isEmpty());
+        assertEquals(0, collection.size());
+    }
+
+    @Test
+    public void illegalChunkCapacity() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new UnrolledLinkedListIndexedCollection<Integer>(1)
+        );
+    }
+
+    @Test
+    public void copyConstructor() {
+        ArrayIndexedCollection<Integer> source = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 200; i++)
+            source.add(i);
+
+        UnrolledLinkedListIndexedCollection<Integer> collection = new UnrolledLinkedListIndexedCollection<>(source);
+
+        assertArrayEquals(source.toArray(), collection.toArray());
+        assertThrows(NullPointerException.class, () -> new UnrolledLinkedListIndexedCollection<Integer>(null));
+    }
+
+    @Test
+    public void addAndGet() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = createCollection(4, 100);
+
+        assertEquals(100, collection.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, collection.get(i));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.get(100));
+        assertThrows(NullPointerException.class, () -> collection.add(null));
+    }
+
+    @Test
+    public void insertIntoFullChunks() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = createCollection(4, 8);
+
+        collection.insert(-1, 0);
+        collection.insert(-2, 4);
+        collection.insert(-3, 2);
+        collection.insert(-4, collection.size());
+
+        assertArrayEquals(new Object[]{-1, 0, -3, 1, 2, -2, 3, 4, 5, 6, 7, -4}, collection.toArray());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.insert(5, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.insert(5, 13));
+        assertThrows(NullPointerException.class, () -> collection.insert(null, 0));
+    }
+
+    @Test
+    public void indexOfAndContains() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = createCollection(4, 20);
+        collection.add(7);
+
+        assertEquals(7, collection.indexOf(7));
+        assertEquals(19, collection.indexOf(19));
+        assertEquals(-1, collection.indexOf(20));
+        assertEquals(-1, collection.indexOf(null));
+        assertTrue(collection.contains(0));
+        assertFalse(collection.contains("0"));
+    }
+
+    @Test
+    public void removeAll() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = createCollection(4, 20);
+
+        for (int i = 0; i < 10; i++)
+            assertTrue(collection.remove(Integer.valueOf(2 * i)));
+        assertFalse(collection.remove(Integer.valueOf(0)));
+
+        for (int i = 0; i < 10; i++)
+            assertEquals(2 * i + 1, collection.get(i));
+
+        while (!collection.isEmpty())
+            collection.remove(collection.size() / 2);
+
+        assertEquals(0, collection.toArray().length);
+        assertThrows(IndexOutOfBoundsException.class, () -> collection.remove(0));
+
+        collection.add(5);
+        assertEquals(5, collection.get(0));
+    }
+
+    @Test
+    public void clear() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = createCollection(4, 20);
+        collection.clear();
+
+        assertTrue(collection.isEmpty());
+        assertEquals(-1, collection.indexOf(0));
+
+        collection.add(1);
+        assertArrayEquals(new Object[]{1}, collection.toArray());
+    }
+
+    @Test
+    public void indexedAccessWithManyChunks() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = new UnrolledLinkedListIndexedCollection<>(4);
+
+        // Inserting at the front and in the middle splits chunks everywhere in the list
+        for (int i = 0; i < 3000; i++)
+            collection.insert(i, i % 3 == 0 ? 0 : collection.size() / 2);
+
+        Object[] array = collection.toArray();
+        for (int i = 0; i < array.length; i++)
+            assertEquals(array[i], collection.get(i));
+
+        for (int i = 0; i < 2000; i++)
+            collection.remove(collection.size() / 3);
+
+        array = collection.toArray();
+        assertEquals(1000, array.length);
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(array[i], collection.get(i));
+            assertEquals(i, collection.indexOf(array[i]));
+        }
+    }
+
+    @Test
+    public void appendsAndRemovalsAtTheEndDoNotRebuildTheWholeList() {
+        // Rebuilding the chunk index for every added or removed chunk would make this quadratic
+        assertTimeout(Duration.ofSeconds(5), () -> {
+            UnrolledLinkedListIndexedCollection<Integer> collection = new UnrolledLinkedListIndexedCollection<>(4);
+
+            for (int i = 0; i < 2_000_000; i++)
+                collection.add(i);
+
+            // The last chunk is full, so every addition needs a new chunk which the removal empties
+            for (int i = 0; i < 1_000_000; i++) {
+                collection.add(i);
+                collection.remove(collection.size() - 1);
+            }
+
+            assertEquals(2_000_000, collection.size());
+            assertEquals(1_999_999, collection.get(1_999_999));
+        });
+    }
+
+    @Test
+    public void emptiedLastChunk() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = new UnrolledLinkedListIndexedCollection<>(4);
+
+        for (int i = 0; i < 5; i++)
+            collection.add(i);
+        collection.remove(4);
+
+        assertArrayEquals(new Object[]{0, 1, 2, 3}, collection.toArray());
+        assertEquals(-1, collection.indexOf(4));
+
+        ElementsGetter<Integer> getter = collection.createElementsGetter();
+        for (int i = 0; i < 4; i++)
+            assertEquals(i, getter.getNextElement());
+        assertFalse(getter.hasNextElement());
+
+        collection.insert(-1, 4);
+        collection.insert(-2, 0);
+        assertArrayEquals(new Object[]{-2, 0, 1, 2, 3, -1}, collection.toArray());
+
+        while (!collection.isEmpty())
+            collection.remove(0);
+
+        assertFalse(collection.createElementsGetter().hasNextElement());
+        collection.add(7);
+        assertEquals(7, collection.get(0));
+    }
+
+    @Test
+    public void randomOperationsMatchArrayList() {
+        Random random = new Random(42);
+        UnrolledLinkedListIndexedCollection<Integer> collection = new UnrolledLinkedListIndexedCollection<>(3);
+        ArrayList<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+
+            if (operation == 0 || expected.isEmpty()) {
+                int position = random.nextInt(expected.size() + 1);
+                collection.insert(i, position);
+                expected.add(position, i);
+            } else if (operation == 1) {
+                collection.add(i);
+                expected.add(i);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                collection.remove(index);
+                expected.remove(index);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), collection.get(index));
+                assertEquals(expected.indexOf(expected.get(index)), collection.indexOf(expected.get(index)));
+            }
+
+            assertEquals(expected.size(), collection.size());
+        }
+
+        assertArrayEquals(expected.toArray(), collection.toArray());
+    }
+
+    @Test
+    public void elementsGetter() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = createCollection(4, 10);
+        ElementsGetter<Integer> getter = collection.createElementsGetter();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(getter.hasNextElement());
+            assertEquals(i, getter.getNextElement());
+        }
+
+        assertFalse(getter.hasNextElement());
+        assertThrows(NoSuchElementException.class, getter::getNextElement);
+
+        assertFalse(new UnrolledLinkedListIndexedCollection<Integer>().createElementsGetter().hasNextElement());
+    }
+
+    @Test
+    public void elementsGetterConcurrentModification() {
+        UnrolledLinkedListIndexedCollection<Integer> collection = createCollection(4, 10);
+        ElementsGetter<Integer> getter = collection.createElementsGetter();
+
+        collection.add(10);
+
+        assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+        assertThrows(ConcurrentModificationException.class, getter::getNextElement);
+    }
+}
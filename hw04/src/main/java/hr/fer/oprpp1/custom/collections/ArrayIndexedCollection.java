@@ -4,11 +4,19 @@ import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 /**
  * An array-backed collection with constant-time lookup.
  * <p>
  * This collection may contain duplicate elements, but not {@code null} references.
+ * <p>
+ * By default, {@link ElementsGetter}s and spliterators fail fast when the collection is modified.
+ * In snapshot mode (see {@link #setSnapshotMode(boolean)}), they instead iterate over the elements
+ * as they were when they were created. The internal array is then shared with them and only copied
+ * when an element they can see would be overwritten, so appending to the collection doesn't copy anything.
  *
  * @param <E> the type of objects to be stored in the collection
  * @author Borna Cafuk
@@ -35,6 +43,15 @@ public class ArrayIndexedCollection<E> implements List<E> {
      * A modification counter used in {@link ArrayIndexedElementsGetter} to check for concurrent modifications.
      */
     private long modificationCount = 0;
+    /**
+     * Whether {@link #createElementsGetter()} and {@link #spliterator()} return snapshots.
+     */
+    private boolean snapshotMode = false;
+    /**
+     * The number of elements at the start of {@link #elements} which are visible to snapshots,
+     * and therefore must not be overwritten, or 0 if the array is not shared with any snapshot.
+     */
+    private int sharedSize = 0;
 
     /**
      * Constructs an array collection with the default initial capacity of
@@ -108,6 +125,76 @@ public class ArrayIndexedCollection<E> implements List<E> {
         insert(value, size);
     }
 
+    /**
+     * Adds all elements from another collection to the end of the array.
+     * <p>
+     * The array is grown at most once. If {@code other} is also an {@link ArrayIndexedCollection},
+     * its elements are copied directly from its internal array.
+     * <p>
+     * Invalidates existing {@link ArrayIndexedElementsGetter}s if a reallocation occurs.
+     *
+     * @param other the collection to add the elements from; remains unchanged
+     * @throws NullPointerException if {@code other} is {@code null} or if it contains {@code null}
+     */
+    @Override
+    public void addAll(Collection<? extends E> other) {
+        insertAll(other, size);
+    }
+
+    /**
+     * Inserts all elements from another collection into the array at a specified position.
+     * <p>
+     * All elements that are currently at or after the position get shifted towards the end of the list, only once.
+     * Afterwards, the first inserted element will have the specified index,
+     * and the inserted elements will be in the order in which {@link Collection#toArray()} returns them.
+     * If {@code other} is also an {@link ArrayIndexedCollection},
+     * its elements are copied directly from its internal array.
+     * <p>
+     * Invalidates existing {@link ArrayIndexedElementsGetter}s if elements are shifted or a reallocation occurs.
+     *
+     * @param other    the collection to insert the elements from; remains unchanged
+     * @param position the position where to insert the elements
+     * @throws NullPointerException      if {@code other} is {@code null} or if it contains {@code null}
+     * @throws IndexOutOfBoundsException if the position is less than 0 or if it is greater than the size
+     */
+    public void insertAll(Collection<? extends E> other, int position) {
+        Objects.requireNonNull(other, "The other collection must not be null.");
+
+        if (position < 0 || position > size)
+            throw new IndexOutOfBoundsException("Valid positions are 0 to " + size + ", but " + position + " was passed.");
+
+        Object[] source;
+        int count;
+
+        if (other instanceof ArrayIndexedCollection && other != this) {
+            ArrayIndexedCollection<? extends E> otherArray = (ArrayIndexedCollection<? extends E>) other;
+            source = otherArray.elements;
+            count = otherArray.size;
+        } else {
+            // Inserting a collection into itself also ends up here, since shifting would overwrite the source
+            source = other.toArray();
+            count = source.length;
+
+            for (int i = 0; i < count; i++)
+                Objects.requireNonNull(source[i], "null cannot be inserted into collection.");
+        }
+
+        if (count == 0)
+            return;
+
+        ensureCapacity(size + count);
+
+        if (position != size) {
+            copyIfShared(position);
+            System.arraycopy(elements, position, elements, position + count, size - position);
+            recordShift(size - position);
+            invalidateElementsGetters();
+        }
+
+        System.arraycopy(source, 0, elements, position, count);
+        size += count;
+    }
+
     @Override
     public E get(int index) {
         if (index < 0 || index >= size)
@@ -123,11 +210,13 @@ public class ArrayIndexedCollection<E> implements List<E> {
         if (position < 0 || position > size)
             throw new IndexOutOfBoundsException("Valid positions are 0 to " + size + ", but " + position + " was passed.");
 
-        growIfNecessary();
+        ensureCapacity(size + 1);
 
         if (position != size) {
+            copyIfShared(position);
             System.arraycopy(elements, position, elements, position + 1, size - position);
-            modificationCount++;
+            recordShift(size - position);
+            invalidateElementsGetters();
         }
 
         elements[position] = value;
@@ -172,15 +261,85 @@ public class ArrayIndexedCollection<E> implements List<E> {
         if (index < 0 || index >= size)
             throw new IndexOutOfBoundsException("Valid indices are 0 to " + (size - 1) + ", but " + index + " was passed.");
 
+        copyIfShared(index);
+
         if (index != size - 1) {
             System.arraycopy(elements, index + 1, elements, index, size - index - 1);
-            modificationCount++;
+            recordShift(size - index - 1);
+            invalidateElementsGetters();
         }
 
         size--;
         elements[size] = null;
     }
 
+    /**
+     * Removes all elements with indices from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive.
+     * All elements that are currently after the range get shifted towards the start of the list, only once.
+     * <p>
+     * Invalidates existing {@link ArrayIndexedElementsGetter}s if any elements are removed.
+     *
+     * @param fromIndex the index of the first element to remove
+     * @param toIndex   the index after the last element to remove
+     * @throws IndexOutOfBoundsException if {@code fromIndex} is less than 0, if {@code toIndex} is greater
+     *                                   than the size or if {@code fromIndex} is greater than {@code toIndex}
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("The range must be within 0 to " + size + ", but " + fromIndex + " to " + toIndex + " was passed.");
+
+        if (fromIndex == toIndex)
+            return;
+
+        copyIfShared(fromIndex);
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        recordShift(size - toIndex);
+
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(elements, newSize, size, null);
+        size = newSize;
+        invalidateElementsGetters();
+    }
+
+    /**
+     * Removes all elements which are not contained in another collection.
+     * Whether an element is contained is determined using the other collection's
+     * {@link Collection#contains(Object)} method.
+     * <p>
+     * The remaining elements are compacted in a single pass, so each one is moved at most once.
+     * <p>
+     * Invalidates existing {@link ArrayIndexedElementsGetter}s if any elements are removed.
+     *
+     * @param other the collection containing the elements to retain; remains unchanged
+     * @return {@code true} if any elements were removed, {@code false} otherwise
+     * @throws NullPointerException if {@code other} is {@code null}
+     */
+    public boolean retainAll(Collection<?> other) {
+        Objects.requireNonNull(other, "The other collection must not be null.");
+
+        // The elements before the first one which is removed stay where they are
+        int newSize = 0;
+        while (newSize < size && other.contains(elements[newSize]))
+            newSize++;
+
+        if (newSize == size)
+            return false;
+
+        copyIfShared(newSize);
+
+        int firstRemoved = newSize;
+        for (int i = newSize + 1; i < size; i++)
+            if (other.contains(elements[i]))
+                elements[newSize++] = elements[i];
+
+        recordShift(newSize - firstRemoved);
+
+        Arrays.fill(elements, newSize, size, null);
+        size = newSize;
+        invalidateElementsGetters();
+        return true;
+    }
+
     @Override
     public Object[] toArray() {
         return Arrays.copyOf(elements, size);
@@ -192,28 +351,119 @@ public class ArrayIndexedCollection<E> implements List<E> {
      * Invalidates existing {@link ArrayIndexedElementsGetter}s.
      */
     @Override
+    @SuppressWarnings("unchecked")
     public void clear() {
+        if (sharedSize > 0) {
+            elements = (E[]) new Object[elements.length];
+            sharedSize = 0;
+        } else {
+            Arrays.fill(elements, null);
+        }
+
         size = 0;
-        Arrays.fill(elements, null);
-        modificationCount++;
+        invalidateElementsGetters();
     }
 
     /**
-     * Increases the size of the array {@value ArrayIndexedCollection#GROWTH_FACTOR} times if it is full.
+     * Increases the size of the array {@value ArrayIndexedCollection#GROWTH_FACTOR} times
+     * (or more, if necessary) if it can't hold the given number of elements.
      * <p>
      * Invalidates existing {@link ArrayIndexedElementsGetter}s if a reallocation occurs.
+     *
+     * @param capacity the number of elements the array has to be able to hold
      */
     @SuppressWarnings("unchecked")
-    private void growIfNecessary() {
-        if (size < elements.length)
+    private void ensureCapacity(int capacity) {
+        if (capacity <= elements.length)
             return;
 
-        E[] newElements = (E[]) new Object[elements.length * GROWTH_FACTOR];
+        E[] newElements = (E[]) new Object[Math.max(capacity, elements.length * GROWTH_FACTOR)];
         System.arraycopy(elements, 0, newElements, 0, size);
         elements = newElements;
+        sharedSize = 0;
+        invalidateElementsGetters();
+
+        if (MetricsRegistry.ENABLED)
+            MetricsRegistry.ARRAY_GROWTHS.increment();
+    }
+
+    /**
+     * Increments the {@link #modificationCount}, invalidating existing {@link ArrayIndexedElementsGetter}s
+     * and spliterators.
+     */
+    private void invalidateElementsGetters() {
         modificationCount++;
     }
 
+    /**
+     * Creates the exception thrown when elements getters and spliterators find that the collection has been modified,
+     * counting the invalidation if metrics are enabled.
+     *
+     * @param message the detail message of the exception
+     * @return the exception to throw
+     */
+    private static ConcurrentModificationException concurrentModification(String message) {
+        if (MetricsRegistry.ENABLED)
+            MetricsRegistry.ITERATOR_INVALIDATIONS.increment();
+
+        return new ConcurrentModificationException(message);
+    }
+
+    /**
+     * Records that elements were moved within the array, if metrics are enabled.
+     *
+     * @param count the number of elements moved
+     */
+    private static void recordShift(int count) {
+        if (MetricsRegistry.ENABLED)
+            MetricsRegistry.ARRAY_SHIFTED_ELEMENTS.add(count);
+    }
+
+    /**
+     * Copies {@link #elements} into a new array of the same length if an element visible to a snapshot
+     * is about to be overwritten, leaving the old array to the snapshots.
+     *
+     * @param fromIndex the index of the first element which is about to be overwritten
+     */
+    private void copyIfShared(int fromIndex) {
+        if (fromIndex >= sharedSize)
+            return;
+
+        elements = Arrays.copyOf(elements, elements.length);
+        sharedSize = 0;
+    }
+
+    /**
+     * Returns whether snapshot mode is enabled.
+     *
+     * @return {@code true} if {@link #createElementsGetter()} and {@link #spliterator()} return snapshots,
+     * {@code false} if they fail fast
+     */
+    public boolean isSnapshotMode() {
+        return snapshotMode;
+    }
+
+    /**
+     * Enables or disables snapshot mode.
+     * <p>
+     * In snapshot mode, {@link #createElementsGetter()} and {@link #spliterator()} return snapshots
+     * which never throw a {@link ConcurrentModificationException}, but keep returning the elements
+     * which the collection contained when they were created. Creating a snapshot doesn't copy anything.
+     * Instead, the next modification which would overwrite one of those elements copies the array first.
+     * Adding elements to the end of the collection never does.
+     * <p>
+     * The collection itself is still not thread-safe, so creating snapshots has to be synchronized with
+     * modifications. Once created, a snapshot can be used by any thread without synchronization,
+     * since the part of the array which it reads is never written to again.
+     * <p>
+     * Changing the mode doesn't affect existing {@link ElementsGetter}s and spliterators.
+     *
+     * @param snapshotMode {@code true} to return snapshots, {@code false} to return fail-fast getters
+     */
+    public void setSnapshotMode(boolean snapshotMode) {
+        this.snapshotMode = snapshotMode;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -221,9 +471,36 @@ public class ArrayIndexedCollection<E> implements List<E> {
      */
     @Override
     public ElementsGetter<E> createElementsGetter() {
+        if (snapshotMode) {
+            sharedSize = Math.max(sharedSize, size);
+            return new SnapshotElementsGetter<>(elements, size);
+        }
+
         return new ArrayIndexedElementsGetter<>(this);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The spliterator splits the range of indices in half, so it is well suited to parallel streams.
+     * It is {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED}, {@link Spliterator#ORDERED}
+     * and {@link Spliterator#NONNULL}. It throws a {@link ConcurrentModificationException}
+     * if the collection is modified in a way which would invalidate an {@link ArrayIndexedElementsGetter}.
+     * <p>
+     * In snapshot mode, the spliterator is also {@link Spliterator#IMMUTABLE} and covers the elements
+     * the collection contained when it was created.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        if (snapshotMode) {
+            sharedSize = Math.max(sharedSize, size);
+            return Spliterators.spliterator(elements, 0, size,
+                    Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        }
+
+        return new ArrayIndexedSpliterator<>(this, 0, size, modificationCount);
+    }
+
     /**
      * An implementation of {@link ElementsGetter} for this class.
      *
@@ -261,7 +538,7 @@ public class ArrayIndexedCollection<E> implements List<E> {
         @Override
         public boolean hasNextElement() {
             if (collection.modificationCount != savedModificationCount)
-                throw new ConcurrentModificationException("The collection has been modified since the ElementsGetter has been constructed.");
+                throw concurrentModification("The collection has been modified since the ElementsGetter has been constructed.");
 
             return currentIndex != collection.size;
         }
@@ -274,4 +551,143 @@ public class ArrayIndexedCollection<E> implements List<E> {
             return collection.elements[currentIndex++];
         }
     }
+
+    /**
+     * An implementation of {@link ElementsGetter} for this class which iterates over a snapshot of the elements.
+     * <p>
+     * It holds on to the internal array directly, which is never modified afterwards
+     * in the range of indices it covers, so it doesn't check for modifications.
+     *
+     * @param <E> the type of the elements
+     */
+    private static class SnapshotElementsGetter<E> implements ElementsGetter<E> {
+        /**
+         * The internal array of the collection at the moment of this getter's creation.
+         */
+        private final E[] elements;
+        /**
+         * The number of elements in the snapshot.
+         */
+        private final int size;
+        /**
+         * The index of the first element which has not yet been returned by {@link #getNextElement()}.
+         */
+        private int currentIndex = 0;
+
+        /**
+         * Constructs a new {@link SnapshotElementsGetter} over a prefix of an array.
+         *
+         * @param elements the array containing the elements
+         * @param size     the number of elements in the snapshot
+         */
+        private SnapshotElementsGetter(E[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNextElement() {
+            return currentIndex != size;
+        }
+
+        @Override
+        public E getNextElement() {
+            if (!hasNextElement())
+                throw new NoSuchElementException("There are no more elements in this collection.");
+
+            return elements[currentIndex++];
+        }
+    }
+
+    /**
+     * An implementation of {@link Spliterator} for this class.
+     *
+     * @param <E> the type of the elements
+     */
+    private static class ArrayIndexedSpliterator<E> implements Spliterator<E> {
+        /**
+         * The collection whose elements will be returned by this spliterator.
+         */
+        private final ArrayIndexedCollection<E> collection;
+        /**
+         * The index of the first element which has not yet been returned.
+         */
+        private int index;
+        /**
+         * The index after the last element covered by this spliterator.
+         */
+        private final int fence;
+        /**
+         * The {@link #modificationCount} at the moment of the creation of the original spliterator.
+         * <p>
+         * This is used to monitor for concurrent modifications.
+         */
+        private final long expectedModificationCount;
+
+        /**
+         * Constructs a new {@link ArrayIndexedSpliterator} covering a range of indices.
+         *
+         * @param collection                the collection whose elements will be returned by this spliterator
+         * @param index                     the first index covered by this spliterator
+         * @param fence                     the index after the last one covered by this spliterator
+         * @param expectedModificationCount the expected modification count of the collection
+         */
+        private ArrayIndexedSpliterator(ArrayIndexedCollection<E> collection, int index, int fence, long expectedModificationCount) {
+            this.collection = collection;
+            this.index = index;
+            this.fence = fence;
+            this.expectedModificationCount = expectedModificationCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action, "The action must not be null.");
+
+            if (collection.modificationCount != expectedModificationCount)
+                throw concurrentModification("The collection has been modified since the Spliterator has been constructed.");
+
+            if (index >= fence)
+                return false;
+
+            action.accept(collection.elements[index++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action, "The action must not be null.");
+
+            if (collection.modificationCount != expectedModificationCount)
+                throw concurrentModification("The collection has been modified since the Spliterator has been constructed.");
+
+            E[] elements = collection.elements;
+            for (; index < fence; index++)
+                action.accept(elements[index]);
+
+            if (collection.modificationCount != expectedModificationCount)
+                throw concurrentModification("The collection has been modified since the Spliterator has been constructed.");
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int middle = (index + fence) >>> 1;
+
+            if (middle <= index)
+                return null;
+
+            Spliterator<E> prefix = new ArrayIndexedSpliterator<>(collection, index, middle, expectedModificationCount);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
 }
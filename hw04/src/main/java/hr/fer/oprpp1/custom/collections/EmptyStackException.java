@@ -1,7 +1,10 @@
 package hr.fer.oprpp1.custom.collections;
 
 /**
- * An exception that occurs when trying to remove an element from an empty {@link ObjectStack}.
+ * An exception that occurs when trying to remove or get an element from an empty {@link ObjectStack}.
+ * <p>
+ * {@link ObjectDeque} and {@link DoubleDeque} throw {@link java.util.NoSuchElementException} instead,
+ * like {@link java.util.Deque}.
  *
  * @author Borna Cafuk
  */
@@ -0,0 +1,320 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing the internal behaviour of the collections, such as how often they resize
+ * and how long their lookups take.
+ * <p>
+ * The counters are only updated if the system property {@value #PROPERTY} is set to {@code true}
+ * when this class is initialized. The collections check {@link #ENABLED} before touching any counter,
+ * and since it is a {@code static final} field, the JIT compiler treats it as a constant
+ * and removes the instrumentation code entirely when metrics are disabled.
+ * <p>
+ * The counters are shared by all instances of a collection class and can be updated from multiple threads.
+ * They can be read individually, listed using {@link #getMetrics()} or printed using {@link #dump()}.
+ *
+ * @author Borna Cafuk
+ */
+public final class MetricsRegistry {
+    /**
+     * The name of the system property which enables the metrics.
+     */
+    public static final String PROPERTY = "hr.fer.oprpp1.collections.metrics";
+    /**
+     * Whether the collections update the metrics.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * The number of times a {@link SimpleHashtable} increased its number of buckets.
+     */
+    public static final Counter HASHTABLE_RESIZES = new Counter("SimpleHashtable.resizes");
+    /**
+     * The number of entries compared in a {@link SimpleHashtable} chain during each lookup.
+     * Lookups in empty buckets record 0; lookups in tree buckets are not recorded.
+     */
+    public static final Histogram HASHTABLE_CHAIN_LENGTH = new Histogram("SimpleHashtable.chainLength");
+    /**
+     * The number of times an {@link ArrayIndexedCollection} reallocated its array to grow it.
+     */
+    public static final Counter ARRAY_GROWTHS = new Counter("ArrayIndexedCollection.growths");
+    /**
+     * The number of elements an {@link ArrayIndexedCollection} moved to another index when inserting or removing.
+     * Each element is a reference, so the number of bytes moved is this times the size of a reference.
+     */
+    public static final Counter ARRAY_SHIFTED_ELEMENTS = new Counter("ArrayIndexedCollection.shiftedElements");
+    /**
+     * The number of times an elements getter, iterator or spliterator of an {@link ArrayIndexedCollection}
+     * or a {@link SimpleHashtable} found that it had been invalidated by a modification of its collection
+     * and threw a {@link java.util.ConcurrentModificationException}.
+     */
+    public static final Counter ITERATOR_INVALIDATIONS = new Counter("iteratorInvalidations");
+
+    /**
+     * All metrics, in the order in which they are listed by {@link #dump()}.
+     */
+    private static final Metric[] METRICS = {
+            HASHTABLE_RESIZES,
+            HASHTABLE_CHAIN_LENGTH,
+            ARRAY_GROWTHS,
+            ARRAY_SHIFTED_ELEMENTS,
+            ITERATOR_INVALIDATIONS
+    };
+
+    /**
+     * Prevents instantiation, since this class only has static members.
+     */
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Lists all metrics.
+     *
+     * @return a new array containing all metrics
+     */
+    public static Metric[] getMetrics() {
+        return METRICS.clone();
+    }
+
+    /**
+     * Resets all metrics to zero.
+     * <p>
+     * Updates which happen concurrently with the reset may or may not be lost.
+     */
+    public static void reset() {
+        for (Metric metric : METRICS)
+            metric.reset();
+    }
+
+    /**
+     * Formats the current values of all metrics, one per line.
+     *
+     * @return a string describing all metrics
+     */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+
+        if (!ENABLED)
+            sb.append("Metrics are disabled; set -D").append(PROPERTY).append("=true to enable them.").append(System.lineSeparator());
+
+        for (Metric metric : METRICS)
+            sb.append(metric).append(System.lineSeparator());
+
+        return sb.toString();
+    }
+
+    /**
+     * A named value which is updated by the collections.
+     */
+    public static abstract class Metric {
+        /**
+         * The name of the metric.
+         */
+        private final String name;
+
+        /**
+         * Constructs a metric with the given name.
+         *
+         * @param name the name of the metric
+         */
+        private Metric(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets the name of the metric.
+         *
+         * @return the name of the metric
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Resets the metric to zero.
+         */
+        public abstract void reset();
+    }
+
+    /**
+     * A metric which counts events.
+     */
+    public static final class Counter extends Metric {
+        /**
+         * The current count.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * Constructs a counter with the given name.
+         *
+         * @param name the name of the counter
+         */
+        private Counter(String name) {
+            super(name);
+        }
+
+        /**
+         * Increases the count by one.
+         */
+        public void increment() {
+            count.increment();
+        }
+
+        /**
+         * Increases the count by the given amount.
+         *
+         * @param amount the amount to add
+         */
+        public void add(long amount) {
+            count.add(amount);
+        }
+
+        /**
+         * Gets the current count.
+         *
+         * @return the sum of all increments since the last reset
+         */
+        public long get() {
+            return count.sum();
+        }
+
+        @Override
+        public void reset() {
+            count.reset();
+        }
+
+        /**
+         * Formats the counter as its name and its count.
+         *
+         * @return a string describing the counter
+         */
+        @Override
+        public String toString() {
+            return getName() + " = " + get();
+        }
+    }
+
+    /**
+     * A metric which counts recorded values in buckets whose bounds are powers of two.
+     * <p>
+     * Bucket 0 contains the value 0, and bucket {@code i > 0} contains the values from {@code 2^(i-1)}
+     * to {@code 2^i - 1}, so bucket 1 contains only 1, bucket 2 contains 2 and 3, bucket 3 contains 4 to 7 etc.
+     */
+    public static final class Histogram extends Metric {
+        /**
+         * The number of buckets, which is enough for every non-negative {@code int}.
+         */
+        public static final int BUCKET_COUNT = Integer.SIZE;
+
+        /**
+         * The number of values recorded in each bucket.
+         */
+        private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+        /**
+         * The sum of all recorded values.
+         */
+        private final LongAdder sum = new LongAdder();
+
+        /**
+         * Constructs a histogram with the given name.
+         *
+         * @param name the name of the histogram
+         */
+        private Histogram(String name) {
+            super(name);
+
+            for (int i = 0; i < buckets.length; i++)
+                buckets[i] = new LongAdder();
+        }
+
+        /**
+         * Records a value.
+         *
+         * @param value the value to record; must not be negative
+         */
+        public void record(int value) {
+            buckets[bucketOf(value)].increment();
+            sum.add(value);
+        }
+
+        /**
+         * Finds the bucket which contains a value.
+         *
+         * @param value the value; must not be negative
+         * @return the index of the bucket
+         */
+        public static int bucketOf(int value) {
+            return Integer.SIZE - Integer.numberOfLeadingZeros(value);
+        }
+
+        /**
+         * Gets the number of values recorded in a bucket.
+         *
+         * @param bucket the index of the bucket
+         * @return the number of values in the bucket
+         * @throws IndexOutOfBoundsException if {@code bucket} is not between 0 and {@value BUCKET_COUNT} - 1
+         */
+        public long getCount(int bucket) {
+            if (bucket < 0 || bucket >= BUCKET_COUNT)
+                throw new IndexOutOfBoundsException("Valid buckets are 0 to " + (BUCKET_COUNT - 1) + ", but " + bucket + " was passed.");
+
+            return buckets[bucket].sum();
+        }
+
+        /**
+         * Gets the number of recorded values.
+         *
+         * @return the number of values in all buckets
+         */
+        public long getTotalCount() {
+            long total = 0;
+            for (LongAdder bucket : buckets)
+                total += bucket.sum();
+            return total;
+        }
+
+        /**
+         * Calculates the mean of the recorded values.
+         *
+         * @return the mean of the recorded values, or 0 if there are none
+         */
+        public double getMean() {
+            long total = getTotalCount();
+            return total == 0 ? 0 : (double) sum.sum() / total;
+        }
+
+        @Override
+        public void reset() {
+            for (LongAdder bucket : buckets)
+                bucket.reset();
+            sum.reset();
+        }
+
+        /**
+         * Formats the histogram as its name, the number of recorded values, their mean
+         * and the counts of all non-empty buckets.
+         *
+         * @return a string describing the histogram
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(getName())
+                    .append(": count = ").append(getTotalCount())
+                    .append(", mean = ").append(String.format("%.3f", getMean()));
+
+            for (int i = 0; i < buckets.length; i++) {
+                long count = buckets[i].sum();
+                if (count == 0)
+                    continue;
+
+                int lower = i == 0 ? 0 : 1 << (i - 1);
+                int upper = i == 0 ? 0 : (int) ((1L << i) - 1);
+                sb.append(", [").append(lower).append('-').append(upper).append("] = ").append(count);
+            }
+
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A double-ended queue of objects, backed by a circular array.
+ * <p>
+ * Adding and removing elements at either end takes constant (amortized) time, without shifting any elements.
+ * It can be used as a last in, first out stack through {@link #push(Object)}, {@link #pop()} and {@link #peek()},
+ * which all work on the last element.
+ * <p>
+ * The array grows {@value ObjectDeque#GROWTH_FACTOR} times when it is full. Optionally, it also shrinks
+ * {@value ObjectDeque#GROWTH_FACTOR} times when less than a quarter of it is used,
+ * but never below its initial capacity.
+ * <p>
+ * The deque is not allowed to contain {@code null}.
+ *
+ * @param <E> the type of objects to be stored in the deque
+ * @author Borna Cafuk
+ */
+public class ObjectDeque<E> {
+    /**
+     * The default capacity (i.e. the size of the internal array) when no capacity is specified in the constructor.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * By how much the capacity is multiplied when an element is to be added to an already full array,
+     * and divided when the array is shrunk.
+     */
+    private static final int GROWTH_FACTOR = 2;
+    /**
+     * The array is shrunk when the number of elements is less than its length divided by this value.
+     */
+    private static final int SHRINK_DIVISOR = 4;
+
+    /**
+     * The internal circular array containing the elements. Its length is always a power of two.
+     * Unused indices are set to {@code null}.
+     */
+    private E[] elements;
+    /**
+     * The index in {@link #elements} of the first element.
+     */
+    private int head = 0;
+    /**
+     * The number of elements currently in the deque.
+     */
+    private int size = 0;
+    /**
+     * The capacity below which the array is never shrunk.
+     */
+    private final int minimumCapacity;
+    /**
+     * Whether the array is shrunk when most of it is unused.
+     */
+    private final boolean shrinking;
+
+    /**
+     * Constructs an empty deque with the default initial capacity of {@value ObjectDeque#DEFAULT_CAPACITY}
+     * which is never shrunk.
+     */
+    public ObjectDeque() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Constructs an empty deque with the specified initial capacity, rounded up to a power of two.
+     *
+     * @param initialCapacity the initial capacity; must be 1 or greater
+     * @param shrinking       whether to shrink the array when less than a quarter of it is used
+     * @throws IllegalArgumentException if the specified initial capacity is less than 1
+     *                                  or greater than {@code 2^30}
+     */
+    @SuppressWarnings("unchecked")
+    public ObjectDeque(int initialCapacity, boolean shrinking) {
+        if (initialCapacity < 1 || initialCapacity > 1 << 30)
+            throw new IllegalArgumentException("The initial capacity must be between 1 and 2^30, but " + initialCapacity + " was given.");
+
+        minimumCapacity = Integer.highestOneBit(initialCapacity) == initialCapacity
+                ? initialCapacity
+                : Integer.highestOneBit(initialCapacity) << 1;
+        this.shrinking = shrinking;
+        elements = (E[]) new Object[minimumCapacity];
+    }
+
+    /**
+     * Returns whether the deque is empty.
+     *
+     * @return {@code true} if the deque is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the size of the deque.
+     *
+     * @return the number of objects currently stored in the deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an object to the front of the deque.
+     *
+     * @param value the object to add
+     * @throws NullPointerException if the object is {@code null}
+     */
+    public void addFirst(E value) {
+        Objects.requireNonNull(value, "null cannot be added to the deque.");
+
+        ensureCapacity(size + 1);
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+    }
+
+    /**
+     * Adds an object to the back of the deque.
+     *
+     * @param value the object to add
+     * @throws NullPointerException if the object is {@code null}
+     */
+    public void addLast(E value) {
+        Objects.requireNonNull(value, "null cannot be added to the deque.");
+
+        ensureCapacity(size + 1);
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Removes the object at the front of the deque and returns it.
+     *
+     * @return the object that was removed
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public E removeFirst() {
+        if (size == 0)
+            throw new NoSuchElementException("The deque is empty.");
+
+        E value = elements[head];
+        elements[head] = null;
+        head = (head + 1) & (elements.length - 1);
+        size--;
+
+        shrinkIfNecessary();
+        return value;
+    }
+
+    /**
+     * Removes the object at the back of the deque and returns it.
+     *
+     * @return the object that was removed
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public E removeLast() {
+        if (size == 0)
+            throw new NoSuchElementException("The deque is empty.");
+
+        int index = (head + size - 1) & (elements.length - 1);
+        E value = elements[index];
+        elements[index] = null;
+        size--;
+
+        shrinkIfNecessary();
+        return value;
+    }
+
+    /**
+     * Gets the object at the front of the deque, but does not remove it.
+     *
+     * @return the object at the front of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public E peekFirst() {
+        if (size == 0)
+            throw new NoSuchElementException("The deque is empty.");
+
+        return elements[head];
+    }
+
+    /**
+     * Gets the object at the back of the deque, but does not remove it.
+     *
+     * @return the object at the back of the deque
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public E peekLast() {
+        if (size == 0)
+            throw new NoSuchElementException("The deque is empty.");
+
+        return elements[(head + size - 1) & (elements.length - 1)];
+    }
+
+    /**
+     * Pushes an object onto the top of the stack, i.e. the back of the deque.
+     *
+     * @param value the object to be pushed
+     * @throws NullPointerException if the object is {@code null}
+     * @see ObjectDeque#addLast(Object)
+     */
+    public void push(E value) {
+        addLast(value);
+    }
+
+    /**
+     * Removes the object at the top of the stack, i.e. the back of the deque, and returns it.
+     *
+     * @return the object that was removed
+     * @throws NoSuchElementException if the deque is empty
+     * @see ObjectDeque#removeLast()
+     */
+    public E pop() {
+        return removeLast();
+    }
+
+    /**
+     * Gets the object at the top of the stack, i.e. the back of the deque, but does not remove it.
+     *
+     * @return the object at the top of the stack
+     * @throws NoSuchElementException if the deque is empty
+     * @see ObjectDeque#peekLast()
+     */
+    public E peek() {
+        return peekLast();
+    }
+
+    /**
+     * Pushes all elements of a collection onto the stack, i.e. adds them to the back of the deque.
+     * <p>
+     * The elements are pushed in the order in which {@link Collection#toArray()} returns them,
+     * so the last of them ends up on top. The array is grown at most once.
+     *
+     * @param values the collection whose elements to push; remains unchanged
+     * @throws NullPointerException if {@code values} is {@code null} or if it contains {@code null}
+     */
+    public void pushAll(Collection<? extends E> values) {
+        Objects.requireNonNull(values, "The collection must not be null.");
+
+        Object[] source = values.toArray();
+        for (Object value : source)
+            Objects.requireNonNull(value, "null cannot be added to the deque.");
+
+        ensureCapacity(size + source.length);
+
+        // The free space may wrap around the end of the array, in which case it is copied in two parts
+        int tail = (head + size) & (elements.length - 1);
+        int firstPart = Math.min(source.length, elements.length - tail);
+        System.arraycopy(source, 0, elements, tail, firstPart);
+        System.arraycopy(source, firstPart, elements, 0, source.length - firstPart);
+
+        size += source.length;
+    }
+
+    /**
+     * Pops multiple objects from the top of the stack, i.e. removes them from the back of the deque.
+     *
+     * @param count the number of objects to pop
+     * @return the popped objects, in the order in which they were popped, so the former top is first
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws NoSuchElementException   if there are fewer than {@code count} objects in the deque,
+     *                                  in which case none are removed
+     */
+    public Object[] popN(int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("The number of popped elements must not be negative, but " + count + " was given.");
+        if (count > size)
+            throw new NoSuchElementException("Only " + size + " objects are in the deque, but " + count + " were to be popped.");
+
+        Object[] popped = new Object[count];
+        int mask = elements.length - 1;
+
+        for (int i = 0; i < count; i++) {
+            int index = (head + size - 1 - i) & mask;
+            popped[i] = elements[index];
+            elements[index] = null;
+        }
+
+        size -= count;
+        shrinkIfNecessary();
+        return popped;
+    }
+
+    /**
+     * Creates an array from the deque.
+     *
+     * @return an array containing all objects in the deque, from front to back; never {@code null}
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, array, 0, firstPart);
+        System.arraycopy(elements, 0, array, firstPart, size - firstPart);
+
+        return array;
+    }
+
+    /**
+     * Removes all elements from the deque.
+     * <p>
+     * If the deque is shrinking, the array is also shrunk to its initial capacity.
+     */
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        if (shrinking && elements.length > minimumCapacity) {
+            elements = (E[]) new Object[minimumCapacity];
+        } else {
+            int firstPart = Math.min(size, elements.length - head);
+            Arrays.fill(elements, head, head + firstPart, null);
+            Arrays.fill(elements, 0, size - firstPart, null);
+        }
+
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Grows the array by a factor of {@value ObjectDeque#GROWTH_FACTOR} (or more, if necessary)
+     * if it can't hold the given number of elements.
+     *
+     * @param capacity the number of elements the array has to be able to hold
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= elements.length)
+            return;
+
+        int newCapacity = elements.length;
+        while (newCapacity < capacity)
+            newCapacity *= GROWTH_FACTOR;
+
+        reallocate(newCapacity);
+    }
+
+    /**
+     * Shrinks the array by a factor of {@value ObjectDeque#GROWTH_FACTOR} if shrinking is enabled,
+     * less than a quarter of it is used and it is larger than its initial capacity.
+     */
+    private void shrinkIfNecessary() {
+        if (shrinking && elements.length > minimumCapacity && size < elements.length / SHRINK_DIVISOR)
+            reallocate(elements.length / GROWTH_FACTOR);
+    }
+
+    /**
+     * Moves the elements into a new array of the given length, starting at index 0.
+     *
+     * @param capacity the length of the new array; must be a power of two not less than {@link #size}
+     */
+    @SuppressWarnings("unchecked")
+    private void reallocate(int capacity) {
+        E[] newElements = (E[]) new Object[capacity];
+
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, size - firstPart);
+
+        elements = newElements;
+        head = 0;
+    }
+}
@@ -0,0 +1,1382 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A table that maps keys to values. A map cannot contain duplicate keys; each key can map to at most one value.
+ * <p>
+ * {@code null} is allowed as a value, but not as a key.
+ * <p>
+ * Keys are compared using {@link Object#equals(Object)}.
+ * Values are stored in buckets according to the hash of their key, which is determined using {@link Object#hashCode()}.
+ * <p>
+ * If a bucket accumulates more than {@value #TREEIFY_THRESHOLD} entries, it is converted into a balanced tree
+ * ordered by hash code and, for keys with equal hash codes, by {@link Comparable#compareTo(Object)}.
+ * This keeps lookups logarithmic even if many keys end up in the same bucket.
+ * Keys with equal hash codes can only share a tree bucket if they are instances of the same {@link Comparable} class
+ * whose natural ordering is consistent with {@link Object#equals(Object)}; otherwise, the bucket stays a list.
+ * <p>
+ * By default, all entries are moved into a larger array of buckets at once when the load factor is exceeded.
+ * If incremental resizing is enabled (see {@link #SimpleHashtable(int, boolean)}), the old array is kept
+ * next to the new one instead, and every subsequent insertion or removal of an entry moves
+ * a few of the old buckets into the new array. Just enough of them are moved by each operation that
+ * all of them have been moved before the hashtable has to grow again, so no operation ever has to move
+ * all entries at once. This avoids a single slow operation every time the hashtable grows, at the cost of
+ * a lookup occasionally having to check two buckets.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author Borna Cafuk
+ */
+public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntry<K, V>> {
+    /**
+     * The default initial number of buckets if not specified otherwise.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * The maximum ratio of entries to buckets.
+     * Must be greater than 0.
+     */
+    private static final double LOAD_FACTOR = 0.75;
+    /**
+     * The factor by which the size of {@link #table} is increased in {@link #resize()}.
+     * Must be a power of two.
+     */
+    private static final int GROWTH_FACTOR = 2;
+    /**
+     * The number of entries in a bucket at which the bucket is converted into a tree.
+     * <p>
+     * If the conversion fails because the keys cannot be ordered, it is attempted again
+     * every time the bucket grows by this many entries.
+     */
+    private static final int TREEIFY_THRESHOLD = 8;
+    /**
+     * The number of entries in a tree bucket below which the bucket is converted back into a list.
+     * Must be less than {@link #TREEIFY_THRESHOLD}, so that buckets don't repeatedly switch representations.
+     */
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * An array of buckets holding the data.
+     * Each slot in the array is either the head of the linked list of entries in that bucket,
+     * or {@code null} if the bucket is empty.
+     * <p>
+     * If the bucket has been converted into a tree, each of its entries references its {@link TreeNode},
+     * the entries are still linked into a list, and the node of the head of the list references the root of the tree.
+     */
+    private TableEntry<K, V>[] table;
+    /**
+     * The array of buckets used before the last resize, if an incremental resize is in progress,
+     * or {@code null} otherwise.
+     * <p>
+     * Buckets which have already been moved into {@link #table} are set to {@code null}.
+     */
+    private TableEntry<K, V>[] oldTable = null;
+    /**
+     * The index of the next bucket in {@link #oldTable} to be moved into {@link #table}.
+     */
+    private int migrationIndex = 0;
+    /**
+     * The number of buckets in {@link #oldTable} moved into {@link #table} by each insertion or removal
+     * during an incremental resize.
+     * <p>
+     * This is calculated in {@link #resize()} so that all old buckets are moved before the next resize.
+     */
+    private int migrationStep = 0;
+    /**
+     * Whether the hashtable is resized incrementally.
+     */
+    private final boolean incrementalResize;
+    /**
+     * The number of entries currently stored in the hash table.
+     */
+    private int size = 0;
+    /**
+     * A modification counter used in {@link IteratorImpl} to check for concurrent modifications.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Constructs a new hashtable with the default of {@value DEFAULT_CAPACITY} buckets.
+     */
+    public SimpleHashtable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new hashtable with at least the specified number of buckets.
+     * <p>
+     * The actual number of buckets has to be a power of two, so if {@code capacity} is not a power of two,
+     * the smallest power of two larger than {@code capacity} will be used.
+     *
+     * @param capacity the desired number of buckets
+     * @throws IllegalArgumentException if {@code capacity} is less than 1
+     * @throws IllegalArgumentException if {@code capacity} is larger than the largest power of two
+     *                                  representable by an {@link Integer}
+     */
+    public SimpleHashtable(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Constructs a new hashtable with at least the specified number of buckets,
+     * optionally enabling incremental resizing.
+     * <p>
+     * The actual number of buckets has to be a power of two, so if {@code capacity} is not a power of two,
+     * the smallest power of two larger than {@code capacity} will be used.
+     *
+     * @param capacity          the desired number of buckets
+     * @param incrementalResize whether the entries should be moved into the larger array of buckets gradually,
+     *                          instead of all at once when the load factor is exceeded
+     * @throws IllegalArgumentException if {@code capacity} is less than 1
+     * @throws IllegalArgumentException if {@code capacity} is larger than the largest power of two
+     *                                  representable by an {@link Integer}
+     */
+    @SuppressWarnings("unchecked")
+    public SimpleHashtable(int capacity, boolean incrementalResize) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("The initial number of buckets has to be at least one, but " + capacity + " was given.");
+
+        table = (TableEntry<K, V>[]) new TableEntry[findFirstPowerOfTwo(capacity)];
+        this.incrementalResize = incrementalResize;
+    }
+
+    /**
+     * Assigns a value to a given key.
+     * If the key already exists in the hashtable, its value will be overwritten.
+     * Otherwise, a new entry is added to the hashtable.
+     * <p>
+     * If adding a new element would exceed the load factor of {@value #LOAD_FACTOR},
+     * a resize to {@value #GROWTH_FACTOR} times the current number of buckets is triggered.
+     * <p>
+     * Invalidates existing iterators if the key does not exist in the hashtable.
+     *
+     * @param key   the key whose value to assign
+     * @param value the new value for the key
+     * @return the value which was assigned to the key previously if the key already exists, {@code null} otherwise
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    public V put(K key, V value) {
+        int hash = hash(key);
+        TableEntry<K, V> entry = findEntry(key, hash);
+
+        if (entry != null) {
+            // The key exists
+            V oldValue = entry.value;
+            entry.value = value;
+            return oldValue;
+        }
+
+        if ((size + 1.0d) / table.length > LOAD_FACTOR)
+            resize();
+
+        insertEntry(new TableEntry<>(key, value, hash));
+        size++;
+        invalidateIterators();
+
+        migrateBuckets(migrationStep);
+        return null;
+    }
+
+    /**
+     * Retrieves the value associated with a key.
+     *
+     * @param key the key whose value to look up
+     * @return the value assigned to the given key, or {@code null} if the key does not exist in the hashtable
+     */
+    public V get(Object key) {
+        TableEntry<K, V> entry = findByKey(key);
+
+        if (entry == null)
+            return null;
+
+        return entry.value;
+    }
+
+    /**
+     * Gets the number of entries stored in the hashtable.
+     *
+     * @return the number of key-value pairs currently stored in the hashtable
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the hashtable contains an entry with the given key.
+     *
+     * @param key the key to look up
+     * @return {@code true} if the hashtable contains the given key, {@code false} otherwise
+     */
+    public boolean containsKey(Object key) {
+        return findByKey(key) != null;
+    }
+
+    /**
+     * Checks if the hashtable contains an entry with the given value.
+     *
+     * @param value the key to look up
+     * @return {@code true} if the hashtable contains the given key, {@code false} otherwise
+     */
+    public boolean containsValue(Object value) {
+        for (TableEntry<K, V> kvTableEntry : this)
+            if (Objects.equals(value, kvTableEntry.value))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Removes the entry with the given key from the hashtable.
+     * <p>
+     * Invalidates existing iterators if the key exists in the hashtable.
+     *
+     * @param key the key of the entry to remove
+     * @return the value which was assigned to the key, or {@code null} if the key doesn't exist in the hashtable
+     */
+    public V remove(Object key) {
+        if (key == null)
+            return null;
+
+        TableEntry<K, V> entry = removeEntry(key, hash(key));
+
+        if (entry == null)
+            return null;
+
+        migrateBuckets(migrationStep);
+        return entry.value;
+    }
+
+    /**
+     * Checks whether there are no entries in the hashtable.
+     *
+     * @return {@code true} if there are no entries currently stored in the table, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Converts the entries of this hashmap into a string in the form of a list of ket-value pairs.
+     *
+     * @return a string representing the entries of this hashmap
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+
+        Iterator<TableEntry<K, V>> iterator = iterator();
+
+        while (iterator.hasNext()) {
+            sb.append(iterator.next());
+
+            if (iterator.hasNext())
+                sb.append(", ");
+        }
+
+        sb.append(']');
+
+        return sb.toString();
+    }
+
+    /**
+     * Dumps all key-value pairs currently stored in the hashtable into an array.
+     * <p>
+     * No guarantee is given about the order of the elements, except that two calls to the function
+     * will yield the same order if the hashtable is not modified between them.
+     *
+     * @return an array of the entries stored in the hashtable.
+     */
+    @SuppressWarnings("unchecked")
+    public TableEntry<K, V>[] toArray() {
+        TableEntry<K, V>[] array = (TableEntry<K, V>[]) new TableEntry[size];
+
+        Iterator<TableEntry<K, V>> iterator = iterator();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = iterator.next();
+        }
+
+        return array;
+    }
+
+    /**
+     * Removes all entries from the hashtable.
+     * <p>
+     * Invalidates existing iterators.
+     */
+    public void clear() {
+        Arrays.fill(table, null);
+        oldTable = null;
+        size = 0;
+        invalidateIterators();
+    }
+
+    /**
+     * Finds the smallest integer which is both a power of two and larger than or equal to a given parameter.
+     *
+     * @param n the lower bound for the power of two
+     * @return the smallest power of two which is larger or equal to {@code n}
+     */
+    private int findFirstPowerOfTwo(int n) {
+        for (int power = 1; power != 0; power *= 2)
+            if (power >= n)
+                return power;
+        throw new IllegalArgumentException("Couldn't find a power of two greater than " + n + " that fits into an integer.");
+    }
+
+    /**
+     * Calculates the hash of a key.
+     * <p>
+     * The higher bits of {@link Object#hashCode()} are mixed into the lower ones,
+     * since only the lower bits are used to select a bucket.
+     * Without this, hash codes which only differ in their higher bits would always end up in the same bucket.
+     *
+     * @param key the key whose hash to calculate
+     * @return the hash of the key
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    private static int hash(Object key) {
+        Objects.requireNonNull(key, "The key must not be null");
+        int hashCode = key.hashCode();
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * Calculates the index of the corresponding bucket for a given hash.
+     *
+     * @param buckets the array of buckets, either {@link #table} or {@link #oldTable}
+     * @param hash    the hash of a key, as calculated by {@link #hash(Object)}
+     * @return the index of the bucket
+     */
+    private static int getBucket(TableEntry<?, ?>[] buckets, int hash) {
+        return hash & (buckets.length - 1);
+    }
+
+    /**
+     * Finds the entry with the given key.
+     *
+     * @param key the key look up
+     * @return the entry with the given key if it exists in the hashmap, {@code null} otherwise
+     */
+    private TableEntry<K, V> findByKey(Object key) {
+        if (key == null)
+            return null;
+
+        return findEntry(key, hash(key));
+    }
+
+    /**
+     * Finds the entry with the given key, looking through both {@link #table} and {@link #oldTable}.
+     *
+     * @param key  the key look up; must not be {@code null}
+     * @param hash the hash of {@code key}
+     * @return the entry with the given key if it exists in the hashmap, {@code null} otherwise
+     */
+    private TableEntry<K, V> findEntry(Object key, int hash) {
+        TableEntry<K, V> entry = findInBucket(table, key, hash);
+
+        if (entry == null && oldTable != null)
+            entry = findInBucket(oldTable, key, hash);
+
+        return entry;
+    }
+
+    /**
+     * Finds the entry with the given key in its bucket in an array of buckets.
+     *
+     * @param buckets the array of buckets, either {@link #table} or {@link #oldTable}
+     * @param key     the key look up; must not be {@code null}
+     * @param hash    the hash of {@code key}
+     * @return the entry with the given key if it exists in the array, {@code null} otherwise
+     */
+    private TableEntry<K, V> findInBucket(TableEntry<K, V>[] buckets, Object key, int hash) {
+        TableEntry<K, V> entry = buckets[getBucket(buckets, hash)];
+
+        if (entry == null) {
+            // The bucket is empty
+            recordChainLength(0);
+            return null;
+        }
+
+        if (entry.treeNode != null)
+            return findInTree(entry.treeNode.root, key, hash);
+
+        int length = 0;
+        while (entry != null) {
+            length++;
+
+            if (entry.hash == hash && key.equals(entry.key)) {
+                // The key exists
+                recordChainLength(length);
+                return entry;
+            }
+
+            entry = entry.next;
+        }
+
+        // The bucket isn't empty, but the key doesn't exist
+        recordChainLength(length);
+        return null;
+    }
+
+    /**
+     * Adds an entry whose key does not yet exist in the hashtable into its bucket in {@link #table}.
+     * <p>
+     * Does not update the {@link #size} or the {@link #modificationCount}.
+     *
+     * @param entry the entry to add; may be an entry which has been unlinked from {@link #oldTable}
+     */
+    private void insertEntry(TableEntry<K, V> entry) {
+        int bucketIndex = getBucket(table, entry.hash);
+        TableEntry<K, V> head = table[bucketIndex];
+
+        // The entry may come from a bucket of the old table, so its links are no longer valid
+        entry.next = null;
+        entry.treeNode = null;
+
+        if (head != null && head.treeNode != null) {
+            if (canInsertIntoTree(head.treeNode.root, entry.key, entry.hash)) {
+                insertIntoTreeBucket(bucketIndex, entry);
+                return;
+            }
+
+            // The key can't be ordered relative to the keys in the tree, so the bucket has to become a list again
+            untreeify(table, bucketIndex);
+            head = table[bucketIndex];
+        }
+
+        if (head == null) {
+            // The bucket is empty
+            table[bucketIndex] = entry;
+            return;
+        }
+
+        int chainLength = 1;
+        while (head.next != null) {
+            head = head.next;
+            chainLength++;
+        }
+
+        head.next = entry;
+
+        if ((chainLength + 1) % TREEIFY_THRESHOLD == 0)
+            treeify(bucketIndex);
+    }
+
+    /**
+     * Removes the entry with the given key, looking through both {@link #table} and {@link #oldTable}.
+     * <p>
+     * Invalidates existing iterators if the key exists in the hashtable.
+     *
+     * @param key  the key of the entry to remove; must not be {@code null}
+     * @param hash the hash of {@code key}
+     * @return the removed entry, or {@code null} if the key doesn't exist in the hashtable
+     */
+    private TableEntry<K, V> removeEntry(Object key, int hash) {
+        TableEntry<K, V> entry = removeFromBucket(table, key, hash);
+
+        if (entry == null && oldTable != null)
+            entry = removeFromBucket(oldTable, key, hash);
+
+        if (entry != null) {
+            size--;
+            invalidateIterators();
+        }
+
+        return entry;
+    }
+
+    /**
+     * Removes the entry with the given key from its bucket in an array of buckets.
+     * <p>
+     * Does not update the {@link #size} or the {@link #modificationCount}.
+     *
+     * @param buckets the array of buckets, either {@link #table} or {@link #oldTable}
+     * @param key     the key of the entry to remove; must not be {@code null}
+     * @param hash    the hash of {@code key}
+     * @return the removed entry, or {@code null} if the key doesn't exist in the array
+     */
+    private TableEntry<K, V> removeFromBucket(TableEntry<K, V>[] buckets, Object key, int hash) {
+        int bucketIndex = getBucket(buckets, hash);
+        TableEntry<K, V> entry = buckets[bucketIndex];
+
+        if (entry == null)
+            // The bucket is empty
+            return null;
+
+        if (entry.treeNode != null) {
+            entry = findInTree(entry.treeNode.root, key, hash);
+
+            if (entry != null)
+                removeFromTreeBucket(buckets, bucketIndex, entry);
+
+            return entry;
+        }
+
+        if (entry.hash == hash && key.equals(entry.key)) {
+            // The first entry in the bucket has the key
+            buckets[bucketIndex] = entry.next;
+            return entry;
+        }
+
+        TableEntry<K, V> prevEntry = entry;
+
+        while (prevEntry.next != null) {
+            if (prevEntry.next.hash == hash && key.equals(prevEntry.next.key)) {
+                // An entry other than the first one has the key
+                entry = prevEntry.next;
+                prevEntry.next = entry.next;
+                return entry;
+            }
+            prevEntry = prevEntry.next;
+        }
+
+        // The bucket isn't empty, but the key doesn't exist
+        return null;
+    }
+
+    /**
+     * Compares a key to the key of an entry to determine their order in a tree bucket.
+     * <p>
+     * Keys are primarily ordered by their hashes.
+     * Keys with equal hashes are ordered using {@link Comparable#compareTo(Object)},
+     * but only if they are instances of the same {@link Comparable} class.
+     *
+     * @param key   the key to compare
+     * @param hash  the hash of {@code key}
+     * @param entry the entry whose key to compare to
+     * @return a negative integer if {@code key} goes before the entry, a positive integer if it goes after it,
+     *         or 0 if the keys are equal or can't be ordered
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareForTree(Object key, int hash, TableEntry<?, ?> entry) {
+        if (hash != entry.hash)
+            return hash < entry.hash ? -1 : 1;
+
+        if (!(key instanceof Comparable) || key.getClass() != entry.key.getClass())
+            return 0;
+
+        return ((Comparable) key).compareTo(entry.key);
+    }
+
+    /**
+     * Finds the entry with the given key in a tree bucket.
+     * <p>
+     * No two keys in a tree can be equal or unordered according to {@link #compareForTree(Object, int, TableEntry)},
+     * so if the search reaches a key which can't be ordered relative to {@code key}, the key isn't in the tree.
+     *
+     * @param root the root of the tree
+     * @param key  the key to look up
+     * @param hash the hash of {@code key}
+     * @return the entry with the given key if it exists in the tree, {@code null} otherwise
+     */
+    private TableEntry<K, V> findInTree(TreeNode<K, V> root, Object key, int hash) {
+        TreeNode<K, V> node = root;
+
+        while (node != null) {
+            TableEntry<K, V> entry = node.entry;
+            if (entry.hash == hash && key.equals(entry.key))
+                return entry;
+
+            int comparison = compareForTree(key, hash, entry);
+            if (comparison == 0)
+                return null;
+
+            node = comparison < 0 ? node.left : node.right;
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks whether a key which doesn't exist in a tree bucket can be ordered relative to all keys on its path.
+     *
+     * @param root the root of the tree
+     * @param key  the key to insert
+     * @param hash the hash of {@code key}
+     * @return {@code true} if the key can be inserted into the tree, {@code false} otherwise
+     */
+    private boolean canInsertIntoTree(TreeNode<K, V> root, Object key, int hash) {
+        TreeNode<K, V> node = root;
+
+        while (node != null) {
+            int comparison = compareForTree(key, hash, node.entry);
+            if (comparison == 0)
+                return false;
+
+            node = comparison < 0 ? node.left : node.right;
+        }
+
+        return true;
+    }
+
+    /**
+     * Inserts an entry into a tree bucket, both into the tree and the list of the bucket's entries.
+     * <p>
+     * The caller has to make sure that {@link #canInsertIntoTree(TreeNode, Object, int)} is satisfied.
+     *
+     * @param bucketIndex the index of the tree bucket
+     * @param entry       the entry to insert; must not be linked into any bucket
+     */
+    private void insertIntoTreeBucket(int bucketIndex, TableEntry<K, V> entry) {
+        TableEntry<K, V> head = table[bucketIndex];
+        TreeNode<K, V> node = new TreeNode<>(entry);
+        entry.treeNode = node;
+
+        entry.next = head.next;
+        node.previous = head;
+        if (head.next != null)
+            head.next.treeNode.previous = entry;
+        head.next = entry;
+
+        head.treeNode.root = insertIntoTree(head.treeNode.root, node);
+    }
+
+    /**
+     * Removes an entry from a tree bucket, both from the tree and the list of the bucket's entries.
+     * <p>
+     * If fewer than {@value #UNTREEIFY_THRESHOLD} entries remain, the bucket is converted back into a list.
+     *
+     * @param buckets     the array of buckets, either {@link #table} or {@link #oldTable}
+     * @param bucketIndex the index of the tree bucket
+     * @param entry       the entry to remove; has to be in the bucket
+     */
+    private void removeFromTreeBucket(TableEntry<K, V>[] buckets, int bucketIndex, TableEntry<K, V> entry) {
+        TreeNode<K, V> node = entry.treeNode;
+        TreeNode<K, V> root = removeFromTree(buckets[bucketIndex].treeNode.root, node);
+
+        if (node.previous != null)
+            node.previous.next = entry.next;
+        else
+            buckets[bucketIndex] = entry.next;
+
+        if (entry.next != null)
+            entry.next.treeNode.previous = node.previous;
+
+        entry.treeNode = null;
+
+        if (root == null)
+            return;
+
+        buckets[bucketIndex].treeNode.root = root;
+
+        int count = 0;
+        for (TableEntry<K, V> remaining = buckets[bucketIndex]; remaining != null && count < UNTREEIFY_THRESHOLD; remaining = remaining.next)
+            count++;
+
+        if (count < UNTREEIFY_THRESHOLD)
+            untreeify(buckets, bucketIndex);
+    }
+
+    /**
+     * Converts a list bucket into a tree bucket in place, keeping the entries and their order.
+     * <p>
+     * If the keys in the bucket can't be ordered, the bucket is left unchanged.
+     *
+     * @param bucketIndex the index of the bucket
+     */
+    private void treeify(int bucketIndex) {
+        TableEntry<K, V> head = table[bucketIndex];
+        TreeNode<K, V> root = null;
+        TableEntry<K, V> previous = null;
+
+        for (TableEntry<K, V> entry = head; entry != null; entry = entry.next) {
+            if (root != null && !canInsertIntoTree(root, entry.key, entry.hash)) {
+                // The bucket stays a list, so the nodes created so far are dropped
+                for (TableEntry<K, V> converted = head; converted != entry; converted = converted.next)
+                    converted.treeNode = null;
+                return;
+            }
+
+            TreeNode<K, V> node = new TreeNode<>(entry);
+            node.previous = previous;
+            entry.treeNode = node;
+            root = insertIntoTree(root, node);
+
+            previous = entry;
+        }
+
+        head.treeNode.root = root;
+    }
+
+    /**
+     * Converts a tree bucket back into a list bucket in place, keeping the entries and their order.
+     *
+     * @param buckets     the array of buckets, either {@link #table} or {@link #oldTable}
+     * @param bucketIndex the index of the bucket
+     */
+    private void untreeify(TableEntry<K, V>[] buckets, int bucketIndex) {
+        for (TableEntry<K, V> entry = buckets[bucketIndex]; entry != null; entry = entry.next)
+            entry.treeNode = null;
+    }
+
+    /**
+     * Inserts a node into an AVL tree.
+     * <p>
+     * The caller has to make sure that {@link #canInsertIntoTree(TreeNode, Object, int)} is satisfied.
+     *
+     * @param subtree the root of the (sub)tree into which to insert the node, may be {@code null}
+     * @param node    the node to insert
+     * @return the new root of the (sub)tree
+     */
+    private TreeNode<K, V> insertIntoTree(TreeNode<K, V> subtree, TreeNode<K, V> node) {
+        if (subtree == null)
+            return node;
+
+        if (compareForTree(node.entry.key, node.entry.hash, subtree.entry) < 0)
+            subtree.left = insertIntoTree(subtree.left, node);
+        else
+            subtree.right = insertIntoTree(subtree.right, node);
+
+        return rebalance(subtree);
+    }
+
+    /**
+     * Removes a node from an AVL tree.
+     *
+     * @param subtree the root of the (sub)tree containing the node
+     * @param node    the node to remove
+     * @return the new root of the (sub)tree, or {@code null} if it has become empty
+     */
+    private TreeNode<K, V> removeFromTree(TreeNode<K, V> subtree, TreeNode<K, V> node) {
+        if (subtree == node) {
+            if (node.left == null)
+                return node.right;
+            if (node.right == null)
+                return node.left;
+
+            TreeNode<K, V> successor = node.right;
+            while (successor.left != null)
+                successor = successor.left;
+
+            successor.right = removeFromTree(node.right, successor);
+            successor.left = node.left;
+            node.left = null;
+            node.right = null;
+            return rebalance(successor);
+        }
+
+        if (compareForTree(node.entry.key, node.entry.hash, subtree.entry) < 0)
+            subtree.left = removeFromTree(subtree.left, node);
+        else
+            subtree.right = removeFromTree(subtree.right, node);
+
+        return rebalance(subtree);
+    }
+
+    /**
+     * Updates the height of an AVL tree node and performs the necessary rotations if it is unbalanced.
+     *
+     * @param node the node to rebalance
+     * @return the new root of the subtree
+     */
+    private static <K, V> TreeNode<K, V> rebalance(TreeNode<K, V> node) {
+        int balance = TreeNode.height(node.right) - TreeNode.height(node.left);
+
+        if (balance > 1) {
+            if (TreeNode.height(node.right.left) > TreeNode.height(node.right.right))
+                node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+
+        if (balance < -1) {
+            if (TreeNode.height(node.left.right) > TreeNode.height(node.left.left))
+                node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+
+        node.updateHeight();
+        return node;
+    }
+
+    /**
+     * Rotates an AVL subtree to the left.
+     *
+     * @param node the root of the subtree; must have a right child
+     * @return the new root of the subtree
+     */
+    private static <K, V> TreeNode<K, V> rotateLeft(TreeNode<K, V> node) {
+        TreeNode<K, V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+
+        node.updateHeight();
+        pivot.updateHeight();
+        return pivot;
+    }
+
+    /**
+     * Rotates an AVL subtree to the right.
+     *
+     * @param node the root of the subtree; must have a left child
+     * @return the new root of the subtree
+     */
+    private static <K, V> TreeNode<K, V> rotateRight(TreeNode<K, V> node) {
+        TreeNode<K, V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+
+        node.updateHeight();
+        pivot.updateHeight();
+        return pivot;
+    }
+
+    /**
+     * Returns an iterator over the entries of the hashtable.
+     *
+     * @return a new iterator
+     */
+    @Override
+    public Iterator<TableEntry<K, V>> iterator() {
+        return new IteratorImpl();
+    }
+
+    /**
+     * Creates a {@link Spliterator} over the entries of the hashtable.
+     * <p>
+     * The spliterator splits the range of buckets in half, so the entries can be processed in parallel.
+     * It is {@link Spliterator#SIZED} until it is first split, after which the sizes of the parts are estimated.
+     * Like {@link #iterator()}, it throws a {@link ConcurrentModificationException}
+     * if the hashtable is modified while it is being used.
+     *
+     * @return a new spliterator
+     */
+    @Override
+    public Spliterator<TableEntry<K, V>> spliterator() {
+        int bucketCount = (oldTable == null ? 0 : oldTable.length) + table.length;
+        return new SpliteratorImpl(oldTable, table, 0, bucketCount, size, true, modificationCount);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} of the entries of the hashtable.
+     *
+     * @return a sequential stream
+     */
+    public Stream<TableEntry<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a possibly parallel {@link Stream} of the entries of the hashtable.
+     * <p>
+     * The hashtable must not be modified while the stream is being processed.
+     *
+     * @return a possibly parallel stream
+     */
+    public Stream<TableEntry<K, V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Increases the number of buckets {@value GROWTH_FACTOR} times.
+     * <p>
+     * If incremental resizing is disabled, all existing entries are moved into the new buckets immediately.
+     * Otherwise, the current buckets are kept as {@link #oldTable} and moved over by subsequent operations.
+     * <p>
+     * The number of insertions before the next resize is at least the number of entries which fit into
+     * the new buckets without exceeding the load factor, minus the current number of entries.
+     * Removals only add to it. Each insertion moves {@link #migrationStep} buckets, which is chosen so that
+     * the old buckets are all moved after that many insertions.
+     * <p>
+     * The entries themselves are reused, and their cached hashes are used to find their new buckets.
+     * <p>
+     * Invalidates existing iterators.
+     */
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        // Moves nothing, since the previous incremental resize has always finished by now
+        if (oldTable != null)
+            migrateBuckets(oldTable.length);
+
+        oldTable = table;
+        migrationIndex = 0;
+        table = (TableEntry<K, V>[]) new TableEntry[table.length * GROWTH_FACTOR];
+        invalidateIterators();
+
+        // The insertion which triggered the resize is followed by a migration step as well
+        int insertionsBeforeNextResize = Math.max(1, (int) (LOAD_FACTOR * table.length) - size);
+        migrationStep = (oldTable.length + insertionsBeforeNextResize - 1) / insertionsBeforeNextResize;
+
+        if (MetricsRegistry.ENABLED)
+            MetricsRegistry.HASHTABLE_RESIZES.increment();
+
+        if (!incrementalResize)
+            migrateBuckets(oldTable.length);
+    }
+
+    /**
+     * Moves up to the given number of buckets from {@link #oldTable} into {@link #table}.
+     * If all old buckets have been moved, {@link #oldTable} is discarded.
+     * <p>
+     * Does nothing if no incremental resize is in progress.
+     *
+     * @param count the maximum number of buckets to move
+     */
+    private void migrateBuckets(int count) {
+        if (oldTable == null)
+            return;
+
+        int end = Math.min(oldTable.length, migrationIndex + count);
+
+        for (; migrationIndex < end; migrationIndex++) {
+            TableEntry<K, V> entry = oldTable[migrationIndex];
+            oldTable[migrationIndex] = null;
+
+            while (entry != null) {
+                TableEntry<K, V> next = entry.next;
+                insertEntry(entry);
+                entry = next;
+            }
+        }
+
+        if (migrationIndex == oldTable.length)
+            oldTable = null;
+    }
+
+    /**
+     * Increments the {@link #modificationCount}, invalidating existing iterators and spliterators.
+     */
+    private void invalidateIterators() {
+        modificationCount++;
+    }
+
+    /**
+     * Creates the exception thrown when iterators and spliterators find that the hashtable has been modified,
+     * counting the invalidation if metrics are enabled.
+     *
+     * @param message the detail message of the exception
+     * @return the exception to throw
+     */
+    private static ConcurrentModificationException concurrentModification(String message) {
+        if (MetricsRegistry.ENABLED)
+            MetricsRegistry.ITERATOR_INVALIDATIONS.increment();
+
+        return new ConcurrentModificationException(message);
+    }
+
+    /**
+     * Records the number of entries compared while looking up a key in a chain, if metrics are enabled.
+     *
+     * @param length the number of entries compared
+     */
+    private static void recordChainLength(int length) {
+        if (MetricsRegistry.ENABLED)
+            MetricsRegistry.HASHTABLE_CHAIN_LENGTH.record(length);
+    }
+
+    /**
+     * A key-value pair stored in the hashtable.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    public static class TableEntry<K, V> {
+        /**
+         * The entry's key.
+         */
+        private K key;
+        /**
+         * The entry's value.
+         */
+        private V value;
+        /**
+         * The hash of the entry's key, as calculated by {@link #hash(Object)}.
+         */
+        private int hash;
+        /**
+         * The next entry in the same bucket, or {@code null} if this entry is the last in the bucket.
+         */
+        private TableEntry<K, V> next = null;
+        /**
+         * The entry's node in the tree of its bucket if the bucket has been converted into a tree,
+         * {@code null} otherwise.
+         */
+        private TreeNode<K, V> treeNode = null;
+
+        /**
+         * Constructs a new entry with the given parameters.
+         *
+         * @param key   the entry's key
+         * @param value the entry's value
+         * @param hash  the hash of the entry's key
+         * @throws NullPointerException if {@code key} is {@code null}
+         */
+        private TableEntry(K key, V value, int hash) {
+            this.key = Objects.requireNonNull(key, "The key must not be null");
+            this.value = value;
+            this.hash = hash;
+        }
+
+        /**
+         * Returns the entry's the key.
+         *
+         * @return the key
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the entry's the value.
+         *
+         * @return the value
+         */
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Changes the entry's value.
+         *
+         * @param value the new value
+         */
+        public void setValue(V value) {
+            this.value = value;
+        }
+
+        /**
+         * Converts the entry to a string.
+         *
+         * @return the key and value, joined by an equals sign ({@code =})
+         */
+        @Override
+        public String toString() {
+            return key.toString() + '=' + value.toString();
+        }
+    }
+
+    /**
+     * A node of the tree of a bucket which has been converted into a tree.
+     * <p>
+     * Besides being a node of an AVL tree, it also links its entry to the previous entry in the bucket,
+     * so that the entry can be removed from the list without searching for its predecessor.
+     * The order of the list doesn't depend on the shape of the tree,
+     * so rebalancing the tree doesn't disturb iterators.
+     * <p>
+     * The nodes are kept apart from the {@link TableEntry TableEntries} so that converting a bucket between
+     * a list and a tree doesn't replace entries which iterators and callers may still be referencing.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static class TreeNode<K, V> {
+        /**
+         * The entry this node belongs to.
+         */
+        private final TableEntry<K, V> entry;
+        /**
+         * The left child in the tree, or {@code null} if there is none.
+         */
+        private TreeNode<K, V> left = null;
+        /**
+         * The right child in the tree, or {@code null} if there is none.
+         */
+        private TreeNode<K, V> right = null;
+        /**
+         * The previous entry in the same bucket, or {@code null} if the entry is the first in the bucket.
+         */
+        private TableEntry<K, V> previous = null;
+        /**
+         * The root of the bucket's tree if the entry is the first in the bucket, unused otherwise.
+         */
+        private TreeNode<K, V> root = null;
+        /**
+         * The height of the subtree rooted at this node.
+         */
+        private int height = 1;
+
+        /**
+         * Constructs a new tree node for the given entry.
+         *
+         * @param entry the entry the node belongs to
+         */
+        private TreeNode(TableEntry<K, V> entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * Gets the height of a subtree.
+         *
+         * @param node the root of the subtree, may be {@code null}
+         * @return the height of the subtree, or 0 if it is empty
+         */
+        private static int height(TreeNode<?, ?> node) {
+            return node == null ? 0 : node.height;
+        }
+
+        /**
+         * Recalculates the height of this node from the heights of its children.
+         */
+        private void updateHeight() {
+            height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    /**
+     * An iterator over the entries of the hashtable.
+     * <p>
+     * If an incremental resize is in progress, the remaining buckets of {@link #oldTable} are visited first,
+     * followed by the buckets of {@link #table}.
+     */
+    public class IteratorImpl implements Iterator<TableEntry<K, V>> {
+        /**
+         * The index of the bucket to which {@link #nextEntry} belongs.
+         * Buckets of {@link #oldTable} come before the buckets of {@link #table}.
+         * If there are no more elements, it will be equal to the total number of buckets.
+         */
+        private int bucketIndex;
+        /**
+         * The next entry to be returned by {@link #next()}.
+         * If there are no more elements, it will be {@code null}.
+         */
+        private TableEntry<K, V> nextEntry;
+        /**
+         * The last entry returned by {@link #next()}.
+         * If {@link #remove()} has been called after the last call to {@link #next()}, it will be {@code null}.
+         * If {@link #next()} has not yet been called, it will also be {@code null}.
+         */
+        private TableEntry<K, V> currentEntry = null;
+        /**
+         * The {@link #modificationCount} at the moment of this {@link IteratorImpl}'s creation.
+         * This is also updated every time {@link #remove()} returns.
+         * <p>
+         * This is used to monitor for concurrent modifications.
+         */
+        private long expectedModificationCount = modificationCount;
+
+        private IteratorImpl() {
+            bucketIndex = -1;
+            nextEntry = null;
+            advance();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws ConcurrentModificationException if the hashtable has been modified through a different iterator or
+         *                                         by directly calling {@link SimpleHashtable} methods
+         */
+        @Override
+        public boolean hasNext() {
+            if (modificationCount != expectedModificationCount)
+                throw concurrentModification("The hashtable has been modified.");
+
+            return nextEntry != null;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws ConcurrentModificationException if the hashtable has been modified through a different iterator or
+         *                                         by directly calling {@link SimpleHashtable} methods
+         */
+        @Override
+        public TableEntry<K, V> next() {
+            currentEntry = nextEntry;
+            advance();
+            return currentEntry;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws ConcurrentModificationException if the hashtable has been modified through a different iterator or
+         *                                         by directly calling {@link SimpleHashtable} methods
+         */
+        @Override
+        public void remove() {
+            if (currentEntry == null)
+                throw new IllegalStateException("remove() has already been called.");
+            if (modificationCount != expectedModificationCount)
+                throw concurrentModification("The hashtable has been modified.");
+
+            // Unlike SimpleHashtable.remove, this doesn't move any buckets, which would disturb the iteration
+            removeEntry(currentEntry.key, currentEntry.hash);
+            expectedModificationCount++;
+            currentEntry = null;
+        }
+
+        /**
+         * Advances the internal state ({@link #bucketIndex} and {@link #nextEntry}) to the next entry in the hashtable.
+         * <p>
+         * If called when {@link #nextEntry} is the last entry,
+         * {@link #bucketIndex} will be set to the number of buckets in the hashmap,
+         * and {@link #nextEntry} will be set to {@code null}.
+         * <p>
+         * If called with {@link #bucketIndex} set to -1 and {@link #nextEntry} set to {@code null},
+         * it will set {@link #nextEntry} to the first entry in the hashtable.
+         *
+         * @throws NoSuchElementException if called when there are no more entries in the hashtable
+         */
+        private void advance() {
+            if (modificationCount != expectedModificationCount)
+                throw concurrentModification("The hashtable has been modified.");
+            int oldBucketCount = oldTable == null ? 0 : oldTable.length;
+            int bucketCount = oldBucketCount + table.length;
+
+            if (bucketIndex >= bucketCount)
+                throw new NoSuchElementException("All entries have been iterated over.");
+
+            if (nextEntry != null)
+                nextEntry = nextEntry.next;
+
+            while (nextEntry == null) {
+                bucketIndex++;
+                if (bucketIndex >= bucketCount)
+                    break;
+
+                nextEntry = bucketIndex < oldBucketCount ? oldTable[bucketIndex] : table[bucketIndex - oldBucketCount];
+            }
+        }
+    }
+
+    /**
+     * An implementation of {@link Spliterator} for this class.
+     * <p>
+     * Like {@link IteratorImpl}, it considers the buckets of {@link #oldTable} to come before the buckets of
+     * {@link #table}, and covers a range of bucket indices.
+     */
+    private class SpliteratorImpl implements Spliterator<TableEntry<K, V>> {
+        /**
+         * The value of {@link #oldTable} when the original spliterator was created.
+         */
+        private final TableEntry<K, V>[] oldBuckets;
+        /**
+         * The value of {@link #table} when the original spliterator was created.
+         */
+        private final TableEntry<K, V>[] buckets;
+        /**
+         * The index of the next bucket to visit.
+         */
+        private int bucketIndex;
+        /**
+         * The index after the last bucket covered by this spliterator.
+         */
+        private final int fence;
+        /**
+         * The next entry to be returned from the bucket which is currently being visited,
+         * or {@code null} if the next bucket has to be visited.
+         */
+        private TableEntry<K, V> nextEntry = null;
+        /**
+         * The (estimated) number of entries covered by this spliterator.
+         */
+        private long estimatedSize;
+        /**
+         * Whether {@link #estimatedSize} is exact, i.e. whether this spliterator has never been split.
+         */
+        private boolean exactSize;
+        /**
+         * The {@link #modificationCount} at the moment of the creation of the original spliterator.
+         * <p>
+         * This is used to monitor for concurrent modifications.
+         */
+        private final long expectedModificationCount;
+
+        /**
+         * Constructs a new spliterator covering a range of buckets.
+         *
+         * @param oldBuckets                the old buckets, or {@code null} if there are none
+         * @param buckets                   the current buckets
+         * @param bucketIndex               the first bucket index covered by the spliterator
+         * @param fence                     the bucket index after the last one covered by the spliterator
+         * @param estimatedSize             the (estimated) number of entries covered by the spliterator
+         * @param exactSize                 whether {@code estimatedSize} is exact
+         * @param expectedModificationCount the expected modification count of the hashtable
+         */
+        private SpliteratorImpl(TableEntry<K, V>[] oldBuckets, TableEntry<K, V>[] buckets, int bucketIndex, int fence,
+                                long estimatedSize, boolean exactSize, long expectedModificationCount) {
+            this.oldBuckets = oldBuckets;
+            this.buckets = buckets;
+            this.bucketIndex = bucketIndex;
+            this.fence = fence;
+            this.estimatedSize = estimatedSize;
+            this.exactSize = exactSize;
+            this.expectedModificationCount = expectedModificationCount;
+        }
+
+        /**
+         * Returns the first entry of a bucket.
+         *
+         * @param index the index of the bucket, counting the old buckets first
+         * @return the first entry of the bucket, or {@code null} if the bucket is empty
+         */
+        private TableEntry<K, V> bucket(int index) {
+            int oldBucketCount = oldBuckets == null ? 0 : oldBuckets.length;
+            return index < oldBucketCount ? oldBuckets[index] : buckets[index - oldBucketCount];
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TableEntry<K, V>> action) {
+            Objects.requireNonNull(action, "The action must not be null.");
+
+            if (modificationCount != expectedModificationCount)
+                throw concurrentModification("The hashtable has been modified.");
+
+            while (nextEntry == null && bucketIndex < fence)
+                nextEntry = bucket(bucketIndex++);
+
+            if (nextEntry == null)
+                return false;
+
+            TableEntry<K, V> entry = nextEntry;
+            nextEntry = entry.next;
+            action.accept(entry);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super TableEntry<K, V>> action) {
+            Objects.requireNonNull(action, "The action must not be null.");
+
+            if (modificationCount != expectedModificationCount)
+                throw concurrentModification("The hashtable has been modified.");
+
+            TableEntry<K, V> entry = nextEntry;
+            nextEntry = null;
+
+            while (true) {
+                for (; entry != null; entry = entry.next)
+                    action.accept(entry);
+
+                if (bucketIndex >= fence)
+                    break;
+
+                entry = bucket(bucketIndex++);
+            }
+
+            if (modificationCount != expectedModificationCount)
+                throw concurrentModification("The hashtable has been modified.");
+        }
+
+        @Override
+        public Spliterator<TableEntry<K, V>> trySplit() {
+            int middle = (bucketIndex + fence) >>> 1;
+
+            // A bucket which is being visited can't be split
+            if (nextEntry != null || middle <= bucketIndex)
+                return null;
+
+            estimatedSize >>>= 1;
+            exactSize = false;
+
+            Spliterator<TableEntry<K, V>> prefix = new SpliteratorImpl(oldBuckets, buckets, bucketIndex, middle,
+                    estimatedSize, false, expectedModificationCount);
+            bucketIndex = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimatedSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL | (exactSize ? Spliterator.SIZED : 0);
+        }
+    }
+}
@@ -377,7 +377,7 @@ public class LSystemBuilderImpl implements LSystemBuilder {
             for (char c : commandString.toCharArray()) {
                 Command command = commands.get(c);
                 if (command != null)
-                    commands.get(c).execute(ctx, painter);
+                    command.execute(ctx, painter);
             }
         }
     }